@@ -0,0 +1,96 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Corpus of realistic source files shared by the benchmarks. Paths are
+ * relative to the project directory, the benchmarks are run from there.
+ *
+ * @author the original author or authors.
+ */
+final class BenchmarkSources {
+    /** A hand written class with a lot of Javadoc. */
+    static final String CHECKER =
+        "src/main/java/com/puppycrawl/tools/checkstyle/Checker.java";
+
+    /** A large hand written check. */
+    static final String JAVADOC_METHOD_CHECK =
+        "src/main/java/com/puppycrawl/tools/checkstyle/checks/javadoc/JavadocMethodCheck.java";
+
+    /** A very large generated parser, available after generate-sources. */
+    static final String GENERATED_RECOGNIZER = "target/generated-sources/antlr/com/puppycrawl/"
+        + "tools/checkstyle/grammars/GeneratedJavaRecognizer.java";
+
+    /** Prevent instantiation. */
+    private BenchmarkSources() {
+    }
+
+    /**
+     * Reads a file of the corpus.
+     * @param path the path of the file.
+     * @return the text of the file.
+     * @throws IOException if the file can not be read.
+     */
+    static FileText read(String path) throws IOException {
+        return new FileText(new File(path).getAbsoluteFile(), StandardCharsets.UTF_8.name());
+    }
+
+    /**
+     * Collects all nodes of a token type in depth-first order.
+     * @param root the root of the tree.
+     * @param tokenType the token type of the nodes.
+     * @return the nodes found.
+     */
+    static List<DetailAST> collect(DetailAST root, int tokenType) {
+        final List<DetailAST> nodes = new ArrayList<>();
+        DetailAST node = root;
+        while (node != null) {
+            if (node.getType() == tokenType) {
+                nodes.add(node);
+            }
+            node = next(node);
+        }
+        return nodes;
+    }
+
+    /**
+     * Finds the node following the given one in a depth-first walk.
+     * @param node the current node.
+     * @return the next node or {@code null} at the end of the tree.
+     */
+    static DetailAST next(DetailAST node) {
+        DetailAST result = node.getFirstChild();
+        DetailAST current = node;
+        while (result == null && current != null) {
+            result = current.getNextSibling();
+            current = current.getParent();
+        }
+        return result;
+    }
+}
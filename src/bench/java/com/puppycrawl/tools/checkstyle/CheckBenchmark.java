@@ -0,0 +1,170 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessages;
+
+/**
+ * Measures a single check walking the tree of a source file, the way
+ * TreeWalker notifies it, so the cost of its {@code visitToken} and
+ * {@code leaveToken} implementations is visible in isolation.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=CheckBenchmark}
+ * and pick checks with {@code -p check=...}.
+ *
+ * @author the original author or authors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckBenchmark {
+    /** The fully qualified name of the check to measure. */
+    @Param({
+        "com.puppycrawl.tools.checkstyle.checks.whitespace.WhitespaceAroundCheck",
+        "com.puppycrawl.tools.checkstyle.checks.indentation.IndentationCheck",
+        "com.puppycrawl.tools.checkstyle.checks.coding.FinalLocalVariableCheck",
+        "com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocMethodCheck",
+        "com.puppycrawl.tools.checkstyle.checks.javadoc.SummaryJavadocCheck"})
+    private String check;
+
+    /** The source file of the corpus to check. */
+    @Param({BenchmarkSources.CHECKER, BenchmarkSources.GENERATED_RECOGNIZER})
+    private String source;
+
+    /** The configured check. */
+    private AbstractCheck checkInstance;
+
+    /** The messages logged by the check. */
+    private LocalizedMessages messages;
+
+    /** The contents of the source file. */
+    private FileContents contents;
+
+    /** The tree of the source file, with comment nodes if the check requires them. */
+    private DetailAST root;
+
+    /** Whether the check is notified of a token type, indexed by token type. */
+    private boolean[] acceptedTokens;
+
+    /**
+     * Creates and configures the check and parses the source file.
+     * @throws Exception if the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        messages = new LocalizedMessages();
+        final DefaultContext context = new DefaultContext();
+        context.add("classLoader", classLoader);
+        context.add("messages", messages);
+        context.add("severity", "error");
+        context.add("tabWidth", "8");
+
+        checkInstance = (AbstractCheck) Class.forName(check, true, classLoader).newInstance();
+        checkInstance.contextualize(context);
+        checkInstance.configure(new DefaultConfiguration(check));
+        checkInstance.init();
+
+        final FileText text = BenchmarkSources.read(source);
+        contents = new FileContents(text);
+        if (checkInstance.isCommentNodesRequired()) {
+            root = TreeWalker.parseWithComments(contents);
+        }
+        else {
+            root = TreeWalker.parse(contents);
+        }
+
+        int maxTokenType = 0;
+        for (final int tokenType : checkInstance.getDefaultTokens()) {
+            maxTokenType = Math.max(maxTokenType, tokenType);
+        }
+        acceptedTokens = new boolean[maxTokenType + 1];
+        for (final int tokenType : checkInstance.getDefaultTokens()) {
+            acceptedTokens[tokenType] = true;
+        }
+    }
+
+    /** Destroys the check. */
+    @TearDown
+    public void tearDown() {
+        checkInstance.destroy();
+    }
+
+    /**
+     * Walks the tree of the source file with the check.
+     * @return the number of messages logged by the check.
+     */
+    @Benchmark
+    public int walk() {
+        messages.reset();
+        checkInstance.setFileContents(contents);
+        checkInstance.beginTree(root);
+        DetailAST node = root;
+        while (node != null) {
+            if (isAccepted(node)) {
+                checkInstance.visitToken(node);
+            }
+            DetailAST toVisit = node.getFirstChild();
+            while (node != null && toVisit == null) {
+                if (isAccepted(node)) {
+                    checkInstance.leaveToken(node);
+                }
+                toVisit = node.getNextSibling();
+                if (toVisit == null) {
+                    node = node.getParent();
+                }
+            }
+            node = toVisit;
+        }
+        checkInstance.finishTree(root);
+        return messages.size();
+    }
+
+    /**
+     * Checks whether the check is notified of a node.
+     * @param node the node.
+     * @return whether the check is notified of the node.
+     */
+    private boolean isAccepted(DetailAST node) {
+        final int tokenType = node.getType();
+        return tokenType < acceptedTokens.length && acceptedTokens[tokenType];
+    }
+}
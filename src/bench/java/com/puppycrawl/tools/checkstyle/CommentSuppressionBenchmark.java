@@ -0,0 +1,278 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.checks.FileContentsHolder;
+import com.puppycrawl.tools.checkstyle.checks.SuppressWarningsHolder;
+import com.puppycrawl.tools.checkstyle.checks.naming.MemberNameCheck;
+import com.puppycrawl.tools.checkstyle.filters.SuppressWarningsFilter;
+import com.puppycrawl.tools.checkstyle.filters.SuppressWithNearbyCommentFilter;
+import com.puppycrawl.tools.checkstyle.filters.SuppressionCommentFilter;
+
+/**
+ * Measures the comment suppression filters and the SuppressWarnings filter
+ * on a generated source file with thousands of suppressions, and compares
+ * the comment filters with testing every tag for every event, as they used
+ * to do. The state is per thread because the holders keep the contents and
+ * the annotations of the file in thread-local variables.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=CommentSuppressionBenchmark}.
+ *
+ * @author the original author or authors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class CommentSuppressionBenchmark {
+    /** Format of comments turning reporting off. */
+    private static final String OFF_FORMAT = "CHECKSTYLE:OFF (\\w+)";
+
+    /** Format of comments turning reporting on. */
+    private static final String ON_FORMAT = "CHECKSTYLE:ON (\\w+)";
+
+    /** Format of comments suppressing events nearby. */
+    private static final String NEARBY_FORMAT = "SUPPRESS CHECKSTYLE (\\w+)";
+
+    /** Format of the suppressed checks, the name in the comment. */
+    private static final String CHECK_FORMAT = "$1";
+
+    /** Number of suppressed fields in the generated source file. */
+    @Param({"1000", "5000"})
+    private int fields;
+
+    /** The generated source file. */
+    private File file;
+
+    /** TreeWalker holding the contents and the annotations of the file. */
+    private TreeWalker treeWalker;
+
+    /** The events of the file. */
+    private final List<AuditEvent> events = new ArrayList<>();
+
+    /** The filter using paired comments. */
+    private SuppressionCommentFilter commentFilter;
+
+    /** The filter using nearby comments. */
+    private SuppressWithNearbyCommentFilter nearbyCommentFilter;
+
+    /** The filter using SuppressWarnings annotations. */
+    private Filter suppressWarningsFilter;
+
+    /** Sorted tags of the paired comments. */
+    private final List<SuppressionCommentFilter.Tag> commentTags = new ArrayList<>();
+
+    /** Sorted tags of the nearby comments. */
+    private final List<SuppressWithNearbyCommentFilter.Tag> nearbyTags = new ArrayList<>();
+
+    /**
+     * Generates the source file, processes it and tags its comments.
+     * @throws Exception if the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        file = File.createTempFile("CommentSuppressionBenchmark", ".java");
+        Files.write(file.toPath(), generateSource(fields).getBytes(StandardCharsets.UTF_8));
+        final FileText text = new FileText(file, StandardCharsets.UTF_8.name());
+
+        final DefaultConfiguration config = new DefaultConfiguration("TreeWalker");
+        config.addChild(new DefaultConfiguration(FileContentsHolder.class.getName()));
+        config.addChild(new DefaultConfiguration(SuppressWarningsHolder.class.getName()));
+        config.addChild(new DefaultConfiguration(MemberNameCheck.class.getName()));
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        treeWalker = new TreeWalker();
+        treeWalker.setClassLoader(classLoader);
+        treeWalker.setModuleFactory(
+            new PackageObjectFactory(Collections.emptySet(), classLoader));
+        treeWalker.configure(config);
+        for (final LocalizedMessage message : treeWalker.process(file, text)) {
+            events.add(new AuditEvent(this, file.getPath(), message));
+        }
+
+        commentFilter = new SuppressionCommentFilter();
+        commentFilter.setOffCommentFormat(OFF_FORMAT);
+        commentFilter.setOnCommentFormat(ON_FORMAT);
+        commentFilter.setCheckFormat(CHECK_FORMAT);
+        nearbyCommentFilter = new SuppressWithNearbyCommentFilter();
+        nearbyCommentFilter.setCommentFormat(NEARBY_FORMAT);
+        nearbyCommentFilter.setCheckFormat(CHECK_FORMAT);
+        suppressWarningsFilter = new SuppressWarningsFilter();
+        tagComments(text);
+    }
+
+    /**
+     * Tags the suppression comments of the file the way the comment filters do.
+     * @param text the contents of the file.
+     */
+    private void tagComments(FileText text) {
+        final Pattern off = Pattern.compile(OFF_FORMAT);
+        final Pattern on = Pattern.compile(ON_FORMAT);
+        final Pattern nearby = Pattern.compile(NEARBY_FORMAT);
+        for (int i = 0; i < text.size(); i++) {
+            final String line = text.get(i);
+            final Matcher offMatcher = off.matcher(line);
+            final Matcher onMatcher = on.matcher(line);
+            final Matcher nearbyMatcher = nearby.matcher(line);
+            if (offMatcher.find()) {
+                commentTags.add(new SuppressionCommentFilter.Tag(i + 1, offMatcher.start(),
+                    offMatcher.group(), false, commentFilter));
+            }
+            else if (onMatcher.find()) {
+                commentTags.add(new SuppressionCommentFilter.Tag(i + 1, onMatcher.start(),
+                    onMatcher.group(), true, commentFilter));
+            }
+            else if (nearbyMatcher.find()) {
+                nearbyTags.add(new SuppressWithNearbyCommentFilter.Tag(nearbyMatcher.group(),
+                    i + 1, nearbyCommentFilter));
+            }
+        }
+    }
+
+    /** Removes the generated source file. */
+    @TearDown
+    public void tearDown() {
+        treeWalker.destroy();
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * Filters all events with the filter using paired comments.
+     * @param blackhole consumes the decisions.
+     */
+    @Benchmark
+    public void commentFilter(Blackhole blackhole) {
+        for (final AuditEvent event : events) {
+            blackhole.consume(commentFilter.accept(event));
+        }
+    }
+
+    /**
+     * Filters all events testing every paired comment tag before the event.
+     * @param blackhole consumes the decisions.
+     */
+    @Benchmark
+    public void commentFilterEveryTag(Blackhole blackhole) {
+        for (final AuditEvent event : events) {
+            SuppressionCommentFilter.Tag result = null;
+            for (final SuppressionCommentFilter.Tag tag : commentTags) {
+                if (tag.getLine() > event.getLine()
+                    || tag.getLine() == event.getLine()
+                        && tag.getColumn() > event.getColumn()) {
+                    break;
+                }
+                if (tag.isMatch(event)) {
+                    result = tag;
+                }
+            }
+            blackhole.consume(result == null || result.isReportingOn());
+        }
+    }
+
+    /**
+     * Filters all events with the filter using nearby comments.
+     * @param blackhole consumes the decisions.
+     */
+    @Benchmark
+    public void nearbyCommentFilter(Blackhole blackhole) {
+        for (final AuditEvent event : events) {
+            blackhole.consume(nearbyCommentFilter.accept(event));
+        }
+    }
+
+    /**
+     * Filters all events testing every nearby comment tag.
+     * @param blackhole consumes the decisions.
+     */
+    @Benchmark
+    public void nearbyCommentFilterEveryTag(Blackhole blackhole) {
+        for (final AuditEvent event : events) {
+            boolean accepted = true;
+            for (final SuppressWithNearbyCommentFilter.Tag tag : nearbyTags) {
+                if (tag.isMatch(event)) {
+                    accepted = false;
+                    break;
+                }
+            }
+            blackhole.consume(accepted);
+        }
+    }
+
+    /**
+     * Filters all events with the filter using SuppressWarnings annotations.
+     * @param blackhole consumes the decisions.
+     */
+    @Benchmark
+    public void suppressWarningsFilter(Blackhole blackhole) {
+        for (final AuditEvent event : events) {
+            blackhole.consume(suppressWarningsFilter.accept(event));
+        }
+    }
+
+    /**
+     * Generates source with the given number of fields violating MemberName,
+     * every field is suppressed by each kind of suppression.
+     * @param count the number of fields.
+     * @return the source.
+     */
+    private static String generateSource(int count) {
+        final StringBuilder source = new StringBuilder(count * 200);
+        source.append("package bench;\n\nclass Generated {\n");
+        for (int i = 0; i < count; i++) {
+            source.append("    // CHECKSTYLE:OFF MemberName\n")
+                .append("    @SuppressWarnings(\"membername\")\n")
+                .append("    int Field_").append(i)
+                .append("; // SUPPRESS CHECKSTYLE MemberName\n")
+                .append("    // CHECKSTYLE:ON MemberName\n")
+                .append("    int Other_").append(i).append(";\n");
+        }
+        return source.append("}\n").toString();
+    }
+}
@@ -0,0 +1,88 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
+
+/**
+ * Measures parsing all Javadoc comments of a source file into
+ * {@link com.puppycrawl.tools.checkstyle.api.DetailNode} trees.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=JavadocParserBenchmark}.
+ *
+ * @author the original author or authors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JavadocParserBenchmark {
+    /** The source file of the corpus to measure. */
+    @Param({BenchmarkSources.CHECKER, BenchmarkSources.JAVADOC_METHOD_CHECK})
+    private String source;
+
+    /** Javadoc comments of the source file. */
+    private List<DetailAST> javadocComments;
+
+    /**
+     * Parses the source file and collects its Javadoc comments.
+     * @throws Exception if parsing fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        final DetailAST root = TreeWalker.parseWithComments(
+            new FileContents(BenchmarkSources.read(source)));
+        javadocComments = BenchmarkSources.collect(root, TokenTypes.BLOCK_COMMENT_BEGIN)
+            .stream().filter(JavadocUtils::isJavadocComment).collect(Collectors.toList());
+    }
+
+    /**
+     * Parses every Javadoc comment of the source file.
+     * @param blackhole consumes the parse results.
+     */
+    @Benchmark
+    public void parseJavadocAsDetailNode(Blackhole blackhole) {
+        final JavadocDetailNodeParser parser = new JavadocDetailNodeParser();
+        for (final DetailAST comment : javadocComments) {
+            blackhole.consume(parser.parseJavadocAsDetailNode(comment));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+
+/**
+ * Compares rendering a message through the cached message formats of
+ * {@link LocalizedMessage} with parsing its pattern for every message
+ * on several threads.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=LocalizedMessageBenchmark}.
+ *
+ * @author the original author or authors.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalizedMessageBenchmark {
+    /** The bundle of the rendered message. */
+    private static final String BUNDLE = "com.puppycrawl.tools.checkstyle.checks.sizes.messages";
+
+    /** The key of the rendered message. */
+    private static final String KEY = "maxLen.file";
+
+    /** The arguments of the rendered message. */
+    private static final Object[] ARGS = {2345, 2000};
+
+    /** The rendered message. */
+    private LocalizedMessage message;
+
+    /** The bundle of the rendered message. */
+    private ResourceBundle bundle;
+
+    /** Creates the message and loads its bundle. */
+    @Setup
+    public void setUp() {
+        message = new LocalizedMessage(1, BUNDLE, KEY, ARGS, null, getClass(), null);
+        bundle = ResourceBundle.getBundle(BUNDLE, Locale.ROOT);
+    }
+
+    /**
+     * Renders the message through the cached format.
+     * @return the message.
+     */
+    @Benchmark
+    public String cachedFormat() {
+        return message.getMessage(Locale.ROOT);
+    }
+
+    /**
+     * Renders the message parsing its pattern, as LocalizedMessage used to do.
+     * @return the message.
+     */
+    @Benchmark
+    public String parsedFormat() {
+        final String pattern;
+        // the bundle used to be looked up under a global lock
+        synchronized (this) {
+            pattern = bundle.getString(KEY);
+        }
+        return new MessageFormat(pattern, Locale.ROOT).format(ARGS);
+    }
+}
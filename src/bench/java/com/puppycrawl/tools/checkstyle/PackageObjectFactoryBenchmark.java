@@ -0,0 +1,107 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares creating all built-in modules by their short names through the
+ * generated module index with searching the registered packages for them.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=PackageObjectFactoryBenchmark}.
+ *
+ * @author the original author or authors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PackageObjectFactoryBenchmark {
+    /** The short names of all built-in checks, without the Check suffix. */
+    private final List<String> names = new ArrayList<>();
+
+    /** The factory using the module index. */
+    private PackageObjectFactory indexedFactory;
+
+    /** The factory searching the registered packages. */
+    private PackageObjectFactory searchingFactory;
+
+    /**
+     * Loads the registered packages and the module index.
+     * @throws Exception if the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final Set<String> packageNames = PackageNamesLoader.getPackageNames(classLoader);
+        final Map<String, String> moduleClassNames =
+            PackageNamesLoader.getModuleClassNames(classLoader);
+        for (final String name : moduleClassNames.keySet()) {
+            if (!moduleClassNames.containsKey(name + "Check")) {
+                names.add(name);
+            }
+        }
+        indexedFactory = new PackageObjectFactory(packageNames, moduleClassNames, classLoader);
+        searchingFactory = new PackageObjectFactory(packageNames, Collections.emptyMap(),
+            classLoader);
+    }
+
+    /**
+     * Creates all modules through the module index.
+     * @param blackhole consumes the modules.
+     * @throws Exception if a module can not be created.
+     */
+    @Benchmark
+    public void createIndexed(Blackhole blackhole) throws Exception {
+        for (final String name : names) {
+            blackhole.consume(indexedFactory.createModule(name));
+        }
+    }
+
+    /**
+     * Creates all modules by searching the registered packages.
+     * @param blackhole consumes the modules.
+     * @throws Exception if a module can not be created.
+     */
+    @Benchmark
+    public void createSearching(Blackhole blackhole) throws Exception {
+        for (final String name : names) {
+            blackhole.consume(searchingFactory.createModule(name));
+        }
+    }
+}
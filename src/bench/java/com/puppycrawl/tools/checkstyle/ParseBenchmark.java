@@ -0,0 +1,152 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+/**
+ * Measures reading a source file into a {@link FileText}, parsing it and
+ * appending all or the block comment nodes to the parsed tree.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=ParseBenchmark}.
+ *
+ * @author the original author or authors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+    /** Types of all comment tokens. */
+    private static final BitSet ALL_COMMENT_TYPES = new BitSet();
+
+    /** Types of the block comment tokens. */
+    private static final BitSet BLOCK_COMMENT_TYPES = new BitSet();
+
+    static {
+        ALL_COMMENT_TYPES.set(TokenTypes.SINGLE_LINE_COMMENT);
+        ALL_COMMENT_TYPES.set(TokenTypes.BLOCK_COMMENT_BEGIN);
+        BLOCK_COMMENT_TYPES.set(TokenTypes.BLOCK_COMMENT_BEGIN);
+    }
+
+    /** The source file of the corpus to measure. */
+    @Param({BenchmarkSources.CHECKER, BenchmarkSources.JAVADOC_METHOD_CHECK,
+        BenchmarkSources.GENERATED_RECOGNIZER})
+    private String source;
+
+    /** The source file. */
+    private File file;
+
+    /** The contents of the source file. */
+    private FileText text;
+
+    /**
+     * Reads the source file.
+     * @throws Exception if the file can not be read.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        text = BenchmarkSources.read(source);
+        file = text.getFile();
+    }
+
+    /**
+     * Reads and decodes the source file.
+     * @return the text of the file.
+     * @throws Exception if the file can not be read.
+     */
+    @Benchmark
+    public FileText fileText() throws Exception {
+        return new FileText(file, StandardCharsets.UTF_8.name());
+    }
+
+    /**
+     * Parses the source file without comment nodes.
+     * @return the root of the AST.
+     * @throws Exception if parsing fails.
+     */
+    @Benchmark
+    public DetailAST parse() throws Exception {
+        return TreeWalker.parse(new FileContents(text));
+    }
+
+    /**
+     * Appends the comment nodes to a freshly parsed tree.
+     * @param tree the freshly parsed tree.
+     * @return the root of the AST with comment nodes.
+     */
+    @Benchmark
+    public DetailAST appendHiddenCommentNodes(ParsedTree tree) {
+        return TreeWalker.appendHiddenCommentNodes(tree.root, ALL_COMMENT_TYPES);
+    }
+
+    /**
+     * Appends the block comment nodes only to a freshly parsed tree, as
+     * TreeWalker does when the comment checks observe block comments only.
+     * @param tree the freshly parsed tree.
+     * @return the root of the AST with block comment nodes.
+     */
+    @Benchmark
+    public DetailAST appendHiddenBlockCommentNodes(ParsedTree tree) {
+        return TreeWalker.appendHiddenCommentNodes(tree.root, BLOCK_COMMENT_TYPES);
+    }
+
+    /**
+     * A tree parsed before every invocation, appending comment nodes
+     * changes the tree so it can not be reused.
+     */
+    @State(Scope.Thread)
+    public static class ParsedTree {
+        /** The root of the parsed tree. */
+        private DetailAST root;
+
+        /**
+         * Parses the source file of the benchmark.
+         * @param benchmark the benchmark.
+         * @throws Exception if parsing fails.
+         */
+        @Setup(Level.Invocation)
+        public void setUp(ParseBenchmark benchmark) throws Exception {
+            root = TreeWalker.parse(new FileContents(benchmark.text));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.FilterSet;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.checks.coding.MagicNumberCheck;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocMethodCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.MemberNameCheck;
+import com.puppycrawl.tools.checkstyle.filters.SuppressionFilter;
+import com.puppycrawl.tools.checkstyle.filters.SuppressionsLoader;
+
+/**
+ * Compares filtering events with {@link SuppressionFilter}, which indexes
+ * the suppressions, with asking every suppression for every event, as
+ * SuppressionFilter used to do, for a generated suppressions file.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=SuppressionFilterBenchmark}.
+ *
+ * @author the original author or authors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SuppressionFilterBenchmark {
+    /** Number of filtered events. */
+    private static final int EVENTS = 10_000;
+
+    /** Number of files the events are spread over. */
+    private static final int FILES = 500;
+
+    /** Sources of the events. */
+    private static final Class<?>[] SOURCES = {
+        MagicNumberCheck.class, JavadocMethodCheck.class, MemberNameCheck.class,
+    };
+
+    /** Number of suppress elements in the suppressions file. */
+    @Param({"300", "3000"})
+    private int suppressions;
+
+    /** The generated suppressions file. */
+    private File file;
+
+    /** The indexing filter. */
+    private SuppressionFilter filter;
+
+    /** The suppress elements of the file. */
+    private FilterSet filterSet;
+
+    /** The filtered events. */
+    private final List<AuditEvent> events = new ArrayList<>();
+
+    /**
+     * Generates the suppressions file and the events.
+     * @throws Exception if the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        final Random random = new Random(42);
+        final StringBuilder content = new StringBuilder(suppressions * 100)
+            .append("<?xml version=\"1.0\"?>\n")
+            .append("<!DOCTYPE suppressions PUBLIC\n")
+            .append("    \"-//Puppy Crawl//DTD Suppressions 1.1//EN\"\n")
+            .append("    \"http://www.puppycrawl.com/dtds/suppressions_1_1.dtd\">\n")
+            .append("<suppressions>\n");
+        for (int i = 0; i < suppressions; i++) {
+            final int lower = random.nextInt(500);
+            content.append("  <suppress files=\"[\\\\/]File").append(random.nextInt(FILES * 4))
+                .append("\\.java$\" checks=\"")
+                .append(SOURCES[random.nextInt(SOURCES.length)].getSimpleName())
+                .append("\" lines=\"").append(lower).append('-').append(lower + 20)
+                .append("\"/>\n");
+        }
+        content.append("</suppressions>\n");
+        file = File.createTempFile("SuppressionFilterBenchmark", ".xml");
+        Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+
+        final DefaultConfiguration config = new DefaultConfiguration("SuppressionFilter");
+        config.addAttribute("file", file.getPath());
+        filter = new SuppressionFilter();
+        filter.configure(config);
+        filterSet = SuppressionsLoader.loadSuppressions(file.getPath());
+
+        for (int i = 0; i < EVENTS; i++) {
+            final LocalizedMessage message = new LocalizedMessage(random.nextInt(600),
+                "bundle", "key", null, null, SOURCES[random.nextInt(SOURCES.length)], null);
+            events.add(new AuditEvent(this,
+                "src/main/java/File" + random.nextInt(FILES) + ".java", message));
+        }
+    }
+
+    /** Removes the generated suppressions file. */
+    @TearDown
+    public void tearDown() {
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * Filters all events with the indexing filter.
+     * @param blackhole consumes the decisions.
+     */
+    @Benchmark
+    public void indexed(Blackhole blackhole) {
+        for (final AuditEvent event : events) {
+            blackhole.consume(filter.accept(event));
+        }
+    }
+
+    /**
+     * Filters all events asking every suppress element.
+     * @param blackhole consumes the decisions.
+     */
+    @Benchmark
+    public void everyElement(Blackhole blackhole) {
+        for (final AuditEvent event : events) {
+            blackhole.consume(filterSet.accept(event));
+        }
+    }
+}
@@ -0,0 +1,247 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.checks.blocks.LeftCurlyCheck;
+import com.puppycrawl.tools.checkstyle.checks.coding.MagicNumberCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.LocalVariableNameCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.MemberNameCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.MethodNameCheck;
+import com.puppycrawl.tools.checkstyle.checks.whitespace.WhitespaceAroundCheck;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtils;
+
+/**
+ * Compares dispatching AST nodes to checks by token name, as TreeWalker
+ * used to do, with dispatching through the token-indexed table, and
+ * measures the whole TreeWalker on a large generated source file.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=TreeWalkerBenchmark}.
+ *
+ * @author the original author or authors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TreeWalkerBenchmark {
+    /** Checks used by the benchmark, they cover the most frequent tokens. */
+    private static final List<Class<? extends AbstractCheck>> CHECKS = Arrays.asList(
+        LeftCurlyCheck.class, MagicNumberCheck.class, LocalVariableNameCheck.class,
+        MemberNameCheck.class, MethodNameCheck.class, WhitespaceAroundCheck.class);
+
+    /** Number of classes in the generated source file. */
+    @Param({"10", "100"})
+    private int classes;
+
+    /** The generated source file. */
+    private File file;
+
+    /** Lines of the generated source file. */
+    private List<String> lines;
+
+    /** AST of the generated source file. */
+    private DetailAST ast;
+
+    /** Checks keyed by token name, the way they used to be registered. */
+    private Multimap<String, AbstractCheck> checksByName;
+
+    /** Checks indexed by token type. */
+    private AbstractCheck[][] checksByType;
+
+    /** TreeWalker configured with all checks of the benchmark. */
+    private TreeWalker treeWalker;
+
+    /**
+     * Generates the source file and builds the dispatch tables.
+     * @throws Exception if the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        file = File.createTempFile("TreeWalkerBenchmark", ".java");
+        Files.write(file.toPath(), generateSource(classes).getBytes(StandardCharsets.UTF_8));
+        final FileText text = new FileText(file, StandardCharsets.UTF_8.name());
+        lines = text;
+        ast = TreeWalker.parse(new FileContents(text));
+
+        checksByName = HashMultimap.create();
+        checksByType = new AbstractCheck[0][];
+        final DefaultConfiguration config = new DefaultConfiguration("TreeWalker");
+        for (final Class<? extends AbstractCheck> checkClass : CHECKS) {
+            final AbstractCheck check = checkClass.newInstance();
+            for (final int tokenType : check.getDefaultTokens()) {
+                checksByName.put(TokenUtils.getTokenName(tokenType), check);
+                if (tokenType >= checksByType.length) {
+                    checksByType = Arrays.copyOf(checksByType, tokenType + 1);
+                }
+                final AbstractCheck[] checks = checksByType[tokenType];
+                if (checks == null) {
+                    checksByType[tokenType] = new AbstractCheck[] {check};
+                }
+                else {
+                    final AbstractCheck[] grown = Arrays.copyOf(checks, checks.length + 1);
+                    grown[checks.length] = check;
+                    checksByType[tokenType] = grown;
+                }
+            }
+            config.addChild(new DefaultConfiguration(checkClass.getName()));
+        }
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        treeWalker = new TreeWalker();
+        treeWalker.setClassLoader(classLoader);
+        treeWalker.setModuleFactory(
+            new PackageObjectFactory(Collections.emptySet(), classLoader));
+        treeWalker.configure(config);
+    }
+
+    /** Removes the generated source file. */
+    @TearDown
+    public void tearDown() {
+        treeWalker.destroy();
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * Walks the AST looking up the checks of every node by token name.
+     * @param blackhole consumes the looked up checks.
+     */
+    @Benchmark
+    public void dispatchByTokenName(Blackhole blackhole) {
+        DetailAST node = ast;
+        while (node != null) {
+            final Collection<AbstractCheck> checks =
+                checksByName.get(TokenUtils.getTokenName(node.getType()));
+            for (final AbstractCheck check : checks) {
+                blackhole.consume(check);
+            }
+            node = next(node);
+        }
+    }
+
+    /**
+     * Walks the AST looking up the checks of every node by token type.
+     * @param blackhole consumes the looked up checks.
+     */
+    @Benchmark
+    public void dispatchByTokenType(Blackhole blackhole) {
+        DetailAST node = ast;
+        while (node != null) {
+            final int type = node.getType();
+            if (type < checksByType.length && checksByType[type] != null) {
+                for (final AbstractCheck check : checksByType[type]) {
+                    blackhole.consume(check);
+                }
+            }
+            node = next(node);
+        }
+    }
+
+    /**
+     * Runs the configured TreeWalker over the generated source file.
+     * @return the violations found.
+     * @throws Exception if processing fails.
+     */
+    @Benchmark
+    public SortedSet<LocalizedMessage> process() throws Exception {
+        return treeWalker.process(file, lines);
+    }
+
+    /**
+     * Finds the node following the given one in a depth-first walk.
+     * @param node the current node.
+     * @return the next node or {@code null} at the end of the tree.
+     */
+    private static DetailAST next(DetailAST node) {
+        DetailAST result = node.getFirstChild();
+        DetailAST current = node;
+        while (result == null && current != null) {
+            result = current.getNextSibling();
+            current = current.getParent();
+        }
+        return result;
+    }
+
+    /**
+     * Generates compilable Java source with the given number of classes.
+     * @param count the number of classes.
+     * @return the source.
+     */
+    private static String generateSource(int count) {
+        final StringBuilder source = new StringBuilder(count * 1024);
+        source.append("package bench;\n\nimport java.util.List;\n\n");
+        for (int i = 0; i < count; i++) {
+            source.append("/** Generated class. */\n")
+                .append("class Generated").append(i).append(" {\n")
+                .append("    private int counter = 42;\n")
+                .append("    private String name_").append(i).append(";\n\n")
+                .append("    // a line comment\n")
+                .append("    int compute(List<String> values) {\n")
+                .append("        int Total = 0;\n")
+                .append("        for (String value : values) {\n")
+                .append("            if (value.length() > 7 && counter != 3) {\n")
+                .append("                Total += value.length() * 13;\n")
+                .append("            }\n")
+                .append("            else {\n")
+                .append("                Total -= 1;\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("        return Total;\n")
+                .append("    }\n\n")
+                .append("    /* a block comment */\n")
+                .append("    void Reset() { counter = 0; }\n")
+                .append("}\n\n");
+        }
+        return source.toString();
+    }
+}
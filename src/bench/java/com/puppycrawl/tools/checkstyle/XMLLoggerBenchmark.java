@@ -0,0 +1,155 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+/**
+ * Compares writing a report of a million violations with {@link XMLLogger}
+ * to writing it the way XMLLogger used to, by concatenating every element
+ * into intermediate strings and printing them to an unbuffered writer.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=XMLLoggerBenchmark}.
+ *
+ * @author the original author or authors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+// -@cs[AbbreviationAsWordInName] Benchmark should be named as its main class.
+public class XMLLoggerBenchmark {
+    /** Number of violations in the report. */
+    private static final int VIOLATIONS = 1_000_000;
+
+    /** Number of violations reported per file. */
+    private static final int VIOLATIONS_PER_FILE = 100;
+
+    /** The bundle of the reported messages. */
+    private static final String BUNDLE = "com.puppycrawl.tools.checkstyle.checks.sizes.messages";
+
+    /** The buffer size of the logger, in characters. */
+    @Param({"8192", "65536"})
+    private int bufferSize;
+
+    /** Distinct violations, the report repeats them. */
+    private AuditEvent[] events;
+
+    /** Creates the reported violations. */
+    @Setup
+    public void setUp() {
+        events = new AuditEvent[VIOLATIONS_PER_FILE];
+        for (int i = 0; i < events.length; i++) {
+            final LocalizedMessage message = new LocalizedMessage(i * 7 + 1, i % 80,
+                BUNDLE, "maxLen.file", new Object[] {2000 + i, 2000}, SeverityLevel.WARNING,
+                null, getClass(), null);
+            events[i] = new AuditEvent(this, "src/main/java/bench/A&B" + i + ".java", message);
+        }
+    }
+
+    /**
+     * Writes the report with the streaming XMLLogger.
+     * @return the number of bytes written.
+     */
+    @Benchmark
+    public long streaming() {
+        final CountingOutputStream out = new CountingOutputStream();
+        final XMLLogger logger = new XMLLogger(out, true, bufferSize);
+        final AuditEvent auditEvent = new AuditEvent(this);
+        logger.auditStarted(auditEvent);
+        for (int i = 0; i < VIOLATIONS; i += VIOLATIONS_PER_FILE) {
+            logger.fileStarted(events[0]);
+            for (final AuditEvent event : events) {
+                logger.addError(event);
+            }
+            logger.fileFinished(events[0]);
+        }
+        logger.auditFinished(auditEvent);
+        return out.count;
+    }
+
+    /**
+     * Writes the report the way XMLLogger used to.
+     * @return the number of bytes written.
+     */
+    @Benchmark
+    public long concatenating() {
+        final CountingOutputStream out = new CountingOutputStream();
+        final PrintWriter writer =
+            new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        writer.println("<checkstyle version=\"bench\">");
+        for (int i = 0; i < VIOLATIONS; i += VIOLATIONS_PER_FILE) {
+            writer.println("<file name=\"" + XMLLogger.encode(events[0].getFileName()) + "\">");
+            for (final AuditEvent event : events) {
+                writer.print("<error" + " line=\"" + event.getLine() + "\"");
+                if (event.getColumn() > 0) {
+                    writer.print(" column=\"" + event.getColumn() + "\"");
+                }
+                writer.print(" severity=\"" + event.getSeverityLevel().getName() + "\"");
+                writer.print(" message=\"" + XMLLogger.encode(event.getMessage()) + "\"");
+                writer.println(" source=\"" + XMLLogger.encode(event.getSourceName()) + "\"/>");
+            }
+            writer.println("</file>");
+        }
+        writer.println("</checkstyle>");
+        writer.close();
+        return out.count;
+    }
+
+    /**
+     * Discards everything written to it, counting the bytes.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        /** Number of bytes written. */
+        private long count;
+
+        @Override
+        public void write(int value) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+
+/**
+ * Notifies listeners on a dedicated reporting thread, so slow listeners do
+ * not stall the checking thread. The notifications of a file are collected
+ * into a batch which is handed to the reporting thread when the file is
+ * finished, through a bounded queue: the checking thread waits when the
+ * queue is full. Batches are delivered in the order they were queued, and
+ * the reporting thread is drained and stopped when the audit is finished.
+ * An exception thrown by a listener stops the delivery and is rethrown on
+ * the checking thread by the next notification that hands over a batch.
+ *
+ * @author the original author or authors.
+ */
+final class AsyncAuditListener implements AuditListener {
+    /** The batch that stops the reporting thread. */
+    private static final List<Consumer<AuditListener>> END_OF_AUDIT = Collections.emptyList();
+
+    /** The listeners notified on the reporting thread. */
+    private final List<AuditListener> listeners;
+
+    /** The batches queued for the reporting thread. */
+    private final BlockingQueue<List<Consumer<AuditListener>>> queue;
+
+    /** The reporting thread. */
+    private final Thread reporter;
+
+    /** The notifications not yet handed to the reporting thread. */
+    private List<Consumer<AuditListener>> batch = new ArrayList<>();
+
+    /** The first failure of a listener, {@code null} if there was none. */
+    private volatile Throwable failure;
+
+    /**
+     * Creates a new listener and starts its reporting thread.
+     * @param listeners the listeners to notify on the reporting thread.
+     * @param capacity the number of batches that may be queued.
+     */
+    AsyncAuditListener(List<AuditListener> listeners, int capacity) {
+        this.listeners = new ArrayList<>(listeners);
+        queue = new ArrayBlockingQueue<>(capacity);
+        reporter = new Thread(this::report, "checkstyle-reporter");
+        reporter.setDaemon(true);
+        reporter.start();
+    }
+
+    @Override
+    public synchronized void auditStarted(AuditEvent event) {
+        batch.add(listener -> listener.auditStarted(event));
+        handOver();
+    }
+
+    @Override
+    public synchronized void auditFinished(AuditEvent event) {
+        batch.add(listener -> listener.auditFinished(event));
+        close();
+        rethrowFailure();
+    }
+
+    @Override
+    public synchronized void fileStarted(AuditEvent event) {
+        batch.add(listener -> listener.fileStarted(event));
+    }
+
+    @Override
+    public synchronized void fileFinished(AuditEvent event) {
+        batch.add(listener -> listener.fileFinished(event));
+        handOver();
+    }
+
+    @Override
+    public synchronized void addError(AuditEvent event) {
+        batch.add(listener -> listener.addError(event));
+    }
+
+    @Override
+    public synchronized void addException(AuditEvent event, Throwable throwable) {
+        batch.add(listener -> listener.addException(event, throwable));
+    }
+
+    /**
+     * Delivers the pending notifications and stops the reporting thread,
+     * waiting until it finished. Does nothing if the thread is stopped already,
+     * does not rethrow the failure of a listener, so it can be used to clean
+     * up after an audit failed.
+     */
+    synchronized void close() {
+        if (reporter.isAlive()) {
+            put(batch);
+            batch = new ArrayList<>();
+            put(END_OF_AUDIT);
+            try {
+                reporter.join();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the listeners", ex);
+            }
+        }
+    }
+
+    /**
+     * Queues the current batch for the reporting thread after rethrowing the
+     * failure of a listener, and starts a new batch.
+     */
+    private void handOver() {
+        rethrowFailure();
+        put(batch);
+        batch = new ArrayList<>();
+    }
+
+    /**
+     * Queues a batch for the reporting thread, waiting while the queue is full.
+     * @param notifications the batch.
+     */
+    private void put(List<Consumer<AuditListener>> notifications) {
+        try {
+            queue.put(notifications);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing notifications", ex);
+        }
+    }
+
+    /**
+     * Rethrows the failure of a listener on the checking thread.
+     */
+    private void rethrowFailure() {
+        final Throwable cause = failure;
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause != null) {
+            throw new IllegalStateException("Exception was thrown by a listener", cause);
+        }
+    }
+
+    /**
+     * Delivers the queued batches to the listeners until the audit is finished.
+     * After a listener failed, batches are still taken from the queue so that
+     * the checking thread does not wait forever, but they are dropped.
+     */
+    private void report() {
+        try {
+            List<Consumer<AuditListener>> notifications = queue.take();
+            while (notifications != END_OF_AUDIT) {
+                if (failure == null) {
+                    deliver(notifications);
+                }
+                notifications = queue.take();
+            }
+        }
+        catch (InterruptedException ex) {
+            failure = ex;
+        }
+    }
+
+    /**
+     * Delivers a batch to all listeners, recording the failure of a listener.
+     * @param notifications the batch.
+     */
+    private void deliver(List<Consumer<AuditListener>> notifications) {
+        try {
+            for (final Consumer<AuditListener> notification : notifications) {
+                for (final AuditListener listener : listeners) {
+                    notification.accept(listener);
+                }
+            }
+        }
+        // -@cs[IllegalCatch] Failures of listeners are rethrown on the checking thread
+        catch (RuntimeException | Error ex) {
+            failure = ex;
+        }
+    }
+}
@@ -24,12 +24,19 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -49,6 +56,8 @@ import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.MessageDispatcher;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevelCounter;
+import com.puppycrawl.tools.checkstyle.checks.ClassResolutionCache;
+import com.puppycrawl.tools.checkstyle.checks.TranslationCheck;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
 /**
@@ -62,6 +71,21 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** Logger for Checker. */
     private static final Log LOG = LogFactory.getLog(Checker.class);
 
+    /** Name of the cache format which keys files without violations by timestamp. */
+    private static final String CACHE_FORMAT_PROPERTIES = "properties";
+
+    /** Name of the cache format which keys violations by file content. */
+    private static final String CACHE_FORMAT_BINARY = "binary";
+
+    /** Message of the exception thrown if a file can not be processed. */
+    private static final String EXCEPTION_MESSAGE = "Exception was thrown while processing ";
+
+    /** Message of the error thrown if a file can not be processed. */
+    private static final String ERROR_MESSAGE = "Error was thrown while processing ";
+
+    /** Maximum number of threads per available processor. */
+    private static final int MAX_THREADS_PER_PROCESSOR = 4;
+
     /** Maintains error count. */
     private final SeverityLevelCounter counter = new SeverityLevelCounter(
             SeverityLevel.ERROR);
@@ -69,12 +93,24 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** Vector of listeners. */
     private final List<AuditListener> listeners = new ArrayList<>();
 
+    /**
+     * The listeners notified by the fire methods, the registered listeners
+     * or the error counter and the listener reporting on a separate thread.
+     */
+    private List<AuditListener> notifiedListeners = listeners;
+
     /** Vector of fileset checks. */
     private final List<FileSetCheck> fileSetChecks = new ArrayList<>();
 
     /** The audit event filters. */
     private final FilterSet filters = new FilterSet();
 
+    /**
+     * Configurations of the child modules that are replicated for each worker
+     * in parallel mode.
+     */
+    private final Map<Object, Configuration> replicableConfigurations = new HashMap<>();
+
     /** Class loader to resolve classes with. **/
     private ClassLoader classLoader = Thread.currentThread()
             .getContextClassLoader();
@@ -86,6 +122,8 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     private String localeCountry = Locale.getDefault().getCountry();
     /** Locale language to report messages . **/
     private String localeLanguage = Locale.getDefault().getLanguage();
+    /** Locale to report messages, it is set up from the language and the country. **/
+    private Locale locale = Locale.getDefault();
 
     /** The factory for instantiating submodules. */
     private ModuleFactory moduleFactory;
@@ -117,6 +155,57 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** Cache file. **/
     private PropertyCacheFile cache;
 
+    /** Cache file in the binary format, which keys files by their content. */
+    private ContentCacheFile contentCache;
+
+    /** Name of the cache file. */
+    private String cacheFileName;
+
+    /** Format of the cache file. */
+    private String cacheFormat = CACHE_FORMAT_PROPERTIES;
+
+    /** Number of threads to process files with. */
+    private int threads = 1;
+
+    /** The workers of parallel mode, kept for the following audits. */
+    private final List<CheckerWorker> workers = new ArrayList<>();
+
+    /** Idle workers for processing sources in memory, one is created per concurrent call. */
+    private final Queue<CheckerWorker> sourceWorkers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Guards the FileSetChecks and filters which are not replicated while
+     * sources in memory are processed.
+     */
+    private final Object sharedModulesLock = new Object();
+
+    /** The profiler of the audit, {@code null} if the audit is not profiled. */
+    private Profiler profiler;
+
+    /** The profiler entries of the FileSetChecks and filters. */
+    private final Map<Object, Profiler.Entry> profilerEntries = new IdentityHashMap<>();
+
+    /** Vector of listeners of the profile of the audit. */
+    private final List<ProfilingListener> profilingListeners = new ArrayList<>();
+
+    /** The cache of parse results shared by the TreeWalkers. */
+    private ParseCache parseCache;
+
+    /** The cache of loaded classes shared by the checks of an audit. */
+    private final ClassResolutionCache classResolutionCache = new ClassResolutionCache();
+
+    /** The maximum number of Javadoc parse results kept. */
+    private int javadocParseCacheSize = JavadocParseCache.DEFAULT_MAX_SIZE;
+
+    /** The cache of Javadoc parse results shared by the TreeWalkers. */
+    private JavadocParseCache javadocParseCache;
+
+    /**
+     * The number of files whose notifications may be queued for the listeners
+     * on a separate reporting thread, 0 to notify them on the checking thread.
+     */
+    private int reportingQueueSize;
+
     /**
      * Creates a new {@code Checker} instance.
      * The instance needs to be contextualized and configured.
@@ -131,9 +220,48 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
      * @throws IOException if there are some problems with file loading.
      */
     public void setCacheFile(String fileName) throws IOException {
+        cacheFileName = fileName;
+        loadCache();
+    }
+
+    /**
+     * Sets the format of the cache file. The {@code properties} format
+     * remembers the timestamps of files without violations, the {@code binary}
+     * format remembers the violations of all files by the content of the files.
+     * @param format the format of the cache file.
+     * @throws IOException if there are some problems with file loading.
+     */
+    public void setCacheFormat(String format) throws IOException {
+        if (!CACHE_FORMAT_PROPERTIES.equals(format) && !CACHE_FORMAT_BINARY.equals(format)) {
+            throw new IllegalArgumentException("Unknown cache format: " + format);
+        }
+        cacheFormat = format;
+        if (cacheFileName != null) {
+            loadCache();
+        }
+    }
+
+    /**
+     * Creates the cache in the configured format and loads the cache file.
+     * @throws IOException if there are some problems with file loading.
+     */
+    private void loadCache() throws IOException {
         final Configuration configuration = getConfiguration();
-        cache = new PropertyCacheFile(configuration, fileName);
-        cache.load();
+        if (CACHE_FORMAT_BINARY.equals(cacheFormat)) {
+            cache = null;
+            ClassLoader loader = moduleClassLoader;
+            if (loader == null) {
+                loader = Checker.class.getClassLoader();
+            }
+            contentCache = new ContentCacheFile(configuration, cacheFileName, loader,
+                new Locale(localeLanguage, localeCountry));
+            contentCache.load();
+        }
+        else {
+            contentCache = null;
+            cache = new PropertyCacheFile(configuration, cacheFileName);
+            cache.load();
+        }
     }
 
     /**
@@ -142,20 +270,32 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
      */
     public void removeFilter(Filter filter) {
         filters.removeFilter(filter);
+        profilerEntries.remove(filter);
     }
 
-    /** Cleans up the object. **/
+    /**
+     * Cleans up the object, destroying the FileSetChecks and removing the
+     * listeners and filters. The checker can not process files afterwards.
+     **/
     public void destroy() {
+        fileSetChecks.forEach(FileSetCheck::destroy);
+        workers.forEach(CheckerWorker::destroy);
+        workers.clear();
+        sourceWorkers.forEach(CheckerWorker::destroy);
+        sourceWorkers.clear();
         listeners.clear();
         filters.clear();
-        if (cache != null) {
-            try {
+        try {
+            if (cache != null) {
                 cache.persist();
             }
-            catch (IOException ex) {
-                throw new IllegalStateException("Unable to persist cache file.", ex);
+            if (contentCache != null) {
+                contentCache.persist();
             }
         }
+        catch (IOException ex) {
+            throw new IllegalStateException("Unable to persist cache file.", ex);
+        }
     }
 
     /**
@@ -176,7 +316,8 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
 
     /**
      * Processes a set of files with all FileSetChecks.
-     * Once this is done, it is highly recommended to call for
+     * The configured modules are kept, so the checker can process further
+     * sets of files. Once this is done, it is highly recommended to call for
      * the destroy method to close and remove the listeners.
      * @param files the list of files to be audited.
      * @return the total number of errors found
@@ -187,24 +328,198 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         if (cache != null) {
             cache.putExternalResources(getExternalResourceLocations());
         }
+        if (contentCache != null) {
+            contentCache.putExternalResources(getExternalResourceLocations());
+        }
 
         // Prepare to start
+        if (profiler != null) {
+            profiler.reset();
+        }
+        classResolutionCache.clear();
+        shareParseCache();
+        final AsyncAuditListener asyncListener = startReporting();
+        try {
+            return audit(files);
+        }
+        finally {
+            if (asyncListener != null) {
+                asyncListener.close();
+                notifiedListeners = listeners;
+            }
+        }
+    }
+
+    /**
+     * Processes a set of files with all FileSetChecks, notifying the given
+     * listeners in addition to the registered ones. The run listeners are
+     * removed when the audit finished, so a configured checker can serve
+     * a sequence of audits reported to different listeners.
+     * @param files the list of files to be audited.
+     * @param runListeners the listeners of this audit only.
+     * @return the total number of errors found
+     * @throws CheckstyleException if error condition within Checkstyle occurs
+     */
+    public int process(List<File> files, List<? extends AuditListener> runListeners)
+            throws CheckstyleException {
+        final int registeredListeners = listeners.size();
+        listeners.addAll(runListeners);
+        try {
+            return process(files);
+        }
+        finally {
+            listeners.subList(registeredListeners, listeners.size()).clear();
+        }
+    }
+
+    /**
+     * Processes the contents of a source which are already in memory, like an
+     * unsaved editor buffer, with all FileSetChecks and filters. Neither the
+     * file is read nor the listeners are notified, the caches are not used.
+     * Each source is an audit of its own: the FileSetChecks which are not
+     * replicated begin and finish processing for every source, and
+     * {@link TranslationCheck} is skipped as it compares the files of a whole
+     * audit. The method may be called by many threads at once, each concurrent
+     * call takes its own replicas of the TreeWalkers and filters, while the
+     * modules which are not replicated process one source at a time. It must
+     * not be called while {@link #process(List)} runs.
+     * @param path the path of the source, it is used to match the file
+     *        extensions and in the messages only.
+     * @param content the full text of the source.
+     * @return the messages accepted by the filters.
+     * @throws CheckstyleException if error condition within Checkstyle occurs
+     * @noinspection ProhibitedExceptionThrown
+     */
+    public SortedSet<LocalizedMessage> processSource(String path, CharSequence content)
+            throws CheckstyleException {
+        final File file = new File(path).getAbsoluteFile();
+        SortedSet<LocalizedMessage> result = Collections.emptySortedSet();
+        if (CommonUtils.matchesFileExtension(file, fileExtensions)) {
+            final CheckerWorker worker = takeSourceWorker();
+            try {
+                final FileText text = FileText.fromContent(file, content);
+                result = completeSource(file, worker.process(file, text));
+            }
+            // -@cs[IllegalCatch] There is no other way to deliver filename that was under
+            // processing. See https://github.com/checkstyle/checkstyle/issues/2285
+            catch (Exception ex) {
+                // We need to catch all exceptions to put a reason failure (file name) in exception
+                throw new CheckstyleException(EXCEPTION_MESSAGE + path, ex);
+            }
+            catch (Error error) {
+                // We need to catch all errors to put a reason failure (file name) in error
+                throw new Error(ERROR_MESSAGE + path, error);
+            }
+            finally {
+                sourceWorkers.add(worker);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Takes an idle worker for processing a source in memory, creating a new
+     * one if all workers are busy.
+     * @return the worker, it is prepared for processing.
+     * @throws CheckstyleException if a replica could not be created.
+     */
+    private CheckerWorker takeSourceWorker() throws CheckstyleException {
+        CheckerWorker worker = sourceWorkers.poll();
+        if (worker == null) {
+            synchronized (sharedModulesLock) {
+                shareParseCache();
+                worker = createWorker(null);
+            }
+            worker.beginProcessing();
+        }
+        return worker;
+    }
+
+    /**
+     * Completes the processing of a source in memory: runs the FileSetChecks
+     * that are not replicated and applies the filters that are not replicated.
+     * @param file the file the source belongs to.
+     * @param result the result of the worker that processed the source.
+     * @return the messages accepted by all filters.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    private SortedSet<LocalizedMessage> completeSource(File file, CheckerWorker.Result result)
+            throws CheckstyleException {
+        synchronized (sharedModulesLock) {
+            final SortedSet<LocalizedMessage> sharedMessages = new TreeSet<>();
+            final MessageDispatcher sourceDispatcher =
+                new SourceMessageDispatcher(file.getPath(), sharedMessages);
+            for (final FileSetCheck fsc : fileSetChecks) {
+                if (!replicableConfigurations.containsKey(fsc)
+                        && !(fsc instanceof TranslationCheck)) {
+                    // the source is an audit of its own, errors logged when
+                    // the check finishes are collected instead of reported
+                    fsc.setMessageDispatcher(sourceDispatcher);
+                    try {
+                        fsc.beginProcessing(charset);
+                        sharedMessages.addAll(processWith(fsc, file, result.getText()));
+                        fsc.finishProcessing();
+                    }
+                    finally {
+                        fsc.setMessageDispatcher(this);
+                    }
+                }
+            }
+            return filterErrors(file.getPath(), result.getAcceptedMessages(), sharedMessages);
+        }
+    }
+
+    /**
+     * Tells the parse cache whether it is used by more than one TreeWalker.
+     */
+    private void shareParseCache() {
+        if (parseCache != null) {
+            parseCache.setShared(fileSetChecks.stream()
+                .filter(fsc -> fsc instanceof TreeWalker).count() > 1);
+        }
+    }
+
+    /**
+     * Notifies the listeners about the audit and processes the files.
+     * @param files the list of files to be audited.
+     * @return the total number of errors found
+     * @throws CheckstyleException if error condition within Checkstyle occurs
+     */
+    private int audit(List<File> files) throws CheckstyleException {
         fireAuditStarted();
         for (final FileSetCheck fsc : fileSetChecks) {
             fsc.beginProcessing(charset);
         }
 
-        processFiles(files);
+        if (threads > 1) {
+            new ParallelFileProcessor(this, getWorkers()).process(files);
+        }
+        else {
+            processFiles(files);
+        }
 
         // Finish up
         // It may also log!!!
         fileSetChecks.forEach(FileSetCheck::finishProcessing);
 
-        // It may also log!!!
-        fileSetChecks.forEach(FileSetCheck::destroy);
-
         final int errorCount = counter.getCount();
         fireAuditFinished();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format(Locale.ROOT, "Class resolution cache: %d hits, %d misses",
+                classResolutionCache.getHits(), classResolutionCache.getMisses()));
+            if (javadocParseCache != null) {
+                LOG.debug(String.format(Locale.ROOT,
+                    "Javadoc parse cache: %d hits, %d misses, %d entries",
+                    javadocParseCache.getHits(), javadocParseCache.getMisses(),
+                    javadocParseCache.size()));
+            }
+        }
+        if (profiler != null) {
+            final List<Profiler.Entry> entries = profiler.getEntries();
+            for (final ProfilingListener listener : profilingListeners) {
+                listener.profilingFinished(entries);
+            }
+        }
         return errorCount;
     }
 
@@ -231,10 +546,28 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         return externalResources;
     }
 
+    /**
+     * Starts notifying the listeners on a separate reporting thread if a
+     * reporting queue is configured. The error counter is still notified on
+     * the checking thread, the number of errors is known when the audit ends.
+     * @return the listener reporting on the separate thread, {@code null} if
+     *         listeners are notified on the checking thread.
+     */
+    private AsyncAuditListener startReporting() {
+        AsyncAuditListener result = null;
+        if (reportingQueueSize > 0) {
+            final List<AuditListener> reportedListeners = new ArrayList<>(listeners);
+            reportedListeners.remove(counter);
+            result = new AsyncAuditListener(reportedListeners, reportingQueueSize);
+            notifiedListeners = Arrays.asList(counter, result);
+        }
+        return result;
+    }
+
     /** Notify all listeners about the audit start. */
     private void fireAuditStarted() {
         final AuditEvent event = new AuditEvent(this);
-        for (final AuditListener listener : listeners) {
+        for (final AuditListener listener : notifiedListeners) {
             listener.auditStarted(event);
         }
     }
@@ -242,7 +575,7 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     /** Notify all listeners about the audit end. */
     private void fireAuditFinished() {
         final AuditEvent event = new AuditEvent(this);
-        for (final AuditListener listener : listeners) {
+        for (final AuditListener listener : notifiedListeners) {
             listener.auditFinished(event);
         }
     }
@@ -258,13 +591,11 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
             try {
                 final String fileName = file.getAbsolutePath();
                 final long timestamp = file.lastModified();
-                if (cache != null && cache.isInCache(fileName, timestamp)
-                        || !CommonUtils.matchesFileExtension(file, fileExtensions)) {
+                if (!isProcessable(file)) {
                     continue;
                 }
                 fireFileStarted(fileName);
                 final SortedSet<LocalizedMessage> fileMessages = processFile(file);
-                fireErrors(fileName, fileMessages);
                 fireFileFinished(fileName);
                 if (cache != null && fileMessages.isEmpty()) {
                     cache.put(fileName, timestamp);
@@ -274,28 +605,131 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
             // processing. See https://github.com/checkstyle/checkstyle/issues/2285
             catch (Exception ex) {
                 // We need to catch all exceptions to put a reason failure (file name) in exception
-                throw new CheckstyleException("Exception was thrown while processing "
-                        + file.getPath(), ex);
+                throw new CheckstyleException(EXCEPTION_MESSAGE + file.getPath(), ex);
             }
             catch (Error error) {
                 // We need to catch all errors to put a reason failure (file name) in error
-                throw new Error("Error was thrown while processing " + file.getPath(), error);
+                throw new Error(ERROR_MESSAGE + file.getPath(), error);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a file has to be processed, i.e. it has one of the accepted
+     * extensions and is not in the cache.
+     * @param file the file.
+     * @return true if the file has to be processed.
+     */
+    boolean isProcessable(File file) {
+        return (cache == null || !cache.isInCache(file.getAbsolutePath(), file.lastModified()))
+            && CommonUtils.matchesFileExtension(file, fileExtensions);
+    }
+
+    /**
+     * Returns the workers of parallel mode, creating them for the first audit
+     * and whenever the number of threads changed.
+     * @return the workers, one per thread.
+     * @throws CheckstyleException if a replica could not be created.
+     */
+    private List<CheckerWorker> getWorkers() throws CheckstyleException {
+        if (workers.size() != threads) {
+            workers.forEach(CheckerWorker::destroy);
+            workers.clear();
+            for (int i = 0; i < threads; i++) {
+                workers.add(createWorker(contentCache));
+            }
+        }
+        return workers;
+    }
+
+    /**
+     * Creates a worker for parallel mode with its own replicas of the TreeWalkers
+     * and filters that were created from configuration.
+     * @param workerContentCache the content cache of the worker, {@code null} if there is none.
+     * @return a new worker.
+     * @throws CheckstyleException if a replica could not be created.
+     */
+    private CheckerWorker createWorker(ContentCacheFile workerContentCache)
+            throws CheckstyleException {
+        final CheckerWorker worker =
+            new CheckerWorker(this, basedir, charset, workerContentCache);
+        worker.setProfiler(profiler);
+        worker.setLocale(locale);
+        worker.setParseCache(parseCache);
+        for (final FileSetCheck fsc : fileSetChecks) {
+            if (replicableConfigurations.containsKey(fsc)) {
+                final FileSetCheck replica =
+                    (FileSetCheck) createChildModule(replicableConfigurations.get(fsc));
+                replica.init();
+                replica.setMessageDispatcher(this);
+                worker.addFileSetCheck(replica, replicableConfigurations.get(fsc));
+            }
+        }
+        for (final Filter filter : filters.getFilters()) {
+            final Configuration filterConfig = replicableConfigurations.get(filter);
+            if (filterConfig != null) {
+                worker.addFilter((Filter) createChildModule(filterConfig), filterConfig);
+            }
+        }
+        return worker;
+    }
+
+    /**
+     * Completes the processing of a file in parallel mode: runs the FileSetChecks
+     * that are not replicated and notifies the listeners about the file.
+     * @param file the file.
+     * @param result the result of the worker that processed the file.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    void completeFile(File file, CheckerWorker.Result result) throws CheckstyleException {
+        final String fileName = file.getAbsolutePath();
+        fireFileStarted(fileName);
+
+        final SortedSet<LocalizedMessage> sharedMessages = new TreeSet<>();
+        if (result.isCached()) {
+            fireCachedErrors(fileName, result.getMessages());
+        }
+        else {
+            if (result.getText() != null) {
+                for (final FileSetCheck fsc : fileSetChecks) {
+                    if (!replicableConfigurations.containsKey(fsc)) {
+                        sharedMessages.addAll(processWith(fsc, file, result.getText()));
+                    }
+                }
             }
+            final SortedSet<LocalizedMessage> accepted =
+                fireErrors(fileName, result.getAcceptedMessages(), sharedMessages);
+            putInContentCache(fileName, result.getText(), accepted);
+        }
+        fireFileFinished(fileName);
+
+        if (cache != null && result.getMessages().isEmpty() && sharedMessages.isEmpty()) {
+            cache.put(fileName, file.lastModified());
         }
     }
 
     /**
-     * Processes a file with all FileSetChecks.
+     * Processes a file with all FileSetChecks and notifies the listeners about
+     * the errors. The errors of a file which did not change since it was put
+     * in the content cache are replayed from the cache instead.
      * @param file a file to process.
-     * @return a sorted set of messages to be logged.
+     * @return a sorted set of messages logged for the file.
      * @throws CheckstyleException if error condition within Checkstyle occurs.
      */
     private SortedSet<LocalizedMessage> processFile(File file) throws CheckstyleException {
+        final String fileName = file.getAbsolutePath();
         final SortedSet<LocalizedMessage> fileMessages = new TreeSet<>();
+        FileText theText = null;
+        SortedSet<LocalizedMessage> cachedMessages = null;
         try {
-            final FileText theText = new FileText(file.getAbsoluteFile(), charset);
-            for (final FileSetCheck fsc : fileSetChecks) {
-                fileMessages.addAll(fsc.process(file, theText));
+            theText = new FileText(file.getAbsoluteFile(), charset);
+            if (contentCache != null) {
+                cachedMessages = contentCache.get(fileName, theText);
+            }
+            if (cachedMessages == null) {
+                for (final FileSetCheck fsc : fileSetChecks) {
+                    fileMessages.addAll(processWith(fsc, file, theText));
+                }
             }
         }
         catch (final IOException ioe) {
@@ -304,9 +738,59 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
                     Definitions.CHECKSTYLE_BUNDLE, "general.exception",
                     new String[] {ioe.getMessage()}, null, getClass(), null));
         }
+        finally {
+            if (parseCache != null) {
+                parseCache.clear();
+            }
+        }
+
+        if (cachedMessages == null) {
+            final SortedSet<LocalizedMessage> accepted =
+                fireErrors(fileName, Collections.emptySortedSet(), fileMessages);
+            putInContentCache(fileName, theText, accepted);
+        }
+        else {
+            fireCachedErrors(fileName, cachedMessages);
+            fileMessages.addAll(cachedMessages);
+        }
         return fileMessages;
     }
 
+    /**
+     * Processes a file with a FileSetCheck, recording the time spent in it if
+     * the audit is profiled.
+     * @param fileSetCheck the FileSetCheck.
+     * @param file the file to process.
+     * @param text the contents of the file.
+     * @return the messages logged by the FileSetCheck.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    private SortedSet<LocalizedMessage> processWith(FileSetCheck fileSetCheck, File file,
+            FileText text) throws CheckstyleException {
+        final SortedSet<LocalizedMessage> result;
+        if (profiler == null) {
+            result = fileSetCheck.process(file, text);
+        }
+        else {
+            result = getProfilerEntry(Profiler.Category.FILESET_CHECK, fileSetCheck)
+                .process(fileSetCheck, file, text);
+        }
+        return result;
+    }
+
+    /**
+     * Records the errors the listeners were notified about in the content cache.
+     * @param fileName the audited file
+     * @param text the contents of the file, {@code null} if the file could not be read
+     * @param acceptedErrors the errors accepted by the filters
+     */
+    private void putInContentCache(String fileName, FileText text,
+            SortedSet<LocalizedMessage> acceptedErrors) {
+        if (contentCache != null && text != null) {
+            contentCache.put(fileName, text, acceptedErrors);
+        }
+    }
+
     /**
      * Notify all listeners about the beginning of a file audit.
      *
@@ -317,7 +801,7 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     public void fireFileStarted(String fileName) {
         final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
         final AuditEvent event = new AuditEvent(this, stripped);
-        for (final AuditListener listener : listeners) {
+        for (final AuditListener listener : notifiedListeners) {
             listener.fileStarted(event);
         }
     }
@@ -332,15 +816,133 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     public void fireErrors(String fileName, SortedSet<LocalizedMessage> errors) {
         final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
         for (final LocalizedMessage element : errors) {
-            final AuditEvent event = new AuditEvent(this, stripped, element);
-            if (filters.accept(event)) {
-                for (final AuditListener listener : listeners) {
+            final AuditEvent event = new AuditEvent(this, stripped, element, locale);
+            if (isAccepted(event)) {
+                for (final AuditListener listener : notifiedListeners) {
                     listener.addError(event);
                 }
             }
         }
     }
 
+    /**
+     * Notify all listeners about the errors in a file which are accepted by
+     * the filters.
+     *
+     * @param fileName the audited file
+     * @param prefilteredErrors the errors accepted by the replicas of the filters
+     * @param errors the errors that were not filtered yet
+     * @return the errors accepted by all filters
+     * @see #filterErrors(String, SortedSet, SortedSet)
+     */
+    private SortedSet<LocalizedMessage> fireErrors(String fileName,
+            SortedSet<LocalizedMessage> prefilteredErrors, SortedSet<LocalizedMessage> errors) {
+        final SortedSet<LocalizedMessage> acceptedErrors =
+            filterErrors(fileName, prefilteredErrors, errors);
+        final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
+        for (final LocalizedMessage element : acceptedErrors) {
+            final AuditEvent event = new AuditEvent(this, stripped, element, locale);
+            for (final AuditListener listener : notifiedListeners) {
+                listener.addError(event);
+            }
+        }
+        return acceptedErrors;
+    }
+
+    /**
+     * Passes the errors in a file to the filters. Errors that were already
+     * accepted by the replicas of the filters in a worker of parallel mode only
+     * need to pass the filters which are not replicated, all other errors need
+     * to pass every filter.
+     *
+     * @param fileName the audited file
+     * @param prefilteredErrors the errors accepted by the replicas of the filters
+     * @param errors the errors that were not filtered yet
+     * @return the errors accepted by all filters
+     */
+    private SortedSet<LocalizedMessage> filterErrors(String fileName,
+            SortedSet<LocalizedMessage> prefilteredErrors, SortedSet<LocalizedMessage> errors) {
+        final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
+        final SortedSet<LocalizedMessage> allErrors = new TreeSet<>(prefilteredErrors);
+        allErrors.addAll(errors);
+        final SortedSet<LocalizedMessage> acceptedErrors = new TreeSet<>();
+        for (final LocalizedMessage element : allErrors) {
+            final AuditEvent event = new AuditEvent(this, stripped, element, locale);
+            final boolean accepted;
+            if (errors.contains(element)) {
+                accepted = isAccepted(event);
+            }
+            else {
+                accepted = filters.getFilters().stream()
+                    .filter(filter -> !replicableConfigurations.containsKey(filter))
+                    .allMatch(filter -> isAccepted(filter, event));
+            }
+            if (accepted) {
+                acceptedErrors.add(element);
+            }
+        }
+        return acceptedErrors;
+    }
+
+    /**
+     * Checks whether all filters accept an event, recording the time spent in
+     * the filters if the audit is profiled.
+     * @param event the event.
+     * @return whether all filters accepted the event.
+     */
+    private boolean isAccepted(AuditEvent event) {
+        final boolean result;
+        if (profiler == null) {
+            result = filters.accept(event);
+        }
+        else {
+            boolean accepted = true;
+            for (final Filter filter : filters.getFilters()) {
+                if (!isAccepted(filter, event)) {
+                    accepted = false;
+                    break;
+                }
+            }
+            result = accepted;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether a filter accepts an event, recording the time spent in
+     * the filter if the audit is profiled.
+     * @param filter the filter.
+     * @param event the event.
+     * @return whether the filter accepted the event.
+     */
+    private boolean isAccepted(Filter filter, AuditEvent event) {
+        final boolean result;
+        if (profiler == null) {
+            result = filter.accept(event);
+        }
+        else {
+            result = getProfilerEntry(Profiler.Category.FILTER, filter).accept(filter, event);
+        }
+        return result;
+    }
+
+    /**
+     * Notify all listeners about the errors of a file replayed from the content cache.
+     * The errors were already accepted by the filters when they were cached.
+     *
+     * @param fileName the audited file
+     * @param errors the cached errors
+     */
+    private void fireCachedErrors(String fileName, SortedSet<LocalizedMessage> errors) {
+        final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
+        for (final LocalizedMessage element : errors) {
+            final AuditEvent event = new AuditEvent(this, stripped, element, locale);
+            for (final AuditListener listener : notifiedListeners) {
+                listener.addError(event);
+            }
+        }
+    }
+
     /**
      * Notify all listeners about the end of a file audit.
      *
@@ -351,15 +953,24 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     public void fireFileFinished(String fileName) {
         final String stripped = CommonUtils.relativizeAndNormalizePath(basedir, fileName);
         final AuditEvent event = new AuditEvent(this, stripped);
-        for (final AuditListener listener : listeners) {
+        for (final AuditListener listener : notifiedListeners) {
             listener.fileFinished(event);
         }
     }
 
     @Override
     public void finishLocalSetup() throws CheckstyleException {
-        final Locale locale = new Locale(localeLanguage, localeCountry);
-        LocalizedMessage.setLocale(locale);
+        locale = new Locale(localeLanguage, localeCountry);
+        if (contentCache != null && !locale.equals(contentCache.getLocale())) {
+            // the cache was loaded before the locale was configured, its
+            // messages have to be in the locale the violations are reported in
+            try {
+                loadCache();
+            }
+            catch (final IOException ex) {
+                throw new CheckstyleException("Unable to load the cache file", ex);
+            }
+        }
 
         if (moduleFactory == null) {
 
@@ -371,7 +982,9 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
 
             final Set<String> packageNames = PackageNamesLoader
                     .getPackageNames(moduleClassLoader);
-            moduleFactory = new PackageObjectFactory(packageNames,
+            final Map<String, String> moduleClassNames = PackageNamesLoader
+                    .getModuleClassNames(moduleClassLoader);
+            moduleFactory = new PackageObjectFactory(packageNames, moduleClassNames,
                     moduleClassLoader);
         }
 
@@ -381,6 +994,14 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         context.add("moduleFactory", moduleFactory);
         context.add("severity", severityLevel.getName());
         context.add("basedir", basedir);
+        if (profiler != null) {
+            context.add("profiler", profiler);
+        }
+        parseCache = new ParseCache(profiler);
+        context.add("parseCache", parseCache);
+        context.add("classResolutionCache", classResolutionCache);
+        javadocParseCache = new JavadocParseCache(javadocParseCacheSize);
+        context.add("javadocParseCache", javadocParseCache);
         childContext = context;
     }
 
@@ -388,28 +1009,20 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     protected void setupChild(Configuration childConf)
             throws CheckstyleException {
         final String name = childConf.getName();
-        final Object child;
-
-        try {
-            child = moduleFactory.createModule(name);
-
-            if (child instanceof AutomaticBean) {
-                final AutomaticBean bean = (AutomaticBean) child;
-                bean.contextualize(childContext);
-                bean.configure(childConf);
-            }
-        }
-        catch (final CheckstyleException ex) {
-            throw new CheckstyleException("cannot initialize module " + name
-                    + " - " + ex.getMessage(), ex);
+        final Object child = createChildModule(childConf);
+        if (child instanceof TreeWalker || child instanceof Filter) {
+            // other FileSetChecks may rely on seeing all files, they are never replicated
+            replicableConfigurations.put(child, childConf);
         }
         if (child instanceof FileSetCheck) {
             final FileSetCheck fsc = (FileSetCheck) child;
             fsc.init();
+            addProfilerEntry(Profiler.Category.FILESET_CHECK, fsc, childConf);
             addFileSetCheck(fsc);
         }
         else if (child instanceof Filter) {
             final Filter filter = (Filter) child;
+            addProfilerEntry(Profiler.Category.FILTER, filter, childConf);
             addFilter(filter);
         }
         else if (child instanceof AuditListener) {
@@ -422,6 +1035,32 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         }
     }
 
+    /**
+     * Creates a contextualized and configured child module.
+     * @param childConf the configuration of the child module.
+     * @return the child module.
+     * @throws CheckstyleException if the module could not be created.
+     */
+    private Object createChildModule(Configuration childConf) throws CheckstyleException {
+        final String name = childConf.getName();
+        final Object child;
+
+        try {
+            child = moduleFactory.createModule(name);
+
+            if (child instanceof AutomaticBean) {
+                final AutomaticBean bean = (AutomaticBean) child;
+                bean.contextualize(childContext);
+                bean.configure(childConf);
+            }
+        }
+        catch (final CheckstyleException ex) {
+            throw new CheckstyleException("cannot initialize module " + name
+                    + " - " + ex.getMessage(), ex);
+        }
+        return child;
+    }
+
     /**
      * Adds a FileSetCheck to the list of FileSetChecks
      * that is executed in process().
@@ -430,6 +1069,7 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     public void addFileSetCheck(FileSetCheck fileSetCheck) {
         fileSetCheck.setMessageDispatcher(this);
         fileSetChecks.add(fileSetCheck);
+        addProfilerEntry(Profiler.Category.FILESET_CHECK, fileSetCheck, null);
     }
 
     /**
@@ -438,6 +1078,37 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
      */
     public void addFilter(Filter filter) {
         filters.addFilter(filter);
+        addProfilerEntry(Profiler.Category.FILTER, filter, null);
+    }
+
+    /**
+     * Resolves the profiler entry of a module once, if the audit is profiled.
+     * @param category the kind of work done by the module.
+     * @param module the module.
+     * @param configuration the configuration the module was created from,
+     *        {@code null} if it was not created from configuration.
+     */
+    private void addProfilerEntry(Profiler.Category category, Object module,
+            Configuration configuration) {
+        if (profiler != null && !profilerEntries.containsKey(module)) {
+            profilerEntries.put(module, profiler.getEntry(category, module, configuration));
+        }
+    }
+
+    /**
+     * Returns the profiler entry of a module, the module must not be added
+     * while it is profiled.
+     * @param category the kind of work done by the module.
+     * @param module the module.
+     * @return the entry.
+     */
+    private Profiler.Entry getProfilerEntry(Profiler.Category category, Object module) {
+        Profiler.Entry entry = profilerEntries.get(module);
+        if (entry == null) {
+            // the module was added before profiling was enabled
+            entry = profiler.getEntry(category, module);
+        }
+        return entry;
     }
 
     /**
@@ -448,6 +1119,19 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
         listeners.add(listener);
     }
 
+    /**
+     * Adds a listener of the profile of the audit. Adding a listener enables
+     * profiling, it has to be added before the Checker is configured to
+     * profile the checks of TreeWalkers.
+     * @param listener the listener.
+     */
+    public void addProfilingListener(ProfilingListener listener) {
+        if (profiler == null) {
+            profiler = new Profiler();
+        }
+        profilingListeners.add(listener);
+    }
+
     /**
      * Sets the file extensions that identify the files that pass the
      * filter of this FileSetCheck.
@@ -558,11 +1242,96 @@ public class Checker extends AutomaticBean implements MessageDispatcher {
     }
 
     /**
-     * Clears the cache.
+     * Sets the number of threads to process files with. Values less than 2
+     * mean that files are processed sequentially on the calling thread, values
+     * above {@link #getMaxThreads()} are reduced to it, as every thread gets
+     * its own replicas of the TreeWalkers and filters.
+     * @param threads the number of threads.
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.min(threads, getMaxThreads());
+    }
+
+    /**
+     * Returns the maximum number of threads to process files with, a small
+     * multiple of the available processors.
+     * @return the maximum number of threads.
+     */
+    public static int getMaxThreads() {
+        return MAX_THREADS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Sets the number of files whose notifications may be queued for the
+     * listeners, which are then notified on a separate reporting thread.
+     * Checking waits while the queue is full. A value of 0 means that the
+     * listeners are notified on the checking thread.
+     * @param reportingQueueSize the number of files.
+     */
+    public void setReportingQueueSize(int reportingQueueSize) {
+        this.reportingQueueSize = reportingQueueSize;
+    }
+
+    /**
+     * Sets the maximum number of Javadoc parse results kept by their content,
+     * so Javadoc comments that repeat in many places are parsed once. The
+     * least recently used results are dropped first. A value of 0 disables
+     * caching between comments.
+     * @param javadocParseCacheSize the maximum number of results.
+     */
+    public void setJavadocParseCacheSize(int javadocParseCacheSize) {
+        this.javadocParseCacheSize = javadocParseCacheSize;
+    }
+
+    /**
+     * Clears the cache, together with the parsed message formats.
      */
     public void clearCache() {
         if (cache != null) {
             cache.clear();
         }
+        if (contentCache != null) {
+            contentCache.clear();
+        }
+        LocalizedMessage.clearCache();
+    }
+
+    /**
+     * Collects the errors FileSetChecks log for a source in memory, instead of
+     * notifying the listeners.
+     */
+    private static final class SourceMessageDispatcher implements MessageDispatcher {
+        /** The path of the source. */
+        private final String path;
+
+        /** The errors of the source. */
+        private final SortedSet<LocalizedMessage> messages;
+
+        /**
+         * Creates a new dispatcher.
+         * @param path the path of the source.
+         * @param messages the set to add the errors of the source to.
+         */
+        SourceMessageDispatcher(String path, SortedSet<LocalizedMessage> messages) {
+            this.path = path;
+            this.messages = messages;
+        }
+
+        @Override
+        public void fireFileStarted(String fileName) {
+            // sources in memory are not reported
+        }
+
+        @Override
+        public void fireFileFinished(String fileName) {
+            // sources in memory are not reported
+        }
+
+        @Override
+        public void fireErrors(String fileName, SortedSet<LocalizedMessage> errors) {
+            if (path.equals(fileName)) {
+                messages.addAll(errors);
+            }
+        }
     }
 }
@@ -0,0 +1,341 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+/**
+ * Keeps a configured {@link Checker} warm between audits, so a long-lived
+ * process pays for loading the configuration and creating the modules only
+ * once. The daemon checks files again when they change on disk and checks
+ * files sent by clients over a local socket. Every audit is reported by a
+ * fresh listener, the daemon runs one audit at a time.
+ *
+ * @author the original author or authors.
+ */
+final class CheckerDaemon {
+    /** Prefix of the line ending the report of an audit that failed. */
+    static final String ERROR_PREFIX = "ERROR: ";
+
+    /** Logger for CheckerDaemon. */
+    private static final Log LOG = LogFactory.getLog(CheckerDaemon.class);
+
+    /** Time to wait for further changes before checking changed files, in milliseconds. */
+    private static final long SETTLE_MILLIS = 50;
+
+    /** Default time to wait for the request of a client, in milliseconds. */
+    private static final int DEFAULT_REQUEST_TIMEOUT_MILLIS = 10_000;
+
+    /** The configured checker. */
+    private final Checker checker;
+
+    /** Creates the listener reporting an audit to the given stream. */
+    private final Function<OutputStream, AuditListener> listenerFactory;
+
+    /** Time to wait for the request of a client, in milliseconds. */
+    private int requestTimeout = DEFAULT_REQUEST_TIMEOUT_MILLIS;
+
+    /**
+     * Creates a new daemon.
+     * @param checker the configured checker.
+     * @param listenerFactory creates the listener reporting an audit to the
+     *        given stream, the listener must not close the stream.
+     */
+    CheckerDaemon(Checker checker, Function<OutputStream, AuditListener> listenerFactory) {
+        this.checker = checker;
+        this.listenerFactory = listenerFactory;
+    }
+
+    /**
+     * Sets the time to wait for the request of a client.
+     * @param requestTimeout the timeout in milliseconds, zero waits forever.
+     */
+    void setRequestTimeout(int requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Checks files and reports the audit to a stream.
+     * @param files the files to check.
+     * @param out the stream to report the audit to.
+     * @return the number of errors found.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    synchronized int check(List<File> files, OutputStream out) throws CheckstyleException {
+        final AuditListener listener = listenerFactory.apply(out);
+        checker.addListener(listener);
+        try {
+            return checker.process(files);
+        }
+        finally {
+            checker.removeListener(listener);
+        }
+    }
+
+    /**
+     * Checks files and reports the audit to a stream. If the audit fails, the
+     * report ends with a line starting with {@link #ERROR_PREFIX} that
+     * describes the failure, so a daemon keeps running when a file can not be
+     * checked, like a half-saved file that does not parse.
+     * @param files the files to check.
+     * @param out the stream to report the audit to.
+     * @throws IOException if the failure can not be reported.
+     */
+    void checkAndReport(List<File> files, OutputStream out) throws IOException {
+        try {
+            check(files, out);
+        }
+        catch (final CheckstyleException ex) {
+            LOG.debug("Unable to check the files.", ex);
+            reportError(out, ex.getMessage());
+        }
+    }
+
+    /**
+     * Watches directories and checks the files created or modified in them,
+     * until the current thread is interrupted. Changes arriving together are
+     * checked in a single audit. An audit that fails is reported as an error
+     * and watching goes on.
+     * @param roots the files and directories to watch, directories are
+     *        watched with all their subdirectories.
+     * @param directoryFilter accepts the subdirectories to watch.
+     * @param out the stream to report the audits to.
+     * @throws IOException if the directories can not be watched.
+     */
+    void watch(List<File> roots, Predicate<File> directoryFilter, OutputStream out)
+            throws IOException {
+        final Set<Path> watchedFiles = new HashSet<>();
+        final List<Path> watchedDirectories = new ArrayList<>();
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            final Map<WatchKey, Path> directories = new HashMap<>();
+            for (final File root : roots) {
+                final File absoluteRoot = root.getAbsoluteFile();
+                if (absoluteRoot.isDirectory()) {
+                    watchedDirectories.add(absoluteRoot.toPath());
+                    register(watchService, absoluteRoot, directoryFilter, directories);
+                }
+                else {
+                    final File parent = absoluteRoot.getParentFile();
+                    watchedFiles.add(absoluteRoot.toPath());
+                    directories.put(register(watchService, parent), parent.toPath());
+                }
+            }
+
+            List<File> changedFiles = awaitChanges(watchService, directories, directoryFilter);
+            while (changedFiles != null) {
+                final List<File> files = new ArrayList<>();
+                for (final File file : changedFiles) {
+                    final Path path = file.toPath();
+                    if (file.isFile() && (watchedFiles.contains(path)
+                            || watchedDirectories.stream().anyMatch(path::startsWith))) {
+                        files.add(file);
+                    }
+                }
+                if (!files.isEmpty()) {
+                    checkAndReport(files, out);
+                }
+                changedFiles = awaitChanges(watchService, directories, directoryFilter);
+            }
+        }
+    }
+
+    /**
+     * Accepts clients on a server socket, until the socket is closed or the
+     * current thread is interrupted. A client sends the paths of the files to
+     * check in UTF-8, one per line, ending with an empty line or the end of its
+     * output. The daemon replies with the report of the audit and closes the
+     * connection. If the request does not arrive in time or the audit fails,
+     * the reply ends with a line starting with {@link #ERROR_PREFIX} that
+     * describes the failure.
+     * @param serverSocket the server socket, it should be bound to a local address.
+     */
+    void serve(ServerSocket serverSocket) {
+        while (!serverSocket.isClosed() && !Thread.currentThread().isInterrupted()) {
+            try (Socket socket = serverSocket.accept()) {
+                socket.setSoTimeout(requestTimeout);
+                serveClient(socket);
+            }
+            catch (final IOException ex) {
+                if (!serverSocket.isClosed()) {
+                    LOG.debug("Unable to serve a client.", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the request of a client and replies with the report of the audit
+     * or with an error.
+     * @param socket the socket of the client.
+     * @throws IOException if the reply can not be written.
+     */
+    private void serveClient(Socket socket) throws IOException {
+        final OutputStream out = socket.getOutputStream();
+        try {
+            checkAndReport(readRequest(socket), out);
+        }
+        catch (final SocketTimeoutException ex) {
+            LOG.debug("Timed out waiting for the request of a client.", ex);
+            reportError(out, "Timed out waiting for the request.");
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes a line starting with {@link #ERROR_PREFIX} that describes a failure.
+     * @param out the stream to write to.
+     * @param error the description of the failure.
+     * @throws IOException if the line can not be written.
+     */
+    private static void reportError(OutputStream out, String error) throws IOException {
+        out.write((System.lineSeparator() + ERROR_PREFIX + error + System.lineSeparator())
+            .getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Reads the files to check sent by a client.
+     * @param socket the socket of the client.
+     * @return the files.
+     * @throws IOException if the request can not be read.
+     */
+    private static List<File> readRequest(Socket socket) throws IOException {
+        final BufferedReader reader = new BufferedReader(
+            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        final List<File> files = new ArrayList<>();
+        String line = reader.readLine();
+        while (line != null && !line.isEmpty()) {
+            files.add(new File(line));
+            line = reader.readLine();
+        }
+        return files;
+    }
+
+    /**
+     * Waits for changes in the watched directories and collects the changed
+     * files, new directories are watched from then on.
+     * @param watchService the watch service.
+     * @param directories the watched directories by their keys.
+     * @param directoryFilter accepts the subdirectories to watch.
+     * @return the changed files or {@code null} if watching should stop.
+     * @throws IOException if a new directory can not be watched.
+     */
+    private static List<File> awaitChanges(WatchService watchService,
+            Map<WatchKey, Path> directories, Predicate<File> directoryFilter)
+            throws IOException {
+        final Set<File> changedFiles = new LinkedHashSet<>();
+        List<File> result = null;
+        try {
+            WatchKey key = watchService.take();
+            while (key != null) {
+                final Path directory = directories.get(key);
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() != StandardWatchEventKinds.OVERFLOW) {
+                        final File file = directory.resolve((Path) event.context()).toFile();
+                        if (file.isDirectory()) {
+                            register(watchService, file, directoryFilter, directories);
+                        }
+                        else {
+                            changedFiles.add(file);
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    directories.remove(key);
+                }
+                key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            result = new ArrayList<>(changedFiles);
+        }
+        catch (final InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+        catch (final ClosedWatchServiceException ignored) {
+            // the watch service is closed when watching stops
+        }
+        return result;
+    }
+
+    /**
+     * Watches a directory with all subdirectories accepted by a filter.
+     * @param watchService the watch service.
+     * @param directory the directory.
+     * @param directoryFilter accepts the subdirectories to watch.
+     * @param directories the watched directories by their keys.
+     * @throws IOException if a directory can not be watched.
+     */
+    private static void register(WatchService watchService, File directory,
+            Predicate<File> directoryFilter, Map<WatchKey, Path> directories)
+            throws IOException {
+        if (directoryFilter.test(directory)) {
+            directories.put(register(watchService, directory), directory.toPath());
+            final File[] children = directory.listFiles(File::isDirectory);
+            if (children != null) {
+                for (final File child : children) {
+                    register(watchService, child, directoryFilter, directories);
+                }
+            }
+        }
+    }
+
+    /**
+     * Watches a directory for created and modified files.
+     * @param watchService the watch service.
+     * @param directory the directory.
+     * @return the key of the directory.
+     * @throws IOException if the directory can not be watched.
+     */
+    private static WatchKey register(WatchService watchService, File directory)
+            throws IOException {
+        return directory.toPath().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+}
@@ -0,0 +1,364 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.api.FilterSet;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+
+/**
+ * Processes files on a single thread of a parallel {@link Checker} run.
+ * A worker owns its own replicas of the file-local FileSetChecks and of
+ * the filters, so thread-confined state (like the contents kept by
+ * {@link com.puppycrawl.tools.checkstyle.checks.FileContentsHolder})
+ * is produced and consumed on the same thread.
+ *
+ * @author the original author or authors.
+ */
+final class CheckerWorker {
+    /** Logger for CheckerWorker. */
+    private static final Log LOG = LogFactory.getLog(CheckerWorker.class);
+
+    /** The source of the audit events passed to the filters. */
+    private final Object source;
+
+    /** The basedir to strip off in file names. */
+    private final String basedir;
+
+    /** The name of the charset to read files with. */
+    private final String charset;
+
+    /** The content cache shared by all workers, {@code null} if there is none. */
+    private final ContentCacheFile contentCache;
+
+    /** Replicas of the file-local fileset checks. */
+    private final List<FileSetCheck> fileSetChecks = new ArrayList<>();
+
+    /** Replicas of the filters. */
+    private final FilterSet filters = new FilterSet();
+
+    /** The profiler shared by all workers, {@code null} if the audit is not profiled. */
+    private Profiler profiler;
+
+    /** The profiler entries of the replicas. */
+    private final Map<Object, Profiler.Entry> profilerEntries = new IdentityHashMap<>();
+
+    /** The locale to translate messages passed to the filters to. */
+    private Locale locale;
+
+    /** The cache of parse results shared by all workers, {@code null} if there is none. */
+    private ParseCache parseCache;
+
+    /**
+     * Creates a new worker.
+     * @param source the source of the audit events passed to the filters.
+     * @param basedir the base directory to strip off in file names.
+     * @param charset the name of the charset to read files with.
+     * @param contentCache the content cache, {@code null} if there is none.
+     */
+    CheckerWorker(Object source, String basedir, String charset,
+            ContentCacheFile contentCache) {
+        this.source = source;
+        this.basedir = basedir;
+        this.charset = charset;
+        this.contentCache = contentCache;
+    }
+
+    /**
+     * Sets the profiler to record the time spent in fileset checks and filters with,
+     * it has to be set before the replicas are added.
+     * @param profiler the profiler, {@code null} if the audit is not profiled.
+     */
+    void setProfiler(Profiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Sets the locale to translate messages passed to the filters to.
+     * @param locale the locale, {@code null} for the default one.
+     */
+    void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+
+    /**
+     * Sets the cache of parse results used by the replicas of the TreeWalkers,
+     * the results of a file are dropped when the worker finished it.
+     * @param parseCache the cache, {@code null} if there is none.
+     */
+    void setParseCache(ParseCache parseCache) {
+        this.parseCache = parseCache;
+    }
+
+    /**
+     * Adds an initialized replica of a fileset check.
+     * @param fileSetCheck the fileset check.
+     * @param configuration the configuration the replica was created from.
+     */
+    void addFileSetCheck(FileSetCheck fileSetCheck, Configuration configuration) {
+        fileSetChecks.add(fileSetCheck);
+        if (profiler != null) {
+            profilerEntries.put(fileSetCheck,
+                profiler.getEntry(Profiler.Category.FILESET_CHECK, fileSetCheck, configuration));
+        }
+    }
+
+    /**
+     * Adds a replica of a filter.
+     * @param filter the filter.
+     * @param configuration the configuration the replica was created from.
+     */
+    void addFilter(Filter filter, Configuration configuration) {
+        filters.addFilter(filter);
+        if (profiler != null) {
+            profilerEntries.put(filter,
+                profiler.getEntry(Profiler.Category.FILTER, filter, configuration));
+        }
+    }
+
+    /**
+     * Reads a file and processes it with all fileset checks of the worker,
+     * unless the messages of the file can be taken from the content cache.
+     * @param file the file to process.
+     * @return the result of processing.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    Result process(File file) throws CheckstyleException {
+        final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        FileText text = null;
+        SortedSet<LocalizedMessage> cachedMessages = null;
+        try {
+            text = new FileText(file.getAbsoluteFile(), charset);
+            if (contentCache != null) {
+                cachedMessages = contentCache.get(file.getAbsolutePath(), text);
+            }
+            if (cachedMessages == null) {
+                messages.addAll(check(file, text));
+            }
+        }
+        catch (final IOException ioe) {
+            LOG.debug("IOException occurred.", ioe);
+            messages.add(new LocalizedMessage(0,
+                    Definitions.CHECKSTYLE_BUNDLE, "general.exception",
+                    new String[] {ioe.getMessage()}, null, Checker.class, null));
+        }
+        finally {
+            clearParseCache();
+        }
+
+        final Result result;
+        if (cachedMessages == null) {
+            result = filter(file, text, messages);
+        }
+        else {
+            result = new Result(text, cachedMessages, cachedMessages, true);
+        }
+        return result;
+    }
+
+    /**
+     * Processes contents that are already in memory with all fileset checks
+     * of the worker. The content cache is not used.
+     * @param file the file the contents belong to.
+     * @param text the contents of the file.
+     * @return the result of processing.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    Result process(File file, FileText text) throws CheckstyleException {
+        final SortedSet<LocalizedMessage> messages;
+        try {
+            messages = check(file, text);
+        }
+        finally {
+            clearParseCache();
+        }
+        return filter(file, text, messages);
+    }
+
+    /**
+     * Processes the contents of a file with all fileset checks of the worker,
+     * recording the time spent in them if the audit is profiled.
+     * @param file the file.
+     * @param text the contents of the file.
+     * @return the messages logged by the fileset checks.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    private SortedSet<LocalizedMessage> check(File file, FileText text)
+            throws CheckstyleException {
+        final SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        for (final FileSetCheck fsc : fileSetChecks) {
+            if (profiler == null) {
+                messages.addAll(fsc.process(file, text));
+            }
+            else {
+                messages.addAll(profilerEntries.get(fsc).process(fsc, file, text));
+            }
+        }
+        return messages;
+    }
+
+    /** Drops the parse results of the file processed last, if they are cached. */
+    private void clearParseCache() {
+        if (parseCache != null) {
+            parseCache.clear();
+        }
+    }
+
+    /**
+     * Passes the messages of a file to the filters of the worker.
+     * @param file the file.
+     * @param text the contents of the file, {@code null} if the file could not be read.
+     * @param messages all messages logged for the file.
+     * @return the result holding the messages and the accepted messages.
+     */
+    private Result filter(File file, FileText text, SortedSet<LocalizedMessage> messages) {
+        final String fileName =
+            CommonUtils.relativizeAndNormalizePath(basedir, file.getAbsolutePath());
+        final SortedSet<LocalizedMessage> accepted = new TreeSet<>();
+        for (final LocalizedMessage message : messages) {
+            if (isAccepted(new AuditEvent(source, fileName, message, locale))) {
+                accepted.add(message);
+            }
+        }
+        return new Result(text, messages, accepted, false);
+    }
+
+    /**
+     * Checks whether all filters of the worker accept an event, recording the
+     * time spent in the filters if the audit is profiled.
+     * @param event the event.
+     * @return whether all filters accepted the event.
+     */
+    private boolean isAccepted(AuditEvent event) {
+        final boolean result;
+        if (profiler == null) {
+            result = filters.accept(event);
+        }
+        else {
+            boolean accepted = true;
+            for (final Filter filter : filters.getFilters()) {
+                if (!profilerEntries.get(filter).accept(filter, event)) {
+                    accepted = false;
+                    break;
+                }
+            }
+            result = accepted;
+        }
+        return result;
+    }
+
+    /** Prepares all fileset checks of the worker for processing the files of an audit. */
+    void beginProcessing() {
+        for (final FileSetCheck fsc : fileSetChecks) {
+            fsc.beginProcessing(charset);
+        }
+    }
+
+    /** Finishes processing the files of an audit with all fileset checks of the worker. */
+    void finishProcessing() {
+        fileSetChecks.forEach(FileSetCheck::finishProcessing);
+    }
+
+    /** Cleans up all fileset checks of the worker. */
+    void destroy() {
+        fileSetChecks.forEach(FileSetCheck::destroy);
+    }
+
+    /**
+     * The outcome of processing a single file by a worker.
+     */
+    static final class Result {
+        /** The contents of the file, {@code null} if the file could not be read. */
+        private final FileText text;
+
+        /** All messages logged for the file. */
+        private final SortedSet<LocalizedMessage> messages;
+
+        /** Messages accepted by the filters of the worker. */
+        private final SortedSet<LocalizedMessage> acceptedMessages;
+
+        /** Whether the messages were taken from the content cache. */
+        private final boolean cached;
+
+        /**
+         * Creates a new result.
+         * @param text the contents of the file.
+         * @param messages all messages logged for the file.
+         * @param acceptedMessages messages accepted by the filters of the worker.
+         * @param cached whether the messages were taken from the content cache.
+         */
+        Result(FileText text, SortedSet<LocalizedMessage> messages,
+                SortedSet<LocalizedMessage> acceptedMessages, boolean cached) {
+            this.text = text;
+            this.messages = Collections.unmodifiableSortedSet(messages);
+            this.acceptedMessages = Collections.unmodifiableSortedSet(acceptedMessages);
+            this.cached = cached;
+        }
+
+        /**
+         * @return the contents of the file, {@code null} if the file could not be read.
+         */
+        FileText getText() {
+            return text;
+        }
+
+        /**
+         * @return all messages logged for the file.
+         */
+        SortedSet<LocalizedMessage> getMessages() {
+            return messages;
+        }
+
+        /**
+         * @return messages accepted by the filters of the worker.
+         */
+        SortedSet<LocalizedMessage> getAcceptedMessages() {
+            return acceptedMessages;
+        }
+
+        /**
+         * @return whether the messages were taken from the content cache, they
+         *         were accepted by all filters already then.
+         */
+        boolean isCached() {
+            return cached;
+        }
+    }
+}
@@ -0,0 +1,399 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.io.Closeables;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+/**
+ * This class maintains a persistent(on file-system) store of the violations
+ * found in the checked files. Unlike {@link PropertyCacheFile} an entry is
+ * valid as long as the content of the file does not change, whatever its
+ * timestamp is, and it keeps the violations reported for the file, so files
+ * with violations are not checked again either.
+ *
+ * <p>The cache uses a compact binary layout: a header with the hashes of
+ * the configuration and of the external resources, followed by the entries.
+ * Each entry consists of the file name, the hash of the file content and the
+ * encoded violations. The violations are only decoded when an entry is used,
+ * so loading the cache is cheap even for a large number of entries.
+ *
+ * <p>Entries may be looked up concurrently, while they are only added from
+ * a single thread.
+ *
+ * @author the original author or authors.
+ */
+final class ContentCacheFile {
+
+    /** Marks the beginning of a cache file in this format. */
+    private static final int MAGIC = 0x43534331;
+
+    /** Version of the layout. */
+    private static final int VERSION = 1;
+
+    /** Algorithm to calculate the hash of file contents with. */
+    private static final String HASH_ALGORITHM = "SHA-1";
+
+    /** Cached entries, keyed by absolute file name. */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Hash of the configuration the violations were found with. */
+    private final String configHash;
+
+    /** File name of cache. */
+    private final String fileName;
+
+    /** Class loader to resolve the source classes of the violations with. */
+    private final ClassLoader classLoader;
+
+    /** Locale the messages of the violations are stored in. */
+    private final Locale locale;
+
+    /** Hash of the external resources used by the configuration. */
+    private String externalResourcesHash = "";
+
+    /**
+     * Creates a new {@code ContentCacheFile} instance.
+     *
+     * @param config the current configuration, not null
+     * @param fileName the cache file
+     * @param classLoader class loader to resolve the source classes of
+     *        the violations with
+     * @param locale the locale to store the messages of the violations in
+     */
+    ContentCacheFile(Configuration config, String fileName, ClassLoader classLoader,
+            Locale locale) {
+        if (config == null) {
+            throw new IllegalArgumentException("config can not be null");
+        }
+        if (fileName == null) {
+            throw new IllegalArgumentException("fileName can not be null");
+        }
+        // messages are stored formatted, so they depend on the locale too
+        final ArrayList<Object> configKey = new ArrayList<>();
+        configKey.add(config);
+        configKey.add(locale.toString());
+        configHash = PropertyCacheFile.getHashCodeBasedOnObjectContent(configKey);
+        this.fileName = fileName;
+        this.classLoader = classLoader;
+        this.locale = locale;
+    }
+
+    /**
+     * Returns the locale the messages of the violations are stored in.
+     * @return the locale
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Loads cached entries from file. The entries are dropped if the file
+     * was written with another configuration, in another format or is truncated.
+     * @throws IOException when there is a problems with file read
+     */
+    public void load() throws IOException {
+        if (new File(fileName).exists()) {
+            DataInputStream input = null;
+            try {
+                input = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(fileName)));
+                if (input.readInt() == MAGIC && input.readInt() == VERSION
+                        && configHash.equals(input.readUTF())) {
+                    externalResourcesHash = input.readUTF();
+                    final int count = input.readInt();
+                    for (int i = 0; i < count; i++) {
+                        final String name = input.readUTF();
+                        final byte[] contentHash = readBytes(input);
+                        entries.put(name, new Entry(contentHash, readBytes(input)));
+                    }
+                }
+            }
+            catch (final EOFException ignored) {
+                // the file is truncated, the remaining entries can not be trusted
+                entries.clear();
+            }
+            finally {
+                Closeables.closeQuietly(input);
+            }
+        }
+    }
+
+    /**
+     * Writes all entries to the cache file.
+     * @throws IOException when there is a problems with file save
+     */
+    public void persist() throws IOException {
+        final Path directory = Paths.get(fileName).getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        DataOutputStream output = null;
+        try {
+            output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(fileName)));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeUTF(configHash);
+            output.writeUTF(externalResourcesHash);
+            output.writeInt(entries.size());
+            for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+                output.writeUTF(entry.getKey());
+                writeBytes(output, entry.getValue().contentHash);
+                writeBytes(output, entry.getValue().messages);
+            }
+            output.flush();
+        }
+        finally {
+            Closeables.close(output, false);
+        }
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Remembers the external resources used by the configuration.
+     * If at least one external resource changed, clears the cache.
+     * @param locations locations of external resources.
+     */
+    public void putExternalResources(Set<String> locations) {
+        final ArrayList<String> hashes = new ArrayList<>();
+        for (final String location : new TreeSet<>(locations)) {
+            hashes.add(location);
+            hashes.add(PropertyCacheFile.getExternalResourceHash(location));
+        }
+        final String hash = PropertyCacheFile.getHashCodeBasedOnObjectContent(hashes);
+        if (!hash.equals(externalResourcesHash)) {
+            entries.clear();
+            externalResourcesHash = hash;
+        }
+    }
+
+    /**
+     * Gets the cached violations of a file.
+     * @param checkedFileName the absolute name of the file
+     * @param text the current content of the file
+     * @return the violations reported for the file or {@code null} if the
+     *         file is not in the cache or its content changed
+     */
+    public SortedSet<LocalizedMessage> get(String checkedFileName, FileText text) {
+        final Entry entry = entries.get(checkedFileName);
+        SortedSet<LocalizedMessage> messages = null;
+        if (entry != null && Arrays.equals(entry.contentHash, getContentHash(text))) {
+            messages = decodeMessages(entry.messages);
+        }
+        return messages;
+    }
+
+    /**
+     * Records the violations reported for a file.
+     * @param checkedFileName the absolute name of the file
+     * @param text the content of the file
+     * @param messages the violations reported for the file
+     */
+    public void put(String checkedFileName, FileText text, Set<LocalizedMessage> messages) {
+        final byte[] encoded = encodeMessages(messages);
+        if (encoded != null) {
+            entries.put(checkedFileName, new Entry(getContentHash(text), encoded));
+        }
+    }
+
+    /**
+     * Calculates the hash of the content of a file.
+     * @param text the content of the file
+     * @return the hash of the content
+     */
+    private static byte[] getContentHash(FileText text) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return digest.digest(
+                text.getFullText().toString().getBytes(StandardCharsets.UTF_8));
+        }
+        catch (final NoSuchAlgorithmException ex) {
+            // rethrow as unchecked exception
+            throw new IllegalStateException("Unable to calculate hashcode.", ex);
+        }
+    }
+
+    /**
+     * Encodes violations. Every violation is stored with its formatted message,
+     * as the arguments of the message can be of any type.
+     * @param messages the violations
+     * @return the encoded violations or {@code null} if they can not be encoded
+     */
+    private byte[] encodeMessages(Set<LocalizedMessage> messages) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        byte[] result = null;
+        try {
+            output.writeInt(messages.size());
+            for (final LocalizedMessage message : messages) {
+                output.writeInt(message.getLineNo());
+                output.writeInt(message.getColumnNo());
+                output.writeUTF(message.getSeverityLevel().getName());
+                writeNullableString(output, message.getModuleId());
+                output.writeUTF(message.getKey());
+                output.writeUTF(message.getSourceName());
+                output.writeUTF(message.getMessage(locale));
+            }
+            output.flush();
+            result = bytes.toByteArray();
+        }
+        catch (final IOException ignored) {
+            // only happens for messages that are too long to be cached
+        }
+        return result;
+    }
+
+    /**
+     * Decodes violations.
+     * @param encoded the encoded violations
+     * @return the violations or {@code null} if the source class of a violation
+     *         can not be loaded anymore
+     */
+    private SortedSet<LocalizedMessage> decodeMessages(byte[] encoded) {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(encoded));
+        SortedSet<LocalizedMessage> messages = new TreeSet<>();
+        try {
+            final int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                final int lineNo = input.readInt();
+                final int columnNo = input.readInt();
+                final SeverityLevel severity = SeverityLevel.getInstance(input.readUTF());
+                final String moduleId = readNullableString(input);
+                final String key = input.readUTF();
+                final Class<?> sourceClass = Class.forName(input.readUTF(), false, classLoader);
+                final String message = input.readUTF();
+                messages.add(LocalizedMessage.createRendered(lineNo, columnNo,
+                    Definitions.CHECKSTYLE_BUNDLE, key, severity, moduleId, sourceClass, message));
+            }
+        }
+        catch (final IOException | ClassNotFoundException ignored) {
+            messages = null;
+        }
+        return messages;
+    }
+
+    /**
+     * Reads a length prefixed array of bytes.
+     * @param input the input to read from
+     * @return the bytes
+     * @throws IOException when there is a problems with reading
+     */
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes a length prefixed array of bytes.
+     * @param output the output to write to
+     * @param bytes the bytes
+     * @throws IOException when there is a problems with writing
+     */
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads a string which may be {@code null}.
+     * @param input the input to read from
+     * @return the string
+     * @throws IOException when there is a problems with reading
+     */
+    private static String readNullableString(DataInputStream input) throws IOException {
+        String result = null;
+        if (input.readBoolean()) {
+            result = input.readUTF();
+        }
+        return result;
+    }
+
+    /**
+     * Writes a string which may be {@code null}.
+     * @param output the output to write to
+     * @param value the string
+     * @throws IOException when there is a problems with writing
+     */
+    private static void writeNullableString(DataOutputStream output, String value)
+            throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    /**
+     * An entry of the cache.
+     * @author the original author or authors.
+     */
+    private static final class Entry {
+        /** Hash of the file content. */
+        private final byte[] contentHash;
+        /** Encoded violations of the file. */
+        private final byte[] messages;
+
+        /**
+         * Creates an instance.
+         * @param contentHash hash of the file content.
+         * @param messages encoded violations of the file.
+         */
+        Entry(byte[] contentHash, byte[] messages) {
+            this.contentHash = contentHash;
+            this.messages = messages;
+        }
+    }
+}
@@ -19,6 +19,12 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.antlr.v4.runtime.ANTLRErrorListener;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BaseErrorListener;
@@ -27,8 +33,10 @@ import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
-import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
 import com.google.common.base.CaseFormat;
@@ -40,7 +48,9 @@ import com.puppycrawl.tools.checkstyle.grammars.javadoc.JavadocParser;
 import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
 
 /**
- * Used for parsing Javadoc comment as DetailNode tree.
+ * Used for parsing Javadoc comment as DetailNode tree. An instance reuses
+ * its lexer and parser for all comments, so it must be confined to a
+ * single thread.
  * @author bizmailov
  *
  */
@@ -77,6 +87,41 @@ public class JavadocDetailNodeParser {
     public static final String MSG_KEY_UNRECOGNIZED_ANTLR_ERROR =
             "javadoc.unrecognized.antlr.error";
 
+    /**
+     * Token types of the parser rules, indexed by rule index. Rules that have
+     * no token type are only entered in comments that fail to parse, their
+     * nodes never reach a tree that is handed out.
+     */
+    private static final int[] RULE_TOKEN_TYPES = new int[JavadocParser.ruleNames.length];
+
+    static {
+        for (int i = 0; i < RULE_TOKEN_TYPES.length; i++) {
+            final String ruleName = CaseFormat.LOWER_CAMEL.to(
+                    CaseFormat.UPPER_UNDERSCORE, JavadocParser.ruleNames[i]);
+            try {
+                RULE_TOKEN_TYPES[i] = JavadocUtils.getTokenId(ruleName);
+            }
+            catch (IllegalArgumentException ignored) {
+                RULE_TOKEN_TYPES[i] = Integer.MIN_VALUE;
+            }
+        }
+    }
+
+    /**
+     * Builds the DetailNode tree of the Javadoc comment that is being parsed.
+     */
+    private final DetailNodeBuilder treeBuilder = new DetailNodeBuilder();
+
+    /**
+     * Lexer of Javadoc comments, reused for all comments parsed.
+     */
+    private JavadocLexer lexer;
+
+    /**
+     * Parser of Javadoc comments, reused for all comments parsed.
+     */
+    private JavadocParser parser;
+
     /**
      * Line number of the Block comment AST that is being parsed.
      */
@@ -110,10 +155,7 @@ public class JavadocDetailNodeParser {
         final ParseStatus result = new ParseStatus();
 
         try {
-            final ParseTree parseTree = parseJavadocAsParseTree(javadocComment);
-
-            final DetailNode tree = convertParseTreeToDetailNode(parseTree);
-            result.setTree(tree);
+            result.setTree(parseJavadoc(javadocComment));
         }
         catch (ParseCancellationException ex) {
             // If syntax error occurs then message is printed by error listener
@@ -135,259 +177,154 @@ public class JavadocDetailNodeParser {
     }
 
     /**
-     * Parses block comment content as javadoc comment.
+     * Parses block comment content as javadoc comment. The comment is parsed
+     * in SLL prediction mode first, which is faster and succeeds for almost
+     * all comments. Only if it fails the comment is parsed again in full LL
+     * mode, reporting syntax errors to the error listener.
      * @param blockComment
      *        block comment content.
-     * @return parse tree
+     * @return root of DetailNode tree
      */
-    private ParseTree parseJavadocAsParseTree(String blockComment) {
-        final ANTLRInputStream input = new ANTLRInputStream(blockComment);
-
-        final JavadocLexer lexer = new JavadocLexer(input);
-
-        // remove default error listeners
-        lexer.removeErrorListeners();
-
-        // add custom error listener that logs parsing errors
-        lexer.addErrorListener(errorListener);
-
-        final CommonTokenStream tokens = new CommonTokenStream(lexer);
-
-        final JavadocParser parser = new JavadocParser(tokens);
-
-        // remove default error listeners
-        parser.removeErrorListeners();
-
-        // add custom error listener that logs syntax errors
-        parser.addErrorListener(errorListener);
-
-        // This strategy stops parsing when parser error occurs.
-        // By default it uses Error Recover Strategy which is slow and useless.
-        parser.setErrorHandler(new BailErrorStrategy());
-
-        return parser.javadoc();
+    private DetailNode parseJavadoc(String blockComment) {
+        DetailNode tree;
+        try {
+            tree = parseJavadoc(blockComment, PredictionMode.SLL, BailErrorListener.INSTANCE);
+        }
+        catch (ParseCancellationException ignored) {
+            tree = parseJavadoc(blockComment, PredictionMode.LL, errorListener);
+        }
+        return tree;
     }
 
     /**
-     * Converts ParseTree (that is generated by ANTLRv4) to DetailNode tree.
-     *
-     * @param parseTreeNode root node of ParseTree
+     * Parses block comment content as javadoc comment in a prediction mode,
+     * reusing the lexer and the parser of earlier comments.
+     * @param blockComment
+     *        block comment content.
+     * @param predictionMode
+     *        the prediction mode of the parser.
+     * @param listener
+     *        the listener for syntax errors of the lexer and the parser.
      * @return root of DetailNode tree
      */
-    private DetailNode convertParseTreeToDetailNode(ParseTree parseTreeNode) {
-        final JavadocNodeImpl rootJavadocNode = createRootJavadocNode(parseTreeNode);
-
-        JavadocNodeImpl currentJavadocParent = rootJavadocNode;
-        ParseTree parseTreeParent = parseTreeNode;
-
-        while (currentJavadocParent != null) {
-            final JavadocNodeImpl[] children =
-                    (JavadocNodeImpl[]) currentJavadocParent.getChildren();
-
-            insertChildrenNodes(children, parseTreeParent);
-
-            if (children.length > 0) {
-                currentJavadocParent = children[0];
-                parseTreeParent = parseTreeParent.getChild(0);
-            }
-            else {
-                JavadocNodeImpl nextJavadocSibling = (JavadocNodeImpl) JavadocUtils
-                        .getNextSibling(currentJavadocParent);
-
-                ParseTree nextParseTreeSibling = getNextSibling(parseTreeParent);
-
-                if (nextJavadocSibling == null) {
-                    JavadocNodeImpl tempJavadocParent =
-                            (JavadocNodeImpl) currentJavadocParent.getParent();
-
-                    ParseTree tempParseTreeParent = parseTreeParent.getParent();
-
-                    while (nextJavadocSibling == null && tempJavadocParent != null) {
-
-                        nextJavadocSibling = (JavadocNodeImpl) JavadocUtils
-                                .getNextSibling(tempJavadocParent);
+    private DetailNode parseJavadoc(String blockComment, PredictionMode predictionMode,
+            ANTLRErrorListener listener) {
+        final ANTLRInputStream input = new ANTLRInputStream(blockComment);
+        if (lexer == null) {
+            lexer = new JavadocLexer(input);
+            parser = new JavadocParser(new CommonTokenStream(lexer));
 
-                        nextParseTreeSibling = getNextSibling(tempParseTreeParent);
+            // This strategy stops parsing when parser error occurs.
+            // By default it uses Error Recover Strategy which is slow and useless.
+            parser.setErrorHandler(new BailErrorStrategy());
 
-                        tempJavadocParent = (JavadocNodeImpl) tempJavadocParent.getParent();
-                        tempParseTreeParent = tempParseTreeParent.getParent();
-                    }
-                }
-                currentJavadocParent = nextJavadocSibling;
-                parseTreeParent = nextParseTreeSibling;
-            }
+            // The grammar reads the children of parse tree nodes in its actions,
+            // so the parse tree is still built along with the DetailNode tree.
+            parser.addParseListener(treeBuilder);
         }
-
-        return rootJavadocNode;
-    }
-
-    /**
-     * Creates child nodes for each node from 'nodes' array.
-     * @param parseTreeParent original ParseTree parent node
-     * @param nodes array of JavadocNodeImpl nodes
-     */
-    private void insertChildrenNodes(final JavadocNodeImpl[] nodes, ParseTree parseTreeParent) {
-        for (int i = 0; i < nodes.length; i++) {
-            final JavadocNodeImpl currentJavadocNode = nodes[i];
-            final ParseTree currentParseTreeNodeChild = parseTreeParent.getChild(i);
-            final JavadocNodeImpl[] subChildren =
-                    createChildrenNodes(currentJavadocNode, currentParseTreeNodeChild);
-            currentJavadocNode.setChildren((DetailNode[]) subChildren);
+        else {
+            lexer.setInputStream(input);
+            parser.setTokenStream(new CommonTokenStream(lexer));
         }
-    }
 
-    /**
-     * Creates children Javadoc nodes base on ParseTree node's children.
-     * @param parentJavadocNode node that will be parent for created children
-     * @param parseTreeNode original ParseTree node
-     * @return array of Javadoc nodes
-     */
-    private JavadocNodeImpl[]
-            createChildrenNodes(JavadocNodeImpl parentJavadocNode, ParseTree parseTreeNode) {
-        final JavadocNodeImpl[] children =
-                new JavadocNodeImpl[parseTreeNode.getChildCount()];
-
-        for (int j = 0; j < children.length; j++) {
-            final JavadocNodeImpl child =
-                    createJavadocNode(parseTreeNode.getChild(j), parentJavadocNode, j);
+        // replace error listeners of the previous parse
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(listener);
+        parser.removeErrorListeners();
+        parser.addErrorListener(listener);
 
-            children[j] = child;
-        }
-        return children;
+        parser.getInterpreter().setPredictionMode(predictionMode);
+        treeBuilder.reset();
+        parser.javadoc();
+        return treeBuilder.getRoot();
     }
 
     /**
-     * Creates root JavadocNodeImpl node base on ParseTree root node.
-     * @param parseTreeNode ParseTree root node
-     * @return root Javadoc node
+     * Builds the DetailNode tree while the parser recognizes the Javadoc
+     * comment, so no separate pass over the parse tree is needed.
      */
-    private JavadocNodeImpl createRootJavadocNode(ParseTree parseTreeNode) {
-        final JavadocNodeImpl rootJavadocNode = createJavadocNode(parseTreeNode, null, -1);
-
-        final int childCount = parseTreeNode.getChildCount();
-        final JavadocNodeImpl[] children = new JavadocNodeImpl[childCount];
+    private class DetailNodeBuilder implements ParseTreeListener {
+        /** Children of the nodes being built, innermost node on top. */
+        private final Deque<List<JavadocNodeImpl>> children = new ArrayDeque<>();
 
-        for (int i = 0; i < childCount; i++) {
-            final JavadocNodeImpl child = createJavadocNode(parseTreeNode.getChild(i),
-                    rootJavadocNode, i);
-            children[i] = child;
-        }
-        rootJavadocNode.setChildren((DetailNode[]) children);
-        return rootJavadocNode;
-    }
+        /** Nodes being built, innermost node on top. */
+        private final Deque<JavadocNodeImpl> nodes = new ArrayDeque<>();
 
-    /**
-     * Creates JavadocNodeImpl node on base of ParseTree node.
-     *
-     * @param parseTree ParseTree node
-     * @param parent DetailNode that will be parent of new node
-     * @param index child index that has new node
-     * @return JavadocNodeImpl node on base of ParseTree node.
-     */
-    private JavadocNodeImpl createJavadocNode(ParseTree parseTree, DetailNode parent, int index) {
-        final JavadocNodeImpl node = new JavadocNodeImpl();
-        node.setText(parseTree.getText());
-        node.setColumnNumber(getColumn(parseTree));
-        node.setLineNumber(getLine(parseTree) + blockCommentLineNumber);
-        node.setIndex(index);
-        node.setType(getTokenType(parseTree));
-        node.setParent(parent);
-        node.setChildren((DetailNode[]) new JavadocNodeImpl[parseTree.getChildCount()]);
-        return node;
-    }
+        /** The root of the tree, {@code null} until the parser entered the first rule. */
+        private JavadocNodeImpl root;
 
-    /**
-     * Gets line number from ParseTree node.
-     * @param tree
-     *        ParseTree node
-     * @return line number
-     */
-    private static int getLine(ParseTree tree) {
-        if (tree instanceof TerminalNode) {
-            return ((TerminalNode) tree).getSymbol().getLine() - 1;
+        /** Drops the nodes of the previous parse. */
+        void reset() {
+            children.clear();
+            nodes.clear();
+            root = null;
         }
-        else {
-            final ParserRuleContext rule = (ParserRuleContext) tree;
-            return rule.start.getLine() - 1;
-        }
-    }
 
-    /**
-     * Gets column number from ParseTree node.
-     * @param tree
-     *        ParseTree node
-     * @return column number
-     */
-    private static int getColumn(ParseTree tree) {
-        if (tree instanceof TerminalNode) {
-            return ((TerminalNode) tree).getSymbol().getCharPositionInLine();
-        }
-        else {
-            final ParserRuleContext rule = (ParserRuleContext) tree;
-            return rule.start.getCharPositionInLine();
+        /**
+         * Returns the root of the tree built.
+         * @return root of DetailNode tree
+         */
+        DetailNode getRoot() {
+            return root;
         }
-    }
 
-    /**
-     * Gets next sibling of ParseTree node.
-     * @param node ParseTree node
-     * @return next sibling of ParseTree node.
-     */
-    private static ParseTree getNextSibling(ParseTree node) {
-        ParseTree nextSibling = null;
-
-        if (node.getParent() != null) {
-            final ParseTree parent = node.getParent();
-            final int childCount = parent.getChildCount();
-
-            int index = 0;
-            while (true) {
-                final ParseTree currentNode = parent.getChild(index);
-                if (currentNode.equals(node)) {
-                    if (index != childCount - 1) {
-                        nextSibling = parent.getChild(index + 1);
-                    }
-                    break;
-                }
-                index++;
+        @Override
+        public void enterEveryRule(ParserRuleContext ctx) {
+            final JavadocNodeImpl node = createNode(RULE_TOKEN_TYPES[ctx.getRuleIndex()],
+                    ctx.start);
+            if (root == null) {
+                root = node;
+                node.setIndex(-1);
             }
+            nodes.push(node);
+            children.push(new ArrayList<>());
         }
-        return nextSibling;
-    }
 
-    /**
-     * Gets token type of ParseTree node from JavadocTokenTypes class.
-     * @param node ParseTree node.
-     * @return token type from JavadocTokenTypes
-     */
-    private static int getTokenType(ParseTree node) {
-        final int tokenType;
-
-        if (node.getChildCount() == 0) {
-            tokenType = ((TerminalNode) node).getSymbol().getType();
+        @Override
+        public void exitEveryRule(ParserRuleContext ctx) {
+            final JavadocNodeImpl node = nodes.pop();
+            final List<JavadocNodeImpl> nodeChildren = children.pop();
+            final StringBuilder text = new StringBuilder();
+            for (final JavadocNodeImpl child : nodeChildren) {
+                text.append(child.getText());
+            }
+            node.setText(text.toString());
+            node.setChildren((DetailNode[]) nodeChildren
+                    .toArray(new JavadocNodeImpl[nodeChildren.size()]));
         }
-        else {
-            final String className = getNodeClassNameWithoutContext(node);
-            final String typeName =
-                    CaseFormat.UPPER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, className);
-            tokenType = JavadocUtils.getTokenId(typeName);
+
+        @Override
+        public void visitTerminal(TerminalNode terminal) {
+            final Token symbol = terminal.getSymbol();
+            final JavadocNodeImpl node = createNode(symbol.getType(), symbol);
+            node.setText(terminal.getText());
+            node.setChildren((DetailNode[]) new JavadocNodeImpl[0]);
         }
 
-        return tokenType;
-    }
+        @Override
+        public void visitErrorNode(ErrorNode errorNode) {
+            visitTerminal(errorNode);
+        }
 
-    /**
-     * Gets class name of ParseTree node and removes 'Context' postfix at the
-     * end.
-     * @param node
-     *        ParseTree node.
-     * @return class name without 'Context'
-     */
-    private static String getNodeClassNameWithoutContext(ParseTree node) {
-        final String className = node.getClass().getSimpleName();
-        // remove 'Context' at the end
-        final int contextLength = 7;
-        return className.substring(0, className.length() - contextLength);
+        /**
+         * Creates a node and adds it to the children of the innermost node being built.
+         * @param type the token type of the node
+         * @param start the first token of the node
+         * @return the node
+         */
+        private JavadocNodeImpl createNode(int type, Token start) {
+            final JavadocNodeImpl node = new JavadocNodeImpl();
+            node.setType(type);
+            node.setLineNumber(start.getLine() - 1 + blockCommentLineNumber);
+            node.setColumnNumber(start.getCharPositionInLine());
+            final List<JavadocNodeImpl> siblings = children.peek();
+            if (siblings != null) {
+                node.setParent(nodes.peek());
+                node.setIndex(siblings.size());
+                siblings.add(node);
+            }
+            return node;
+        }
     }
 
     /**
@@ -468,6 +405,23 @@ public class JavadocDetailNodeParser {
         }
     }
 
+    /**
+     * Error listener that stops parsing at the first syntax error, so the
+     * comment can be parsed again in full LL mode.
+     */
+    private static final class BailErrorListener extends BaseErrorListener {
+        /** The only instance, the listener has no state. */
+        private static final BailErrorListener INSTANCE = new BailErrorListener();
+
+        @Override
+        public void syntaxError(
+                Recognizer<?, ?> recognizer, Object offendingSymbol,
+                int line, int charPositionInLine,
+                String msg, RecognitionException ex) {
+            throw new ParseCancellationException(msg, ex);
+        }
+    }
+
     /**
      * Contains result of parsing javadoc comment: DetailNode tree and parse
      * error message.
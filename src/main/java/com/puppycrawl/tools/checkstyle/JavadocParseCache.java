@@ -0,0 +1,237 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseErrorMessage;
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseStatus;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.DetailNode;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocNodeImpl;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
+
+/**
+ * Caches the parse results of Javadoc comments by their content, so a
+ * comment that repeats in many places and files is parsed once. The
+ * results depend on the position of a comment only through line numbers,
+ * which are shifted when a result is handed out for a comment on another
+ * line. The least recently used results are dropped once the cache holds
+ * the maximum number of them. The cache may be used by many threads at once.
+ *
+ * @author the original author or authors.
+ */
+public final class JavadocParseCache {
+    /** The maximum number of results kept by default. */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /** The initial capacity of the map of results. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The load factor of the map of results. */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /** Results by the content of the comments, in order of their last use. */
+    private final Map<String, Entry> entries;
+
+    /** Number of comments whose results were taken from the cache. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Number of comments that had to be parsed. */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     * @param maxSize the maximum number of results kept, {@code 0} or less
+     *        to keep none.
+     */
+    public JavadocParseCache(int maxSize) {
+        entries = new LinkedHashMap<String, Entry>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the parse result of a Javadoc comment, parsing the comment
+     * if no comment with the same content was parsed before.
+     * @param blockComment the block comment holding the Javadoc comment.
+     * @param parser the parser to parse the comment with.
+     * @return the parse result, its tree must not be changed.
+     */
+    public ParseStatus parse(DetailAST blockComment, JavadocDetailNodeParser parser) {
+        final String content = JavadocUtils.getJavadocCommentContent(blockComment);
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(content);
+        }
+        final ParseStatus result;
+        if (entry == null) {
+            misses.increment();
+            result = parser.parseJavadocAsDetailNode(blockComment);
+            if (isRelocatable(result)) {
+                synchronized (entries) {
+                    entries.put(content, new Entry(blockComment.getLineNo(), result));
+                }
+            }
+        }
+        else {
+            hits.increment();
+            result = relocate(entry.status, blockComment.getLineNo() - entry.lineNumber);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of comments whose results were taken from the cache.
+     * @return the number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of comments that had to be parsed.
+     * @return the number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the share of comments whose results were taken from the cache.
+     * @return the hit rate from 0 to 1, 0 if nothing was parsed.
+     */
+    public double getHitRate() {
+        final long hitCount = getHits();
+        final long lookups = hitCount + getMisses();
+        double result = 0;
+        if (lookups > 0) {
+            result = (double) hitCount / lookups;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of results kept.
+     * @return the number of results.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /** Drops all results and resets the counters. */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Checks whether a parse result depends on the position of its comment
+     * only through line numbers. Errors that ANTLR did not describe carry
+     * the column of the comment.
+     * @param status the parse result.
+     * @return whether the result can be handed out for other comments.
+     */
+    private static boolean isRelocatable(ParseStatus status) {
+        final ParseErrorMessage error = status.getParseErrorMessage();
+        return error == null || !JavadocDetailNodeParser.MSG_KEY_UNRECOGNIZED_ANTLR_ERROR
+                .equals(error.getMessageKey());
+    }
+
+    /**
+     * Shifts the line numbers of a parse result.
+     * @param status the parse result.
+     * @param lineDelta the number of lines to shift by.
+     * @return the result itself if it is not shifted, a shifted copy otherwise.
+     */
+    private static ParseStatus relocate(ParseStatus status, int lineDelta) {
+        ParseStatus result = status;
+        if (lineDelta != 0) {
+            result = new ParseStatus();
+            final ParseErrorMessage error = status.getParseErrorMessage();
+            if (error == null) {
+                result.setTree(copy(status.getTree(), null, lineDelta));
+            }
+            else {
+                result.setParseErrorMessage(new ParseErrorMessage(
+                        error.getLineNumber() + lineDelta, error.getMessageKey(),
+                        error.getMessageArguments()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copies a Javadoc tree, shifting the line numbers of its nodes.
+     * @param node the root of the tree.
+     * @param parent the parent of the copy.
+     * @param lineDelta the number of lines to shift by.
+     * @return the root of the copy.
+     */
+    private static JavadocNodeImpl copy(DetailNode node, DetailNode parent, int lineDelta) {
+        final JavadocNodeImpl nodeCopy = new JavadocNodeImpl();
+        nodeCopy.setType(node.getType());
+        nodeCopy.setText(node.getText());
+        nodeCopy.setLineNumber(node.getLineNumber() + lineDelta);
+        nodeCopy.setColumnNumber(node.getColumnNumber());
+        nodeCopy.setIndex(node.getIndex());
+        nodeCopy.setParent(parent);
+        final DetailNode[] children = node.getChildren();
+        final DetailNode[] childrenCopy = new JavadocNodeImpl[children.length];
+        for (int i = 0; i < children.length; i++) {
+            childrenCopy[i] = copy(children[i], nodeCopy, lineDelta);
+        }
+        nodeCopy.setChildren(childrenCopy);
+        return nodeCopy;
+    }
+
+    /**
+     * A parse result together with the line of the comment it was parsed for.
+     */
+    private static final class Entry {
+        /** The line of the comment the result was parsed for. */
+        private final int lineNumber;
+
+        /** The parse result. */
+        private final ParseStatus status;
+
+        /**
+         * Creates a new entry.
+         * @param lineNumber the line of the comment the result was parsed for.
+         * @param status the parse result.
+         */
+        private Entry(int lineNumber, ParseStatus status) {
+            this.lineNumber = lineNumber;
+            this.status = status;
+        }
+    }
+}
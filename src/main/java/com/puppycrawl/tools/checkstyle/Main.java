@@ -25,7 +25,10 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
@@ -35,6 +38,7 @@ import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -117,18 +121,36 @@ public final class Main {
     /** Name for the option '--exclude'. */
     private static final String OPTION_EXCLUDE_NAME = "exclude";
 
+    /** The highest port number. */
+    private static final int MAX_PORT = 65_535;
+
     /** Name for the option 'x'. */
     private static final String OPTION_X_NAME = "x";
 
     /** Name for the option '--exclude-regexp'. */
     private static final String OPTION_EXCLUDE_REGEXP_NAME = "exclude-regexp";
 
+    /** Name for the option '--threads'. */
+    private static final String OPTION_THREADS_NAME = "threads";
+
+    /** Name for the option '--profile'. */
+    private static final String OPTION_PROFILE_NAME = "profile";
+
+    /** Name for the option '--watch'. */
+    private static final String OPTION_WATCH_NAME = "watch";
+
+    /** Name for the option '--daemon'. */
+    private static final String OPTION_DAEMON_NAME = "daemon";
+
     /** Name for 'xml' format. */
     private static final String XML_FORMAT_NAME = "xml";
 
     /** Name for 'plain' format. */
     private static final String PLAIN_FORMAT_NAME = "plain";
 
+    /** Name for 'ndjson' format. */
+    private static final String NDJSON_FORMAT_NAME = "ndjson";
+
     /** Don't create instance of this class, use {@link #main(String[])} method instead. */
     private Main() {
     }
@@ -276,10 +298,11 @@ public final class Main {
             // validate optional parameters
             if (cmdLine.hasOption(OPTION_F_NAME)) {
                 final String format = cmdLine.getOptionValue(OPTION_F_NAME);
-                if (!PLAIN_FORMAT_NAME.equals(format) && !XML_FORMAT_NAME.equals(format)) {
+                if (!PLAIN_FORMAT_NAME.equals(format) && !XML_FORMAT_NAME.equals(format)
+                        && !NDJSON_FORMAT_NAME.equals(format)) {
                     result.add(String.format("Invalid output format."
-                            + " Found '%s' but expected '%s' or '%s'.",
-                            format, PLAIN_FORMAT_NAME, XML_FORMAT_NAME));
+                            + " Found '%s' but expected '%s', '%s' or '%s'.",
+                            format, PLAIN_FORMAT_NAME, XML_FORMAT_NAME, NDJSON_FORMAT_NAME));
                 }
             }
             if (cmdLine.hasOption(OPTION_P_NAME)) {
@@ -289,6 +312,23 @@ public final class Main {
                     result.add(String.format("Could not find file '%s'.", propertiesLocation));
                 }
             }
+            if (cmdLine.hasOption(OPTION_THREADS_NAME)) {
+                final String threads = cmdLine.getOptionValue(OPTION_THREADS_NAME);
+                if (!threads.matches("[1-9]\\d{0,8}")) {
+                    result.add(String.format("Invalid number of threads."
+                            + " Found '%s' but expected a positive integer.", threads));
+                }
+                else if (Integer.parseInt(threads) > Checker.getMaxThreads()) {
+                    result.add(String.format("Invalid number of threads. Found '%s' but"
+                            + " expected at most %d, four per available processor.",
+                            threads, Checker.getMaxThreads()));
+                }
+            }
+            if (cmdLine.hasOption(OPTION_DAEMON_NAME)
+                    && !isPort(cmdLine.getOptionValue(OPTION_DAEMON_NAME))) {
+                result.add(String.format("Invalid port. Found '%s' but expected a number"
+                        + " from 1 to %d.", cmdLine.getOptionValue(OPTION_DAEMON_NAME), MAX_PORT));
+            }
         }
         else {
             result.add("Must specify a config XML file.");
@@ -376,6 +416,16 @@ public final class Main {
         conf.outputLocation = cmdLine.getOptionValue(OPTION_O_NAME);
         conf.configLocation = cmdLine.getOptionValue(OPTION_C_NAME);
         conf.propertiesLocation = cmdLine.getOptionValue(OPTION_P_NAME);
+        if (cmdLine.hasOption(OPTION_THREADS_NAME)) {
+            conf.threads = Integer.parseInt(cmdLine.getOptionValue(OPTION_THREADS_NAME));
+        }
+        conf.profile = cmdLine.hasOption(OPTION_PROFILE_NAME);
+        conf.watch = cmdLine.hasOption(OPTION_WATCH_NAME);
+        if (cmdLine.hasOption(OPTION_DAEMON_NAME)) {
+            conf.port = Integer.parseInt(cmdLine.getOptionValue(OPTION_DAEMON_NAME));
+        }
+        conf.roots = Arrays.stream(cmdLine.getArgs()).map(File::new).collect(Collectors.toList());
+        conf.exclusions = getExclusions(cmdLine);
         conf.files = filesToProcess;
         return conf;
     }
@@ -406,9 +456,6 @@ public final class Main {
         final Configuration config = ConfigurationLoader.loadConfiguration(
                 cliOptions.configLocation, new PropertiesExpander(props));
 
-        // create a listener for output
-        final AuditListener listener = createListener(cliOptions.format, cliOptions.outputLocation);
-
         // create Checker object and run it
         int errorCounter = 0;
         final Checker checker = new Checker();
@@ -417,11 +464,27 @@ public final class Main {
 
             final ClassLoader moduleClassLoader = Checker.class.getClassLoader();
             checker.setModuleClassLoader(moduleClassLoader);
+            if (cliOptions.profile) {
+                // stderr keeps reports written to stdout readable by tools
+                checker.addProfilingListener(new ProfilingLogger(System.err, false));
+            }
             checker.configure(config);
-            checker.addListener(listener);
+            if (cliOptions.threads != null) {
+                checker.setThreads(cliOptions.threads);
+            }
 
-            // run Checker
-            errorCounter = checker.process(cliOptions.files);
+            if (cliOptions.watch || cliOptions.port != null) {
+                runDaemon(checker, cliOptions);
+            }
+            else {
+                // create a listener for output
+                final AuditListener listener =
+                    createListener(cliOptions.format, cliOptions.outputLocation);
+                checker.addListener(listener);
+
+                // run Checker
+                errorCounter = checker.process(cliOptions.files);
+            }
 
         }
         finally {
@@ -431,6 +494,78 @@ public final class Main {
         return errorCounter;
     }
 
+    /**
+     * Keeps the configured checker running, checking the files again when they
+     * change and checking the files sent to the local port.
+     * @param checker the configured checker.
+     * @param cliOptions
+     *        pojo object that contains all options
+     * @throws FileNotFoundException
+     *         when output file could not be found
+     * @throws CheckstyleException
+     *         when the files could not be checked or watched
+     */
+    private static void runDaemon(Checker checker, CliOptions cliOptions)
+            throws CheckstyleException, FileNotFoundException {
+        final OutputStream out;
+        if (cliOptions.outputLocation == null) {
+            out = System.out;
+        }
+        else {
+            out = new FileOutputStream(cliOptions.outputLocation);
+        }
+        final CheckerDaemon daemon = new CheckerDaemon(checker,
+            stream -> createListener(cliOptions.format, stream, false));
+        try (ServerSocket serverSocket = createServerSocket(cliOptions.port)) {
+            if (cliOptions.watch) {
+                if (serverSocket != null) {
+                    final Thread server = new Thread(() -> daemon.serve(serverSocket),
+                        "checkstyle-daemon");
+                    server.setDaemon(true);
+                    server.start();
+                }
+                daemon.checkAndReport(cliOptions.files, out);
+                daemon.watch(cliOptions.roots,
+                    directory -> !isDirectoryExcluded(directory.getAbsolutePath(),
+                        cliOptions.exclusions), out);
+            }
+            else {
+                daemon.serve(serverSocket);
+            }
+        }
+        catch (final IOException ex) {
+            throw new CheckstyleException("Unable to run the daemon.", ex);
+        }
+        finally {
+            if (cliOptions.outputLocation != null) {
+                CommonUtils.close(out);
+            }
+        }
+    }
+
+    /**
+     * Creates a server socket bound to the loopback address.
+     * @param port the port, {@code null} if no socket is needed.
+     * @return the server socket or {@code null} if no port is given.
+     * @throws IOException if the socket can not be bound.
+     */
+    private static ServerSocket createServerSocket(Integer port) throws IOException {
+        ServerSocket result = null;
+        if (port != null) {
+            result = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether a value is a valid port number.
+     * @param value the value.
+     * @return whether the value is a port number.
+     */
+    private static boolean isPort(String value) {
+        return value.matches("[1-9]\\d{0,4}") && Integer.parseInt(value) <= MAX_PORT;
+    }
+
     /**
      * Loads properties from a File.
      * @param file
@@ -485,6 +620,29 @@ public final class Main {
 
         // setup a listener
         final AuditListener listener;
+        try {
+            listener = createListener(format, out, closeOutputStream);
+        }
+        catch (IllegalStateException ex) {
+            if (closeOutputStream) {
+                CommonUtils.close(out);
+            }
+            throw ex;
+        }
+        return listener;
+    }
+
+    /**
+     * Creates the audit listener writing to a stream.
+     *
+     * @param format format of the audit listener
+     * @param out the stream to write to
+     * @param closeOutputStream whether to close the stream when the audit finished
+     * @return a fresh new {@code AuditListener}
+     */
+    private static AuditListener createListener(String format, OutputStream out,
+                                                boolean closeOutputStream) {
+        final AuditListener listener;
         if (XML_FORMAT_NAME.equals(format)) {
             listener = new XMLLogger(out, closeOutputStream);
 
@@ -492,14 +650,15 @@ public final class Main {
         else if (PLAIN_FORMAT_NAME.equals(format)) {
             listener = new DefaultLogger(out, closeOutputStream, out, false);
 
+        }
+        else if (NDJSON_FORMAT_NAME.equals(format)) {
+            listener = new NdjsonLogger(out, closeOutputStream);
+
         }
         else {
-            if (closeOutputStream) {
-                CommonUtils.close(out);
-            }
             throw new IllegalStateException(String.format(
-                    "Invalid output format. Found '%s' but expected '%s' or '%s'.",
-                    format, PLAIN_FORMAT_NAME, XML_FORMAT_NAME));
+                    "Invalid output format. Found '%s' but expected '%s', '%s' or '%s'.",
+                    format, PLAIN_FORMAT_NAME, XML_FORMAT_NAME, NDJSON_FORMAT_NAME));
         }
 
         return listener;
@@ -592,8 +751,8 @@ public final class Main {
         options.addOption(OPTION_O_NAME, true, "Sets the output file. Defaults to stdout");
         options.addOption(OPTION_P_NAME, true, "Loads the properties file");
         options.addOption(OPTION_F_NAME, true, String.format(
-                "Sets the output format. (%s|%s). Defaults to %s",
-                PLAIN_FORMAT_NAME, XML_FORMAT_NAME, PLAIN_FORMAT_NAME));
+                "Sets the output format. (%s|%s|%s). Defaults to %s",
+                PLAIN_FORMAT_NAME, XML_FORMAT_NAME, NDJSON_FORMAT_NAME, PLAIN_FORMAT_NAME));
         options.addOption(OPTION_V_NAME, false, "Print product version and exit");
         options.addOption(OPTION_T_NAME, OPTION_TREE_NAME, false,
                 "Print Abstract Syntax Tree(AST) of the file");
@@ -609,6 +768,14 @@ public final class Main {
                 "Directory path to exclude from CheckStyle");
         options.addOption(OPTION_X_NAME, OPTION_EXCLUDE_REGEXP_NAME, true,
                 "Regular expression of directory to exclude from CheckStyle");
+        options.addOption(null, OPTION_THREADS_NAME, true,
+                "Number of threads to check files with. Defaults to 1");
+        options.addOption(null, OPTION_PROFILE_NAME, false,
+                "Print the time spent in each module after the audit");
+        options.addOption(null, OPTION_WATCH_NAME, false,
+                "Keep running and check the files again when they change");
+        options.addOption(null, OPTION_DAEMON_NAME, true,
+                "Keep running and check the files sent to the given local port");
         return options;
     }
 
@@ -624,5 +791,17 @@ public final class Main {
         private String outputLocation;
         /** List of file to validate. */
         private List<File> files;
+        /** Number of threads to check files with. */
+        private Integer threads;
+        /** Whether to print the time spent in each module. */
+        private boolean profile;
+        /** Whether to keep checking the files when they change. */
+        private boolean watch;
+        /** Local port to accept files to check on, {@code null} if there is none. */
+        private Integer port;
+        /** The files and directories passed on the command line. */
+        private List<File> roots;
+        /** The patterns of excluded directories. */
+        private List<Pattern> exclusions;
     }
 }
@@ -0,0 +1,262 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.AutomaticBean;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+/**
+ * Logger writing a compact report for machine consumers as newline delimited
+ * JSON, one object per line in UTF-8. Every object has a {@code type}:
+ * <ul>
+ * <li>{@code audit} starts the report and carries the Checkstyle {@code version},</li>
+ * <li>{@code file} starts the records of the file with the given {@code name},</li>
+ * <li>{@code source} assigns a numeric {@code id} to the {@code name} of a check
+ * before the first error logged by it, later errors refer to the check by id,</li>
+ * <li>{@code error} carries the {@code line}, the {@code column} (only if it is
+ * known), the {@code severity}, the {@code source} id and the {@code message},</li>
+ * <li>{@code exception} carries the stack {@code trace} of an exception,</li>
+ * <li>{@code fileEnd} finishes the records of the file with the given {@code name},</li>
+ * <li>{@code auditEnd} finishes the report.</li>
+ * </ul>
+ * Records are written as the events arrive and the output is flushed after
+ * every file, so consumers can process the report incrementally.
+ *
+ * @author the original author or authors.
+ */
+public class NdjsonLogger
+    extends AutomaticBean
+    implements AuditListener {
+    /** Default size of the buffer of the output, in characters. */
+    public static final int DEFAULT_BUFFER_SIZE = ReportWriter.DEFAULT_BUFFER_SIZE;
+
+    /** The end of a record whose last value is a string. */
+    private static final String STRING_RECORD_END = "\"}\n";
+
+    /** Mask of the hex digit of the lowest four bits of a character. */
+    private static final int HEX_DIGIT_MASK = 0xF;
+
+    /** Number of bits in a hex digit. */
+    private static final int HEX_DIGIT_BITS = 4;
+
+    /** The hex digits. */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /** Close output stream in auditFinished. */
+    private final boolean closeStream;
+
+    /** Ids of the sources announced in the report so far. */
+    private final Map<String, Integer> sourceIds = new HashMap<>();
+
+    /** The buffered writer of the report. */
+    private final ReportWriter writer;
+
+    /**
+     * Creates a new {@code NdjsonLogger} instance.
+     * Sets the output to a defined stream.
+     * @param outputStream the stream to write logs to.
+     * @param closeStream close outputStream in auditFinished
+     */
+    public NdjsonLogger(OutputStream outputStream, boolean closeStream) {
+        this(outputStream, closeStream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new {@code NdjsonLogger} instance.
+     * Sets the output to a defined stream, buffered with a buffer of the given size.
+     * @param outputStream the stream to write logs to.
+     * @param closeStream close outputStream in auditFinished
+     * @param bufferSize the size of the buffer of the output, in characters.
+     * @throws IllegalArgumentException if the buffer size is not positive.
+     */
+    public NdjsonLogger(OutputStream outputStream, boolean closeStream, int bufferSize) {
+        writer = new ReportWriter(outputStream, bufferSize);
+        this.closeStream = closeStream;
+    }
+
+    @Override
+    public void auditStarted(AuditEvent event) {
+        final ResourceBundle compilationProperties =
+            ResourceBundle.getBundle("checkstylecompilation", Locale.ROOT);
+        final String version =
+            compilationProperties.getString("checkstyle.compile.version");
+
+        writer.write("{\"type\":\"audit\",\"version\":\"");
+        encode(version, writer);
+        writer.write(STRING_RECORD_END);
+    }
+
+    @Override
+    public void auditFinished(AuditEvent event) {
+        writer.write("{\"type\":\"auditEnd\"}\n");
+        sourceIds.clear();
+        if (closeStream) {
+            writer.close();
+        }
+        else {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void fileStarted(AuditEvent event) {
+        writeFileRecord("file", event.getFileName());
+    }
+
+    @Override
+    public void fileFinished(AuditEvent event) {
+        writeFileRecord("fileEnd", event.getFileName());
+        // consumers reading the report incrementally get every file as soon as it is finished
+        writer.flush();
+    }
+
+    @Override
+    public void addError(AuditEvent event) {
+        if (event.getSeverityLevel() != SeverityLevel.IGNORE) {
+            final int sourceId = getSourceId(event.getSourceName());
+            writer.write("{\"type\":\"error\",\"line\":");
+            writer.writeNumber(event.getLine());
+            if (event.getColumn() > 0) {
+                writer.write(",\"column\":");
+                writer.writeNumber(event.getColumn());
+            }
+            writer.write(",\"severity\":\"");
+            writer.writeSeverity(event.getSeverityLevel());
+            writer.write("\",\"source\":");
+            writer.writeNumber(sourceId);
+            writer.write(",\"message\":\"");
+            encode(event.getMessage(), writer);
+            writer.write(STRING_RECORD_END);
+        }
+    }
+
+    @Override
+    public void addException(AuditEvent event, Throwable throwable) {
+        writer.write("{\"type\":\"exception\",\"trace\":\"");
+        final PrintWriter printer =
+            new PrintWriter(writer.createEncodingWriter(NdjsonLogger::encode));
+        throwable.printStackTrace(printer);
+        printer.flush();
+        writer.write(STRING_RECORD_END);
+    }
+
+    /**
+     * Writes a record about a file.
+     * @param type the type of the record.
+     * @param fileName the name of the file.
+     */
+    private void writeFileRecord(String type, String fileName) {
+        writer.write("{\"type\":\"");
+        writer.write(type);
+        writer.write("\",\"name\":\"");
+        encode(fileName, writer);
+        writer.write(STRING_RECORD_END);
+    }
+
+    /**
+     * Returns the id of a source, announcing the source in the report
+     * when it is seen for the first time.
+     * @param sourceName the name of the source.
+     * @return the id of the source.
+     */
+    private int getSourceId(String sourceName) {
+        Integer sourceId = sourceIds.get(sourceName);
+        if (sourceId == null) {
+            sourceId = sourceIds.size();
+            sourceIds.put(sourceName, sourceId);
+            writer.write("{\"type\":\"source\",\"id\":");
+            writer.writeNumber(sourceId);
+            writer.write(",\"name\":\"");
+            encode(sourceName, writer);
+            writer.write(STRING_RECORD_END);
+        }
+        return sourceId;
+    }
+
+    /**
+     * Escapes a value for a JSON string, writing the characters which need
+     * no escaping in runs.
+     * @param value the value to escape.
+     * @param out the writer to write the escaped value to.
+     */
+    private static void encode(String value, PrintWriter out) {
+        encode(value, 0, value.length(), out);
+    }
+
+    /**
+     * Escapes a range of a value for a JSON string, writing the characters
+     * which need no escaping in runs.
+     * @param value the value to escape.
+     * @param start the start of the range.
+     * @param end the end of the range, exclusive.
+     * @param out the writer to write the escaped value to.
+     */
+    private static void encode(String value, int start, int end, PrintWriter out) {
+        int unescaped = start;
+        for (int i = start; i < end; i++) {
+            final char chr = value.charAt(i);
+            if (chr < ' ' || chr == '"' || chr == '\\') {
+                out.write(value, unescaped, i - unescaped);
+                writeEscape(chr, out);
+                unescaped = i + 1;
+            }
+        }
+        out.write(value, unescaped, end - unescaped);
+    }
+
+    /**
+     * Writes the escape sequence of a character.
+     * @param chr the character, a quote, a backslash or a control character.
+     * @param out the writer to write the escape sequence to.
+     */
+    private static void writeEscape(char chr, PrintWriter out) {
+        switch (chr) {
+            case '"':
+                out.write("\\\"");
+                break;
+            case '\\':
+                out.write("\\\\");
+                break;
+            case '\n':
+                out.write("\\n");
+                break;
+            case '\r':
+                out.write("\\r");
+                break;
+            case '\t':
+                out.write("\\t");
+                break;
+            default:
+                out.write("\\u00");
+                out.write(HEX_DIGITS[chr >> HEX_DIGIT_BITS]);
+                out.write(HEX_DIGITS[chr & HEX_DIGIT_MASK]);
+                break;
+        }
+    }
+}
@@ -26,8 +26,12 @@ import java.net.URL;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -43,18 +47,35 @@ import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
 /**
  * Loads a list of package names from a package name XML file.
+ * Package name XML files of version 1.1 can also list the classes of
+ * modules, which are then found without searching the packages.
  * @author Rick Giles
  */
 public final class PackageNamesLoader
     extends AbstractLoader {
-    /** The public ID for the configuration dtd. */
-    private static final String DTD_PUBLIC_ID =
+    /** The public ID for version 1_0 of the configuration dtd. */
+    private static final String DTD_PUBLIC_ID_1_0 =
         "-//Puppy Crawl//DTD Package Names 1.0//EN";
 
-    /** The resource for the configuration dtd. */
-    private static final String DTD_RESOURCE_NAME =
+    /** The resource for version 1_0 of the configuration dtd. */
+    private static final String DTD_RESOURCE_NAME_1_0 =
         "com/puppycrawl/tools/checkstyle/packages_1_0.dtd";
 
+    /** The public ID for version 1_1 of the configuration dtd. */
+    private static final String DTD_PUBLIC_ID_1_1 =
+        "-//Puppy Crawl//DTD Package Names 1.1//EN";
+
+    /** The resource for version 1_1 of the configuration dtd. */
+    private static final String DTD_RESOURCE_NAME_1_1 =
+        "com/puppycrawl/tools/checkstyle/packages_1_1.dtd";
+
+    /**
+     * Name of the index of the modules distributed with Checkstyle,
+     * it is generated at build time.
+     */
+    private static final String CHECKSTYLE_MODULES =
+        "com/puppycrawl/tools/checkstyle/checkstyle_modules.properties";
+
     /** Name of default checkstyle package names resource file.
      * The file must be in the classpath.
      */
@@ -64,12 +85,27 @@ public final class PackageNamesLoader
     /** Qualified name for element 'package'. */
     private static final String PACKAGE_ELEMENT_NAME = "package";
 
+    /** Name of the attribute 'name'. */
+    private static final String NAME_ATTRIBUTE = "name";
+
+    /** Message of the exception thrown when a resource can not be read. */
+    private static final String UNABLE_TO_OPEN_MESSAGE = "unable to open ";
+
+    /** Qualified name for element 'module'. */
+    private static final String MODULE_ELEMENT_NAME = "module";
+
+    /** The suffix which can be omitted from the names of checks. */
+    private static final String CHECK_SUFFIX = "Check";
+
     /** The temporary stack of package name parts. */
     private final Deque<String> packageStack = new ArrayDeque<>();
 
     /** The fully qualified package names. */
     private final Set<String> packageNames = new LinkedHashSet<>();
 
+    /** The fully qualified class names of modules keyed by their short names. */
+    private final Map<String, String> moduleClassNames = new LinkedHashMap<>();
+
     /**
      * Creates a new {@code PackageNamesLoader} instance.
      * @throws ParserConfigurationException if an error occurs
@@ -77,7 +113,18 @@ public final class PackageNamesLoader
      */
     private PackageNamesLoader()
             throws ParserConfigurationException, SAXException {
-        super(DTD_PUBLIC_ID, DTD_RESOURCE_NAME);
+        super(createIdToResourceNameMap());
+    }
+
+    /**
+     * Creates mapping between local resources and dtd ids.
+     * @return map between local resources and dtd ids.
+     */
+    private static Map<String, String> createIdToResourceNameMap() {
+        final Map<String, String> map = new HashMap<>();
+        map.put(DTD_PUBLIC_ID_1_0, DTD_RESOURCE_NAME_1_0);
+        map.put(DTD_PUBLIC_ID_1_1, DTD_RESOURCE_NAME_1_1);
+        return map;
     }
 
     @Override
@@ -87,9 +134,19 @@ public final class PackageNamesLoader
                              Attributes attributes) {
         if (PACKAGE_ELEMENT_NAME.equals(qName)) {
             //push package name, name is mandatory attribute with not empty value by DTD
-            final String name = attributes.getValue("name");
+            final String name = attributes.getValue(NAME_ATTRIBUTE);
             packageStack.push(name);
         }
+        else if (MODULE_ELEMENT_NAME.equals(qName)) {
+            //name is mandatory attribute with not empty value by DTD
+            final String name = attributes.getValue(NAME_ATTRIBUTE);
+            final String className = getPackageName() + name;
+            moduleClassNames.putIfAbsent(name, className);
+            if (name.endsWith(CHECK_SUFFIX) && name.length() > CHECK_SUFFIX.length()) {
+                moduleClassNames.putIfAbsent(
+                    name.substring(0, name.length() - CHECK_SUFFIX.length()), className);
+            }
+        }
     }
 
     /**
@@ -131,8 +188,63 @@ public final class PackageNamesLoader
      */
     public static Set<String> getPackageNames(ClassLoader classLoader)
             throws CheckstyleException {
+        return load(classLoader).packageNames;
+    }
+
+    /**
+     * Returns the fully qualified class names of modules keyed by the short
+     * names the modules can be configured with. The names are taken from the
+     * index of the modules distributed with Checkstyle and from the
+     * {@code module} elements of all checkstyle_packages.xml files found on
+     * the given class loaders classpath, which take precedence over the index.
+     * @param classLoader the class loader for loading the index and the
+     *          checkstyle_packages.xml files.
+     * @return the class names of modules keyed by their short names.
+     * @throws CheckstyleException if an error occurs.
+     */
+    public static Map<String, String> getModuleClassNames(ClassLoader classLoader)
+            throws CheckstyleException {
+        final Map<String, String> result = new HashMap<>();
+        try {
+            final Enumeration<URL> indexFiles = classLoader.getResources(CHECKSTYLE_MODULES);
+            while (indexFiles.hasMoreElements()) {
+                final URL indexFile = indexFiles.nextElement();
+                final Properties index = new Properties();
+                InputStream stream = null;
+                try {
+                    stream = new BufferedInputStream(indexFile.openStream());
+                    index.load(stream);
+                }
+                catch (IOException ex) {
+                    throw new CheckstyleException(UNABLE_TO_OPEN_MESSAGE + indexFile, ex);
+                }
+                finally {
+                    Closeables.closeQuietly(stream);
+                }
+                for (final String name : index.stringPropertyNames()) {
+                    result.putIfAbsent(name, index.getProperty(name));
+                }
+            }
+        }
+        catch (IOException ex) {
+            throw new CheckstyleException("unable to get module index resources", ex);
+        }
+        result.putAll(load(classLoader).moduleClassNames);
+        return result;
+    }
+
+    /**
+     * Parses all checkstyle_packages.xml files found on the given class
+     * loaders classpath.
+     * @param classLoader the class loader for loading the
+     *          checkstyle_packages.xml files.
+     * @return the loader holding the parsed names.
+     * @throws CheckstyleException if an error occurs.
+     */
+    private static PackageNamesLoader load(ClassLoader classLoader)
+            throws CheckstyleException {
 
-        final Set<String> result;
+        final PackageNamesLoader result;
         try {
             //create the loader outside the loop to prevent PackageObjectFactory
             //being created anew for each file
@@ -150,14 +262,14 @@ public final class PackageNamesLoader
                     namesLoader.parseInputSource(source);
                 }
                 catch (IOException ex) {
-                    throw new CheckstyleException("unable to open " + packageFile, ex);
+                    throw new CheckstyleException(UNABLE_TO_OPEN_MESSAGE + packageFile, ex);
                 }
                 finally {
                     Closeables.closeQuietly(stream);
                 }
             }
 
-            result = namesLoader.packageNames;
+            result = namesLoader;
 
         }
         catch (IOException ex) {
@@ -20,9 +20,12 @@
 package com.puppycrawl.tools.checkstyle;
 
 import java.lang.reflect.Constructor;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -34,6 +37,8 @@ import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 
 /**
  * A factory for creating objects from package names and names.
+ * Names found in the index of module classes are created directly, other
+ * names are searched for in the packages.
  * @author Rick Giles
  * @author lkuehne
  */
@@ -53,6 +58,8 @@ public class PackageObjectFactory implements ModuleFactory {
 
     /** A list of package names to prepend to class names. */
     private final Set<String> packages;
+    /** The fully qualified class names of modules keyed by their short names. */
+    private final Map<String, String> moduleClassNames;
     /** The class loader used to load Checkstyle core and custom modules. */
     private final ClassLoader moduleClassLoader;
 
@@ -63,6 +70,19 @@ public class PackageObjectFactory implements ModuleFactory {
      *          core and custom modules
      */
     public PackageObjectFactory(Set<String> packageNames, ClassLoader moduleClassLoader) {
+        this(packageNames, Collections.emptyMap(), moduleClassLoader);
+    }
+
+    /**
+     * Creates a new {@code PackageObjectFactory} instance.
+     * @param packageNames the list of package names to use
+     * @param moduleClassNames the fully qualified class names of modules
+     *          keyed by their short names
+     * @param moduleClassLoader class loader used to load Checkstyle
+     *          core and custom modules
+     */
+    public PackageObjectFactory(Set<String> packageNames, Map<String, String> moduleClassNames,
+            ClassLoader moduleClassLoader) {
         if (moduleClassLoader == null) {
             throw new IllegalArgumentException(
                     "moduleClassLoader must not be null");
@@ -70,6 +90,7 @@ public class PackageObjectFactory implements ModuleFactory {
 
         //create a copy of the given set, but retain ordering
         packages = new LinkedHashSet<>(packageNames);
+        this.moduleClassNames = new HashMap<>(moduleClassNames);
         this.moduleClassLoader = moduleClassLoader;
     }
 
@@ -78,14 +99,22 @@ public class PackageObjectFactory implements ModuleFactory {
      * concatenated with &quot;Check&quot;. If the name is
      * a class name, creates an instance of the named class. Otherwise, creates
      * an instance of a class name obtained by concatenating the given name
-     * to a package name from a given list of package names.
+     * to a package name from a given list of package names. Names of the
+     * index of module classes are looked up in the index first.
      * @param name the name of a class.
      * @return the {@code Object} created by loader.
      * @throws CheckstyleException if an error occurs.
      */
     @Override
     public Object createModule(String name) throws CheckstyleException {
-        Object instance = createObjectWithIgnoringProblems(name, getAllPossibleNames(name));
+        Object instance = null;
+        final String className = moduleClassNames.get(name);
+        if (className != null) {
+            instance = createObject(className);
+        }
+        if (instance == null) {
+            instance = createObjectWithIgnoringProblems(name, getAllPossibleNames(name));
+        }
         if (instance == null) {
             final String nameCheck = name + "Check";
             instance = createObjectWithIgnoringProblems(nameCheck, getAllPossibleNames(nameCheck));
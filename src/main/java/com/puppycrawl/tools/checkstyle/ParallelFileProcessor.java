@@ -0,0 +1,167 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+/**
+ * Processes files of a {@link Checker} on a pool of threads.
+ * Each thread takes a {@link CheckerWorker} to parse, check and filter a file,
+ * while the results are completed by the Checker on the calling thread, one file
+ * at a time and in the order of the file list, so listeners receive the same
+ * sequence of events as in sequential mode.
+ *
+ * @author the original author or authors.
+ */
+final class ParallelFileProcessor {
+    /** Number of files that may be queued per thread. */
+    private static final int QUEUED_FILES_PER_THREAD = 4;
+
+    /** The checker the files are processed for. */
+    private final Checker checker;
+
+    /** The workers to process files with, one per thread. */
+    private final List<CheckerWorker> workers;
+
+    /**
+     * Creates a new processor.
+     * @param checker the checker the files are processed for.
+     * @param workers the workers to process files with, one per thread.
+     */
+    ParallelFileProcessor(Checker checker, List<CheckerWorker> workers) {
+        this.checker = checker;
+        this.workers = workers;
+    }
+
+    /**
+     * Processes a list of files.
+     * @param files a list of files to process.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     */
+    void process(List<File> files) throws CheckstyleException {
+        final int threads = workers.size();
+        workers.forEach(CheckerWorker::beginProcessing);
+        final BlockingQueue<CheckerWorker> idleWorkers = new ArrayBlockingQueue<>(threads, false,
+            workers);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final Deque<File> pendingFiles = new ArrayDeque<>();
+            final Deque<Future<CheckerWorker.Result>> pendingResults = new ArrayDeque<>();
+            for (final File file : files) {
+                if (!checker.isProcessable(file)) {
+                    continue;
+                }
+                pendingFiles.add(file);
+                pendingResults.add(executor.submit(() -> {
+                    final CheckerWorker worker = idleWorkers.take();
+                    try {
+                        return worker.process(file);
+                    }
+                    finally {
+                        idleWorkers.add(worker);
+                    }
+                }));
+                if (pendingFiles.size() >= threads * QUEUED_FILES_PER_THREAD) {
+                    completeFile(pendingFiles.remove(), pendingResults.remove());
+                }
+            }
+            while (!pendingFiles.isEmpty()) {
+                completeFile(pendingFiles.remove(), pendingResults.remove());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+            awaitTermination(executor);
+        }
+        workers.forEach(CheckerWorker::finishProcessing);
+    }
+
+    /**
+     * Waits until the tasks of an executor stopped, as the workers are used
+     * again by the following audits.
+     * @param executor the executor, it is shut down.
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the result of a worker and lets the checker complete the file.
+     * @param file the file.
+     * @param pendingResult the pending result of the worker.
+     * @throws CheckstyleException if error condition within Checkstyle occurs.
+     * @noinspection ProhibitedExceptionThrown
+     */
+    private void completeFile(File file, Future<CheckerWorker.Result> pendingResult)
+            throws CheckstyleException {
+        try {
+            checker.completeFile(file, getResult(pendingResult));
+        }
+        // -@cs[IllegalCatch] There is no other way to deliver filename that was under
+        // processing. See https://github.com/checkstyle/checkstyle/issues/2285
+        catch (Exception ex) {
+            // We need to catch all exceptions to put a reason failure (file name) in exception
+            throw new CheckstyleException("Exception was thrown while processing "
+                    + file.getPath(), ex);
+        }
+        catch (Error error) {
+            // We need to catch all errors to put a reason failure (file name) in error
+            throw new Error("Error was thrown while processing " + file.getPath(), error);
+        }
+    }
+
+    /**
+     * Waits for the result of a worker and rethrows its failure, if any.
+     * @param pendingResult the pending result of the worker.
+     * @return the result of the worker.
+     * @throws Exception if the worker failed with an exception or was interrupted.
+     * @noinspection ProhibitedExceptionThrown
+     */
+    private static CheckerWorker.Result getResult(Future<CheckerWorker.Result> pendingResult)
+            throws Exception {
+        try {
+            return pendingResult.get();
+        }
+        catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (Exception) cause;
+        }
+    }
+}
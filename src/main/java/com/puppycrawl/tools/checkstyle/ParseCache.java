@@ -0,0 +1,260 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.util.BitSet;
+
+import antlr.RecognitionException;
+import antlr.TokenStreamException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Keeps the parse results of the file that is processed by the current
+ * thread, so all TreeWalkers of a Checker parse a file only once. The file
+ * is identified by its {@link FileText} instance, which Checker passes to
+ * all FileSetChecks. Every thread has its own entry, so a cache can be used
+ * by all threads of a parallel audit.
+ *
+ * @author the original author or authors.
+ */
+public final class ParseCache {
+    /** Parse results of the file processed by the current thread. */
+    private final ThreadLocal<Entry> entries = new ThreadLocal<>();
+
+    /** The profiler to record the time spent in parsing with, {@code null} if not profiling. */
+    private final Profiler profiler;
+
+    /**
+     * Whether the cache is used by more than one TreeWalker, the AST
+     * without comment nodes has to be kept intact then.
+     */
+    private volatile boolean shared;
+
+    /**
+     * Creates a new cache.
+     * @param profiler the profiler to record the time spent in parsing with,
+     *        {@code null} if not profiling.
+     */
+    public ParseCache(Profiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Sets whether the cache is used by more than one TreeWalker. Comment
+     * nodes are appended to the AST that was returned without them before,
+     * a shared cache keeps a copy of that AST for the TreeWalkers that did
+     * not process the file yet.
+     * @param shared whether the cache is used by more than one TreeWalker.
+     */
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * Returns the contents of a file, the same instance for all callers
+     * processing the same text.
+     * @param text the text of the file.
+     * @return the contents of the file.
+     */
+    public FileContents getContents(FileText text) {
+        return getEntry(text).contents;
+    }
+
+    /**
+     * Returns the AST of a file without comment nodes, parsing the file if
+     * it was not parsed yet.
+     * @param text the text of the file.
+     * @return the root of the AST.
+     * @throws RecognitionException if parsing failed.
+     * @throws TokenStreamException if lexing failed.
+     */
+    public DetailAST getAst(FileText text) throws RecognitionException, TokenStreamException {
+        final Entry entry = getEntry(text);
+        if (!entry.parsed) {
+            final Profiler.Entry profilerEntry;
+            final long startTime = System.nanoTime();
+            final long startBytes;
+            if (profiler == null) {
+                profilerEntry = null;
+                startBytes = Profiler.UNSUPPORTED;
+            }
+            else {
+                profilerEntry = profiler.getEntry(Profiler.Category.PARSE, "TreeWalker");
+                startBytes = Profiler.getThreadAllocatedBytes();
+            }
+            entry.ast = TreeWalker.parse(entry.contents);
+            entry.parsed = true;
+            if (profilerEntry != null) {
+                profilerEntry.record(startTime, startBytes);
+            }
+        }
+        return entry.ast;
+    }
+
+    /**
+     * Returns the AST of a file with comment nodes, parsing the file if
+     * it was not parsed yet.
+     * @param text the text of the file.
+     * @param commentTypes types of the hidden comment tokens to create nodes for,
+     *        the AST may contain nodes of other comments requested before. A cache
+     *        that is not shared creates the nodes requested by the first call only.
+     * @return the root of the AST.
+     * @throws RecognitionException if parsing failed.
+     * @throws TokenStreamException if lexing failed.
+     */
+    public DetailAST getAstWithComments(FileText text, BitSet commentTypes)
+            throws RecognitionException, TokenStreamException {
+        final DetailAST ast = getAst(text);
+        final Entry entry = entries.get();
+        if (!entry.commentsAppended) {
+            if (shared && ast != null) {
+                // the copy is taken before the tree changes, so nodes without
+                // a position of their own keep the one they had
+                entry.ast = copy(ast);
+            }
+            entry.astWithComments = TreeWalker.appendHiddenCommentNodes(ast, commentTypes);
+            entry.commentTypes = (BitSet) commentTypes.clone();
+            entry.commentsAppended = true;
+        }
+        else if (shared && ast != null && !contains(entry.commentTypes, commentTypes)) {
+            // another TreeWalker observes more kinds of comments, they are
+            // appended to a new copy of the kept AST without comments
+            entry.commentTypes.or(commentTypes);
+            entry.astWithComments =
+                TreeWalker.appendHiddenCommentNodes(copy(ast), entry.commentTypes);
+        }
+        return entry.astWithComments;
+    }
+
+    /**
+     * Checks whether a set of token types contains all types of another set.
+     * @param types the set of types.
+     * @param otherTypes the other set of types.
+     * @return whether all types of the other set are contained.
+     */
+    private static boolean contains(BitSet types, BitSet otherTypes) {
+        final BitSet missingTypes = (BitSet) otherTypes.clone();
+        missingTypes.andNot(types);
+        return missingTypes.isEmpty();
+    }
+
+    /** Drops the parse results of the current thread. */
+    public void clear() {
+        entries.remove();
+    }
+
+    /**
+     * Returns the entry of the current thread for a text, replacing the
+     * entry of another text.
+     * @param text the text of the file.
+     * @return the entry.
+     */
+    private Entry getEntry(FileText text) {
+        Entry entry = entries.get();
+        if (entry == null || entry.text != text) {
+            entry = new Entry(text);
+            entries.set(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Copies a tree, including the siblings of its root.
+     * @param root the root of the tree.
+     * @return the root of the copy.
+     */
+    static DetailAST copy(DetailAST root) {
+        final DetailAST rootCopy = copyNode(root);
+        DetailAST node = root;
+        DetailAST nodeCopy = rootCopy;
+        while (node != null) {
+            DetailAST toVisit = node.getFirstChild();
+            if (toVisit == null) {
+                while (node != null && toVisit == null) {
+                    toVisit = node.getNextSibling();
+                    if (toVisit == null) {
+                        node = node.getParent();
+                        nodeCopy = nodeCopy.getParent();
+                    }
+                    else {
+                        final DetailAST siblingCopy = copyNode(toVisit);
+                        nodeCopy.setNextSibling(siblingCopy);
+                        nodeCopy = siblingCopy;
+                    }
+                }
+            }
+            else {
+                final DetailAST childCopy = copyNode(toVisit);
+                nodeCopy.setFirstChild(childCopy);
+                nodeCopy = childCopy;
+            }
+            node = toVisit;
+        }
+        return rootCopy;
+    }
+
+    /**
+     * Copies a node without its children and siblings.
+     * @param node the node.
+     * @return the copy.
+     */
+    private static DetailAST copyNode(DetailAST node) {
+        final DetailAST result = new DetailAST();
+        result.initialize(node);
+        return result;
+    }
+
+    /**
+     * Parse results of a file.
+     */
+    private static final class Entry {
+        /** The text of the file. */
+        private final FileText text;
+
+        /** The contents of the file, filled with comments by parsing. */
+        private final FileContents contents;
+
+        /** Whether the file was parsed. */
+        private boolean parsed;
+
+        /** The AST without comment nodes. */
+        private DetailAST ast;
+
+        /** Whether the AST with comment nodes was created. */
+        private boolean commentsAppended;
+
+        /** The AST with comment nodes. */
+        private DetailAST astWithComments;
+
+        /** Types of the hidden comment tokens the AST has nodes for. */
+        private BitSet commentTypes;
+
+        /**
+         * Creates a new entry.
+         * @param text the text of the file.
+         */
+        private Entry(FileText text) {
+            this.text = text;
+            contents = new FileContents(text);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractViolationReporter;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+
+/**
+ * Collects the time spent in modules during an audit, the number of times
+ * they were invoked and, where the JVM supports it, the bytes they allocated.
+ * Modules are identified by their id, modules without an id by the simple
+ * name of their class, and numbered if several modules share a name.
+ * Replicas of a module in parallel mode share the entry of the module.
+ * A profiler is thread-safe, so it can be shared by
+ * all threads of a parallel audit.
+ *
+ * @author the original author or authors.
+ */
+public final class Profiler {
+    /** Returned by {@link #getThreadAllocatedBytes()} if the JVM does not support it. */
+    public static final long UNSUPPORTED = -1;
+
+    /**
+     * Handle of {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}
+     * bound to the platform bean, {@code null} if the JVM does not support it.
+     * The method is looked up reflectively as it is not part of the standard API.
+     */
+    private static final MethodHandle THREAD_ALLOCATED_BYTES = findThreadAllocatedBytes();
+
+    /** The kinds of profiled work. */
+    public enum Category {
+        /** Parsing of Java files by TreeWalker. */
+        PARSE,
+        /** Processing of files by a FileSetCheck. */
+        FILESET_CHECK,
+        /** Notification of a check by TreeWalker. */
+        CHECK,
+        /** Filtering of audit events by a filter. */
+        FILTER
+    }
+
+    /**
+     * Entries by category and by the configuration of their module, or the
+     * module itself if it was not created from configuration.
+     */
+    private final Map<Category, Map<Object, Entry>> entries = new EnumMap<>(Category.class);
+
+    /**
+     * Finds the entry of a module, creating it if it does not exist.
+     * @param category the kind of work.
+     * @param module the module, or the name of the work if it is not done by a module.
+     * @return the entry.
+     */
+    public Entry getEntry(Category category, Object module) {
+        return getEntry(category, module, null);
+    }
+
+    /**
+     * Finds the entry of a module, creating it if it does not exist. Replicas
+     * of a module created from the same configuration share an entry, other
+     * modules with the same name get their own entries, which are numbered.
+     * Callers should resolve the entry of a module once and keep it.
+     * @param category the kind of work.
+     * @param module the module, or the name of the work if it is not done by a module.
+     * @param configuration the configuration the module was created from,
+     *        {@code null} if it was not created from configuration.
+     * @return the entry.
+     */
+    public synchronized Entry getEntry(Category category, Object module,
+            Configuration configuration) {
+        final Map<Object, Entry> categoryEntries =
+            entries.computeIfAbsent(category, key -> new HashMap<>());
+        Object key = configuration;
+        if (key == null) {
+            key = module;
+        }
+        Entry entry = categoryEntries.get(key);
+        if (entry == null) {
+            final String name = getModuleName(module);
+            final int number = (int) categoryEntries.values().stream()
+                .filter(other -> other.baseName.equals(name)).count() + 1;
+            entry = new Entry(category, name, number);
+            categoryEntries.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Returns a snapshot of all entries, the most expensive first.
+     * @return the entries.
+     */
+    public synchronized List<Entry> getEntries() {
+        final List<Entry> result = new ArrayList<>();
+        entries.values().forEach(categoryEntries -> result.addAll(categoryEntries.values()));
+        result.sort(Comparator.comparingLong(Entry::getTime).reversed()
+            .thenComparing(Entry::getName));
+        return result;
+    }
+
+    /** Resets the collected values of all entries. */
+    public synchronized void reset() {
+        entries.values().forEach(categoryEntries -> categoryEntries.values()
+            .forEach(Entry::reset));
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far.
+     * @return the allocated bytes or {@link #UNSUPPORTED}.
+     */
+    public static long getThreadAllocatedBytes() {
+        long result = UNSUPPORTED;
+        if (THREAD_ALLOCATED_BYTES != null) {
+            try {
+                result = (long) THREAD_ALLOCATED_BYTES.invokeExact(Thread.currentThread().getId());
+            }
+            // -@cs[IllegalCatch] invokeExact is declared to throw Throwable
+            catch (Throwable ex) {
+                result = UNSUPPORTED;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Determines the name a module is reported with.
+     * @param module the module, or the name of the work if it is not done by a module.
+     * @return the id of the module, or the simple name of its class.
+     */
+    private static String getModuleName(Object module) {
+        String name = null;
+        if (module instanceof String) {
+            name = (String) module;
+        }
+        else if (module instanceof AbstractViolationReporter) {
+            name = ((AbstractViolationReporter) module).getId();
+        }
+        if (name == null) {
+            name = module.getClass().getSimpleName();
+        }
+        return name;
+    }
+
+    /**
+     * Looks up the method reporting the bytes allocated by a thread.
+     * @return the bound handle of the method, {@code null} if it is not supported.
+     */
+    private static MethodHandle findThreadAllocatedBytes() {
+        MethodHandle result = null;
+        try {
+            final Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean");
+            final Object bean = ManagementFactory.getThreadMXBean();
+            if (beanClass.isInstance(bean)) {
+                final MethodHandle handle = MethodHandles.publicLookup().findVirtual(beanClass,
+                    "getThreadAllocatedBytes", MethodType.methodType(long.class, long.class))
+                    .bindTo(bean);
+                if ((long) handle.invoke(Thread.currentThread().getId()) >= 0) {
+                    result = handle;
+                }
+            }
+        }
+        // -@cs[IllegalCatch] the method may be missing, unsupported or disabled
+        catch (Throwable ex) {
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * The collected values of a module.
+     */
+    public static final class Entry {
+        /** The kind of work. */
+        private final Category category;
+
+        /** The name of the module. */
+        private final String baseName;
+
+        /** The number of the module among the modules with the same name, from 1. */
+        private final int number;
+
+        /** Number of invocations. */
+        private final LongAdder invocations = new LongAdder();
+
+        /** Total wall time in nanoseconds. */
+        private final LongAdder time = new LongAdder();
+
+        /** Total allocated bytes. */
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        /**
+         * Creates a new entry.
+         * @param category the kind of work.
+         * @param baseName the name of the module.
+         * @param number the number of the module among the modules with the same name.
+         */
+        private Entry(Category category, String baseName, int number) {
+            this.category = category;
+            this.baseName = baseName;
+            this.number = number;
+        }
+
+        /**
+         * Processes a file with the fileset check of the entry and records it.
+         * @param fileSetCheck the fileset check.
+         * @param file the file to process.
+         * @param text the contents of the file.
+         * @return the messages logged by the fileset check.
+         * @throws CheckstyleException if error condition within Checkstyle occurs.
+         */
+        public SortedSet<LocalizedMessage> process(FileSetCheck fileSetCheck, File file,
+                FileText text) throws CheckstyleException {
+            final long startTime = System.nanoTime();
+            final long startBytes = getThreadAllocatedBytes();
+            try {
+                return fileSetCheck.process(file, text);
+            }
+            finally {
+                record(startTime, startBytes);
+            }
+        }
+
+        /**
+         * Passes an event to the filter of the entry and records it.
+         * @param filter the filter.
+         * @param event the event.
+         * @return whether the filter accepted the event.
+         */
+        public boolean accept(Filter filter, AuditEvent event) {
+            final long startTime = System.nanoTime();
+            final long startBytes = getThreadAllocatedBytes();
+            try {
+                return filter.accept(event);
+            }
+            finally {
+                record(startTime, startBytes);
+            }
+        }
+
+        /**
+         * Records an invocation which ends now.
+         * @param startTime the value of {@link System#nanoTime()} at the start.
+         * @param startBytes the value of {@link Profiler#getThreadAllocatedBytes()} at the start.
+         */
+        public void record(long startTime, long startBytes) {
+            time.add(System.nanoTime() - startTime);
+            if (startBytes != UNSUPPORTED) {
+                allocatedBytes.add(getThreadAllocatedBytes() - startBytes);
+            }
+            invocations.increment();
+        }
+
+        /** Resets the collected values. */
+        private void reset() {
+            invocations.reset();
+            time.reset();
+            allocatedBytes.reset();
+        }
+
+        /**
+         * @return the kind of work.
+         */
+        public Category getCategory() {
+            return category;
+        }
+
+        /**
+         * @return the name of the module, followed by its number if other
+         *     modules with the same name were profiled before.
+         */
+        public String getName() {
+            String result = baseName;
+            if (number > 1) {
+                result += "#" + number;
+            }
+            return result;
+        }
+
+        /**
+         * @return the number of invocations.
+         */
+        public long getInvocations() {
+            return invocations.sum();
+        }
+
+        /**
+         * @return the total wall time in nanoseconds.
+         */
+        public long getTime() {
+            return time.sum();
+        }
+
+        /**
+         * @return the total allocated bytes, or {@link Profiler#UNSUPPORTED}
+         *         if the JVM does not report them.
+         */
+        public long getAllocatedBytes() {
+            long result = UNSUPPORTED;
+            if (THREAD_ALLOCATED_BYTES != null) {
+                result = allocatedBytes.sum();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prints the profile of an audit as a plain text table, the most expensive
+ * modules first.
+ *
+ * @author the original author or authors.
+ */
+public class ProfilingLogger implements ProfilingListener {
+    /** Format of a line of the table. */
+    private static final String LINE_FORMAT = "%-14s %-40s %12s %12s %16s%n";
+
+    /** Nanoseconds in a millisecond. */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** Where to write the profile. */
+    private final PrintWriter writer;
+
+    /** Close the stream after use. */
+    private final boolean closeStream;
+
+    /**
+     * Creates a new {@code ProfilingLogger} instance.
+     * @param outputStream where to write the profile.
+     * @param closeStreamAfterUse whether the stream should be closed after
+     *        the profile was written.
+     */
+    public ProfilingLogger(OutputStream outputStream, boolean closeStreamAfterUse) {
+        writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        closeStream = closeStreamAfterUse;
+    }
+
+    @Override
+    public void profilingFinished(List<Profiler.Entry> entries) {
+        writer.format(Locale.ROOT, LINE_FORMAT,
+            "Category", "Module", "Invocations", "Time (ms)", "Allocated (B)");
+        for (final Profiler.Entry entry : entries) {
+            final String allocatedBytes;
+            if (entry.getAllocatedBytes() == Profiler.UNSUPPORTED) {
+                allocatedBytes = "n/a";
+            }
+            else {
+                allocatedBytes = String.valueOf(entry.getAllocatedBytes());
+            }
+            writer.format(Locale.ROOT, LINE_FORMAT, entry.getCategory(), entry.getName(),
+                entry.getInvocations(),
+                String.format(Locale.ROOT, "%.3f", entry.getTime() / NANOS_PER_MILLI),
+                allocatedBytes);
+        }
+        if (closeStream) {
+            writer.close();
+        }
+        else {
+            writer.flush();
+        }
+    }
+}
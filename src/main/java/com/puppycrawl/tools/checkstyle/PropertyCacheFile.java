@@ -193,7 +193,7 @@ final class PropertyCacheFile {
      * @param object serializable object.
      * @return the hashcode for serializable object.
      */
-    private static String getHashCodeBasedOnObjectContent(Serializable object) {
+    static String getHashCodeBasedOnObjectContent(Serializable object) {
         try {
             // im-memory serialization of Configuration
 
@@ -243,25 +243,33 @@ final class PropertyCacheFile {
     private static Set<ExternalResource> loadExternalResources(Set<String> resourceLocations) {
         final Set<ExternalResource> resources = new HashSet<>();
         for (String location : resourceLocations) {
-            String contentHashSum = null;
-            try {
-                final byte[] content = loadExternalResource(location);
-                contentHashSum = getHashCodeBasedOnObjectContent(content);
-            }
-            catch (CheckstyleException ex) {
-                // if exception happened (configuration resource was not found, connection is not
-                // available, resouce is broken, etc), we need to calculate hash sum based on
-                // exception object content in order to check whether problem is resolved later
-                // and/or the configuration is changed.
-                contentHashSum = getHashCodeBasedOnObjectContent(ex);
-            }
-            finally {
-                resources.add(new ExternalResource(location, contentHashSum));
-            }
+            resources.add(new ExternalResource(location, getExternalResourceHash(location)));
         }
         return resources;
     }
 
+    /**
+     * Calculates the hash sum of the content of an external resource.
+     * @param location external resource location.
+     * @return the hash sum of the content, or of the exception which prevented
+     *         loading the content.
+     */
+    static String getExternalResourceHash(String location) {
+        String contentHashSum;
+        try {
+            final byte[] content = loadExternalResource(location);
+            contentHashSum = getHashCodeBasedOnObjectContent(content);
+        }
+        catch (CheckstyleException ex) {
+            // if exception happened (configuration resource was not found, connection is not
+            // available, resouce is broken, etc), we need to calculate hash sum based on
+            // exception object content in order to check whether problem is resolved later
+            // and/or the configuration is changed.
+            contentHashSum = getHashCodeBasedOnObjectContent(ex);
+        }
+        return contentHashSum;
+    }
+
     /**
      * Loads the content of external resource.
      * @param location external resource location.
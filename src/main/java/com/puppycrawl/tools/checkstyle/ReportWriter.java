@@ -0,0 +1,168 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+/**
+ * Buffered UTF-8 writer of the reports of {@link XMLLogger} and
+ * {@link NdjsonLogger}, writing numbers and severity levels without
+ * creating strings.
+ *
+ * @author the original author or authors.
+ */
+final class ReportWriter extends PrintWriter {
+    /** Default size of the buffer of the output, in characters. */
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** Decimal radix. */
+    private static final int BASE_10 = 10;
+
+    /** Maximum number of characters of an int. */
+    private static final int MAX_INT_LENGTH = 11;
+
+    /** The names of the severity levels. */
+    private static final Map<SeverityLevel, String> SEVERITY_NAMES =
+        new EnumMap<>(SeverityLevel.class);
+
+    /** Buffer for the digits of numbers. */
+    private final char[] digits = new char[MAX_INT_LENGTH];
+
+    static {
+        for (final SeverityLevel level : SeverityLevel.values()) {
+            SEVERITY_NAMES.put(level, level.getName());
+        }
+    }
+
+    /**
+     * Creates a new writer.
+     * @param outputStream the stream to write the report to.
+     * @param bufferSize the size of the buffer of the output, in characters.
+     * @throws IllegalArgumentException if the buffer size is not positive.
+     */
+    ReportWriter(OutputStream outputStream, int bufferSize) {
+        super(new BufferedWriter(
+            new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), bufferSize));
+    }
+
+    /**
+     * Writes the decimal digits of a number without creating a string.
+     * @param number the number.
+     */
+    void writeNumber(int number) {
+        int position = digits.length;
+        int remaining = Math.abs(number);
+        do {
+            position--;
+            digits[position] = (char) ('0' + remaining % BASE_10);
+            remaining /= BASE_10;
+        } while (remaining > 0);
+        if (number < 0) {
+            position--;
+            digits[position] = '-';
+        }
+        write(digits, position, digits.length - position);
+    }
+
+    /**
+     * Writes the name of a severity level.
+     * @param level the severity level.
+     */
+    void writeSeverity(SeverityLevel level) {
+        write(SEVERITY_NAMES.get(level));
+    }
+
+    /**
+     * Creates a writer which escapes everything written to it into this
+     * writer, used to write stack traces without collecting them in a
+     * string first.
+     * @param encoder the escaping of the report format.
+     * @return the writer.
+     */
+    Writer createEncodingWriter(Encoder encoder) {
+        return new EncodingWriter(this, encoder);
+    }
+
+    /**
+     * Escaping of a report format.
+     */
+    @FunctionalInterface
+    interface Encoder {
+        /**
+         * Escapes a range of a value, writing the characters which need
+         * no escaping in runs.
+         * @param value the value to escape.
+         * @param start the start of the range.
+         * @param end the end of the range, exclusive.
+         * @param out the writer to write the escaped value to.
+         */
+        void encode(String value, int start, int end, PrintWriter out);
+    }
+
+    /**
+     * A writer which escapes everything written to it into a writer.
+     */
+    private static final class EncodingWriter extends Writer {
+        /** The writer to write the escaped characters to. */
+        private final PrintWriter out;
+
+        /** The escaping of the report format. */
+        private final Encoder encoder;
+
+        /**
+         * Creates a new writer.
+         * @param out the writer to write the escaped characters to.
+         * @param encoder the escaping of the report format.
+         */
+        EncodingWriter(PrintWriter out, Encoder encoder) {
+            this.out = out;
+            this.encoder = encoder;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            write(new String(buffer, offset, length), 0, length);
+        }
+
+        @Override
+        public void write(String value, int offset, int length) {
+            encoder.encode(value, offset, offset + length, out);
+        }
+
+        @Override
+        public void flush() {
+            // the escaped characters are flushed with the output of the logger
+        }
+
+        @Override
+        public void close() {
+            // the output of the logger is closed when the audit finished
+        }
+    }
+}
@@ -22,14 +22,15 @@ package com.puppycrawl.tools.checkstyle;
 import java.io.File;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.AbstractMap.SimpleEntry;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.BitSet;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import antlr.CommonHiddenStreamToken;
 import antlr.RecognitionException;
@@ -37,8 +38,7 @@ import antlr.Token;
 import antlr.TokenStreamException;
 import antlr.TokenStreamHiddenTokenFilter;
 import antlr.TokenStreamRecognitionException;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
+
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
@@ -48,7 +48,11 @@ import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.ExternalResourceHolder;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LineColumn;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.checks.ClassResolutionCache;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.AbstractJavadocCheck;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocWalker;
 import com.puppycrawl.tools.checkstyle.grammars.GeneratedJavaLexer;
 import com.puppycrawl.tools.checkstyle.grammars.GeneratedJavaRecognizer;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
@@ -65,13 +69,28 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /** Default distance between tab stops. */
     private static final int DEFAULT_TAB_WIDTH = 8;
 
-    /** Maps from token name to ordinary checks. */
-    private final Multimap<String, AbstractCheck> tokenToOrdinaryChecks =
-        HashMultimap.create();
+    /** Checks registered for a token type that no check is interested in. */
+    private static final AbstractCheck[] NO_CHECKS = new AbstractCheck[0];
+
+    /** Types of all hidden comment tokens. */
+    private static final BitSet ALL_COMMENT_TYPES = new BitSet();
+
+    static {
+        ALL_COMMENT_TYPES.set(TokenTypes.SINGLE_LINE_COMMENT);
+        ALL_COMMENT_TYPES.set(TokenTypes.BLOCK_COMMENT_BEGIN);
+    }
 
-    /** Maps from token name to comment checks. */
-    private final Multimap<String, AbstractCheck> tokenToCommentChecks =
-            HashMultimap.create();
+    /**
+     * Ordinary checks indexed by token type. Token types beyond the end of the table
+     * have no checks registered.
+     */
+    private AbstractCheck[][] tokenToOrdinaryChecks = new AbstractCheck[0][];
+
+    /**
+     * Comment checks indexed by token type. Token types beyond the end of the table
+     * have no checks registered.
+     */
+    private AbstractCheck[][] tokenToCommentChecks = new AbstractCheck[0][];
 
     /** Registered ordinary checks, that don't use comment nodes. */
     private final Set<AbstractCheck> ordinaryChecks = new HashSet<>();
@@ -79,6 +98,12 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /** Registered comment checks. */
     private final Set<AbstractCheck> commentChecks = new HashSet<>();
 
+    /**
+     * Types of the hidden comment tokens the comment checks can observe,
+     * nodes are created for these comments only.
+     */
+    private final BitSet commentTypes = new BitSet();
+
     /** The distance between tab stops. */
     private int tabWidth = DEFAULT_TAB_WIDTH;
 
@@ -91,6 +116,24 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /** A factory for creating submodules (i.e. the Checks) */
     private ModuleFactory moduleFactory;
 
+    /** The profiler to record time spent in checks with, {@code null} if not profiling. */
+    private Profiler profiler;
+
+    /** Profiler entries of the registered checks. */
+    private final Map<AbstractCheck, Profiler.Entry> profilerEntries = new IdentityHashMap<>();
+
+    /** The cache of parse results, shared with other TreeWalkers of the Checker. */
+    private ParseCache parseCache;
+
+    /** Whether the cache of parse results is used by this TreeWalker only. */
+    private boolean ownParseCache;
+
+    /** Walks the Javadoc trees for all registered Javadoc checks at once. */
+    private final JavadocWalker javadocWalker = new JavadocWalker();
+
+    /** The cache of loaded classes, shared with other TreeWalkers of the Checker. */
+    private ClassResolutionCache classResolutionCache;
+
     /**
      * Creates a new {@code TreeWalker} instance.
      */
@@ -134,6 +177,38 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         this.moduleFactory = moduleFactory;
     }
 
+    /**
+     * Sets the profiler to record the time spent in parsing and in checks with.
+     * @param profiler the profiler, {@code null} to disable profiling.
+     */
+    public void setProfiler(Profiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Sets the cache of parse results shared by all TreeWalkers of a Checker.
+     * @param parseCache the cache.
+     */
+    public void setParseCache(ParseCache parseCache) {
+        this.parseCache = parseCache;
+    }
+
+    /**
+     * Sets the cache of loaded classes passed to the checks resolving types.
+     * @param classResolutionCache the cache.
+     */
+    public void setClassResolutionCache(ClassResolutionCache classResolutionCache) {
+        this.classResolutionCache = classResolutionCache;
+    }
+
+    /**
+     * Sets the cache of Javadoc parse results shared by all TreeWalkers of a Checker.
+     * @param javadocParseCache the cache.
+     */
+    public void setJavadocParseCache(JavadocParseCache javadocParseCache) {
+        javadocWalker.setParseCache(javadocParseCache);
+    }
+
     @Override
     public void finishLocalSetup() {
         final DefaultContext checkContext = new DefaultContext();
@@ -141,6 +216,9 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         checkContext.add("messages", getMessageCollector());
         checkContext.add("severity", getSeverity());
         checkContext.add("tabWidth", String.valueOf(tabWidth));
+        if (classResolutionCache != null) {
+            checkContext.add("classResolutionCache", classResolutionCache);
+        }
 
         childContext = checkContext;
     }
@@ -159,7 +237,7 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         check.configure(childConf);
         check.init();
 
-        registerCheck(check);
+        registerCheck(check, childConf);
     }
 
     @Override
@@ -168,18 +246,26 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         if (CommonUtils.matchesFileExtension(file, getFileExtensions())) {
             final String msg = "%s occurred during the analysis of file %s.";
             final String fileName = file.getPath();
+            if (parseCache == null) {
+                parseCache = new ParseCache(profiler);
+                ownParseCache = true;
+            }
             try {
                 final FileText text = FileText.fromLines(file, lines);
-                final FileContents contents = new FileContents(text);
-                final DetailAST rootAST = parse(contents);
+                final FileContents contents = parseCache.getContents(text);
+                final DetailAST rootAST = parseCache.getAst(text);
 
                 getMessageCollector().reset();
 
-                walk(rootAST, contents, AstState.ORDINARY);
-
-                final DetailAST astWithComments = appendHiddenCommentNodes(rootAST);
+                if (!ordinaryChecks.isEmpty()) {
+                    walk(rootAST, contents, AstState.ORDINARY);
+                }
+                if (!commentChecks.isEmpty()) {
+                    final DetailAST astWithComments =
+                        parseCache.getAstWithComments(text, commentTypes);
 
-                walk(astWithComments, contents, AstState.WITH_COMMENTS);
+                    walk(astWithComments, contents, AstState.WITH_COMMENTS);
+                }
             }
             catch (final TokenStreamRecognitionException tre) {
                 final String exceptionMsg = String.format(Locale.ROOT, msg,
@@ -191,15 +277,21 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
                         ex.getClass().getSimpleName(), fileName);
                 throw new CheckstyleException(exceptionMsg, ex);
             }
+            finally {
+                if (ownParseCache) {
+                    parseCache.clear();
+                }
+            }
         }
     }
 
     /**
      * Register a check for a given configuration.
      * @param check the check to register
+     * @param configuration the configuration the check was created from
      * @throws CheckstyleException if an error occurs
      */
-    private void registerCheck(AbstractCheck check)
+    private void registerCheck(AbstractCheck check, Configuration configuration)
             throws CheckstyleException {
         validateDefaultTokens(check);
         final int[] tokens;
@@ -216,7 +308,7 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
             for (String token : checkTokens) {
                 final int tokenId = TokenUtils.getTokenId(token);
                 if (Arrays.binarySearch(acceptableTokens, tokenId) >= 0) {
-                    registerCheck(token, check);
+                    registerCheck(tokenId, check);
                 }
                 else {
                     final String message = String.format(Locale.ROOT, "Token \"%s\" was "
@@ -231,10 +323,18 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         }
         if (check.isCommentNodesRequired()) {
             commentChecks.add(check);
+            requireCommentNodes(check);
         }
         else {
             ordinaryChecks.add(check);
         }
+        if (check instanceof AbstractJavadocCheck) {
+            javadocWalker.addCheck((AbstractJavadocCheck) check);
+        }
+        if (profiler != null) {
+            profilerEntries.put(check,
+                profiler.getEntry(Profiler.Category.CHECK, check, configuration));
+        }
     }
 
     /**
@@ -244,30 +344,77 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      * @throws CheckstyleException if Check is misconfigured
      */
     private void registerCheck(int tokenId, AbstractCheck check) throws CheckstyleException {
-        registerCheck(TokenUtils.getTokenName(tokenId), check);
-    }
-
-    /**
-     * Register a check for a specified token name.
-     * @param token the name of the token
-     * @param check the check to register
-     * @throws CheckstyleException if Check is misconfigured
-     */
-    private void registerCheck(String token, AbstractCheck check) throws CheckstyleException {
         if (check.isCommentNodesRequired()) {
-            tokenToCommentChecks.put(token, check);
+            tokenToCommentChecks = addCheck(tokenToCommentChecks, tokenId, check);
         }
-        else if (TokenUtils.isCommentType(token)) {
+        else if (TokenUtils.isCommentType(tokenId)) {
             final String message = String.format(Locale.ROOT, "Check '%s' waits for comment type "
                     + "token ('%s') and should override 'isCommentNodesRequired()' "
-                    + "method to return 'true'", check.getClass().getName(), token);
+                    + "method to return 'true'", check.getClass().getName(),
+                    TokenUtils.getTokenName(tokenId));
             throw new CheckstyleException(message);
         }
         else {
-            tokenToOrdinaryChecks.put(token, check);
+            tokenToOrdinaryChecks = addCheck(tokenToOrdinaryChecks, tokenId, check);
         }
     }
 
+    /**
+     * Records the kinds of comment nodes a comment check can observe. A check
+     * registered for comment tokens only sees the comments of these kinds, a
+     * check registered for any other token or for no token at all may navigate
+     * to all comment nodes.
+     * @param check the comment check
+     */
+    private void requireCommentNodes(AbstractCheck check) {
+        final BitSet tokens = new BitSet();
+        for (int tokenId = 0; tokenId < tokenToCommentChecks.length; tokenId++) {
+            if (tokenToCommentChecks[tokenId] != null
+                    && Arrays.asList(tokenToCommentChecks[tokenId]).contains(check)) {
+                tokens.set(tokenId);
+            }
+        }
+        final BitSet observedTypes = new BitSet();
+        if (tokens.get(TokenTypes.SINGLE_LINE_COMMENT)) {
+            observedTypes.set(TokenTypes.SINGLE_LINE_COMMENT);
+        }
+        if (tokens.get(TokenTypes.BLOCK_COMMENT_BEGIN)
+                || tokens.get(TokenTypes.BLOCK_COMMENT_END)) {
+            observedTypes.set(TokenTypes.BLOCK_COMMENT_BEGIN);
+        }
+        tokens.clear(TokenTypes.SINGLE_LINE_COMMENT);
+        tokens.clear(TokenTypes.BLOCK_COMMENT_BEGIN);
+        tokens.clear(TokenTypes.BLOCK_COMMENT_END);
+        if (observedTypes.isEmpty() || !tokens.isEmpty()) {
+            observedTypes.or(ALL_COMMENT_TYPES);
+        }
+        commentTypes.or(observedTypes);
+    }
+
+    /**
+     * Adds a check to the checks of a token type in a dispatch table,
+     * unless it is already registered there.
+     * @param table the dispatch table indexed by token type
+     * @param tokenId the id of the token
+     * @param check the check to add
+     * @return the dispatch table, grown if the token id did not fit
+     */
+    private static AbstractCheck[][] addCheck(AbstractCheck[][] table, int tokenId,
+            AbstractCheck check) {
+        AbstractCheck[][] result = table;
+        if (tokenId >= table.length) {
+            result = Arrays.copyOf(table, tokenId + 1);
+            Arrays.fill(result, table.length, result.length, NO_CHECKS);
+        }
+        final AbstractCheck[] checks = result[tokenId];
+        if (!Arrays.asList(checks).contains(check)) {
+            final AbstractCheck[] newChecks = Arrays.copyOf(checks, checks.length + 1);
+            newChecks[checks.length] = check;
+            result[tokenId] = newChecks;
+        }
+        return result;
+    }
+
     /**
      * Validates that check's required tokens are subset of default tokens.
      * @param check to validate
@@ -324,7 +471,12 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
 
         for (AbstractCheck check : checks) {
             check.setFileContents(contents);
-            check.beginTree(rootAST);
+            if (profiler == null) {
+                check.beginTree(rootAST);
+            }
+            else {
+                notifyProfiled(check, rootAST, AbstractCheck::beginTree);
+            }
         }
     }
 
@@ -344,7 +496,12 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         }
 
         for (AbstractCheck check : checks) {
-            check.finishTree(rootAST);
+            if (profiler == null) {
+                check.finishTree(rootAST);
+            }
+            else {
+                notifyProfiled(check, rootAST, AbstractCheck::finishTree);
+            }
         }
     }
 
@@ -354,13 +511,17 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      * @param astState state of AST.
      */
     private void notifyVisit(DetailAST ast, AstState astState) {
-        final Collection<AbstractCheck> visitors = getListOfChecks(ast, astState);
-
-        if (visitors != null) {
+        final AbstractCheck[] visitors = getListOfChecks(ast, astState);
+        if (profiler == null) {
             for (AbstractCheck check : visitors) {
                 check.visitToken(ast);
             }
         }
+        else {
+            for (AbstractCheck check : visitors) {
+                notifyProfiled(check, ast, AbstractCheck::visitToken);
+            }
+        }
     }
 
     /**
@@ -370,13 +531,31 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      * @param astState state of AST.
      */
     private void notifyLeave(DetailAST ast, AstState astState) {
-        final Collection<AbstractCheck> visitors = getListOfChecks(ast, astState);
-
-        if (visitors != null) {
+        final AbstractCheck[] visitors = getListOfChecks(ast, astState);
+        if (profiler == null) {
             for (AbstractCheck check : visitors) {
                 check.leaveToken(ast);
             }
         }
+        else {
+            for (AbstractCheck check : visitors) {
+                notifyProfiled(check, ast, AbstractCheck::leaveToken);
+            }
+        }
+    }
+
+    /**
+     * Notifies a check and records the time spent in it with the profiler.
+     * @param check the check to notify.
+     * @param ast the node to notify for.
+     * @param notification the notification of the check.
+     */
+    private void notifyProfiled(AbstractCheck check, DetailAST ast,
+            BiConsumer<AbstractCheck, DetailAST> notification) {
+        final long startTime = System.nanoTime();
+        final long startBytes = Profiler.getThreadAllocatedBytes();
+        notification.accept(check, ast);
+        profilerEntries.get(check).record(startTime, startBytes);
     }
 
     /**
@@ -386,21 +565,21 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      *            the node to notify for
      * @param astState
      *            state of AST.
-     * @return list of visitors
+     * @return list of visitors, never {@code null}
      */
-    private Collection<AbstractCheck> getListOfChecks(DetailAST ast, AstState astState) {
-        Collection<AbstractCheck> visitors = null;
-        final String tokenType = TokenUtils.getTokenName(ast.getType());
-
+    private AbstractCheck[] getListOfChecks(DetailAST ast, AstState astState) {
+        final AbstractCheck[][] table;
         if (astState == AstState.WITH_COMMENTS) {
-            if (tokenToCommentChecks.containsKey(tokenType)) {
-                visitors = tokenToCommentChecks.get(tokenType);
-            }
+            table = tokenToCommentChecks;
         }
         else {
-            if (tokenToOrdinaryChecks.containsKey(tokenType)) {
-                visitors = tokenToOrdinaryChecks.get(tokenType);
-            }
+            table = tokenToOrdinaryChecks;
+        }
+
+        final int tokenType = ast.getType();
+        AbstractCheck[] visitors = NO_CHECKS;
+        if (tokenType < table.length) {
+            visitors = table[tokenType];
         }
         return visitors;
     }
@@ -450,7 +629,7 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      */
     public static DetailAST parseWithComments(FileContents contents)
             throws RecognitionException, TokenStreamException {
-        return appendHiddenCommentNodes(parse(contents));
+        return appendHiddenCommentNodes(parse(contents), ALL_COMMENT_TYPES);
     }
 
     @Override
@@ -511,12 +690,15 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
     /**
      * Appends comment nodes to existing AST.
      * It traverses each node in AST, looks for hidden comment tokens
-     * and appends found comment tokens as nodes in AST.
+     * and appends found comment tokens of the given types as nodes in AST.
+     * Comments of other types are left hidden, so no nodes are allocated for them.
      * @param root
      *        root of AST.
+     * @param types
+     *        types of the hidden comment tokens to append nodes for.
      * @return root of AST with comment nodes.
      */
-    private static DetailAST appendHiddenCommentNodes(DetailAST root) {
+    static DetailAST appendHiddenCommentNodes(DetailAST root, BitSet types) {
         DetailAST result = root;
         DetailAST curNode = root;
         DetailAST lastNode = root;
@@ -526,20 +708,9 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
                 lastNode = curNode;
             }
 
-            CommonHiddenStreamToken tokenBefore = curNode.getHiddenBefore();
-            DetailAST currentSibling = curNode;
-            while (tokenBefore != null) {
-                final DetailAST newCommentNode =
-                         createCommentAstFromToken(tokenBefore);
-
-                currentSibling.addPreviousSibling(newCommentNode);
-
-                if (currentSibling == result) {
-                    result = newCommentNode;
-                }
-
-                currentSibling = newCommentNode;
-                tokenBefore = tokenBefore.getHiddenBefore();
+            final DetailAST firstNode = appendCommentNodesBefore(curNode, types);
+            if (curNode == result) {
+                result = firstNode;
             }
 
             DetailAST toVisit = curNode.getFirstChild();
@@ -552,19 +723,53 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
             curNode = toVisit;
         }
         if (lastNode != null) {
-            CommonHiddenStreamToken tokenAfter = lastNode.getHiddenAfter();
-            DetailAST currentSibling = lastNode;
-            while (tokenAfter != null) {
+            appendCommentNodesAfter(lastNode, types);
+        }
+        return result;
+    }
+
+    /**
+     * Appends the nodes of the comments hidden before a node as its previous siblings.
+     * @param node the node.
+     * @param types types of the hidden comment tokens to append nodes for.
+     * @return the first of the appended nodes, the node itself if none was appended.
+     */
+    private static DetailAST appendCommentNodesBefore(DetailAST node, BitSet types) {
+        CommonHiddenStreamToken tokenBefore = node.getHiddenBefore();
+        DetailAST currentSibling = node;
+        while (tokenBefore != null) {
+            if (types.get(tokenBefore.getType())) {
+                final DetailAST newCommentNode =
+                         createCommentAstFromToken(tokenBefore);
+
+                currentSibling.addPreviousSibling(newCommentNode);
+
+                currentSibling = newCommentNode;
+            }
+            tokenBefore = tokenBefore.getHiddenBefore();
+        }
+        return currentSibling;
+    }
+
+    /**
+     * Appends the nodes of the comments hidden after a node as its next siblings.
+     * @param node the node.
+     * @param types types of the hidden comment tokens to append nodes for.
+     */
+    private static void appendCommentNodesAfter(DetailAST node, BitSet types) {
+        CommonHiddenStreamToken tokenAfter = node.getHiddenAfter();
+        DetailAST currentSibling = node;
+        while (tokenAfter != null) {
+            if (types.get(tokenAfter.getType())) {
                 final DetailAST newCommentNode =
                         createCommentAstFromToken(tokenAfter);
 
                 currentSibling.addNextSibling(newCommentNode);
 
                 currentSibling = newCommentNode;
-                tokenAfter = tokenAfter.getHiddenAfter();
             }
+            tokenAfter = tokenAfter.getHiddenAfter();
         }
-        return result;
     }
 
     /**
@@ -658,10 +863,10 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
         final DetailAST blockCommentClose = new DetailAST();
         blockCommentClose.initialize(TokenTypes.BLOCK_COMMENT_END, "*/");
 
-        final Entry<Integer, Integer> linesColumns = countLinesColumns(
+        final LineColumn linesColumns = countLinesColumns(
                 token.getText(), token.getLine(), token.getColumn());
-        blockCommentClose.setLineNo(linesColumns.getKey());
-        blockCommentClose.setColumnNo(linesColumns.getValue());
+        blockCommentClose.setLineNo(linesColumns.getLine());
+        blockCommentClose.setColumnNo(linesColumns.getColumn());
 
         blockComment.addChild(blockCommentContent);
         blockComment.addChild(blockCommentClose);
@@ -676,15 +881,16 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
      *        initial value of lines counter.
      * @param initialColumnsCnt
      *        initial value of columns counter.
-     * @return entry(pair), first element is lines counter, second - columns
-     *         counter.
+     * @return lines counter and columns counter.
      */
-    private static Entry<Integer, Integer> countLinesColumns(
+    private static LineColumn countLinesColumns(
             String text, int initialLinesCnt, int initialColumnsCnt) {
         int lines = initialLinesCnt;
         int columns = initialColumnsCnt;
         boolean foundCr = false;
-        for (char c : text.toCharArray()) {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
             if (c == '\n') {
                 foundCr = false;
                 lines++;
@@ -706,7 +912,7 @@ public final class TreeWalker extends AbstractFileSetCheck implements ExternalRe
             lines++;
             columns = 0;
         }
-        return new SimpleEntry<>(lines, columns);
+        return new LineColumn(lines, columns);
     }
 
     /**
@@ -20,10 +20,8 @@
 package com.puppycrawl.tools.checkstyle;
 
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -38,6 +36,8 @@ import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
  * It outputs everything in UTF-8 (default XML encoding is UTF-8) in case
  * we want to localize error messages or simply that file names are
  * localized and takes care about escaping as well.
+ * Values are escaped directly into a buffered writer, so writing an error
+ * does not create intermediate strings.
 
  * @author <a href="mailto:stephane.bailliez@wanadoo.fr">Stephane Bailliez</a>
  */
@@ -46,6 +46,9 @@ import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 public class XMLLogger
     extends AutomaticBean
     implements AuditListener {
+    /** Default size of the buffer of the output, in characters. */
+    public static final int DEFAULT_BUFFER_SIZE = ReportWriter.DEFAULT_BUFFER_SIZE;
+
     /** Decimal radix. */
     private static final int BASE_10 = 10;
 
@@ -60,7 +63,7 @@ public class XMLLogger
     private final boolean closeStream;
 
     /** Helper writer that allows easy encoding and printing. */
-    private PrintWriter writer;
+    private final ReportWriter writer;
 
     /**
      * Creates a new {@code XMLLogger} instance.
@@ -69,17 +72,20 @@ public class XMLLogger
      * @param closeStream close oS in auditFinished
      */
     public XMLLogger(OutputStream outputStream, boolean closeStream) {
-        setOutputStream(outputStream);
-        this.closeStream = closeStream;
+        this(outputStream, closeStream, DEFAULT_BUFFER_SIZE);
     }
 
     /**
-     * Sets the OutputStream.
-     * @param outputStream the OutputStream to use
-     **/
-    private void setOutputStream(OutputStream outputStream) {
-        final OutputStreamWriter osw = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-        writer = new PrintWriter(osw);
+     * Creates a new {@code XMLLogger} instance.
+     * Sets the output to a defined stream, buffered with a buffer of the given size.
+     * @param outputStream the stream to write logs to.
+     * @param closeStream close oS in auditFinished
+     * @param bufferSize the size of the buffer of the output, in characters.
+     * @throws IllegalArgumentException if the buffer size is not positive.
+     */
+    public XMLLogger(OutputStream outputStream, boolean closeStream, int bufferSize) {
+        writer = new ReportWriter(outputStream, bufferSize);
+        this.closeStream = closeStream;
     }
 
     @Override
@@ -107,7 +113,9 @@ public class XMLLogger
 
     @Override
     public void fileStarted(AuditEvent event) {
-        writer.println("<file name=\"" + encode(event.getFileName()) + "\">");
+        writer.write("<file name=\"");
+        encode(event.getFileName(), writer);
+        writer.println("\">");
     }
 
     @Override
@@ -118,33 +126,37 @@ public class XMLLogger
     @Override
     public void addError(AuditEvent event) {
         if (event.getSeverityLevel() != SeverityLevel.IGNORE) {
-            writer.print("<error" + " line=\"" + event.getLine() + "\"");
+            writer.write("<error line=\"");
+            writer.writeNumber(event.getLine());
+            writer.write('"');
             if (event.getColumn() > 0) {
-                writer.print(" column=\"" + event.getColumn() + "\"");
+                writer.write(" column=\"");
+                writer.writeNumber(event.getColumn());
+                writer.write('"');
             }
-            writer.print(" severity=\""
-                + event.getSeverityLevel().getName()
-                + "\"");
-            writer.print(" message=\""
-                + encode(event.getMessage())
-                + "\"");
-            writer.println(" source=\""
-                + encode(event.getSourceName())
-                + "\"/>");
+            writer.write(" severity=\"");
+            writer.writeSeverity(event.getSeverityLevel());
+            writer.write("\" message=\"");
+            encode(event.getMessage(), writer);
+            writer.write("\" source=\"");
+            encode(event.getSourceName(), writer);
+            writer.println("\"/>");
         }
     }
 
     @Override
     public void addException(AuditEvent event, Throwable throwable) {
-        final StringWriter stringWriter = new StringWriter();
-        final PrintWriter printer = new PrintWriter(stringWriter);
+        // an ampersand is kept as the start of a reference only if the reference
+        // ends in the same write, which is the case for every line of a stack trace
+        final PrintWriter printer =
+            new PrintWriter(writer.createEncodingWriter(XMLLogger::encode));
         printer.println("<exception>");
         printer.println("<![CDATA[");
         throwable.printStackTrace(printer);
         printer.println("]]>");
         printer.println("</exception>");
         printer.flush();
-        writer.println(encode(stringWriter.toString()));
+        writer.println();
     }
 
     /**
@@ -153,31 +165,74 @@ public class XMLLogger
      * @return the escaped value if necessary.
      */
     public static String encode(String value) {
-        final StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < value.length(); i++) {
-            final char chr = value.charAt(i);
-            switch (chr) {
-                case '<':
-                    sb.append("&lt;");
-                    break;
-                case '>':
-                    sb.append("&gt;");
-                    break;
-                case '\'':
-                    sb.append("&apos;");
-                    break;
-                case '\"':
-                    sb.append("&quot;");
-                    break;
-                case '&':
-                    sb.append(encodeAmpersand(value, i));
-                    break;
-                default:
-                    sb.append(chr);
-                    break;
+        final StringWriter result = new StringWriter(value.length());
+        final PrintWriter printer = new PrintWriter(result);
+        encode(value, printer);
+        printer.flush();
+        return result.toString();
+    }
+
+    /**
+     * Escapes &lt;, &gt; &amp; &#39; and &quot; as their entities, writing the
+     * characters which need no escaping in runs.
+     * @param value the value to escape.
+     * @param out the writer to write the escaped value to.
+     */
+    private static void encode(String value, PrintWriter out) {
+        encode(value, 0, value.length(), out);
+    }
+
+    /**
+     * Escapes &lt;, &gt; &amp; &#39; and &quot; in a range of a value as their
+     * entities, writing the characters which need no escaping in runs.
+     * @param value the value to escape.
+     * @param start the start of the range.
+     * @param end the end of the range, exclusive.
+     * @param out the writer to write the escaped value to.
+     */
+    private static void encode(String value, int start, int end, PrintWriter out) {
+        int unescaped = start;
+        for (int i = start; i < end; i++) {
+            final String entity = getEntity(value, i, end);
+            if (entity != null) {
+                out.write(value, unescaped, i - unescaped);
+                out.write(entity);
+                unescaped = i + 1;
             }
         }
-        return sb.toString();
+        out.write(value, unescaped, end - unescaped);
+    }
+
+    /**
+     * Returns the entity to write for a character of a value.
+     * @param value the value.
+     * @param index the index of the character.
+     * @param end the end of the value, exclusive.
+     * @return the entity or {@code null} if the character needs no escaping.
+     */
+    private static String getEntity(String value, int index, int end) {
+        final String entity;
+        switch (value.charAt(index)) {
+            case '<':
+                entity = "&lt;";
+                break;
+            case '>':
+                entity = "&gt;";
+                break;
+            case '\'':
+                entity = "&apos;";
+                break;
+            case '\"':
+                entity = "&quot;";
+                break;
+            case '&':
+                entity = encodeAmpersand(value, index, end);
+                break;
+            default:
+                entity = null;
+                break;
+        }
+        return entity;
     }
 
     /**
@@ -224,17 +279,19 @@ public class XMLLogger
      * Encodes ampersand in value at required position.
      * @param value string value, which contains ampersand
      * @param ampPosition position of ampersand in value
-     * @return encoded ampersand which should be used in xml
+     * @param end the end of the value, exclusive.
+     * @return encoded ampersand which should be used in xml,
+     *         {@code null} if it is the start of a reference
      */
-    private static String encodeAmpersand(String value, int ampPosition) {
+    private static String encodeAmpersand(String value, int ampPosition, int end) {
         final int nextSemi = value.indexOf(';', ampPosition);
         final String result;
-        if (nextSemi < 0
+        if (nextSemi < 0 || nextSemi >= end
             || !isReference(value.substring(ampPosition, nextSemi + 1))) {
             result = "&amp;";
         }
         else {
-            result = "&";
+            result = null;
         }
         return result;
     }
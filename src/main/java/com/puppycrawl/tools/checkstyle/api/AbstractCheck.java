@@ -168,7 +168,9 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
     }
 
     /**
-     * Returns the lines associated with the tree.
+     * Returns a copy of the lines associated with the tree.
+     * Use {@link #getLine(int)} to access a single line without copying
+     * all of them.
      * @return the file contents
      */
     public final String[] getLines() {
@@ -250,7 +252,7 @@ public abstract class AbstractCheck extends AbstractViolationReporter {
     public final void log(int lineNo, int colNo, String key,
             Object... args) {
         final int col = 1 + CommonUtils.lengthExpandedTabs(
-            getLines()[lineNo - 1], colNo, tabWidth);
+            getLine(lineNo - 1), colNo, tabWidth);
         messages.add(
             new LocalizedMessage(
                 lineNo,
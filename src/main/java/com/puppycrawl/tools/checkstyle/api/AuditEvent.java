@@ -20,6 +20,7 @@
 package com.puppycrawl.tools.checkstyle.api;
 
 import java.util.EventObject;
+import java.util.Locale;
 
 /**
  * Raw event for audit.
@@ -46,6 +47,8 @@ public final class AuditEvent
     private final String fileName;
     /** Message associated with the event. **/
     private final LocalizedMessage localizedMessage;
+    /** Locale to translate the message to, {@code null} for the default one. **/
+    private final Locale locale;
 
     /**
      * Creates a new instance.
@@ -72,9 +75,24 @@ public final class AuditEvent
      * @param localizedMessage the actual message
      */
     public AuditEvent(Object src, String fileName, LocalizedMessage localizedMessage) {
+        this(src, fileName, localizedMessage, null);
+    }
+
+    /**
+     * Creates a new {@code AuditEvent} instance.
+     *
+     * @param src source of the event
+     * @param fileName file associated with the event
+     * @param localizedMessage the actual message
+     * @param locale the locale to translate the message to, {@code null}
+     *     for the one set by {@link LocalizedMessage#setLocale(Locale)}
+     */
+    public AuditEvent(Object src, String fileName, LocalizedMessage localizedMessage,
+            Locale locale) {
         super(src);
         this.fileName = fileName;
         this.localizedMessage = localizedMessage;
+        this.locale = locale;
     }
 
     /**
@@ -99,7 +117,14 @@ public final class AuditEvent
      * @return the event message
      */
     public String getMessage() {
-        return localizedMessage.getMessage();
+        final String message;
+        if (locale == null) {
+            message = localizedMessage.getMessage();
+        }
+        else {
+            message = localizedMessage.getMessage(locale);
+        }
+        return message;
     }
 
     /**
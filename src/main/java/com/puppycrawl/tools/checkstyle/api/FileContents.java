@@ -86,7 +86,7 @@ public final class FileContents implements CommentListener {
      */
     public FileContents(FileText text) {
         fileName = text.getFile().toString();
-        this.text = new FileText(text);
+        this.text = text;
     }
 
     @Override
@@ -225,14 +225,18 @@ public final class FileContents implements CommentListener {
 
     /**
      * Get the full text of the file.
+     * The text is immutable, so it is shared rather than copied and
+     * should be preferred over {@link #getLines()} to access many lines.
      * @return an object containing the full text of the file
      */
     public FileText getText() {
-        return new FileText(text);
+        return text;
     }
 
     /**
-     * Gets the lines in the file.
+     * Gets a copy of the lines in the file.
+     * Use {@link #getLine(int)} or {@link #getText()} to access lines
+     * without copying them.
      * @return the lines in the file
      */
     public String[] getLines() {
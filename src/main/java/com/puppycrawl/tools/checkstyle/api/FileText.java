@@ -19,24 +19,19 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.AbstractList;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.google.common.io.Closeables;
 
@@ -55,19 +50,19 @@ import com.google.common.io.Closeables;
 public final class FileText extends AbstractList<String> {
 
     /**
-     * The number of characters to read in one go.
+     * The size in bytes above which files are memory-mapped instead of
+     * being read into a heap buffer.
      */
-    private static final int READ_BUFFER_SIZE = 1024;
+    private static final long MAPPING_THRESHOLD = 1024 * 1024;
 
     /**
-     * Regular expression pattern matching all line terminators.
+     * The initial capacity of the line break positions of a file.
      */
-    private static final Pattern LINE_TERMINATOR = Pattern.compile("\\n|\\r\\n?");
+    private static final int INITIAL_LINE_CAPACITY = 64;
 
-    // For now, we always keep both full text and lines array.
-    // In the long run, however, the one passed at initialization might be
-    // enough, while the other could be lazily created when requested.
-    // This would save memory but cost CPU cycles.
+    // Lines of a file read from disk are created from the full text
+    // only when they are requested, the positions of the line breaks
+    // are found while the file is read.
 
     /**
      * The name of the file.
@@ -77,7 +72,8 @@ public final class FileText extends AbstractList<String> {
 
     /**
      * The charset used to read the file.
-     * {@code null} if the file was reconstructed from a list of lines.
+     * {@code null} if the file was reconstructed from a list of lines
+     * or created from contents in memory.
      */
     private final Charset charset;
 
@@ -88,13 +84,15 @@ public final class FileText extends AbstractList<String> {
 
     /**
      * The lines of the file, without terminators.
+     * Elements are {@code null} until the line is requested.
      */
     private final String[] lines;
 
     /**
-     * The first position of each line within the full text.
+     * The first position of each line within the full text, followed
+     * by the length of the full text.
      */
-    private int[] lineBreaks;
+    private final int[] lineBreaks;
 
     /**
      * Creates a new file text representation.
@@ -126,21 +124,23 @@ public final class FileText extends AbstractList<String> {
         }
 
         fullText = readFile(file, decoder);
+        lineBreaks = findLineBreaks(fullText);
+        lines = new String[lineBreaks.length - 1];
+    }
 
-        // Use the BufferedReader to break down the lines as this
-        // is about 30% faster than using the
-        // LINE_TERMINATOR.split(fullText, -1) method
-        final ArrayList<String> textLines = new ArrayList<>();
-        final BufferedReader reader =
-            new BufferedReader(new StringReader(fullText));
-        while (true) {
-            final String line = reader.readLine();
-            if (line == null) {
-                break;
-            }
-            textLines.add(line);
-        }
-        lines = textLines.toArray(new String[textLines.size()]);
+    /**
+     * Creates a new file text representation of contents in memory.
+     *
+     * @param file the name of the file
+     * @param content the full text of the file
+     * @throws NullPointerException if the content is null
+     */
+    private FileText(File file, CharSequence content) {
+        this.file = file;
+        charset = null;
+        fullText = content.toString();
+        lineBreaks = findLineBreaks(fullText);
+        lines = new String[lineBreaks.length - 1];
     }
 
     /**
@@ -152,12 +152,7 @@ public final class FileText extends AbstractList<String> {
         charset = fileText.charset;
         fullText = fileText.fullText;
         lines = fileText.lines.clone();
-        if (fileText.lineBreaks == null) {
-            lineBreaks = null;
-        }
-        else {
-            lineBreaks = fileText.lineBreaks.clone();
-        }
+        lineBreaks = fileText.lineBreaks;
     }
 
     /**
@@ -173,8 +168,12 @@ public final class FileText extends AbstractList<String> {
      */
     private FileText(File file, List<String> lines) {
         final StringBuilder buf = new StringBuilder();
+        final int[] lineBreakPositions = new int[lines.size() + 1];
+        int lineNo = 0;
         for (final String line : lines) {
             buf.append(line).append('\n');
+            lineNo++;
+            lineBreakPositions[lineNo] = buf.length();
         }
         buf.trimToSize();
 
@@ -182,10 +181,13 @@ public final class FileText extends AbstractList<String> {
         charset = null;
         fullText = buf.toString();
         this.lines = lines.toArray(new String[lines.size()]);
+        lineBreaks = lineBreakPositions;
     }
 
     /**
      * Reads file using specific decoder and returns all its content as a String.
+     * The bytes of the file are decoded in a single pass, large files are
+     * memory-mapped rather than copied to the heap.
      * @param inputFile File to read
      * @param decoder Charset decoder
      * @return File's text
@@ -196,23 +198,73 @@ public final class FileText extends AbstractList<String> {
         if (!inputFile.exists()) {
             throw new FileNotFoundException(inputFile.getPath() + " (No such file or directory)");
         }
-        final StringBuilder buf = new StringBuilder();
         final FileInputStream stream = new FileInputStream(inputFile);
-        final Reader reader = new InputStreamReader(stream, decoder);
         try {
-            final char[] chars = new char[READ_BUFFER_SIZE];
-            while (true) {
-                final int len = reader.read(chars);
-                if (len < 0) {
-                    break;
+            final FileChannel channel = stream.getChannel();
+            final long size = channel.size();
+            final ByteBuffer bytes;
+            if (size > MAPPING_THRESHOLD) {
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            else {
+                bytes = ByteBuffer.allocate((int) size);
+                int read = 0;
+                while (read >= 0 && bytes.hasRemaining()) {
+                    read = channel.read(bytes);
                 }
-                buf.append(chars, 0, len);
+                bytes.flip();
             }
+            return decoder.decode(bytes).toString();
         }
         finally {
-            Closeables.closeQuietly(reader);
+            Closeables.closeQuietly(stream);
+        }
+    }
+
+    /**
+     * Finds the positions of line breaks in a text. A line is terminated by
+     * a line feed, a carriage return or a carriage return followed by a
+     * line feed, a terminator at the end of the text does not start a line.
+     * @param text the text to search.
+     * @return the first position of each line, followed by the length of the text.
+     */
+    private static int[] findLineBreaks(String text) {
+        final int length = text.length();
+        int[] lineBreakPositions = new int[INITIAL_LINE_CAPACITY];
+        int lineCount = 0;
+        int pos = 0;
+        while (pos < length) {
+            final char chr = text.charAt(pos);
+            pos++;
+            if (chr == '\n' || chr == '\r') {
+                if (chr == '\r' && pos < length && text.charAt(pos) == '\n') {
+                    pos++;
+                }
+                lineCount++;
+                lineBreakPositions = store(lineBreakPositions, lineCount, pos);
+            }
         }
-        return buf.toString();
+        if (lineBreakPositions[lineCount] < length) {
+            lineCount++;
+            lineBreakPositions = store(lineBreakPositions, lineCount, length);
+        }
+        return Arrays.copyOf(lineBreakPositions, lineCount + 1);
+    }
+
+    /**
+     * Stores a value in an array, growing the array if the index does not fit.
+     * @param array the array to store the value in.
+     * @param index the index to store the value at.
+     * @param value the value to store.
+     * @return the array holding the value.
+     */
+    private static int[] store(int[] array, int index, int value) {
+        int[] result = array;
+        if (index == array.length) {
+            result = Arrays.copyOf(array, array.length * 2);
+        }
+        result[index] = value;
+        return result;
     }
 
     /**
@@ -237,6 +289,20 @@ public final class FileText extends AbstractList<String> {
         }
     }
 
+    /**
+     * Creates a file text from contents that are already in memory, like an
+     * unsaved editor buffer. The contents are not read from the file, which
+     * does not need to exist.
+     *
+     * @param file the name of the file
+     * @param content the full text of the file
+     * @return an object representing the contents of the file
+     * @throws NullPointerException if the content is null
+     */
+    public static FileText fromContent(File file, CharSequence content) {
+        return new FileText(file, content);
+    }
+
     /**
      * Get the name of the file.
      * @return an object containing the name of the file
@@ -247,7 +313,8 @@ public final class FileText extends AbstractList<String> {
 
     /**
      * Get the character set which was used to read the file.
-     * Will be {@code null} for a file reconstructed from its lines.
+     * Will be {@code null} for a file reconstructed from its lines or
+     * created from contents in memory.
      * @return the charset used when the file was read
      */
     public Charset getCharset() {
@@ -269,29 +336,11 @@ public final class FileText extends AbstractList<String> {
      * @return an array of all lines of the text
      */
     public String[] toLinesArray() {
-        return lines.clone();
-    }
-
-    /**
-     * Find positions of line breaks in the full text.
-     * @return an array giving the first positions of each line.
-     */
-    private int[] findLineBreaks() {
-        if (lineBreaks == null) {
-            final int[] lineBreakPositions = new int[size() + 1];
-            lineBreakPositions[0] = 0;
-            int lineNo = 1;
-            final Matcher matcher = LINE_TERMINATOR.matcher(fullText);
-            while (matcher.find()) {
-                lineBreakPositions[lineNo] = matcher.end();
-                lineNo++;
-            }
-            if (lineNo < lineBreakPositions.length) {
-                lineBreakPositions[lineNo] = fullText.length();
-            }
-            lineBreaks = lineBreakPositions;
+        final String[] result = new String[lines.length];
+        for (int lineNo = 0; lineNo < lines.length; lineNo++) {
+            result[lineNo] = get(lineNo);
         }
-        return lineBreaks;
+        return result;
     }
 
     /**
@@ -300,7 +349,7 @@ public final class FileText extends AbstractList<String> {
      * @return the line and column numbers of this character
      */
     public LineColumn lineColumn(int pos) {
-        final int[] lineBreakPositions = findLineBreaks();
+        final int[] lineBreakPositions = lineBreaks;
         int lineNo = Arrays.binarySearch(lineBreakPositions, pos);
         if (lineNo < 0) {
             // we have: lineNo = -(insertion point) - 1
@@ -321,7 +370,20 @@ public final class FileText extends AbstractList<String> {
      */
     @Override
     public String get(final int lineNo) {
-        return lines[lineNo];
+        String line = lines[lineNo];
+        if (line == null) {
+            final int start = lineBreaks[lineNo];
+            int end = lineBreaks[lineNo + 1];
+            if (end > start && fullText.charAt(end - 1) == '\n') {
+                end--;
+            }
+            if (end > start && fullText.charAt(end - 1) == '\r') {
+                end--;
+            }
+            line = fullText.substring(start, end);
+            lines[lineNo] = line;
+        }
+        return line;
     }
 
     /**
@@ -28,20 +28,21 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.text.MessageFormat;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.Objects;
 import java.util.PropertyResourceBundle;
 import java.util.ResourceBundle;
 import java.util.ResourceBundle.Control;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Represents a message that can be localised. The translations come from
  * message.properties files. The underlying implementation uses
- * java.text.MessageFormat.
+ * java.text.MessageFormat, the parsed formats are cached per bundle,
+ * locale and key, so messages can be rendered concurrently without
+ * parsing their patterns again.
  *
  * @author Oliver Burn
  * @author lkuehne
@@ -51,17 +52,24 @@ public final class LocalizedMessage
     private static final long serialVersionUID = 5675176836184862150L;
 
     /**
-     * A cache that maps bundle names to ResourceBundles.
-     * Avoids repetitive calls to ResourceBundle.getBundle().
+     * A cache that maps bundle names, locales and keys to parsed message formats.
+     * Avoids repetitive calls to ResourceBundle.getBundle() and parsing of patterns.
      */
-    private static final Map<String, ResourceBundle> BUNDLE_CACHE =
-        Collections.synchronizedMap(new HashMap<>());
+    private static final ConcurrentMap<FormatKey, MessageFormat> FORMAT_CACHE =
+        new ConcurrentHashMap<>();
+
+    /**
+     * A cache that maps custom messages to parsed message formats. Custom
+     * messages come from the configuration, so the cache stays small.
+     */
+    private static final ConcurrentMap<String, MessageFormat> CUSTOM_FORMAT_CACHE =
+        new ConcurrentHashMap<>();
 
     /** The default severity level if one is not specified. */
     private static final SeverityLevel DEFAULT_SEVERITY = SeverityLevel.ERROR;
 
-    /** The locale to localise messages to. **/
-    private static Locale sLocale = Locale.getDefault();
+    /** The locale to localise messages to if no locale is given. **/
+    private static volatile Locale sLocale = Locale.getDefault();
 
     /** The line number. **/
     private final int lineNo;
@@ -89,6 +97,12 @@ public final class LocalizedMessage
     /** A custom message overriding the default message from the bundle. */
     private final String customMessage;
 
+    /**
+     * Whether the custom message is the rendered text of the message, which
+     * is not a pattern.
+     */
+    private final boolean rendered;
+
     /**
      * Creates a new {@code LocalizedMessage} instance.
      *
@@ -112,6 +126,35 @@ public final class LocalizedMessage
                             String moduleId,
                             Class<?> sourceClass,
                             String customMessage) {
+        this(lineNo, columnNo, bundle, key, args, severityLevel, moduleId, sourceClass,
+                customMessage, false);
+    }
+
+    /**
+     * Creates a new {@code LocalizedMessage} instance.
+     *
+     * @param lineNo line number associated with the message
+     * @param columnNo column number associated with the message
+     * @param bundle resource bundle name
+     * @param key the key to locate the translation
+     * @param args arguments for the translation
+     * @param severityLevel severity level for the message
+     * @param moduleId the id of the module the message is associated with
+     * @param sourceClass the Class that is the source of the message
+     * @param customMessage optional custom message overriding the default
+     * @param rendered whether the custom message is the rendered text
+     */
+    // -@cs[ParameterNumber] Class is immutable, we need that amount of arguments.
+    private LocalizedMessage(int lineNo,
+                             int columnNo,
+                             String bundle,
+                             String key,
+                             Object[] args,
+                             SeverityLevel severityLevel,
+                             String moduleId,
+                             Class<?> sourceClass,
+                             String customMessage,
+                             boolean rendered) {
         this.lineNo = lineNo;
         this.columnNo = columnNo;
         this.key = key;
@@ -127,6 +170,7 @@ public final class LocalizedMessage
         this.moduleId = moduleId;
         this.sourceClass = sourceClass;
         this.customMessage = customMessage;
+        this.rendered = rendered;
     }
 
     /**
@@ -210,6 +254,34 @@ public final class LocalizedMessage
                 sourceClass, customMessage);
     }
 
+    /**
+     * Creates a message whose text is already rendered, like a violation
+     * replayed from a cache. The text is returned as is in every locale, it
+     * is not parsed as a pattern.
+     *
+     * @param lineNo line number associated with the message
+     * @param columnNo column number associated with the message
+     * @param bundle resource bundle name
+     * @param key the key the message was translated from
+     * @param severityLevel severity level for the message
+     * @param moduleId the id of the module the message is associated with
+     * @param sourceClass the Class that is the source of the message
+     * @param message the rendered text of the message
+     * @return the message
+     */
+    // -@cs[ParameterNumber] Class is immutable, we need that amount of arguments.
+    public static LocalizedMessage createRendered(int lineNo,
+                                                  int columnNo,
+                                                  String bundle,
+                                                  String key,
+                                                  SeverityLevel severityLevel,
+                                                  String moduleId,
+                                                  Class<?> sourceClass,
+                                                  String message) {
+        return new LocalizedMessage(lineNo, columnNo, bundle, key, null,
+                severityLevel, moduleId, sourceClass, message, true);
+    }
+
     // -@cs[CyclomaticComplexity] equals - a lot of fields to check.
     @Override
     public boolean equals(Object object) {
@@ -228,83 +300,102 @@ public final class LocalizedMessage
                 && Objects.equals(bundle, localizedMessage.bundle)
                 && Objects.equals(sourceClass, localizedMessage.sourceClass)
                 && Objects.equals(customMessage, localizedMessage.customMessage)
+                && rendered == localizedMessage.rendered
                 && Arrays.equals(args, localizedMessage.args);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(lineNo, columnNo, severityLevel, moduleId, key, bundle, sourceClass,
-                customMessage, Arrays.hashCode(args));
+                customMessage, rendered, Arrays.hashCode(args));
     }
 
     /** Clears the cache. */
     public static void clearCache() {
-        synchronized (BUNDLE_CACHE) {
-            BUNDLE_CACHE.clear();
-        }
+        FORMAT_CACHE.clear();
+        CUSTOM_FORMAT_CACHE.clear();
     }
 
     /**
-     * Gets the translated message.
+     * Gets the message translated to the locale set by {@link #setLocale(Locale)}.
      * @return the translated message
      */
     public String getMessage() {
-        String message = getCustomMessage();
+        return getMessage(sLocale);
+    }
 
-        if (message == null) {
-            try {
-                // Important to use the default class loader, and not the one in
-                // the GlobalProperties object. This is because the class loader in
-                // the GlobalProperties is specified by the user for resolving
-                // custom classes.
-                final ResourceBundle resourceBundle = getBundle(bundle);
-                final String pattern = resourceBundle.getString(key);
-                final MessageFormat formatter = new MessageFormat(pattern, Locale.ROOT);
-                message = formatter.format(args);
+    /**
+     * Gets the translated message.
+     * @param locale the locale to translate the message to
+     * @return the translated message
+     */
+    public String getMessage(Locale locale) {
+        final String message;
+        if (rendered) {
+            message = customMessage;
+        }
+        else {
+            final MessageFormat format;
+            if (customMessage == null) {
+                format = getFormat(normalize(locale));
             }
-            catch (final MissingResourceException ignored) {
-                // If the Check author didn't provide i18n resource bundles
-                // and logs error messages directly, this will return
-                // the author's original message
-                final MessageFormat formatter = new MessageFormat(key, Locale.ROOT);
-                message = formatter.format(args);
+            else {
+                format = getCustomFormat();
             }
+            // formats are not thread safe, the cached ones are templates
+            message = ((MessageFormat) format.clone()).format(args);
         }
         return message;
     }
 
     /**
-     * Returns the formatted custom message if one is configured.
-     * @return the formatted custom message or {@code null}
-     *          if there is no custom message
+     * Returns the parsed custom message.
+     * @return the parsed custom message
      */
-    private String getCustomMessage() {
-
-        if (customMessage == null) {
-            return null;
+    private MessageFormat getCustomFormat() {
+        MessageFormat format = CUSTOM_FORMAT_CACHE.get(customMessage);
+        if (format == null) {
+            format = new MessageFormat(customMessage, Locale.ROOT);
+            final MessageFormat previous = CUSTOM_FORMAT_CACHE.putIfAbsent(customMessage, format);
+            if (previous != null) {
+                format = previous;
+            }
         }
-        final MessageFormat formatter = new MessageFormat(customMessage, Locale.ROOT);
-        return formatter.format(args);
+        return format;
     }
 
     /**
-     * Find a ResourceBundle for a given bundle name. Uses the classloader
-     * of the class emitting this message, to be sure to get the correct
-     * bundle.
-     * @param bundleName the bundle name
-     * @return a ResourceBundle
+     * Returns the parsed pattern of the message for a locale.
+     * @param locale the normalized locale
+     * @return the parsed pattern
      */
-    private ResourceBundle getBundle(String bundleName) {
-        synchronized (BUNDLE_CACHE) {
-            ResourceBundle resourceBundle = BUNDLE_CACHE
-                    .get(bundleName);
-            if (resourceBundle == null) {
-                resourceBundle = ResourceBundle.getBundle(bundleName, sLocale,
+    private MessageFormat getFormat(Locale locale) {
+        final FormatKey formatKey = new FormatKey(bundle, locale, key);
+        MessageFormat format = FORMAT_CACHE.get(formatKey);
+        if (format == null) {
+            String pattern;
+            try {
+                // Important to use the default class loader, and not the one in
+                // the GlobalProperties object. This is because the class loader in
+                // the GlobalProperties is specified by the user for resolving
+                // custom classes.
+                final ResourceBundle resourceBundle = ResourceBundle.getBundle(bundle, locale,
                         sourceClass.getClassLoader(), new Utf8Control());
-                BUNDLE_CACHE.put(bundleName, resourceBundle);
+                pattern = resourceBundle.getString(key);
+            }
+            catch (final MissingResourceException ignored) {
+                // If the Check author didn't provide i18n resource bundles
+                // and logs error messages directly, this will return
+                // the author's original message
+                pattern = key;
+            }
+            format = new MessageFormat(pattern, Locale.ROOT);
+            final MessageFormat previous = FORMAT_CACHE.putIfAbsent(formatKey, format);
+            if (previous != null) {
+                format = previous;
             }
-            return resourceBundle;
         }
+        return format;
     }
 
     /**
@@ -357,16 +448,29 @@ public final class LocalizedMessage
     }
 
     /**
-     * Sets a locale to use for localization.
+     * Sets a locale to use for localization of messages which are
+     * rendered without a locale.
      * @param locale the locale to use for localization
      */
     public static void setLocale(Locale locale) {
+        sLocale = normalize(locale);
+    }
+
+    /**
+     * Maps English locales to the root locale, messages of the root
+     * bundles are English.
+     * @param locale the locale
+     * @return the locale to look up bundles for
+     */
+    private static Locale normalize(Locale locale) {
+        final Locale result;
         if (Locale.ENGLISH.getLanguage().equals(locale.getLanguage())) {
-            sLocale = Locale.ROOT;
+            result = Locale.ROOT;
         }
         else {
-            sLocale = locale;
+            result = locale;
         }
+        return result;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -388,6 +492,51 @@ public final class LocalizedMessage
         return result;
     }
 
+    /**
+     * Key of a cached message format.
+     */
+    private static final class FormatKey {
+        /** Name of the resource bundle. */
+        private final String bundle;
+
+        /** Locale of the message. */
+        private final Locale locale;
+
+        /** Key of the message in the bundle. */
+        private final String key;
+
+        /**
+         * Creates a new key.
+         * @param bundle name of the resource bundle
+         * @param locale locale of the message
+         * @param key key of the message in the bundle
+         */
+        FormatKey(String bundle, Locale locale, String key) {
+            this.bundle = bundle;
+            this.locale = locale;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass()) {
+                return false;
+            }
+            final FormatKey other = (FormatKey) object;
+            return Objects.equals(bundle, other.bundle)
+                    && locale.equals(other.locale)
+                    && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bundle, locale, key);
+        }
+    }
+
     /**
      * <p>
      * Custom ResourceBundle.Control implementation which allows explicitly read
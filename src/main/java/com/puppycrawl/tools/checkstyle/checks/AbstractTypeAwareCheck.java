@@ -59,6 +59,9 @@ public abstract class AbstractTypeAwareCheck extends AbstractCheck {
     /** {@code ClassResolver} instance for current tree. */
     private ClassResolver classResolver;
 
+    /** Cache of loaded classes, shared by all trees of the audit. */
+    private ClassResolutionCache classResolutionCache;
+
     /**
      * Whether to log class loading errors to the checkstyle report
      * instead of throwing a RTE.
@@ -112,6 +115,16 @@ public abstract class AbstractTypeAwareCheck extends AbstractCheck {
         this.suppressLoadErrors = suppressLoadErrors;
     }
 
+    /**
+     * Sets the cache of loaded classes shared by the checks of an audit.
+     * The check keeps a cache of its own if none is set.
+     *
+     * @param classResolutionCache the cache
+     */
+    public final void setClassResolutionCache(ClassResolutionCache classResolutionCache) {
+        this.classResolutionCache = classResolutionCache;
+    }
+
     @Override
     public final int[] getRequiredTokens() {
         return new int[] {
@@ -212,10 +225,14 @@ public abstract class AbstractTypeAwareCheck extends AbstractCheck {
      */
     private ClassResolver getClassResolver() {
         if (classResolver == null) {
+            if (classResolutionCache == null) {
+                classResolutionCache = new ClassResolutionCache();
+            }
             classResolver =
                 new ClassResolver(getClassLoader(),
                                   packageFullIdent.getText(),
-                                  imports);
+                                  imports,
+                                  classResolutionCache);
         }
         return classResolver;
     }
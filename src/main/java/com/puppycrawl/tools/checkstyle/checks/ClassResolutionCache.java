@@ -0,0 +1,159 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.checks;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the classes loaded by name for {@link ClassResolver}, so a name that
+ * is referenced by many files is looked up once per run. Names that can not
+ * be loaded are cached as well, as most candidate names probed by a resolver
+ * do not exist and every failed lookup throws an exception. Results are kept
+ * per class loader. The cache may be used by many threads at once.
+ *
+ * @author the original author or authors.
+ */
+public final class ClassResolutionCache {
+    /** Results of loading classes by name and class loader. */
+    private final ConcurrentMap<Key, Optional<Class<?>>> classes = new ConcurrentHashMap<>();
+
+    /** Number of lookups answered by the cache. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Number of lookups that had to load the class. */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Finds a class by its binary name, loading it without initialization
+     * if it was not looked up before.
+     * @param name the binary name of the class.
+     * @param loader the class loader to load the class with.
+     * @return the class, {@code null} if it can not be loaded.
+     */
+    public Class<?> find(String name, ClassLoader loader) {
+        final Key key = new Key(name, loader);
+        Optional<Class<?>> result = classes.get(key);
+        if (result == null) {
+            misses.increment();
+            result = load(name, loader);
+            classes.putIfAbsent(key, result);
+        }
+        else {
+            hits.increment();
+        }
+        return result.orElse(null);
+    }
+
+    /**
+     * Returns the number of lookups answered by the cache.
+     * @return the number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to load the class.
+     * @return the number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the share of lookups answered by the cache.
+     * @return the hit rate from 0 to 1, 0 if nothing was looked up.
+     */
+    public double getHitRate() {
+        final long hitCount = getHits();
+        final long lookups = hitCount + getMisses();
+        double result = 0;
+        if (lookups > 0) {
+            result = (double) hitCount / lookups;
+        }
+        return result;
+    }
+
+    /** Drops all cached classes and resets the counters. */
+    public void clear() {
+        classes.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Loads a class in such a way that it will NOT be initialised.
+     * @param name the binary name of the class.
+     * @param loader the class loader to load the class with.
+     * @return the class, empty if it can not be loaded.
+     */
+    private static Optional<Class<?>> load(String name, ClassLoader loader) {
+        Optional<Class<?>> result;
+        try {
+            result = Optional.of(Class.forName(name, false, loader));
+        }
+        catch (final ClassNotFoundException | NoClassDefFoundError ignored) {
+            result = Optional.empty();
+        }
+        return result;
+    }
+
+    /**
+     * Identifies a class by its name and the class loader it is loaded with.
+     */
+    private static final class Key {
+        /** The binary name of the class. */
+        private final String name;
+
+        /** The class loader, compared by identity. */
+        private final ClassLoader loader;
+
+        /**
+         * Creates a new key.
+         * @param name the binary name of the class.
+         * @param loader the class loader.
+         */
+        private Key(String name, ClassLoader loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            final Key key = (Key) other;
+            return loader == key.loader && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, System.identityHashCode(loader));
+        }
+    }
+}
@@ -42,6 +42,8 @@ public class ClassResolver {
     private final Set<String> imports;
     /** Use to load classes. **/
     private final ClassLoader loader;
+    /** Cache of loaded classes, shared with other resolvers. **/
+    private final ClassResolutionCache cache;
 
     /**
      * Creates a new {@code ClassResolver} instance.
@@ -51,10 +53,25 @@ public class ClassResolver {
      * @param imports set of imports to check if the class belongs to
      */
     public ClassResolver(ClassLoader loader, String pkg, Set<String> imports) {
+        this(loader, pkg, imports, new ClassResolutionCache());
+    }
+
+    /**
+     * Creates a new {@code ClassResolver} instance that looks up classes
+     * through a cache shared with other resolvers.
+     *
+     * @param loader the ClassLoader to load classes with.
+     * @param pkg the name of the package the class may belong to
+     * @param imports set of imports to check if the class belongs to
+     * @param cache the cache of loaded classes
+     */
+    public ClassResolver(ClassLoader loader, String pkg, Set<String> imports,
+            ClassResolutionCache cache) {
         this.loader = loader;
         this.pkg = pkg;
         this.imports = new HashSet<>(imports);
         this.imports.add("java.lang.*");
+        this.cache = cache;
     }
 
     /**
@@ -122,10 +139,8 @@ public class ClassResolver {
      * @param name name of the search Class to search
      * @param currentClass class where search in
      * @return class if found , or null if not resolved
-     * @throws ClassNotFoundException  if an error occurs
      */
-    private Class<?> resolveInnerClass(String name, String currentClass)
-            throws ClassNotFoundException {
+    private Class<?> resolveInnerClass(String name, String currentClass) {
         Class<?> clazz = null;
         if (!currentClass.isEmpty()) {
             String innerClass = currentClass + DOLLAR_SIGN + name;
@@ -134,9 +149,7 @@ public class ClassResolver {
                 innerClass = pkg + PERIOD + innerClass;
             }
 
-            if (isLoadable(innerClass)) {
-                clazz = safeLoad(innerClass);
-            }
+            clazz = cache.find(innerClass, loader);
         }
         return clazz;
     }
@@ -177,7 +190,7 @@ public class ClassResolver {
 
     /**
      * Will load a specified class is such a way that it will NOT be
-     * initialised.
+     * initialised. The outcome is cached, so a class is loaded only once.
      * @param name name of the class to load
      * @return the {@code Class} for the specified class
      * @throws ClassNotFoundException if an error occurs
@@ -185,10 +198,11 @@ public class ClassResolver {
      */
     // -@cs[ForbidWildcardAsReturnType] The class is deprecated and will be removed soon.
     private Class<?> safeLoad(String name) throws ClassNotFoundException, NoClassDefFoundError {
-        // The next line will load the class using the specified class
-        // loader. The magic is having the "false" parameter. This means the
-        // class will not be initialised. Very, very important.
-        return Class.forName(name, false, loader);
+        final Class<?> clazz = cache.find(name, loader);
+        if (clazz == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return clazz;
     }
 
     /**
@@ -197,26 +211,16 @@ public class ClassResolver {
      * @return Class object for the given name or null.
      */
     private Class<?> resolveQualifiedName(final String name) {
-        Class<?> classObj = null;
-        try {
-            if (isLoadable(name)) {
-                classObj = safeLoad(name);
-            }
-            else {
-                //Perhaps it's fully-qualified inner class
-                final int dot = name.lastIndexOf('.');
-                if (dot != -1) {
-                    final String innerName =
-                        name.substring(0, dot) + DOLLAR_SIGN + name.substring(dot + 1);
-                    classObj = resolveQualifiedName(innerName);
-                }
+        Class<?> classObj = cache.find(name, loader);
+        if (classObj == null) {
+            //Perhaps it's fully-qualified inner class
+            final int dot = name.lastIndexOf('.');
+            if (dot != -1) {
+                final String innerName =
+                    name.substring(0, dot) + DOLLAR_SIGN + name.substring(dot + 1);
+                classObj = resolveQualifiedName(innerName);
             }
         }
-        catch (final ClassNotFoundException ex) {
-            // we shouldn't get this exception here,
-            // so this is unexpected runtime exception
-            throw new IllegalStateException(ex);
-        }
         return classObj;
     }
 }
@@ -29,6 +29,7 @@ import org.apache.commons.beanutils.ConversionException;
 
 import com.google.common.io.Closeables;
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 
 /**
  * <p>
@@ -73,12 +74,31 @@ public class NewlineAtEndOfFileCheck
      */
     public static final String MSG_KEY_NO_NEWLINE_EOF = "noNewlineAtEOF";
 
+    /** The highest value of an ASCII character. */
+    private static final char MAX_ASCII = 0x7F;
+
     /** The line separator to check against. */
     private LineSeparatorOption lineSeparator = LineSeparatorOption.SYSTEM;
 
     @Override
     protected void processFiltered(File file, List<String> lines) {
-        // Cannot use lines as the line separators have been removed!
+        if (lines instanceof FileText) {
+            // the full text keeps the line separators, and it may not be on disk
+            if (!endsWithNewline(((FileText) lines).getFullText())) {
+                log(0, MSG_KEY_NO_NEWLINE_EOF, file.getPath());
+            }
+        }
+        else {
+            processFile(file);
+        }
+    }
+
+    /**
+     * Checks the file on disk, the lines can not be used as the line
+     * separators have been removed.
+     * @param file the file to check.
+     */
+    private void processFile(File file) {
         try {
             final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
             boolean threw = true;
@@ -116,6 +136,29 @@ public class NewlineAtEndOfFileCheck
         }
     }
 
+    /**
+     * Checks whether a text ends with the line separator. The line separators
+     * are ASCII, so they are compared with the characters the bytes of the
+     * file were decoded to.
+     * @param text the text to check.
+     * @return whether the text ends with a line separator.
+     */
+    private boolean endsWithNewline(CharSequence text) {
+        final int len = lineSeparator.length();
+        boolean result = false;
+        if (text.length() >= len) {
+            final byte[] lastBytes = new byte[len];
+            boolean ascii = true;
+            for (int i = 0; i < len; i++) {
+                final char chr = text.charAt(text.length() - len + i);
+                ascii &= chr <= MAX_ASCII;
+                lastBytes[i] = (byte) chr;
+            }
+            result = ascii && lineSeparator.matches(lastBytes);
+        }
+        return result;
+    }
+
     /**
      * Checks whether the content provided by the Reader ends with the platform
      * specific line separator.
@@ -19,7 +19,10 @@
 
 package com.puppycrawl.tools.checkstyle.checks;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -80,6 +83,13 @@ public class SuppressWarningsHolder
         }
     };
 
+    /**
+     * A thread-local holder for the index of the suppression entries for the
+     * last file parsed, built on the first lookup after entries were added.
+     * It is dropped whenever the entries change.
+     */
+    private static final ThreadLocal<EntryIndex> INDEX = new ThreadLocal<>();
+
     /**
      * Returns the default alias for the source name of a check, which is the
      * source name in lower case with any dotted prefix or "Check" suffix
@@ -153,54 +163,26 @@ public class SuppressWarningsHolder
      */
     public static boolean isSuppressed(AuditEvent event) {
         final List<Entry> entries = ENTRIES.get();
-        final String sourceName = event.getSourceName();
-        final String checkAlias = getAlias(sourceName);
-        final int line = event.getLine();
-        final int column = event.getColumn();
-        boolean suppressed = false;
-        for (Entry entry : entries) {
-            final boolean afterStart = isSuppressedAfterEventStart(line, column, entry);
-            final boolean beforeEnd = isSuppressedBeforeEventEnd(line, column, entry);
-            final boolean nameMatches =
-                ALL_WARNING_MATCHING_ID.equals(entry.getCheckName())
-                    || entry.getCheckName().equalsIgnoreCase(checkAlias);
-            final boolean idMatches = event.getModuleId() != null
-                && event.getModuleId().equals(entry.getCheckName());
-            if (afterStart && beforeEnd && (nameMatches || idMatches)) {
-                suppressed = true;
-            }
+        EntryIndex index = INDEX.get();
+        if (index == null || !index.isIndexOf(entries)) {
+            index = new EntryIndex(entries);
+            INDEX.set(index);
         }
-        return suppressed;
-    }
-
-    /**
-     * Checks whether suppression entry position is after the audit event occurrence position
-     * in the source file.
-     * @param line the line number in the source file where the event occurred.
-     * @param column the column number in the source file where the event occurred.
-     * @param entry suppression entry.
-     * @return true if suppression entry position is after the audit event occurrence position
-     *         in the source file.
-     */
-    private static boolean isSuppressedAfterEventStart(int line, int column, Entry entry) {
-        return entry.getFirstLine() < line
-            || entry.getFirstLine() == line
-            && (column == 0 || entry.getFirstColumn() <= column);
+        return index.isSuppressed(event);
     }
 
     /**
-     * Checks whether suppression entry position is before the audit event occurrence position
-     * in the source file.
-     * @param line the line number in the source file where the event occurred.
-     * @param column the column number in the source file where the event occurred.
-     * @param entry suppression entry.
-     * @return true if suppression entry position is before the audit event occurrence position
-     *         in the source file.
+     * Folds the case of a check name, names which are equal ignoring case
+     * as defined by {@link String#equalsIgnoreCase(String)} fold to the same name.
+     * @param checkName the check name.
+     * @return the folded check name.
      */
-    private static boolean isSuppressedBeforeEventEnd(int line, int column, Entry entry) {
-        return entry.getLastLine() > line
-            || entry.getLastLine() == line && entry
-                .getLastColumn() >= column;
+    private static String foldCase(String checkName) {
+        final char[] chars = checkName.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
     }
 
     @Override
@@ -221,6 +203,7 @@ public class SuppressWarningsHolder
     @Override
     public void beginTree(DetailAST rootAST) {
         ENTRIES.get().clear();
+        INDEX.remove();
     }
 
     @Override
@@ -265,6 +248,7 @@ public class SuppressWarningsHolder
                         entries.add(new Entry(checkName, firstLine, firstColumn,
                                 lastLine, lastColumn));
                     }
+                    INDEX.remove();
                 }
             }
         }
@@ -488,6 +472,217 @@ public class SuppressWarningsHolder
         return valueList;
     }
 
+    /**
+     * Indexes the suppression entries of a file by check name, merging the
+     * regions of the entries of a name so that a position is looked up by
+     * binary search instead of testing every entry.
+     */
+    private static final class EntryIndex {
+        /** The indexed entries. */
+        private final List<Entry> entries;
+
+        /** The number of entries when the index was built. */
+        private final int size;
+
+        /** The regions of the entries keyed by the case folded check name. */
+        private final Map<String, Regions> regionsByFoldedName = new HashMap<>();
+
+        /** The regions of the entries keyed by the exact check name. */
+        private final Map<String, Regions> regionsByName = new HashMap<>();
+
+        /**
+         * Creates the index of entries.
+         * @param entries the suppression entries of a file.
+         */
+        EntryIndex(List<Entry> entries) {
+            this.entries = entries;
+            size = entries.size();
+            final Map<String, Regions.Builder> foldedBuilders = new HashMap<>();
+            final Map<String, Regions.Builder> builders = new HashMap<>();
+            for (final Entry entry : entries) {
+                foldedBuilders.computeIfAbsent(foldCase(entry.getCheckName()),
+                    name -> new Regions.Builder()).add(entry);
+                builders.computeIfAbsent(entry.getCheckName(),
+                    name -> new Regions.Builder()).add(entry);
+            }
+            foldedBuilders.forEach((name, builder) -> {
+                regionsByFoldedName.put(name, builder.build());
+            });
+            builders.forEach((name, builder) -> regionsByName.put(name, builder.build()));
+        }
+
+        /**
+         * Determines whether this is the index of the current entries. Only
+         * detects entries that were replaced or grew, the holder drops the
+         * index itself whenever it changes the entries.
+         * @param currentEntries the current suppression entries.
+         * @return true if the index was built from the entries.
+         */
+        boolean isIndexOf(List<Entry> currentEntries) {
+            return entries == currentEntries && size == currentEntries.size();
+        }
+
+        /**
+         * Checks for a suppression of the check of an event at its location.
+         * @param event audit event.
+         * @return whether the check of the event is suppressed at its location.
+         */
+        boolean isSuppressed(AuditEvent event) {
+            final int line = event.getLine();
+            final int column = event.getColumn();
+            final String moduleId = event.getModuleId();
+            return contains(regionsByFoldedName.get(foldCase(getAlias(event.getSourceName()))),
+                    line, column)
+                || contains(regionsByName.get(ALL_WARNING_MATCHING_ID), line, column)
+                || moduleId != null && contains(regionsByName.get(moduleId), line, column);
+        }
+
+        /**
+         * Checks whether regions contain a position.
+         * @param regions the regions, {@code null} if there are none.
+         * @param line the line of the position.
+         * @param column the column of the position.
+         * @return true if one of the regions contains the position.
+         */
+        private static boolean contains(Regions regions, int line, int column) {
+            return regions != null && regions.contains(line, column);
+        }
+    }
+
+    /**
+     * The union of the suppression regions of entries, kept as sorted
+     * disjoint ranges of positions. A position is a line and a column packed
+     * into a {@code long} so that positions compare like (line, column) pairs.
+     */
+    private static final class Regions {
+        /** Sorted starts of the disjoint ranges of the regions. */
+        private final long[] starts;
+
+        /** Ends of the disjoint ranges of the regions, in the order of the starts. */
+        private final long[] ends;
+
+        /**
+         * Sorted starts of the disjoint ranges of the regions extended to the
+         * start of their first line, they apply to events without a column.
+         */
+        private final long[] lineStarts;
+
+        /** Ends of the disjoint ranges of the extended regions. */
+        private final long[] lineEnds;
+
+        /**
+         * Creates new regions.
+         * @param ranges the sorted and merged ranges of the regions.
+         * @param lineRanges the sorted and merged ranges of the extended regions.
+         */
+        Regions(long[][] ranges, long[][] lineRanges) {
+            starts = ranges[0];
+            ends = ranges[1];
+            lineStarts = lineRanges[0];
+            lineEnds = lineRanges[1];
+        }
+
+        /**
+         * Checks whether the regions contain a position, a position without
+         * a column is contained if a region starts on its line or before.
+         * @param line the line of the position.
+         * @param column the column of the position, 0 if there is none.
+         * @return true if one of the regions contains the position.
+         */
+        boolean contains(int line, int column) {
+            final long position = toPosition(line, column);
+            final boolean result;
+            if (column == 0) {
+                result = contains(lineStarts, lineEnds, position);
+            }
+            else {
+                result = contains(starts, ends, position);
+            }
+            return result;
+        }
+
+        /**
+         * Checks whether sorted disjoint ranges contain a position.
+         * @param rangeStarts the sorted starts of the ranges.
+         * @param rangeEnds the ends of the ranges.
+         * @param position the position.
+         * @return true if one of the ranges contains the position.
+         */
+        private static boolean contains(long[] rangeStarts, long[] rangeEnds, long position) {
+            int index = Arrays.binarySearch(rangeStarts, position);
+            if (index < 0) {
+                // the range with the greatest start before the position
+                index = -index - 2;
+            }
+            return index >= 0 && rangeEnds[index] >= position;
+        }
+
+        /**
+         * Packs a line and a column into a position, the column is shifted to
+         * an unsigned value so that positions compare like (line, column) pairs.
+         * @param line the line.
+         * @param column the column.
+         * @return the position.
+         */
+        static long toPosition(int line, int column) {
+            return (long) line << Integer.SIZE
+                | Integer.toUnsignedLong(column ^ Integer.MIN_VALUE);
+        }
+
+        /**
+         * Collects the regions of entries and merges them.
+         */
+        static final class Builder {
+            /** The ranges of the regions as pairs of start and end. */
+            private final List<long[]> ranges = new ArrayList<>();
+
+            /** The ranges of the regions extended to the start of their first line. */
+            private final List<long[]> lineRanges = new ArrayList<>();
+
+            /**
+             * Adds the region of an entry.
+             * @param entry the entry.
+             */
+            void add(Entry entry) {
+                final long end = toPosition(entry.getLastLine(), entry.getLastColumn());
+                ranges.add(new long[] {
+                    toPosition(entry.getFirstLine(), entry.getFirstColumn()), end, });
+                lineRanges.add(new long[] {toPosition(entry.getFirstLine(), 0), end});
+            }
+
+            /**
+             * Merges the collected regions.
+             * @return the regions.
+             */
+            Regions build() {
+                return new Regions(merge(ranges), merge(lineRanges));
+            }
+
+            /**
+             * Sorts ranges and merges the overlapping ones.
+             * @param ranges the ranges as pairs of start and end.
+             * @return the starts and the ends of the disjoint ranges.
+             */
+            private static long[][] merge(List<long[]> ranges) {
+                ranges.sort(Comparator.comparingLong(range -> range[0]));
+                final long[] starts = new long[ranges.size()];
+                final long[] ends = new long[ranges.size()];
+                int count = 0;
+                for (final long[] range : ranges) {
+                    if (count > 0 && range[0] <= ends[count - 1]) {
+                        ends[count - 1] = Math.max(ends[count - 1], range[1]);
+                    }
+                    else if (range[0] <= range[1]) {
+                        starts[count] = range[0];
+                        ends[count] = range[1];
+                        count++;
+                    }
+                }
+                return new long[][] {Arrays.copyOf(starts, count), Arrays.copyOf(ends, count)};
+            }
+        }
+    }
+
     /** Records a particular suppression for a region of a file. */
     private static class Entry {
         /** The source name of the suppressed check. */
@@ -163,7 +163,7 @@ public class TrailingCommentCheck extends AbstractCheck {
         lines.addAll(cComments.keySet());
 
         for (Integer lineNo : lines) {
-            final String line = getLines()[lineNo - 1];
+            final String line = getLine(lineNo - 1);
             final String lineBefore;
             final TextBlock comment;
             if (cppComments.containsKey(lineNo)) {
@@ -22,6 +22,7 @@ package com.puppycrawl.tools.checkstyle.checks;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.List;
 import java.util.Properties;
 import java.util.regex.Matcher;
@@ -32,6 +33,7 @@ import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Multiset.Entry;
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 
 /**
  * Checks the uniqueness of property keys (left from equal sign) in the
@@ -67,13 +69,19 @@ public class UniquePropertiesCheck extends AbstractFileSetCheck {
         final UniqueProperties properties = new UniqueProperties();
 
         try {
-            final FileInputStream fileInputStream = new FileInputStream(file);
-            try {
-                // As file is already read, there should not be any exceptions.
-                properties.load(fileInputStream);
+            if (lines instanceof FileText) {
+                // the text may not be on disk, like an unsaved editor buffer
+                properties.load(new StringReader(((FileText) lines).getFullText().toString()));
             }
-            finally {
-                fileInputStream.close();
+            else {
+                final FileInputStream fileInputStream = new FileInputStream(file);
+                try {
+                    // As file is already read, there should not be any exceptions.
+                    properties.load(fileInputStream);
+                }
+                finally {
+                    fileInputStream.close();
+                }
             }
         }
         catch (IOException ex) {
@@ -178,7 +178,7 @@ public class RightCurlyCheck extends AbstractCheck {
         if (rcurly != null && rcurly.getType() == TokenTypes.RCURLY) {
             final String violation;
             if (shouldStartLine) {
-                final String targetSourceLine = getLines()[rcurly.getLineNo() - 1];
+                final String targetSourceLine = getLine(rcurly.getLineNo() - 1);
                 violation = validate(details, option, true, targetSourceLine);
             }
             else {
@@ -173,6 +173,12 @@ public class FinalLocalVariableCheck extends AbstractCheck {
         };
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        scopeStack.clear();
+        prevScopeUninitializedVariables.clear();
+    }
+
     // -@cs[CyclomaticComplexity] The only optimization which can be done here is moving CASE-block
     // expressions to separate methods, but that will not increase readability.
     @Override
@@ -95,6 +95,12 @@ public final class MutableExceptionCheck extends AbstractCheck {
         return new int[] {TokenTypes.CLASS_DEF, TokenTypes.VARIABLE_DEF};
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        checkingStack.clear();
+        checking = false;
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
         switch (ast.getType()) {
@@ -19,6 +19,10 @@
 
 package com.puppycrawl.tools.checkstyle.checks.imports;
 
+import java.util.regex.Pattern;
+
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+
 /**
  * Represents whether a package is allowed to be used or not.
  * @author Oliver Burn
@@ -43,6 +47,17 @@ class Guard {
      * as regular expressions.
      */
     private final boolean regExp;
+    /**
+     * Pattern matching the imports controlled by the guard, {@code null} if
+     * the names are not regular expressions.
+     */
+    private final Pattern pattern;
+    /**
+     * Pattern matching imports from subpackages of the controlled package,
+     * {@code null} if the names are not regular expressions or the guard
+     * controls a class.
+     */
+    private final Pattern subPackagePattern;
 
     /**
      * Constructs an instance.
@@ -61,6 +76,14 @@ class Guard {
         this.regExp = regExp;
         className = null;
         this.exactMatch = exactMatch;
+        if (regExp) {
+            pattern = CommonUtils.createPattern(pkgName + "\\..*");
+            subPackagePattern = CommonUtils.createPattern(pkgName + "\\..*\\..*");
+        }
+        else {
+            pattern = null;
+            subPackagePattern = null;
+        }
     }
 
     /**
@@ -81,6 +104,13 @@ class Guard {
 
         // not used
         exactMatch = true;
+        subPackagePattern = null;
+        if (regExp) {
+            pattern = CommonUtils.createPattern(className);
+        }
+        else {
+            pattern = null;
+        }
     }
 
     /**
@@ -93,7 +123,7 @@ class Guard {
             final boolean classMatch;
 
             if (regExp) {
-                classMatch = forImport.matches(className);
+                classMatch = pattern.matcher(forImport).matches();
             }
             else {
                 classMatch = forImport.equals(className);
@@ -107,9 +137,9 @@ class Guard {
         // another "." as this indicates that it is not an exact match.
         boolean pkgMatch;
         if (regExp) {
-            pkgMatch = forImport.matches(pkgName + "\\..*");
+            pkgMatch = pattern.matcher(forImport).matches();
             if (pkgMatch && exactMatch) {
-                pkgMatch = !forImport.matches(pkgName + "\\..*\\..*");
+                pkgMatch = !subPackagePattern.matcher(forImport).matches();
             }
         }
         else {
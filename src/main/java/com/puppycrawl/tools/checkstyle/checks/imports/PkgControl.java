@@ -23,12 +23,21 @@ import java.util.ArrayList;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Represents the a tree of guards for controlling whether packages are allowed
  * to be used. Each instance must have a single parent or be the root node.
  * Each instance may have zero or more children.
  *
+ * <p>The results of {@link #locateFinest(String)} and
+ * {@link #checkAccess(String, String)} are memoized, so every package and
+ * import is matched against the guards once, however many files use it.
+ * The memoized results may be shared by many threads. The tree must not be
+ * changed once it is queried.</p>
+ *
  * @author Oliver Burn
  */
 class PkgControl {
@@ -40,6 +49,12 @@ class PkgControl {
     private final PkgControl parent;
     /** The full package name for the node. */
     private final String fullPackage;
+    /** Finest matches of the packages looked up from this node. */
+    private final ConcurrentMap<String, Optional<PkgControl>> finestMatches =
+        new ConcurrentHashMap<>();
+    /** Access results of the imports checked from this node, keyed by importing package. */
+    private final ConcurrentMap<String, ConcurrentMap<String, AccessResult>> accessResults =
+        new ConcurrentHashMap<>();
 
     /**
      * Construct a root node.
@@ -75,6 +90,17 @@ class PkgControl {
      * @return the finest match, or null if no match at all.
      */
     public PkgControl locateFinest(final String forPkg) {
+        return finestMatches.computeIfAbsent(forPkg,
+            pkg -> Optional.ofNullable(findFinest(pkg))).orElse(null);
+    }
+
+    /**
+     * Searches down the tree for the finest match for a supplied package
+     * without consulting the memoized results.
+     * @param forPkg the package to search for.
+     * @return the finest match, or null if no match at all.
+     */
+    private PkgControl findFinest(final String forPkg) {
         PkgControl finestMatch = null;
         // Check if we are a match.
         // This algorithm should be improved to check for a trailing "."
@@ -84,7 +110,7 @@ class PkgControl {
             finestMatch = this;
             // Check if any of the children match.
             for (PkgControl child : children) {
-                final PkgControl match = child.locateFinest(forPkg);
+                final PkgControl match = child.findFinest(forPkg);
                 if (match != null) {
                     finestMatch = match;
                     break;
@@ -105,6 +131,18 @@ class PkgControl {
      * @return an {@link AccessResult}.
      */
     public AccessResult checkAccess(final String forImport, final String inPkg) {
+        return accessResults.computeIfAbsent(inPkg, pkg -> new ConcurrentHashMap<>())
+            .computeIfAbsent(forImport, imp -> findAccess(imp, inPkg));
+    }
+
+    /**
+     * Returns whether a package is allowed to be used without consulting
+     * the memoized results.
+     * @param forImport the package to check on.
+     * @param inPkg the package doing the import.
+     * @return an {@link AccessResult}.
+     */
+    private AccessResult findAccess(final String forImport, final String inPkg) {
         final AccessResult result;
         final AccessResult returnValue = localCheckAccess(forImport, inPkg);
         if (returnValue != AccessResult.UNKNOWN) {
@@ -115,7 +153,7 @@ class PkgControl {
             result = AccessResult.DISALLOWED;
         }
         else {
-            result = parent.checkAccess(forImport, inPkg);
+            result = parent.findAccess(forImport, inPkg);
         }
         return result;
     }
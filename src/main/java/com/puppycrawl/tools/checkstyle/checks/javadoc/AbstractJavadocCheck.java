@@ -19,10 +19,6 @@
 
 package com.puppycrawl.tools.checkstyle.checks.javadoc;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.stream.IntStream;
-
 import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser;
 import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseErrorMessage;
 import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseStatus;
@@ -73,18 +69,6 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
     public static final String MSG_KEY_UNRECOGNIZED_ANTLR_ERROR =
             JavadocDetailNodeParser.MSG_KEY_UNRECOGNIZED_ANTLR_ERROR;
 
-    /**
-     * Key is "line:column". Value is {@link DetailNode} tree. Map is stored in {@link ThreadLocal}
-     * to guarantee basic thread safety and avoid shared, mutable state when not necessary.
-     */
-    private static final ThreadLocal<Map<String, ParseStatus>> TREE_CACHE =
-        new ThreadLocal<Map<String, ParseStatus>>() {
-            @Override
-            protected Map<String, ParseStatus> initialValue() {
-                return new HashMap<>();
-            }
-        };
-
     /**
      * Parses content of Javadoc comment as DetailNode tree.
      */
@@ -96,6 +80,13 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
      */
     private DetailAST blockCommentAst;
 
+    /**
+     * Walks the Javadoc trees for this check and the other Javadoc checks
+     * of its group, {@code null} until the first Javadoc comment is visited
+     * if the check is not in a group.
+     */
+    private JavadocWalker javadocWalker;
+
     /**
      * Returns the default token types a check is interested in.
      * @return the default token types
@@ -157,36 +148,27 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
 
     @Override
     public final void beginTree(DetailAST rootAST) {
-        TREE_CACHE.get().clear();
+        if (javadocWalker != null) {
+            javadocWalker.beginTree();
+        }
     }
 
     @Override
     public final void finishTree(DetailAST rootAST) {
-        TREE_CACHE.get().clear();
+        // No code, Javadoc checks finish their work in finishJavadocTree
     }
 
     @Override
     public final void visitToken(DetailAST blockCommentNode) {
         if (JavadocUtils.isJavadocComment(blockCommentNode)
               && isCorrectJavadocPosition(blockCommentNode)) {
-            // store as field, to share with child Checks
-            blockCommentAst = blockCommentNode;
-
-            final String treeCacheKey = blockCommentNode.getLineNo() + ":"
-                    + blockCommentNode.getColumnNo();
-
-            final ParseStatus result;
-
-            if (TREE_CACHE.get().containsKey(treeCacheKey)) {
-                result = TREE_CACHE.get().get(treeCacheKey);
-            }
-            else {
-                result = parser.parseJavadocAsDetailNode(blockCommentNode);
-                TREE_CACHE.get().put(treeCacheKey, result);
+            if (javadocWalker == null) {
+                new JavadocWalker().addCheck(this);
             }
+            final ParseStatus result = javadocWalker.parse(blockCommentNode, parser);
 
             if (result.getParseErrorMessage() == null) {
-                processTree(result.getTree());
+                javadocWalker.process(blockCommentNode, result.getTree());
             }
             else {
                 final ParseErrorMessage parseErrorMessage = result.getParseErrorMessage();
@@ -206,6 +188,23 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
         return blockCommentAst;
     }
 
+    /**
+     * Sets the block comment whose Javadoc tree is about to be walked,
+     * to share it with child Checks.
+     * @param blockCommentAst the block comment.
+     */
+    final void setBlockCommentAst(DetailAST blockCommentAst) {
+        this.blockCommentAst = blockCommentAst;
+    }
+
+    /**
+     * Sets the walker that walks the Javadoc trees for this check.
+     * @param javadocWalker the walker.
+     */
+    final void setJavadocWalker(JavadocWalker javadocWalker) {
+        this.javadocWalker = javadocWalker;
+    }
+
     /**
      * Checks Javadoc comment it's in right place.
      * From Javadoc util documentation:
@@ -229,56 +228,4 @@ public abstract class AbstractJavadocCheck extends AbstractCheck {
                 || BlockCommentPosition.isOnAnnotationDef(blockComment);
     }
 
-    /**
-     * Processes JavadocAST tree notifying Check.
-     * @param root
-     *        root of JavadocAST tree.
-     */
-    private void processTree(DetailNode root) {
-        beginJavadocTree(root);
-        walk(root);
-        finishJavadocTree(root);
-    }
-
-    /**
-     * Processes a node calling Check at interested nodes.
-     * @param root
-     *        the root of tree for process
-     */
-    private void walk(DetailNode root) {
-        final int[] defaultTokenTypes = getDefaultJavadocTokens();
-
-        DetailNode curNode = root;
-        while (curNode != null) {
-            final boolean waitsForProcessing = shouldBeProcessed(defaultTokenTypes, curNode);
-
-            if (waitsForProcessing) {
-                visitJavadocToken(curNode);
-            }
-            DetailNode toVisit = JavadocUtils.getFirstChild(curNode);
-            while (curNode != null && toVisit == null) {
-
-                if (waitsForProcessing) {
-                    leaveJavadocToken(curNode);
-                }
-
-                toVisit = JavadocUtils.getNextSibling(curNode);
-                if (toVisit == null) {
-                    curNode = curNode.getParent();
-                }
-            }
-            curNode = toVisit;
-        }
-    }
-
-    /**
-     * Checks whether the current node should be processed by the check.
-     * @param defaultTokenTypes default token types.
-     * @param curNode current node.
-     * @return true if the current node should be processed by the check.
-     */
-    private boolean shouldBeProcessed(int[] defaultTokenTypes, DetailNode curNode) {
-        return IntStream.of(defaultTokenTypes).anyMatch(i -> i == curNode.getType());
-    }
-
 }
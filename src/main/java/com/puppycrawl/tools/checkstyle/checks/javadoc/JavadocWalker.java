@@ -0,0 +1,206 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.checks.javadoc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser;
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseStatus;
+import com.puppycrawl.tools.checkstyle.JavadocParseCache;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.DetailNode;
+import com.puppycrawl.tools.checkstyle.api.JavadocTokenTypes;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
+
+/**
+ * Walks the tree of a Javadoc comment once for a group of Javadoc checks,
+ * notifying every check of the nodes of the token types it is interested in.
+ * The checks are looked up in a table indexed by token type, the way
+ * {@link com.puppycrawl.tools.checkstyle.TreeWalker} dispatches Java ASTs.
+ * The first check of the group visiting a Javadoc comment parses it and
+ * walks its tree for all checks of the group, the other checks skip it.
+ * Parse results are taken from a {@link JavadocParseCache}, which may be
+ * shared with other walkers.
+ *
+ * @author the original author or authors.
+ */
+public final class JavadocWalker {
+    /** All checks of the group. */
+    private final List<AbstractJavadocCheck> checks = new ArrayList<>();
+
+    /**
+     * Checks indexed by the Javadoc token types they are interested in, offset
+     * by the type of {@link JavadocTokenTypes#EOF}, the only negative type.
+     */
+    private AbstractJavadocCheck[][] checksByType = new AbstractJavadocCheck[0][];
+
+    /** The Javadoc comment walked last, {@code null} if none was walked in the current file. */
+    private DetailAST lastComment;
+
+    /** The Javadoc comment parsed last, {@code null} if none was parsed in the current file. */
+    private DetailAST lastParsedComment;
+
+    /** The parse result of the Javadoc comment parsed last. */
+    private ParseStatus lastParseStatus;
+
+    /** The cache of parse results, {@code null} until a comment is parsed if none was set. */
+    private JavadocParseCache parseCache;
+
+    /**
+     * Sets the cache of parse results, which may be shared with other walkers.
+     * @param parseCache the cache.
+     */
+    public void setParseCache(JavadocParseCache parseCache) {
+        this.parseCache = parseCache;
+    }
+
+    /**
+     * Adds a check to the group, its Javadoc comments are walked by this walker then.
+     * @param check the check.
+     */
+    public void addCheck(AbstractJavadocCheck check) {
+        checks.add(check);
+        for (final int type : check.getDefaultJavadocTokens()) {
+            final int index = type - JavadocTokenTypes.EOF;
+            if (index >= checksByType.length) {
+                checksByType = Arrays.copyOf(checksByType, index + 1);
+            }
+            final AbstractJavadocCheck[] typeChecks = checksByType[index];
+            if (typeChecks == null) {
+                checksByType[index] = new AbstractJavadocCheck[] {check};
+            }
+            else {
+                final AbstractJavadocCheck[] grown =
+                    Arrays.copyOf(typeChecks, typeChecks.length + 1);
+                grown[typeChecks.length] = check;
+                checksByType[index] = grown;
+            }
+        }
+        check.setJavadocWalker(this);
+    }
+
+    /** Forgets the Javadoc comments of the previous file, called when a new file is started. */
+    void beginTree() {
+        lastComment = null;
+        lastParsedComment = null;
+        lastParseStatus = null;
+    }
+
+    /**
+     * Returns the parse result of a Javadoc comment, unless the comment
+     * was parsed for the group already the result is taken from the cache.
+     * @param blockComment the block comment holding the Javadoc comment.
+     * @param parser the parser to parse the comment with if it is not cached.
+     * @return the parse result.
+     */
+    ParseStatus parse(DetailAST blockComment, JavadocDetailNodeParser parser) {
+        if (blockComment != lastParsedComment) {
+            if (parseCache == null) {
+                parseCache = new JavadocParseCache(JavadocParseCache.DEFAULT_MAX_SIZE);
+            }
+            lastParseStatus = parseCache.parse(blockComment, parser);
+            lastParsedComment = blockComment;
+        }
+        return lastParseStatus;
+    }
+
+    /**
+     * Walks the tree of a Javadoc comment for all checks of the group,
+     * unless it was walked for the group already.
+     * @param blockComment the block comment holding the Javadoc comment.
+     * @param root the root of the Javadoc tree.
+     */
+    void process(DetailAST blockComment, DetailNode root) {
+        if (blockComment != lastComment) {
+            lastComment = blockComment;
+            for (final AbstractJavadocCheck check : checks) {
+                check.setBlockCommentAst(blockComment);
+                check.beginJavadocTree(root);
+            }
+            walk(root);
+            for (final AbstractJavadocCheck check : checks) {
+                check.finishJavadocTree(root);
+            }
+        }
+    }
+
+    /**
+     * Walks a Javadoc tree in depth-first order, notifying the checks
+     * interested in each node when it is entered and when it is left.
+     * @param root the root of the tree.
+     */
+    private void walk(DetailNode root) {
+        DetailNode curNode = root;
+        while (curNode != null) {
+            notifyVisit(curNode);
+            DetailNode toVisit = JavadocUtils.getFirstChild(curNode);
+            while (curNode != null && toVisit == null) {
+                notifyLeave(curNode);
+                toVisit = JavadocUtils.getNextSibling(curNode);
+                if (toVisit == null) {
+                    curNode = curNode.getParent();
+                }
+            }
+            curNode = toVisit;
+        }
+    }
+
+    /**
+     * Notifies the checks interested in a node that it is entered.
+     * @param node the node.
+     */
+    private void notifyVisit(DetailNode node) {
+        final AbstractJavadocCheck[] typeChecks = getChecks(node);
+        if (typeChecks != null) {
+            for (final AbstractJavadocCheck check : typeChecks) {
+                check.visitJavadocToken(node);
+            }
+        }
+    }
+
+    /**
+     * Notifies the checks interested in a node that it is left.
+     * @param node the node.
+     */
+    private void notifyLeave(DetailNode node) {
+        final AbstractJavadocCheck[] typeChecks = getChecks(node);
+        if (typeChecks != null) {
+            for (final AbstractJavadocCheck check : typeChecks) {
+                check.leaveJavadocToken(node);
+            }
+        }
+    }
+
+    /**
+     * Looks up the checks interested in the type of a node.
+     * @param node the node.
+     * @return the checks, {@code null} if there are none.
+     */
+    private AbstractJavadocCheck[] getChecks(DetailNode node) {
+        final int index = node.getType() - JavadocTokenTypes.EOF;
+        AbstractJavadocCheck[] result = null;
+        if (index < checksByType.length) {
+            result = checksByType[index];
+        }
+        return result;
+    }
+}
@@ -101,6 +101,12 @@ public abstract class AbstractComplexityCheck
         this.max = max;
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        valueStack.clear();
+        currentValue = BigInteger.ZERO;
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
         switch (ast.getType()) {
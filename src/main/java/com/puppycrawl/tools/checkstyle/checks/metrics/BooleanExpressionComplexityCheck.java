@@ -113,6 +113,12 @@ public final class BooleanExpressionComplexityCheck extends AbstractCheck {
         this.max = max;
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        contextStack.clear();
+        context = new Context(false);
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
         switch (ast.getType()) {
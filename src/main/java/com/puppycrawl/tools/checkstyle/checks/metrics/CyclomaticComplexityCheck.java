@@ -140,6 +140,12 @@ public class CyclomaticComplexityCheck
         };
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        valueStack.clear();
+        currentValue = INITIAL_VALUE;
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
         switch (ast.getType()) {
@@ -119,6 +119,12 @@ public final class NPathComplexityCheck extends AbstractCheck {
         };
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        valueStack.clear();
+        currentValue = INITIAL_VALUE;
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
         switch (ast.getType()) {
@@ -48,8 +48,8 @@ public class RegexpMultilineCheck extends AbstractFileSetCheck {
     private MultilineDetector detector;
 
     @Override
-    public void beginProcessing(String charset) {
-        super.beginProcessing(charset);
+    public void init() {
+        super.init();
         final DetectorOptions options = DetectorOptions.newBuilder()
             .reporter(this)
             .compileFlags(Pattern.MULTILINE)
@@ -45,8 +45,8 @@ public class RegexpSinglelineCheck extends AbstractFileSetCheck {
     private SinglelineDetector detector;
 
     @Override
-    public void beginProcessing(String charset) {
-        super.beginProcessing(charset);
+    public void init() {
+        super.init();
         final DetectorOptions options = DetectorOptions.newBuilder()
             .reporter(this)
             .compileFlags(0)
@@ -106,6 +106,11 @@ public final class MethodCountCheck extends AbstractCheck {
         return new int[] {TokenTypes.METHOD_DEF};
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        counters.clear();
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
         if (ast.getType() == TokenTypes.METHOD_DEF) {
@@ -89,7 +89,7 @@ public abstract class AbstractParenPadCheck
      * @param ast the token representing a left parentheses
      */
     protected void processLeft(DetailAST ast) {
-        final String line = getLines()[ast.getLineNo() - 1];
+        final String line = getLine(ast.getLineNo() - 1);
         final int after = ast.getColumnNo() + 1;
         if (after < line.length()) {
             if (option == PadOption.NOSPACE
@@ -109,7 +109,7 @@ public abstract class AbstractParenPadCheck
      * @param ast the token representing a right parentheses
      */
     protected void processRight(DetailAST ast) {
-        final String line = getLines()[ast.getLineNo() - 1];
+        final String line = getLine(ast.getLineNo() - 1);
         final int before = ast.getColumnNo() - 1;
         if (before >= 0) {
             if (option == PadOption.NOSPACE
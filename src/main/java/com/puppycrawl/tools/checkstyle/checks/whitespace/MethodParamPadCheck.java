@@ -130,7 +130,7 @@ public class MethodParamPadCheck
         }
 
         if (parenAST != null) {
-            final String line = getLines()[parenAST.getLineNo() - 1];
+            final String line = getLine(parenAST.getLineNo() - 1);
             if (CommonUtils.hasWhitespaceBefore(parenAST.getColumnNo(), line)) {
                 if (!allowLineBreaks) {
                     log(parenAST, MSG_LINE_PREVIOUS, parenAST.getText());
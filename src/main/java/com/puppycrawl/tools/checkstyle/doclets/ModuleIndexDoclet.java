@@ -0,0 +1,206 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.doclets;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.sun.javadoc.ClassDoc;
+import com.sun.javadoc.ConstructorDoc;
+import com.sun.javadoc.DocErrorReporter;
+import com.sun.javadoc.RootDoc;
+
+/**
+ * Doclet which is used to write the index of the modules distributed with
+ * Checkstyle. The index is a property file mapping the short names a module
+ * can be configured with to the fully qualified name of its class, so
+ * {@link com.puppycrawl.tools.checkstyle.PackageObjectFactory} does not have
+ * to search the registered packages for the class of a built-in module.
+ * Short names shared by classes of several packages are left out of the
+ * index, they are resolved by the search.
+ * @author the original author or authors.
+ */
+public final class ModuleIndexDoclet {
+    /** Command line option to specify file to write output of the doclet. */
+    private static final String DEST_FILE_OPT = "-destfile";
+
+    /** The base class of all modules. */
+    private static final String MODULE_BASE_CLASS =
+        "com.puppycrawl.tools.checkstyle.api.AutomaticBean";
+
+    /** The suffix which can be omitted from the names of checks. */
+    private static final String CHECK_SUFFIX = "Check";
+
+    /** Stop instances being created. */
+    private ModuleIndexDoclet() {
+    }
+
+    /**
+     * The doclet's starter method.
+     * @param root {@code RootDoc} given to the doclet
+     * @return true if the given {@code RootDoc} is processed.
+     * @exception FileNotFoundException will be thrown if the doclet
+     *            will be unable to write to the specified file.
+     */
+    public static boolean start(RootDoc root)
+            throws FileNotFoundException {
+        final Map<String, String> index = new TreeMap<>();
+        final Set<String> ambiguousNames = new HashSet<>();
+        for (final ClassDoc classDoc : root.classes()) {
+            if (isModule(classDoc)) {
+                final String className = classDoc.qualifiedName();
+                final String name = classDoc.name();
+                addToIndex(index, ambiguousNames, name, className);
+                if (name.endsWith(CHECK_SUFFIX) && name.length() > CHECK_SUFFIX.length()) {
+                    addToIndex(index, ambiguousNames,
+                        name.substring(0, name.length() - CHECK_SUFFIX.length()), className);
+                }
+            }
+        }
+
+        final String fileName = getDestFileName(root.options());
+        final FileOutputStream fos = new FileOutputStream(fileName);
+        final Writer osw = new OutputStreamWriter(fos, StandardCharsets.ISO_8859_1);
+        final PrintWriter writer = new PrintWriter(osw, false);
+        try {
+            for (final Map.Entry<String, String> entry : index.entrySet()) {
+                writer.println(entry.getKey() + "=" + entry.getValue());
+            }
+        }
+        finally {
+            writer.close();
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether a class can be instantiated as a module.
+     * @param classDoc the class.
+     * @return true if the class is a top level, concrete module class.
+     */
+    private static boolean isModule(ClassDoc classDoc) {
+        boolean result = classDoc.isPublic() && !classDoc.isAbstract()
+            && classDoc.containingClass() == null && hasDefaultConstructor(classDoc);
+        if (result) {
+            ClassDoc superclass = classDoc.superclass();
+            while (superclass != null
+                    && !MODULE_BASE_CLASS.equals(superclass.qualifiedName())) {
+                superclass = superclass.superclass();
+            }
+            result = superclass != null;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether a class has a public constructor without parameters.
+     * @param classDoc the class.
+     * @return true if the class has a public constructor without parameters.
+     */
+    private static boolean hasDefaultConstructor(ClassDoc classDoc) {
+        boolean result = false;
+        for (final ConstructorDoc constructor : classDoc.constructors()) {
+            if (constructor.isPublic() && constructor.parameters().length == 0) {
+                result = true;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds a short name to the index, unless it is ambiguous.
+     * @param index the index.
+     * @param ambiguousNames short names of more than one class.
+     * @param name the short name.
+     * @param className the fully qualified name of the class.
+     */
+    private static void addToIndex(Map<String, String> index, Set<String> ambiguousNames,
+            String name, String className) {
+        if (!ambiguousNames.contains(name)) {
+            final String previous = index.put(name, className);
+            if (previous != null && !previous.equals(className)) {
+                index.remove(name);
+                ambiguousNames.add(name);
+            }
+        }
+    }
+
+    /**
+     * Returns option length (how many parts are in option).
+     * @param option option name to process
+     * @return option length (how many parts are in option).
+     */
+    public static int optionLength(String option) {
+        if (DEST_FILE_OPT.equals(option)) {
+            return 2;
+        }
+        return 0;
+    }
+
+    /**
+     * Checks that only valid options was specified.
+     * @param options all parsed options
+     * @param reporter the reporter to report errors.
+     * @return true if only valid options was specified
+     */
+    public static boolean checkOptions(String[][] options, DocErrorReporter reporter) {
+        boolean foundDestFileOption = false;
+        for (final String[] opt : options) {
+            if (DEST_FILE_OPT.equals(opt[0])) {
+                if (foundDestFileOption) {
+                    reporter.printError("Only one -destfile option allowed.");
+                    return false;
+                }
+                foundDestFileOption = true;
+            }
+        }
+        if (!foundDestFileOption) {
+            final String message =
+                "Usage: javadoc -destfile file -doclet ModuleIndexDoclet ...";
+            reporter.printError(message);
+        }
+        return foundDestFileOption;
+    }
+
+    /**
+     * Reads destination file name.
+     * @param options all specified options.
+     * @return destination file name
+     */
+    private static String getDestFileName(String[]... options) {
+        String fileName = null;
+        for (final String[] opt : options) {
+            if (DEST_FILE_OPT.equals(opt[0])) {
+                fileName = opt[1];
+            }
+        }
+        return fileName;
+    }
+}
@@ -96,6 +96,13 @@ class CsvFilter implements IntFilter {
         return false;
     }
 
+    @Override
+    public void addTo(IntRangeIndex.Builder builder) {
+        for (IntFilter filter : getFilters()) {
+            filter.addTo(builder);
+        }
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) {
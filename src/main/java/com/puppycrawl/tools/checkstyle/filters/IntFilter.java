@@ -30,4 +30,10 @@ interface IntFilter {
      * @return true if the intValue is accepted.
      */
     boolean accept(int intValue);
+
+    /**
+     * Adds the accepted Integers to an index of ranges.
+     * @param builder the builder of the index.
+     */
+    void addTo(IntRangeIndex.Builder builder);
 }
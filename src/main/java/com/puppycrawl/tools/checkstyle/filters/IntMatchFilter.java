@@ -40,6 +40,11 @@ class IntMatchFilter implements IntFilter {
         return matchValue == intValue;
     }
 
+    @Override
+    public void addTo(IntRangeIndex.Builder builder) {
+        builder.add(matchValue, matchValue);
+    }
+
     @Override
     public String toString() {
         return "IntMatchFilter[" + matchValue + "]";
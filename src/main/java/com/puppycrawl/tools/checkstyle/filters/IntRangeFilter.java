@@ -49,6 +49,11 @@ class IntRangeFilter implements IntFilter {
             && upperBound.compareTo(intValue) >= 0;
     }
 
+    @Override
+    public void addTo(IntRangeIndex.Builder builder) {
+        builder.add(lowerBound, upperBound);
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(lowerBound, upperBound);
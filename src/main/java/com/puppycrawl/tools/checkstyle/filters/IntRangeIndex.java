@@ -0,0 +1,124 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A union of integer ranges, kept as sorted disjoint ranges so a value is
+ * looked up by binary search rather than by testing every range.
+ * @author the original author or authors.
+ */
+final class IntRangeIndex {
+    /** The index without ranges. */
+    static final IntRangeIndex EMPTY = new IntRangeIndex(new int[0], new int[0]);
+
+    /** Sorted lower bounds of the disjoint ranges. */
+    private final int[] lowerBounds;
+
+    /** Upper bounds of the disjoint ranges, in the order of the lower bounds. */
+    private final int[] upperBounds;
+
+    /**
+     * Creates a new index.
+     * @param lowerBounds sorted lower bounds of the disjoint ranges.
+     * @param upperBounds upper bounds of the disjoint ranges.
+     */
+    private IntRangeIndex(int[] lowerBounds, int[] upperBounds) {
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+    }
+
+    /**
+     * Determines whether a value is in one of the ranges.
+     * @param value the value.
+     * @return true if the value is in one of the ranges.
+     */
+    boolean contains(int value) {
+        int index = Arrays.binarySearch(lowerBounds, value);
+        if (index < 0) {
+            // the range with the greatest lower bound below the value
+            index = -index - 2;
+        }
+        return index >= 0 && upperBounds[index] >= value;
+    }
+
+    /**
+     * Determines whether the index has no ranges.
+     * @return true if the index has no ranges.
+     */
+    boolean isEmpty() {
+        return lowerBounds.length == 0;
+    }
+
+    /**
+     * Collects ranges and merges them into an index.
+     */
+    static final class Builder {
+        /** The collected ranges as pairs of lower and upper bound. */
+        private final List<int[]> ranges = new ArrayList<>();
+
+        /**
+         * Adds a range, ranges with an upper bound below the lower bound are empty.
+         * @param lowerBound the lower bound of the range.
+         * @param upperBound the upper bound of the range.
+         * @return this builder.
+         */
+        Builder add(int lowerBound, int upperBound) {
+            if (lowerBound <= upperBound) {
+                ranges.add(new int[] {lowerBound, upperBound});
+            }
+            return this;
+        }
+
+        /**
+         * Merges the collected ranges into an index.
+         * @return the index.
+         */
+        IntRangeIndex build() {
+            final IntRangeIndex result;
+            if (ranges.isEmpty()) {
+                result = EMPTY;
+            }
+            else {
+                ranges.sort(Comparator.comparingInt(range -> range[0]));
+                final int[] lowerBounds = new int[ranges.size()];
+                final int[] upperBounds = new int[ranges.size()];
+                int count = 0;
+                for (final int[] range : ranges) {
+                    if (count > 0 && range[0] <= upperBounds[count - 1]) {
+                        upperBounds[count - 1] = Math.max(upperBounds[count - 1], range[1]);
+                    }
+                    else {
+                        lowerBounds[count] = range[0];
+                        upperBounds[count] = range[1];
+                        count++;
+                    }
+                }
+                result = new IntRangeIndex(Arrays.copyOf(lowerBounds, count),
+                    Arrays.copyOf(upperBounds, count));
+            }
+            return result;
+        }
+    }
+}
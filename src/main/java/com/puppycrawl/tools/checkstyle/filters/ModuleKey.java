@@ -0,0 +1,78 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import java.util.Objects;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+
+/**
+ * Identifies the module of an event by its source name and module id, the
+ * filters select the suppressions which can apply to a module once per key.
+ * @author the original author or authors.
+ */
+final class ModuleKey {
+    /** The name of the source of the event. */
+    private final String sourceName;
+
+    /** The id of the module, can be {@code null}. */
+    private final String moduleId;
+
+    /**
+     * Creates the key of the module of an event.
+     * @param event the event.
+     */
+    ModuleKey(AuditEvent event) {
+        sourceName = event.getSourceName();
+        moduleId = event.getModuleId();
+    }
+
+    /**
+     * @return the name of the source of the event.
+     */
+    String getSourceName() {
+        return sourceName;
+    }
+
+    /**
+     * @return the id of the module, can be {@code null}.
+     */
+    String getModuleId() {
+        return moduleId;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        final ModuleKey other = (ModuleKey) object;
+        return sourceName.equals(other.sourceName)
+            && Objects.equals(moduleId, other.moduleId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sourceName, moduleId);
+    }
+}
@@ -139,6 +139,55 @@ public class SuppressElement
                 && (columnFilter == null || !columnFilter.accept(event.getColumn()));
     }
 
+    /**
+     * Determines whether the element applies to a file.
+     * @param fileName the name of the file.
+     * @return true if the file name matches the files pattern.
+     */
+    boolean isMatchingFileName(String fileName) {
+        return fileRegexp.matcher(fileName).find();
+    }
+
+    /**
+     * Determines whether the element applies to the messages of a module.
+     * @param sourceName the name of the source of the messages.
+     * @param id the id of the module, can be {@code null}.
+     * @return true if the module matches the module id and the checks pattern.
+     */
+    boolean isMatchingModule(String sourceName, String id) {
+        return (moduleId == null || moduleId.equals(id))
+                && (checkRegexp == null || checkRegexp.matcher(sourceName).find());
+    }
+
+    /**
+     * Determines whether the element suppresses the messages of the file
+     * and the module it applies to regardless of their line and column.
+     * @return true if neither lines nor columns are set.
+     */
+    boolean isSuppressingAllPositions() {
+        return lineFilter == null && columnFilter == null;
+    }
+
+    /**
+     * Adds the suppressed lines to an index of ranges.
+     * @param builder the builder of the index.
+     */
+    void addLinesTo(IntRangeIndex.Builder builder) {
+        if (lineFilter != null) {
+            lineFilter.addTo(builder);
+        }
+    }
+
+    /**
+     * Adds the suppressed columns to an index of ranges.
+     * @param builder the builder of the index.
+     */
+    void addColumnsTo(IntRangeIndex.Builder builder) {
+        if (columnFilter != null) {
+            columnFilter.addTo(builder);
+        }
+    }
+
     /**
      * Is matching by file name and Check name.
      * @param event event
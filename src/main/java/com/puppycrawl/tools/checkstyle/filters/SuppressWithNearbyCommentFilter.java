@@ -23,7 +23,9 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -90,6 +92,9 @@ public class SuppressWithNearbyCommentFilter
     /** Tagged comments. */
     private final List<Tag> tags = new ArrayList<>();
 
+    /** The suppressions of the tags for a module, selected on the first event of the module. */
+    private final Map<ModuleKey, ModuleSuppressions> moduleSuppressions = new HashMap<>();
+
     /** Whether to look for trigger in C-style comments. */
     private boolean checkC = true;
 
@@ -224,12 +229,28 @@ public class SuppressWithNearbyCommentFilter
      * @return true if event matches any tag from {@link #tags}, false otherwise.
      */
     private boolean matchesTag(AuditEvent event) {
+        return moduleSuppressions.computeIfAbsent(new ModuleKey(event), this::selectTags)
+            .suppresses(event);
+    }
+
+    /**
+     * Merges the lines of the tags which match all events of a module and
+     * collects the tags which match them depending on the message.
+     * @param key the module.
+     * @return the suppressions of the module.
+     */
+    private ModuleSuppressions selectTags(ModuleKey key) {
+        final IntRangeIndex.Builder lines = new IntRangeIndex.Builder();
+        final List<Tag> messageTags = new ArrayList<>();
         for (final Tag tag : tags) {
-            if (tag.isMatch(event)) {
-                return true;
+            if (tag.isMatchingModule(key.getSourceName(), key.getModuleId())) {
+                lines.add(tag.firstLine, tag.lastLine);
+            }
+            else if (tag.tagMessageRegexp != null) {
+                messageTags.add(tag);
             }
         }
-        return false;
+        return new ModuleSuppressions(lines.build(), messageTags);
     }
 
     /**
@@ -238,6 +259,7 @@ public class SuppressWithNearbyCommentFilter
      */
     private void tagSuppressions() {
         tags.clear();
+        moduleSuppressions.clear();
         final FileContents contents = getFileContents();
         if (checkCPP) {
             tagSuppressions(contents.getCppComments().values());
@@ -431,10 +453,58 @@ public class SuppressWithNearbyCommentFilter
             return match;
         }
 
+        /**
+         * Determines whether this tag matches all events of a module on its
+         * lines, regardless of their message.
+         * @param sourceName the source name of the module.
+         * @param moduleId the id of the module, can be {@code null}.
+         * @return true if the tag matches events of the module on its lines.
+         */
+        boolean isMatchingModule(String sourceName, String moduleId) {
+            return tagCheckRegexp.matcher(sourceName).find()
+                || tagMessageRegexp == null && moduleId != null
+                    && tagCheckRegexp.matcher(moduleId).find();
+        }
+
         @Override
         public final String toString() {
             return "Tag[lines=[" + firstLine + " to " + lastLine
                 + "]; text='" + text + "']";
         }
     }
+
+    /**
+     * The lines on which the tags suppress all events of a module, and the
+     * tags which suppress events of the module only if the message matches.
+     */
+    private static final class ModuleSuppressions {
+        /** The merged lines of the tags matching all events of the module. */
+        private final IntRangeIndex lines;
+
+        /** The tags matching events of the module depending on the message. */
+        private final List<Tag> messageTags;
+
+        /**
+         * Creates new suppressions of a module.
+         * @param lines the merged lines of the tags matching all events.
+         * @param messageTags the tags matching events depending on the message.
+         */
+        ModuleSuppressions(IntRangeIndex lines, List<Tag> messageTags) {
+            this.lines = lines;
+            this.messageTags = messageTags;
+        }
+
+        /**
+         * Determines whether an event of the module is suppressed.
+         * @param event the event.
+         * @return true if a tag matches the event.
+         */
+        boolean suppresses(AuditEvent event) {
+            boolean result = lines.contains(event.getLine());
+            for (int i = 0; !result && i < messageTags.size(); i++) {
+                result = messageTags.get(i).isMatch(event);
+            }
+            return result;
+        }
+    }
 }
@@ -23,7 +23,9 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -78,6 +80,12 @@ public class SuppressionCommentFilter
     /** Tagged comments. */
     private final List<Tag> tags = new ArrayList<>();
 
+    /**
+     * The tagged comments which can match the events of a module, in the
+     * order of {@link #tags}, selected on the first event of the module.
+     */
+    private final Map<ModuleKey, List<Tag>> moduleTags = new HashMap<>();
+
     /** Whether to look in comments of the C type. */
     private boolean checkC = true;
 
@@ -209,17 +217,18 @@ public class SuppressionCommentFilter
     /**
      * Finds the nearest comment text tag that matches an audit event.
      * The nearest tag is before the line and column of the event.
+     * Only the tags which can match the module of the event are searched,
+     * the last of them before the event is found by binary search and
+     * is the match unless the tag has a message format.
      * @param event the {@code AuditEvent} to match.
      * @return The {@code Tag} nearest event.
      */
     private Tag findNearestMatch(AuditEvent event) {
+        final List<Tag> candidates =
+            moduleTags.computeIfAbsent(new ModuleKey(event), this::selectTags);
         Tag result = null;
-        for (Tag tag : tags) {
-            if (tag.getLine() > event.getLine()
-                || tag.getLine() == event.getLine()
-                    && tag.getColumn() > event.getColumn()) {
-                break;
-            }
+        for (int i = countTagsBefore(candidates, event) - 1; result == null && i >= 0; i--) {
+            final Tag tag = candidates.get(i);
             if (tag.isMatch(event)) {
                 result = tag;
             }
@@ -227,12 +236,53 @@ public class SuppressionCommentFilter
         return result;
     }
 
+    /**
+     * Selects the tags whose check format matches the source name or the
+     * module id of a module.
+     * @param key the module.
+     * @return the tags which can match events of the module.
+     */
+    private List<Tag> selectTags(ModuleKey key) {
+        final List<Tag> result = new ArrayList<>();
+        for (final Tag tag : tags) {
+            if (tag.isMatchingModule(key.getSourceName(), key.getModuleId())) {
+                result.add(tag);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the tags which are not after the line and column of an event.
+     * @param sortedTags tags in the order of their position.
+     * @param event the {@code AuditEvent}.
+     * @return the number of tags before the event.
+     */
+    private static int countTagsBefore(List<Tag> sortedTags, AuditEvent event) {
+        int low = 0;
+        int high = sortedTags.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final Tag tag = sortedTags.get(middle);
+            if (tag.getLine() < event.getLine()
+                || tag.getLine() == event.getLine()
+                    && tag.getColumn() <= event.getColumn()) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     /**
      * Collects all the suppression tags for all comments into a list and
      * sorts the list.
      */
     private void tagSuppressions() {
         tags.clear();
+        moduleTags.clear();
         final FileContents contents = getFileContents();
         if (checkCPP) {
             tagSuppressions(contents.getCppComments().values());
@@ -462,6 +512,19 @@ public class SuppressionCommentFilter
             return match;
         }
 
+        /**
+         * Determines whether the check regexp of this tag matches the source
+         * name or the module id of a module, only then the tag can match
+         * the events of the module.
+         * @param sourceName the source name of the module.
+         * @param moduleId the id of the module, can be {@code null}.
+         * @return true if the tag can match events of the module.
+         */
+        boolean isMatchingModule(String sourceName, String moduleId) {
+            return tagCheckRegexp.matcher(sourceName).find()
+                || moduleId != null && tagCheckRegexp.matcher(moduleId).find();
+        }
+
         @Override
         public final String toString() {
             return "Tag[line=" + line + "; col=" + column
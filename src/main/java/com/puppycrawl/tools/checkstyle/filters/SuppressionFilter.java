@@ -38,7 +38,9 @@ import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 /**
  * <p>
  * This filter accepts AuditEvents according to file, check, line, and
- * column, as specified in a suppression file.
+ * column, as specified in a suppression file. The suppressions which apply
+ * to a file and a check are selected once, so the number of suppressions
+ * does not multiply the cost of filtering every event.
  * </p>
  * @author Rick Giles
  * @author <a href="mailto:piotr.listkiewicz@gmail.com">liscju</a>
@@ -51,6 +53,8 @@ public class SuppressionFilter extends AutomaticBean implements Filter, External
     private boolean optional;
     /** Set of individual suppresses. */
     private FilterSet filters = new FilterSet();
+    /** Index of the individual suppresses. */
+    private SuppressionIndex index = new SuppressionIndex(filters.getFilters());
 
     /**
      * Sets name of the supression file.
@@ -70,7 +74,7 @@ public class SuppressionFilter extends AutomaticBean implements Filter, External
 
     @Override
     public boolean accept(AuditEvent event) {
-        return filters.accept(event);
+        return index.accept(event);
     }
 
     @Override
@@ -104,6 +108,7 @@ public class SuppressionFilter extends AutomaticBean implements Filter, External
             else {
                 filters = SuppressionsLoader.loadSuppressions(file);
             }
+            index = new SuppressionIndex(filters.getFilters());
         }
     }
 
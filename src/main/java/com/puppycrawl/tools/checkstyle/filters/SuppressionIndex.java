@@ -0,0 +1,224 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+
+/**
+ * Decides on events the way the {@link SuppressElement} elements of a
+ * suppressions file do, without evaluating every element for every event.
+ * The elements whose files pattern matches a file name are selected once
+ * per file name, the elements of these whose module id and checks pattern
+ * match a module are selected once per file name and module, and their
+ * lines and columns are merged into range indexes.
+ * @author the original author or authors.
+ */
+final class SuppressionIndex {
+    /** The suppressions of a module that suppress nothing. */
+    private static final Suppressions NO_SUPPRESSIONS =
+        new Suppressions(false, IntRangeIndex.EMPTY, IntRangeIndex.EMPTY);
+
+    /** The suppressions of a file to which no element applies. */
+    private static final FileSuppressions NO_FILE_SUPPRESSIONS =
+        new FileSuppressions(Collections.emptyList());
+
+    /** The suppression elements. */
+    private final List<SuppressElement> elements = new ArrayList<>();
+
+    /** Filters which are not suppression elements, they are asked for every event. */
+    private final List<Filter> otherFilters = new ArrayList<>();
+
+    /** The suppressions keyed by file name. */
+    private final ConcurrentMap<String, FileSuppressions> files = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new index.
+     * @param filters the filters of a suppressions file.
+     */
+    SuppressionIndex(Iterable<Filter> filters) {
+        for (final Filter filter : filters) {
+            if (filter instanceof SuppressElement) {
+                elements.add((SuppressElement) filter);
+            }
+            else {
+                otherFilters.add(filter);
+            }
+        }
+    }
+
+    /**
+     * Determines whether an event is accepted by all elements and filters.
+     * @param event the event.
+     * @return true if the event is accepted.
+     */
+    boolean accept(AuditEvent event) {
+        boolean result = true;
+        final String fileName = event.getFileName();
+        if (fileName != null && event.getLocalizedMessage() != null) {
+            result = !getFileSuppressions(fileName).get(event).suppresses(event);
+        }
+        for (int i = 0; result && i < otherFilters.size(); i++) {
+            result = otherFilters.get(i).accept(event);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the suppressions of a file, selecting them on the first request.
+     * @param fileName the name of the file.
+     * @return the suppressions of the file.
+     */
+    private FileSuppressions getFileSuppressions(String fileName) {
+        FileSuppressions result = files.get(fileName);
+        if (result == null) {
+            final List<SuppressElement> fileElements = new ArrayList<>();
+            for (final SuppressElement element : elements) {
+                if (element.isMatchingFileName(fileName)) {
+                    fileElements.add(element);
+                }
+            }
+            if (fileElements.isEmpty()) {
+                result = NO_FILE_SUPPRESSIONS;
+            }
+            else {
+                result = new FileSuppressions(fileElements);
+            }
+            final FileSuppressions previous = files.putIfAbsent(fileName, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The suppressions of a file, keyed by module.
+     */
+    private static final class FileSuppressions {
+        /** The elements which apply to the file. */
+        private final List<SuppressElement> elements;
+
+        /** The suppressions keyed by module. */
+        private final ConcurrentMap<ModuleKey, Suppressions> modules = new ConcurrentHashMap<>();
+
+        /**
+         * Creates new suppressions of a file.
+         * @param elements the elements which apply to the file.
+         */
+        FileSuppressions(List<SuppressElement> elements) {
+            this.elements = elements;
+        }
+
+        /**
+         * Returns the suppressions of the module of an event, selecting them
+         * on the first request.
+         * @param event the event.
+         * @return the suppressions of the module.
+         */
+        Suppressions get(AuditEvent event) {
+            Suppressions result = NO_SUPPRESSIONS;
+            if (!elements.isEmpty()) {
+                final ModuleKey key = new ModuleKey(event);
+                result = modules.get(key);
+                if (result == null) {
+                    result = Suppressions.create(elements, key);
+                    final Suppressions previous = modules.putIfAbsent(key, result);
+                    if (previous != null) {
+                        result = previous;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The positions suppressed by the elements which apply to a file and a module.
+     */
+    private static final class Suppressions {
+        /** Whether an element suppresses all positions. */
+        private final boolean allPositions;
+
+        /** The suppressed lines. */
+        private final IntRangeIndex lines;
+
+        /** The suppressed columns. */
+        private final IntRangeIndex columns;
+
+        /**
+         * Creates new suppressions.
+         * @param allPositions whether an element suppresses all positions.
+         * @param lines the suppressed lines.
+         * @param columns the suppressed columns.
+         */
+        Suppressions(boolean allPositions, IntRangeIndex lines, IntRangeIndex columns) {
+            this.allPositions = allPositions;
+            this.lines = lines;
+            this.columns = columns;
+        }
+
+        /**
+         * Merges the positions suppressed by the elements which apply to a module.
+         * @param elements the elements which apply to the file.
+         * @param key the module.
+         * @return the suppressions.
+         */
+        static Suppressions create(List<SuppressElement> elements, ModuleKey key) {
+            boolean allPositions = false;
+            final IntRangeIndex.Builder lines = new IntRangeIndex.Builder();
+            final IntRangeIndex.Builder columns = new IntRangeIndex.Builder();
+            for (final SuppressElement element : elements) {
+                if (element.isMatchingModule(key.getSourceName(), key.getModuleId())) {
+                    allPositions |= element.isSuppressingAllPositions();
+                    element.addLinesTo(lines);
+                    element.addColumnsTo(columns);
+                }
+            }
+            final Suppressions result;
+            final IntRangeIndex lineIndex = lines.build();
+            final IntRangeIndex columnIndex = columns.build();
+            if (allPositions || !lineIndex.isEmpty() || !columnIndex.isEmpty()) {
+                result = new Suppressions(allPositions, lineIndex, columnIndex);
+            }
+            else {
+                result = NO_SUPPRESSIONS;
+            }
+            return result;
+        }
+
+        /**
+         * Determines whether an event is at a suppressed position.
+         * @param event the event.
+         * @return true if the event is suppressed.
+         */
+        boolean suppresses(AuditEvent event) {
+            return allPositions
+                || lines.contains(event.getLine())
+                || columns.contains(event.getColumn());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+
+public class AsyncAuditListenerTest {
+    @Test
+    public void testDeliversInOrderOnReportingThread() {
+        final RecordingListener first = new RecordingListener();
+        final RecordingListener second = new RecordingListener();
+        final AsyncAuditListener listener =
+            new AsyncAuditListener(Arrays.asList(first, second), 1);
+
+        listener.auditStarted(new AuditEvent(this));
+        for (int i = 0; i < 20; i++) {
+            final String fileName = "File" + i + ".java";
+            listener.fileStarted(new AuditEvent(this, fileName));
+            listener.addError(new AuditEvent(this, fileName, createMessage(i)));
+            listener.addException(new AuditEvent(this, fileName), new IllegalStateException());
+            listener.fileFinished(new AuditEvent(this, fileName));
+        }
+        listener.auditFinished(new AuditEvent(this));
+
+        final List<String> expected = new ArrayList<>();
+        expected.add("auditStarted");
+        for (int i = 0; i < 20; i++) {
+            final String fileName = "File" + i + ".java";
+            expected.add("fileStarted " + fileName);
+            expected.add("addError " + fileName + ":" + (i + 1));
+            expected.add("addException " + fileName);
+            expected.add("fileFinished " + fileName);
+        }
+        expected.add("auditFinished");
+        assertEquals("Invalid notifications", expected, first.notifications);
+        assertEquals("Invalid notifications", expected, second.notifications);
+        assertNotEquals("Listeners should be notified on another thread",
+            Thread.currentThread(), first.thread);
+    }
+
+    @Test
+    public void testRethrowsListenerException() {
+        final AsyncAuditListener listener = new AsyncAuditListener(
+            Collections.singletonList(new RecordingListener() {
+                @Override
+                public void fileStarted(AuditEvent event) {
+                    throw new IllegalArgumentException("failed");
+                }
+            }), 1);
+
+        listener.auditStarted(new AuditEvent(this));
+        listener.fileStarted(new AuditEvent(this, "File.java"));
+        listener.fileFinished(new AuditEvent(this, "File.java"));
+        try {
+            listener.auditFinished(new AuditEvent(this));
+            fail("Exception is expected");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid exception message", "failed", ex.getMessage());
+        }
+        // the reporting thread is stopped already
+        listener.close();
+    }
+
+    @Test
+    public void testRethrowsListenerError() {
+        final AsyncAuditListener listener = new AsyncAuditListener(
+            Collections.singletonList(new RecordingListener() {
+                @Override
+                public void auditStarted(AuditEvent event) {
+                    throw new AssertionError("failed");
+                }
+            }), 1);
+        try {
+            listener.auditStarted(new AuditEvent(this));
+            listener.auditFinished(new AuditEvent(this));
+            fail("Error is expected");
+        }
+        catch (AssertionError ex) {
+            assertEquals("Invalid error message", "failed", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testCloseDeliversPendingNotifications() {
+        final RecordingListener recorder = new RecordingListener();
+        final AsyncAuditListener listener =
+            new AsyncAuditListener(Collections.singletonList(recorder), 1);
+        listener.auditStarted(new AuditEvent(this));
+        listener.fileStarted(new AuditEvent(this, "File.java"));
+        listener.close();
+        assertEquals("Invalid notifications",
+            Arrays.asList("auditStarted", "fileStarted File.java"), recorder.notifications);
+    }
+
+    private static LocalizedMessage createMessage(int index) {
+        return new LocalizedMessage(index + 1, "bundle", "key", null, null,
+            AsyncAuditListenerTest.class, "message");
+    }
+
+    private static class RecordingListener implements AuditListener {
+        private final List<String> notifications = new ArrayList<>();
+        private Thread thread;
+
+        @Override
+        public void auditStarted(AuditEvent event) {
+            record("auditStarted");
+        }
+
+        @Override
+        public void auditFinished(AuditEvent event) {
+            record("auditFinished");
+        }
+
+        @Override
+        public void fileStarted(AuditEvent event) {
+            record("fileStarted " + event.getFileName());
+        }
+
+        @Override
+        public void fileFinished(AuditEvent event) {
+            record("fileFinished " + event.getFileName());
+        }
+
+        @Override
+        public void addError(AuditEvent event) {
+            record("addError " + event.getFileName() + ":" + event.getLine());
+        }
+
+        @Override
+        public void addException(AuditEvent event, Throwable throwable) {
+            record("addException " + event.getFileName());
+        }
+
+        private void record(String notification) {
+            thread = Thread.currentThread();
+            notifications.add(notification);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.ByteStreams;
+import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.checks.naming.ConstantNameCheck;
+import com.puppycrawl.tools.checkstyle.checks.sizes.FileLengthCheck;
+
+public class CheckerDaemonTest {
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final int REQUEST_TIMEOUT_MILLIS = 100;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Checker checker;
+
+    private CheckerDaemon daemon;
+
+    @Before
+    public void setUp() throws CheckstyleException {
+        final DefaultConfiguration checkConfig =
+            new DefaultConfiguration(FileLengthCheck.class.getName());
+        checkConfig.addAttribute("max", "1");
+        final DefaultConfiguration treeWalkerConfig =
+            new DefaultConfiguration(TreeWalker.class.getName());
+        treeWalkerConfig.addChild(new DefaultConfiguration(ConstantNameCheck.class.getName()));
+        final DefaultConfiguration config = new DefaultConfiguration("configuration");
+        config.addChild(treeWalkerConfig);
+        config.addChild(checkConfig);
+        checker = new Checker();
+        checker.setLocaleCountry(Locale.ROOT.getCountry());
+        checker.setLocaleLanguage(Locale.ROOT.getLanguage());
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(config);
+        daemon = new CheckerDaemon(checker, out -> new NdjsonLogger(out, false));
+    }
+
+    @After
+    public void tearDown() {
+        checker.destroy();
+    }
+
+    @Test
+    public void testCheckReportsToGivenStream() throws Exception {
+        final File file = createFile("A.java", "class A {\n}\n");
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        assertEquals("Invalid number of errors", 1,
+            daemon.check(Collections.singletonList(file), first));
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        assertEquals("Invalid number of errors", 0,
+            daemon.check(Collections.singletonList(createFile("B.java", "")), second));
+
+        final String firstReport = first.toString(StandardCharsets.UTF_8.name());
+        assertTrue("First report should contain the error", firstReport.contains(
+            "\"message\":\"File length is 2 lines (max allowed is 1).\""));
+        assertFalse("First report should not contain second audit",
+            firstReport.contains("B.java"));
+        final String secondReport = second.toString(StandardCharsets.UTF_8.name());
+        assertTrue("Second report should contain the file", secondReport.contains("B.java"));
+        assertFalse("Second report should not contain errors",
+            secondReport.contains("\"type\":\"error\""));
+    }
+
+    @Test
+    public void testServe() throws Exception {
+        final File file = createFile("A.java", "class A {\n}\n");
+        try (ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            final Thread server = new Thread(() -> daemon.serve(serverSocket));
+            server.start();
+
+            assertTrue("Report should contain the error", request(serverSocket.getLocalPort(),
+                file.getAbsolutePath() + "\n\n").contains("File length is 2 lines"));
+            assertTrue("Report should end the audit", request(serverSocket.getLocalPort(),
+                file.getAbsolutePath()).endsWith("{\"type\":\"auditEnd\"}\n"));
+
+            serverSocket.close();
+            server.join(TIMEOUT_MILLIS);
+            assertFalse("Server should stop when the socket is closed", server.isAlive());
+        }
+    }
+
+    @Test
+    public void testServeRepliesWithErrorWhenRequestTimesOut() throws Exception {
+        final File file = createFile("A.java", "class A {\n}\n");
+        daemon.setRequestTimeout(REQUEST_TIMEOUT_MILLIS);
+        try (ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            final Thread server = new Thread(() -> daemon.serve(serverSocket));
+            server.start();
+
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(),
+                    serverSocket.getLocalPort())) {
+                final String reply = new String(ByteStreams.toByteArray(socket.getInputStream()),
+                    StandardCharsets.UTF_8);
+                assertTrue("Reply should report the timeout",
+                    reply.contains(CheckerDaemon.ERROR_PREFIX + "Timed out"));
+            }
+            assertTrue("Daemon should serve the next client", request(serverSocket.getLocalPort(),
+                file.getAbsolutePath()).contains("File length is 2 lines"));
+
+            serverSocket.close();
+            server.join(TIMEOUT_MILLIS);
+        }
+    }
+
+    @Test
+    public void testServeRepliesWithErrorWhenAuditFails() throws Exception {
+        final File file = createFile("A.java", "class A {\n}\n");
+        checker.addFileSetCheck(new AbstractFileSetCheck() {
+            @Override
+            protected void processFiltered(File checkedFile, List<String> lines) {
+                throw new IllegalStateException("broken check");
+            }
+        });
+        try (ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            final Thread server = new Thread(() -> daemon.serve(serverSocket));
+            server.start();
+
+            final String reply = request(serverSocket.getLocalPort(), file.getAbsolutePath());
+            assertTrue("Reply should end with the error", reply.endsWith(
+                CheckerDaemon.ERROR_PREFIX + "Exception was thrown while processing "
+                    + file.getAbsolutePath() + System.lineSeparator()));
+
+            serverSocket.close();
+            server.join(TIMEOUT_MILLIS);
+        }
+    }
+
+    @Test
+    public void testWatch() throws Exception {
+        final File root = temporaryFolder.newFolder("root");
+        final File excluded = temporaryFolder.newFolder("root", "excluded");
+        final File file = createFile("Single.java", "");
+        final File unwatched = createFile("Unwatched.java", "");
+        final SynchronizedOutputStream out = new SynchronizedOutputStream();
+        final Thread watcher = new Thread(() -> {
+            try {
+                daemon.watch(Arrays.asList(root, file),
+                    directory -> !directory.equals(excluded), out);
+            }
+            catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        watcher.start();
+        try {
+            final File subdirectory = new File(root, "sub");
+            awaitReport(out, () -> {
+                Files.write(unwatched.toPath(), "class A {\n}\n".getBytes(StandardCharsets.UTF_8));
+                Files.write(new File(excluded, "C.java").toPath(),
+                    "class C {\n}\n".getBytes(StandardCharsets.UTF_8));
+                assertTrue("Directory should be created",
+                    subdirectory.isDirectory() || subdirectory.mkdir());
+                Files.write(new File(subdirectory, "B.java").toPath(),
+                    "class B {\n}\n".getBytes(StandardCharsets.UTF_8));
+                Files.write(file.toPath(), "class A {\n}\n".getBytes(StandardCharsets.UTF_8));
+            }, "B.java", "Single.java");
+
+            final String report = out.toString();
+            assertTrue("Report should contain the error", report.contains("File length"));
+            assertFalse("Unwatched file should not be checked", report.contains("Unwatched"));
+            assertFalse("Excluded directory should not be checked", report.contains("C.java"));
+        }
+        finally {
+            watcher.interrupt();
+            watcher.join(TIMEOUT_MILLIS);
+        }
+        assertFalse("Watcher should stop when interrupted", watcher.isAlive());
+    }
+
+    @Test
+    public void testWatchGoesOnAfterFailedAudit() throws Exception {
+        final File root = temporaryFolder.newFolder("root");
+        final File file = new File(root, "A.java");
+        final SynchronizedOutputStream out = new SynchronizedOutputStream();
+        final Thread watcher = new Thread(() -> {
+            try {
+                daemon.watch(Collections.singletonList(root), directory -> true, out);
+            }
+            catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        watcher.start();
+        try {
+            awaitReport(out, () -> Files.write(file.toPath(),
+                "class A { String s = \"ab".getBytes(StandardCharsets.UTF_8)),
+                CheckerDaemon.ERROR_PREFIX);
+            awaitReport(out, () -> Files.write(file.toPath(),
+                "class A {\n}\n".getBytes(StandardCharsets.UTF_8)), "File length");
+
+            final String report = out.toString();
+            assertTrue("Failed audit should be reported before the next one",
+                report.indexOf(CheckerDaemon.ERROR_PREFIX + "Exception was thrown while processing")
+                    < report.indexOf("File length"));
+            assertTrue("Watcher should keep running after a failed audit", watcher.isAlive());
+        }
+        finally {
+            watcher.interrupt();
+            watcher.join(TIMEOUT_MILLIS);
+        }
+        assertFalse("Watcher should stop when interrupted", watcher.isAlive());
+    }
+
+    private File createFile(String name, String content) throws IOException {
+        final File file = temporaryFolder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String request(int port, String request) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            final OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            socket.shutdownOutput();
+            final InputStream in = socket.getInputStream();
+            return new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Repeats changing files until the report mentions all expected files,
+     * the watch service may miss changes made before it watches a directory.
+     */
+    private static void awaitReport(SynchronizedOutputStream out, FileChange change,
+            String... expectedFiles) throws Exception {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        boolean reported = false;
+        while (!reported && System.currentTimeMillis() < deadline) {
+            change.apply();
+            Thread.sleep(200);
+            final String report = out.toString();
+            reported = Arrays.stream(expectedFiles).allMatch(report::contains);
+        }
+        assertTrue("Changed files should be checked", reported);
+    }
+
+    @FunctionalInterface
+    private interface FileChange {
+        void apply() throws IOException;
+    }
+
+    private static class SynchronizedOutputStream extends ByteArrayOutputStream {
+        @Override
+        public synchronized String toString() {
+            return new String(toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
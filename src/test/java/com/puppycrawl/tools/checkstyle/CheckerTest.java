@@ -27,18 +27,32 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOError;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -47,13 +61,22 @@ import org.powermock.api.mockito.PowerMockito;
 
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import com.puppycrawl.tools.checkstyle.api.ExternalResourceHolder;
 import com.puppycrawl.tools.checkstyle.api.Filter;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.checks.FileContentsHolder;
+import com.puppycrawl.tools.checkstyle.checks.LineSeparatorOption;
+import com.puppycrawl.tools.checkstyle.checks.NewlineAtEndOfFileCheck;
+import com.puppycrawl.tools.checkstyle.checks.TodoCommentCheck;
 import com.puppycrawl.tools.checkstyle.checks.TranslationCheck;
+import com.puppycrawl.tools.checkstyle.checks.UniquePropertiesCheck;
 import com.puppycrawl.tools.checkstyle.checks.coding.HiddenFieldCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.ConstantNameCheck;
+import com.puppycrawl.tools.checkstyle.checks.sizes.FileLengthCheck;
+import com.puppycrawl.tools.checkstyle.filters.SuppressionCommentFilter;
 import com.puppycrawl.tools.checkstyle.filters.SuppressionFilter;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
@@ -677,6 +700,643 @@ public class CheckerTest extends BaseCheckTestSupport {
         verify(checker, pathToEmptyFile, expected);
     }
 
+    @Test
+    public void testParallelProcessingMatchesSequential() throws Exception {
+        final List<File> files = createInputFiles(40);
+
+        final ByteArrayOutputStream sequentialOutput = new ByteArrayOutputStream();
+        final int sequentialErrors = processWithThreads(files, 1, null, sequentialOutput);
+        final ByteArrayOutputStream parallelOutput = new ByteArrayOutputStream();
+        final int parallelErrors = processWithThreads(files, 4, null, parallelOutput);
+
+        assertTrue("Violations are expected", sequentialErrors > 0);
+        assertEquals("Invalid number of errors", sequentialErrors, parallelErrors);
+        assertEquals("Parallel output should match sequential output",
+                sequentialOutput.toString(StandardCharsets.UTF_8.name()),
+                parallelOutput.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void testAsyncReportingMatchesSynchronous() throws Exception {
+        final List<File> files = createInputFiles(40);
+
+        final ByteArrayOutputStream synchronousOutput = new ByteArrayOutputStream();
+        final int synchronousErrors = processWithThreads(files, 1, null, synchronousOutput);
+        final ByteArrayOutputStream asyncOutput = new ByteArrayOutputStream();
+        final int asyncErrors = process(files, 1, 2, asyncOutput);
+        final ByteArrayOutputStream asyncParallelOutput = new ByteArrayOutputStream();
+        final int asyncParallelErrors = process(files, 4, 2, asyncParallelOutput);
+
+        assertTrue("Violations are expected", synchronousErrors > 0);
+        assertEquals("Invalid number of errors", synchronousErrors, asyncErrors);
+        assertEquals("Invalid number of errors", synchronousErrors, asyncParallelErrors);
+        assertEquals("Async output should match synchronous output",
+                synchronousOutput.toString(StandardCharsets.UTF_8.name()),
+                asyncOutput.toString(StandardCharsets.UTF_8.name()));
+        assertEquals("Async parallel output should match synchronous output",
+                synchronousOutput.toString(StandardCharsets.UTF_8.name()),
+                asyncParallelOutput.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void testAsyncReportingRethrowsListenerException() throws Exception {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), "class Input { static final int bad = 0; }\n"
+                .getBytes(StandardCharsets.UTF_8));
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createCheckConfig(ConstantNameCheck.class));
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyle_checks");
+        checkerConfig.addAttribute("reportingQueueSize", "1");
+        checkerConfig.addChild(treeWalkerConfig);
+
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addListener(new DebugAuditAdapter() {
+            @Override
+            public void addError(AuditEvent event) {
+                throw new IllegalStateException("listener failed");
+            }
+        });
+        try {
+            checker.process(Collections.singletonList(file));
+            fail("Exception is expected");
+        }
+        catch (IllegalStateException ex) {
+            assertEquals("Invalid exception message", "listener failed", ex.getMessage());
+        }
+        finally {
+            checker.destroy();
+        }
+    }
+
+    @Test
+    public void testParallelProcessingAppliesProgrammaticFilters() throws Exception {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), "class Input { static final int bad = 0; }\n"
+                .getBytes(StandardCharsets.UTF_8));
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createCheckConfig(ConstantNameCheck.class));
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyle_checks");
+        checkerConfig.addAttribute("threads", "2");
+        checkerConfig.addChild(treeWalkerConfig);
+
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        final DebugFilter filter = new DebugFilter();
+        checker.addFilter(filter);
+        checker.addListener(new DebugAuditAdapter());
+
+        assertEquals("Invalid number of errors", 1, checker.process(Arrays.asList(file)));
+        assertTrue("Programmatic filter should be called", filter.wasCalled());
+        checker.destroy();
+    }
+
+    @Test
+    public void testParallelProcessingException() throws Exception {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), " class a%$# {} ".getBytes(StandardCharsets.UTF_8));
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createCheckConfig(ConstantNameCheck.class));
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyle_checks");
+        checkerConfig.addAttribute("threads", "2");
+        checkerConfig.addChild(treeWalkerConfig);
+
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        try {
+            checker.process(Arrays.asList(file));
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertEquals("Invalid exception message",
+                    "Exception was thrown while processing " + file.getPath(), ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testRepeatedProcessReusesModules() throws Exception {
+        verifyRepeatedProcess(1);
+    }
+
+    @Test
+    public void testRepeatedProcessReusesModulesInParallelMode() throws Exception {
+        verifyRepeatedProcess(4);
+    }
+
+    private void verifyRepeatedProcess(int threads) throws Exception {
+        final List<File> files = createInputFiles(20);
+        final ByteArrayOutputStream expectedOutput = new ByteArrayOutputStream();
+        final int expectedErrors = processWithThreads(files, threads, null, expectedOutput);
+
+        LifecycleCounter.reset();
+        final Checker checker = createSessionChecker(threads);
+        final DebugAuditAdapter registeredListener = new DebugAuditAdapter();
+        checker.addListener(registeredListener);
+
+        final ByteArrayOutputStream firstOutput = new ByteArrayOutputStream();
+        assertEquals("Invalid number of errors", expectedErrors, checker.process(files,
+                Collections.singletonList(new DefaultLogger(firstOutput, false))));
+        final ByteArrayOutputStream secondOutput = new ByteArrayOutputStream();
+        assertEquals("Invalid number of errors", expectedErrors, checker.process(files,
+                Collections.singletonList(new DefaultLogger(secondOutput, false))));
+
+        final String expected = expectedOutput.toString(StandardCharsets.UTF_8.name());
+        assertEquals("First run should be reported to its listener only", expected,
+                firstOutput.toString(StandardCharsets.UTF_8.name()));
+        assertEquals("Second run should be reported to its listener only", expected,
+                secondOutput.toString(StandardCharsets.UTF_8.name()));
+        assertTrue("Registered listener should be notified", registeredListener.wasCalled());
+        assertEquals("Modules should be initialized once", 1, LifecycleCounter.getInits());
+        assertEquals("Processing should begin in every run", 2,
+                LifecycleCounter.getBeginnings());
+        assertEquals("Modules should be kept between runs", 0,
+                LifecycleCounter.getDestructions());
+
+        checker.destroy();
+        assertEquals("Modules should be destroyed with the checker", 1,
+                LifecycleCounter.getDestructions());
+    }
+
+    @Test
+    public void testProcessSourceMatchesProcessedFiles() throws Exception {
+        final List<File> files = createInputFiles(20);
+        final Checker checker = createSessionChecker(1);
+        final ErrorCollector collector = new ErrorCollector();
+        checker.process(files, Collections.singletonList(collector));
+        final Map<String, String> contents = new HashMap<>();
+        for (final File file : files) {
+            contents.put(file.getPath(),
+                new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        }
+        final DebugAuditAdapter registeredListener = new DebugAuditAdapter();
+        checker.addListener(registeredListener);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                for (final File file : files) {
+                    results.add(executor.submit(() -> ErrorCollector.format(
+                        checker.processSource(file.getPath(), contents.get(file.getPath())))));
+                }
+            }
+            for (int i = 0; i < results.size(); i++) {
+                final String path = files.get(i % files.size()).getAbsolutePath();
+                assertEquals("Invalid errors of " + path, collector.getErrors(path),
+                    results.get(i).get());
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+        assertFalse("Listeners should not be notified", registeredListener.wasCalled());
+        checker.destroy();
+    }
+
+    @Test
+    public void testThreadsAreLimited() throws Exception {
+        final Checker checker = new Checker();
+        checker.setThreads(Integer.MAX_VALUE);
+        final Field field = Checker.class.getDeclaredField("threads");
+        field.setAccessible(true);
+        assertEquals("Threads should be limited", Checker.getMaxThreads(), field.get(checker));
+    }
+
+    @Test
+    public void testProcessSourceOfOtherExtension() throws Exception {
+        final Checker checker = createSessionChecker(1);
+        checker.setFileExtensions("java");
+        assertTrue("Sources of other extensions should not be processed",
+            checker.processSource("Input.txt", " class a%$# {} ").isEmpty());
+        checker.destroy();
+    }
+
+    @Test
+    public void testProcessSourceException() throws Exception {
+        final Checker checker = createSessionChecker(1);
+        try {
+            checker.processSource("Input.java", " class a%$# {} ");
+            fail("Exception is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertEquals("Invalid exception message",
+                    "Exception was thrown while processing Input.java", ex.getMessage());
+        }
+        assertEquals("Checker should process further sources", 1,
+            checker.processSource("Input.java",
+                "class Input {\n    public static final int bad = 0;\n}\n").size());
+        checker.destroy();
+    }
+
+    @Test
+    public void testProcessSourceDoesNotReadFile() throws Exception {
+        final DefaultConfiguration newlineConfig =
+            createCheckConfig(NewlineAtEndOfFileCheck.class);
+        newlineConfig.addAttribute("lineSeparator", LineSeparatorOption.LF.toString());
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyle_checks");
+        checkerConfig.addChild(newlineConfig);
+        checkerConfig.addChild(createCheckConfig(UniquePropertiesCheck.class));
+        checkerConfig.addChild(createCheckConfig(TranslationCheck.class));
+        final Checker checker = new Checker();
+        checker.setLocaleCountry(Locale.ROOT.getCountry());
+        checker.setLocaleLanguage(Locale.ROOT.getLanguage());
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+
+        final File file = new File("/nonexistent/Foo.java").getAbsoluteFile();
+        assertTrue("Source ending with a newline should be accepted",
+            checker.processSource(file.getPath(), "class Foo {}\n").isEmpty());
+        assertEquals("Missing newline should be reported",
+            Collections.singletonList("0:0 File does not end with a newline."),
+            ErrorCollector.format(checker.processSource(file.getPath(), "class Foo {}")));
+
+        final File properties = new File("/nonexistent/messages_de.properties").getAbsoluteFile();
+        assertEquals("Duplicated key should be reported, translations should not be compared",
+            Collections.singletonList("1:0 Duplicated property 'a' (2 occurrence(s))."),
+            ErrorCollector.format(checker.processSource(properties.getPath(), "a=1\na=2\n")));
+        checker.destroy();
+    }
+
+    @Test
+    public void testProcessSourceBeginsAndFinishesProcessing() throws Exception {
+        final Checker checker = createSessionChecker(1);
+        LifecycleCounter.reset();
+        checker.processSource("Input.java", "class Input {\n}\n");
+        checker.processSource("Input.java", "class Input {\n}\n");
+        assertEquals("Every source should begin processing", 2,
+            LifecycleCounter.getBeginnings());
+        checker.destroy();
+    }
+
+    private static Checker createSessionChecker(int threads) throws Exception {
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createCheckConfig(ConstantNameCheck.class));
+        treeWalkerConfig.addChild(createCheckConfig(FileContentsHolder.class));
+        final DefaultConfiguration fileLengthConfig = createCheckConfig(FileLengthCheck.class);
+        fileLengthConfig.addAttribute("max", "5");
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyle_checks");
+        checkerConfig.addAttribute("threads", String.valueOf(threads));
+        checkerConfig.addChild(treeWalkerConfig);
+        checkerConfig.addChild(fileLengthConfig);
+        checkerConfig.addChild(createCheckConfig(SuppressionCommentFilter.class));
+        checkerConfig.addChild(createCheckConfig(LifecycleCounter.class));
+
+        final Checker checker = new Checker();
+        checker.setLocaleCountry(Locale.ROOT.getCountry());
+        checker.setLocaleLanguage(Locale.ROOT.getLanguage());
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        return checker;
+    }
+
+    @Test
+    public void testProfilingListener() throws Exception {
+        verifyProfile(1);
+    }
+
+    @Test
+    public void testProfilingListenerInParallelMode() throws Exception {
+        verifyProfile(2);
+    }
+
+    private void verifyProfile(int threads) throws Exception {
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final File file = temporaryFolder.newFile("Input" + i + ".java");
+            Files.write(file.toPath(), ("class Input" + i + " { static final int bad = 0; }\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+        final DefaultConfiguration constantNameConfig =
+                createCheckConfig(ConstantNameCheck.class);
+        constantNameConfig.addAttribute("id", "constants");
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(constantNameConfig);
+        treeWalkerConfig.addChild(createCheckConfig(FileContentsHolder.class));
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyle_checks");
+        checkerConfig.addAttribute("threads", String.valueOf(threads));
+        checkerConfig.addChild(treeWalkerConfig);
+        checkerConfig.addChild(createCheckConfig(FileLengthCheck.class));
+        checkerConfig.addChild(createCheckConfig(FileLengthCheck.class));
+        checkerConfig.addChild(createCheckConfig(SuppressionCommentFilter.class));
+
+        final List<Profiler.Entry> profile = new ArrayList<>();
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.addProfilingListener(profile::addAll);
+        checker.configure(checkerConfig);
+        checker.addListener(new DefaultLogger(new ByteArrayOutputStream(), false));
+        assertEquals("Invalid number of errors", 3, checker.process(files));
+        checker.destroy();
+
+        assertEquals("Invalid parse invocations", 3,
+                getEntry(profile, Profiler.Category.PARSE, "TreeWalker").getInvocations());
+        // beginTree, visitToken and leaveToken of the constant, finishTree
+        assertEquals("Invalid check invocations", 12,
+                getEntry(profile, Profiler.Category.CHECK, "constants").getInvocations());
+        assertEquals("Invalid fileset check invocations", 3, getEntry(profile,
+                Profiler.Category.FILESET_CHECK, "FileLengthCheck").getInvocations());
+        assertEquals("Second fileset check should have its own entry", 3, getEntry(profile,
+                Profiler.Category.FILESET_CHECK, "FileLengthCheck#2").getInvocations());
+        assertEquals("Invalid filter invocations", 3, getEntry(profile,
+                Profiler.Category.FILTER, "SuppressionCommentFilter").getInvocations());
+        for (final Profiler.Entry entry : profile) {
+            assertTrue("Time should be recorded", entry.getTime() > 0);
+        }
+    }
+
+    private static Profiler.Entry getEntry(List<Profiler.Entry> profile,
+            Profiler.Category category, String name) {
+        return profile.stream()
+                .filter(entry -> entry.getCategory() == category && entry.getName().equals(name))
+                .findFirst().orElseThrow(() -> new AssertionError("No entry for " + name));
+    }
+
+    @Test
+    public void testTreeWalkersShareParseResults() throws Exception {
+        verifySharedParseResults(1);
+    }
+
+    @Test
+    public void testTreeWalkersShareParseResultsInParallelMode() throws Exception {
+        verifySharedParseResults(2);
+    }
+
+    private void verifySharedParseResults(int threads) throws Exception {
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final File file = temporaryFolder.newFile("Input" + i + ".java");
+            Files.write(file.toPath(), ("class Input" + i + " { static final int bad = 0; }"
+                    + " // TODO: fix\n").getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+        final DefaultConfiguration namingConfig = createCheckConfig(TreeWalker.class);
+        namingConfig.addChild(createCheckConfig(ConstantNameCheck.class));
+        final DefaultConfiguration commentsConfig = createCheckConfig(TreeWalker.class);
+        commentsConfig.addChild(createCheckConfig(TodoCommentCheck.class));
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyle_checks");
+        checkerConfig.addAttribute("threads", String.valueOf(threads));
+        checkerConfig.addChild(namingConfig);
+        checkerConfig.addChild(commentsConfig);
+        checkerConfig.addChild(createCheckConfig(TreeWalker.class));
+
+        final List<Profiler.Entry> profile = new ArrayList<>();
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.addProfilingListener(profile::addAll);
+        checker.configure(checkerConfig);
+        checker.addListener(new DefaultLogger(new ByteArrayOutputStream(), false));
+        assertEquals("Invalid number of errors", 6, checker.process(files));
+        checker.destroy();
+
+        assertEquals("Every file should be parsed once", 3,
+                getEntry(profile, Profiler.Category.PARSE, "TreeWalker").getInvocations());
+        for (final String name : Arrays.asList("TreeWalker", "TreeWalker#2", "TreeWalker#3")) {
+            assertEquals("Every TreeWalker should have its own entry", 3,
+                    getEntry(profile, Profiler.Category.FILESET_CHECK, name).getInvocations());
+        }
+    }
+
+    @Test
+    public void testLocaleIsPerChecker() throws Exception {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), "class Input { static final int bad = 0; }\n"
+                .getBytes(StandardCharsets.UTF_8));
+        final List<File> files = Collections.singletonList(file);
+        final String pattern = "^[A-Z][A-Z0-9]*(_[A-Z0-9]+)*$";
+
+        final List<String> germanMessages = processWithLocale(files, Locale.GERMAN);
+        final List<String> rootMessages = processWithLocale(files, Locale.ROOT);
+        assertEquals("Invalid messages", Collections.singletonList("Der Bezeichner 'bad' "
+                + "entspricht nicht dem Muster '" + pattern + "'."), germanMessages);
+        assertEquals("Invalid messages", Collections.singletonList("Name 'bad' must match "
+                + "pattern '" + pattern + "'."), rootMessages);
+    }
+
+    private static List<String> processWithLocale(List<File> files, Locale locale)
+            throws Exception {
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createCheckConfig(ConstantNameCheck.class));
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyle_checks");
+        checkerConfig.addChild(treeWalkerConfig);
+
+        final List<String> messages = new ArrayList<>();
+        final Checker checker = new Checker();
+        checker.setLocaleCountry(locale.getCountry());
+        checker.setLocaleLanguage(locale.getLanguage());
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addListener(new DebugAuditAdapter() {
+            @Override
+            public void addError(AuditEvent event) {
+                messages.add(event.getMessage());
+            }
+        });
+        checker.process(files);
+        checker.destroy();
+        return messages;
+    }
+
+    @Test
+    public void testBinaryCacheReplaysViolations() throws Exception {
+        verifyBinaryCacheReplaysViolations(1);
+    }
+
+    @Test
+    public void testBinaryCacheReplaysViolationsInParallelMode() throws Exception {
+        verifyBinaryCacheReplaysViolations(3);
+    }
+
+    @Test
+    public void testBinaryCacheChecksChangedFiles() throws Exception {
+        final File file = temporaryFolder.newFile("Input.java");
+        Files.write(file.toPath(), "class Input { static final int bad = 0; }\n"
+                .getBytes(StandardCharsets.UTF_8));
+        final String cacheFile = temporaryFolder.newFile().getPath();
+        final List<File> files = Collections.singletonList(file);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals("Invalid number of errors", 1,
+                processWithThreads(files, 1, cacheFile, output));
+
+        assertTrue("Timestamp should be changed", file.setLastModified(0));
+        ProcessedFilesCounter.reset();
+        assertEquals("Invalid number of errors", 1,
+                processWithThreads(files, 1, cacheFile, output));
+        assertEquals("Touched file should not be checked again", 0,
+                ProcessedFilesCounter.getCount());
+
+        Files.write(file.toPath(), "class Input { static final int BAD = 0; }\n"
+                .getBytes(StandardCharsets.UTF_8));
+        assertEquals("Invalid number of errors", 0,
+                processWithThreads(files, 1, cacheFile, output));
+        assertEquals("Changed file should be checked again", 1,
+                ProcessedFilesCounter.getCount());
+    }
+
+    @Test
+    public void testInvalidCacheFormat() throws Exception {
+        final Checker checker = new Checker();
+        try {
+            checker.setCacheFormat("xml");
+            fail("Exception is expected");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid exception message", "Unknown cache format: xml",
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testCacheFormatCanBeSetAfterCacheFile() throws Exception {
+        final File cacheFile = temporaryFolder.newFile();
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("configuration");
+        checkerConfig.addChild(createCheckConfig(TreeWalker.class));
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.setCacheFile(cacheFile.getPath());
+        checker.setCacheFormat("binary");
+        checker.process(Collections.singletonList(temporaryFolder.newFile("file.java")));
+        checker.destroy();
+
+        final byte[] content = Files.readAllBytes(cacheFile.toPath());
+        assertEquals("Cache should be written in binary format", 0x43,
+                content[0]);
+    }
+
+    private void verifyBinaryCacheReplaysViolations(int threads) throws Exception {
+        final List<File> files = new ArrayList<>();
+        final int numberOfFiles = 10;
+        for (int i = 0; i < numberOfFiles; i++) {
+            final File file = temporaryFolder.newFile("Input" + i + ".java");
+            final String source = "public class Input" + i + " {\n"
+                + "    public static final int bad = " + i + ";\n"
+                + "    // CHECKSTYLE:OFF\n"
+                + "    public static final int suppressed = " + i + ";\n"
+                + "}\n";
+            Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+        final String cacheFile = temporaryFolder.newFile().getPath();
+
+        final ByteArrayOutputStream firstOutput = new ByteArrayOutputStream();
+        ProcessedFilesCounter.reset();
+        final int firstErrors = processWithThreads(files, threads, cacheFile, firstOutput);
+        assertEquals("All files should be checked", numberOfFiles,
+                ProcessedFilesCounter.getCount());
+
+        final ByteArrayOutputStream secondOutput = new ByteArrayOutputStream();
+        ProcessedFilesCounter.reset();
+        final int secondErrors = processWithThreads(files, threads, cacheFile, secondOutput);
+        assertEquals("Files should be replayed from cache", 0,
+                ProcessedFilesCounter.getCount());
+
+        assertEquals("Invalid number of errors", numberOfFiles, firstErrors);
+        assertEquals("Invalid number of errors", firstErrors, secondErrors);
+        assertEquals("Replayed output should match original output",
+                firstOutput.toString(StandardCharsets.UTF_8.name()),
+                secondOutput.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    private List<File> createInputFiles(int numberOfFiles) throws IOException {
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < numberOfFiles; i++) {
+            final File file = temporaryFolder.newFile("Input" + i + ".java");
+            final StringBuilder source = new StringBuilder(64);
+            source.append("public class Input").append(i).append(" {\n");
+            for (int j = 0; j < i % 7; j++) {
+                if (j == 3) {
+                    source.append("    // CHECKSTYLE:OFF\n");
+                }
+                source.append("    public static final int bad").append(j).append(" = 0;\n");
+            }
+            source.append("}\n");
+            Files.write(file.toPath(), source.toString().getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+        return files;
+    }
+
+    @Test
+    public void testCachedMessagesAreInLocaleOfChecker() throws Exception {
+        final File file = temporaryFolder.newFile("file.java");
+        Files.write(file.toPath(),
+            "class A { static final int a = 1; }\n".getBytes(StandardCharsets.UTF_8));
+        final String cacheFile = temporaryFolder.newFile().getPath();
+
+        final String cold = processInLanguage(file, cacheFile, "fr");
+        assertTrue("Message should be French: " + cold, cold.contains("Le nom 'a'"));
+        assertEquals("Cached message should be in the locale of the checker",
+            cold, processInLanguage(file, cacheFile, "fr"));
+        final String english = processInLanguage(file, cacheFile, "en");
+        assertTrue("Other locale should not use cached messages: " + english,
+            english.contains("Name 'a'"));
+    }
+
+    private static String processInLanguage(File file, String cacheFile, String language)
+            throws Exception {
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createCheckConfig(ConstantNameCheck.class));
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyle_checks");
+        checkerConfig.addAttribute("cacheFile", cacheFile);
+        checkerConfig.addAttribute("cacheFormat", "binary");
+        checkerConfig.addAttribute("localeLanguage", language);
+        checkerConfig.addAttribute("localeCountry", "");
+        checkerConfig.addChild(treeWalkerConfig);
+
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        checker.addListener(new DefaultLogger(output, false));
+        checker.process(Collections.singletonList(file));
+        checker.destroy();
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static int processWithThreads(List<File> files, int threads, String cacheFile,
+            ByteArrayOutputStream output) throws Exception {
+        return process(files, threads, 0, cacheFile, output);
+    }
+
+    private static int process(List<File> files, int threads, int reportingQueueSize,
+            ByteArrayOutputStream output) throws Exception {
+        return process(files, threads, reportingQueueSize, null, output);
+    }
+
+    private static int process(List<File> files, int threads, int reportingQueueSize,
+            String cacheFile, ByteArrayOutputStream output) throws Exception {
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createCheckConfig(ConstantNameCheck.class));
+        treeWalkerConfig.addChild(createCheckConfig(FileContentsHolder.class));
+        final DefaultConfiguration fileLengthConfig = createCheckConfig(FileLengthCheck.class);
+        fileLengthConfig.addAttribute("max", "5");
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("checkstyle_checks");
+        checkerConfig.addAttribute("threads", String.valueOf(threads));
+        checkerConfig.addAttribute("reportingQueueSize", String.valueOf(reportingQueueSize));
+        checkerConfig.addChild(treeWalkerConfig);
+        checkerConfig.addChild(fileLengthConfig);
+        checkerConfig.addChild(createCheckConfig(SuppressionCommentFilter.class));
+        if (cacheFile != null) {
+            checkerConfig.addAttribute("cacheFile", cacheFile);
+            checkerConfig.addAttribute("cacheFormat", "binary");
+            checkerConfig.addChild(createCheckConfig(ProcessedFilesCounter.class));
+        }
+
+        final Checker checker = new Checker();
+        checker.setLocaleCountry(Locale.ROOT.getCountry());
+        checker.setLocaleLanguage(Locale.ROOT.getLanguage());
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        checker.addListener(new DefaultLogger(output, false));
+        final int errors = checker.process(files);
+        checker.destroy();
+        return errors;
+    }
+
     private Checker createMockCheckerWithCacheForModule(
         Class<? extends ExternalResourceHolder> mockClass) throws IOException, CheckstyleException {
 
@@ -693,6 +1353,23 @@ public class CheckerTest extends BaseCheckTestSupport {
         return checker;
     }
 
+    private static class ProcessedFilesCounter extends AbstractFileSetCheck {
+        private static final AtomicInteger COUNT = new AtomicInteger();
+
+        public static void reset() {
+            COUNT.set(0);
+        }
+
+        public static int getCount() {
+            return COUNT.get();
+        }
+
+        @Override
+        protected void processFiltered(File file, List<String> lines) throws CheckstyleException {
+            COUNT.incrementAndGet();
+        }
+    }
+
     private static class DummyFilter implements Filter {
 
         @Override
@@ -759,4 +1436,94 @@ public class CheckerTest extends BaseCheckTestSupport {
             return locations;
         }
     }
+
+    private static class LifecycleCounter extends AbstractFileSetCheck {
+        private static final AtomicInteger INITS = new AtomicInteger();
+        private static final AtomicInteger BEGINNINGS = new AtomicInteger();
+        private static final AtomicInteger DESTRUCTIONS = new AtomicInteger();
+
+        public static void reset() {
+            INITS.set(0);
+            BEGINNINGS.set(0);
+            DESTRUCTIONS.set(0);
+        }
+
+        public static int getInits() {
+            return INITS.get();
+        }
+
+        public static int getBeginnings() {
+            return BEGINNINGS.get();
+        }
+
+        public static int getDestructions() {
+            return DESTRUCTIONS.get();
+        }
+
+        @Override
+        public void init() {
+            INITS.incrementAndGet();
+        }
+
+        @Override
+        public void beginProcessing(String charset) {
+            BEGINNINGS.incrementAndGet();
+        }
+
+        @Override
+        public void destroy() {
+            DESTRUCTIONS.incrementAndGet();
+        }
+
+        @Override
+        protected void processFiltered(File file, List<String> lines) {
+            // only the lifecycle is counted
+        }
+    }
+
+    private static class ErrorCollector implements AuditListener {
+        private final Map<String, List<LocalizedMessage>> errors = new HashMap<>();
+
+        public static List<String> format(Collection<LocalizedMessage> messages) {
+            return messages.stream()
+                .map(message -> message.getLineNo() + ":" + message.getColumnNo() + " "
+                    + message.getMessage())
+                .collect(Collectors.toList());
+        }
+
+        public List<String> getErrors(String fileName) {
+            return format(errors.getOrDefault(fileName, Collections.emptyList()));
+        }
+
+        @Override
+        public void auditStarted(AuditEvent event) {
+            // only errors are collected
+        }
+
+        @Override
+        public void auditFinished(AuditEvent event) {
+            // only errors are collected
+        }
+
+        @Override
+        public void fileStarted(AuditEvent event) {
+            // only errors are collected
+        }
+
+        @Override
+        public void fileFinished(AuditEvent event) {
+            // only errors are collected
+        }
+
+        @Override
+        public void addError(AuditEvent event) {
+            errors.computeIfAbsent(event.getFileName(), name -> new ArrayList<>())
+                .add(event.getLocalizedMessage());
+        }
+
+        @Override
+        public void addException(AuditEvent event, Throwable throwable) {
+            // only errors are collected
+        }
+    }
 }
@@ -0,0 +1,106 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.checks.sizes.FileLengthCheck;
+
+public class CheckerWorkerTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testProcessNonExistingFile() throws Exception {
+        final CheckerWorker worker = new CheckerWorker(this, null, "UTF-8", null);
+        final File file = new File(temporaryFolder.getRoot(), "NonExisting.java");
+
+        final CheckerWorker.Result result = worker.process(file);
+
+        assertNull("Text should not be read", result.getText());
+        assertEquals("Invalid number of messages", 1, result.getMessages().size());
+        final LocalizedMessage message = result.getMessages().first();
+        assertEquals("Invalid message key", "general.exception", message.getKey());
+        assertEquals("Message should be accepted without filters",
+                result.getMessages(), result.getAcceptedMessages());
+    }
+
+    @Test
+    public void testFilterRejectsMessages() throws Exception {
+        final CheckerWorker worker = new CheckerWorker(this, null, "UTF-8", null);
+        final DebugFilter filter = new DebugFilter();
+        worker.addFilter(event -> {
+            filter.accept(event);
+            return false;
+        }, null);
+        final File file = new File(temporaryFolder.getRoot(), "NonExisting.java");
+
+        final CheckerWorker.Result result = worker.process(file);
+
+        assertTrue("Filter should be called", filter.wasCalled());
+        assertEquals("Invalid number of messages", 1, result.getMessages().size());
+        assertTrue("Message should be rejected", result.getAcceptedMessages().isEmpty());
+    }
+
+    @Test
+    public void testProcessExistingFile() throws Exception {
+        final CheckerWorker worker = new CheckerWorker(this, null, "UTF-8", null);
+        final File file = temporaryFolder.newFile("Existing.java");
+
+        final CheckerWorker.Result result = worker.process(file);
+        worker.finishProcessing();
+
+        assertNotNull("Text should be read", result.getText());
+        assertTrue("No messages are expected", result.getMessages().isEmpty());
+    }
+
+    @Test
+    public void testProcessContentInMemory() throws Exception {
+        final CheckerWorker worker = new CheckerWorker(this, null, "UTF-8", null);
+        final DefaultConfiguration config = new DefaultConfiguration("FileLength");
+        config.addAttribute("max", "1");
+        final FileLengthCheck check = new FileLengthCheck();
+        check.configure(config);
+        worker.addFileSetCheck(check, config);
+        final File file = new File(temporaryFolder.getRoot(), "Unsaved.java");
+        final FileText text = FileText.fromContent(file, "class Unsaved {\n}\n");
+
+        final CheckerWorker.Result result = worker.process(file, text);
+
+        assertSame("Text should be kept", text, result.getText());
+        assertEquals("Invalid number of messages", 1, result.getMessages().size());
+        assertEquals("Message should be accepted without filters",
+                result.getMessages(), result.getAcceptedMessages());
+        assertFalse("Result should not be cached", result.isCached());
+    }
+}
@@ -0,0 +1,251 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Strings;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+public class ContentCacheFileTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File cacheFile;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheFile = temporaryFolder.newFile();
+    }
+
+    @Test
+    public void testCtor() {
+        try {
+            new ContentCacheFile(null, "", getClass().getClassLoader(), Locale.ROOT);
+            fail("Exception is expected");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("config can not be null", ex.getMessage());
+        }
+        try {
+            final Configuration config = new DefaultConfiguration("myName");
+            new ContentCacheFile(config, null, getClass().getClassLoader(), Locale.ROOT);
+            fail("Exception is expected");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("fileName can not be null", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testReplaysMessagesOfUnchangedContent() throws IOException {
+        final ContentCacheFile cache = createCache(new DefaultConfiguration("myName"));
+        final FileText text = createText("class A {}");
+        final LocalizedMessage message = new LocalizedMessage(1, 2, "bundle", "key",
+            new Object[] {"'{0}'", 1234}, SeverityLevel.WARNING, "id", getClass(),
+            "Custom {0} {1}");
+        cache.put("A.java", text, Collections.singleton(message));
+
+        final SortedSet<LocalizedMessage> messages = cache.get("A.java", createText("class A {}"));
+        assertNotNull("Unchanged content should be in cache", messages);
+        assertEquals("Invalid number of messages", 1, messages.size());
+        final LocalizedMessage replayed = messages.first();
+        assertEquals("Invalid line", 1, replayed.getLineNo());
+        assertEquals("Invalid column", 2, replayed.getColumnNo());
+        assertEquals("Invalid severity", SeverityLevel.WARNING, replayed.getSeverityLevel());
+        assertEquals("Invalid module id", "id", replayed.getModuleId());
+        assertEquals("Invalid key", "key", replayed.getKey());
+        assertEquals("Invalid source", getClass().getName(), replayed.getSourceName());
+        assertEquals("Invalid message", message.getMessage(), replayed.getMessage());
+
+        assertNull("Changed content should not be in cache",
+            cache.get("A.java", createText("class A { }")));
+        assertNull("Other files should not be in cache", cache.get("B.java", text));
+    }
+
+    @Test
+    public void testPersistAndLoad() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final ContentCacheFile cache = createCache(config);
+        final FileText text = createText("class A {}");
+        final LocalizedMessage message = new LocalizedMessage(3, "bundle", "key", null,
+            null, getClass(), null);
+        cache.put("A.java", text, Collections.singleton(message));
+        cache.put("B.java", text, Collections.emptySet());
+        cache.persist();
+
+        final ContentCacheFile loaded = new ContentCacheFile(config,
+            cacheFile.getPath(), getClass().getClassLoader(), Locale.ROOT);
+        loaded.load();
+        assertEquals("Invalid messages", Collections.singleton(3),
+            getLineNumbers(loaded.get("A.java", text)));
+        assertEquals("Invalid messages", Collections.emptySet(),
+            getLineNumbers(loaded.get("B.java", text)));
+    }
+
+    @Test
+    public void testConfigurationChangeDropsEntries() throws IOException {
+        final ContentCacheFile cache = createCache(new DefaultConfiguration("myName"));
+        final FileText text = createText("class A {}");
+        cache.put("A.java", text, Collections.emptySet());
+        cache.persist();
+
+        final ContentCacheFile loaded = new ContentCacheFile(
+            new DefaultConfiguration("otherName"), cacheFile.getPath(),
+            getClass().getClassLoader(), Locale.ROOT);
+        loaded.load();
+        assertNull("Entries of other configuration should be dropped",
+            loaded.get("A.java", text));
+    }
+
+    @Test
+    public void testMessagesAreStoredInLocaleOfCache() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final ContentCacheFile cache = new ContentCacheFile(config, cacheFile.getPath(),
+            getClass().getClassLoader(), Locale.FRENCH);
+        final FileText text = createText("class A {}");
+        final LocalizedMessage message = new LocalizedMessage(1, Definitions.CHECKSTYLE_BUNDLE,
+            "general.exception", new Object[] {"abc"}, null, getClass(), null);
+        cache.put("A.java", text, Collections.singleton(message));
+        cache.persist();
+
+        assertEquals("Invalid message", message.getMessage(Locale.FRENCH),
+            cache.get("A.java", text).first().getMessage(Locale.ENGLISH));
+        final ContentCacheFile loaded = createCache(config);
+        loaded.load();
+        assertNull("Entries of other locale should be dropped", loaded.get("A.java", text));
+    }
+
+    @Test
+    public void testLoadOtherFormat() throws IOException {
+        Files.write(cacheFile.toPath(),
+            "configuration*?=ABC\n".getBytes(StandardCharsets.ISO_8859_1));
+        final ContentCacheFile cache = createCache(new DefaultConfiguration("myName"));
+        cache.load();
+        assertNull("No entries are expected", cache.get("A.java", createText("")));
+    }
+
+    @Test
+    public void testLoadTruncatedFile() throws IOException {
+        final ContentCacheFile cache = createCache(new DefaultConfiguration("myName"));
+        final FileText text = createText("class A {}");
+        cache.put("A.java", text, Collections.emptySet());
+        cache.put("B.java", text, Collections.emptySet());
+        cache.persist();
+        final byte[] content = Files.readAllBytes(cacheFile.toPath());
+        Files.write(cacheFile.toPath(), Arrays.copyOf(content, content.length - 3));
+
+        final ContentCacheFile loaded = createCache(new DefaultConfiguration("myName"));
+        loaded.load();
+        assertNull("Entries of truncated file should be dropped", loaded.get("A.java", text));
+    }
+
+    @Test
+    public void testExternalResourcesChangeClearsCache() throws IOException {
+        final ContentCacheFile cache = createCache(new DefaultConfiguration("myName"));
+        final FileText text = createText("class A {}");
+        final File resource = temporaryFolder.newFile("resource.xml");
+        final String location = resource.getPath();
+        cache.putExternalResources(Collections.singleton(location));
+        cache.put("A.java", text, Collections.emptySet());
+
+        cache.putExternalResources(Collections.singleton(location));
+        assertNotNull("Unchanged resources should keep entries", cache.get("A.java", text));
+
+        Files.write(resource.toPath(), "<changed/>".getBytes(StandardCharsets.UTF_8));
+        cache.putExternalResources(Collections.singleton(location));
+        assertNull("Changed resources should drop entries", cache.get("A.java", text));
+    }
+
+    @Test
+    public void testUnknownSourceClassIsNotReplayed() throws IOException {
+        final Configuration config = new DefaultConfiguration("myName");
+        final ContentCacheFile cache = createCache(config);
+        final FileText text = createText("class A {}");
+        cache.put("A.java", text, Collections.singleton(new LocalizedMessage(1, "bundle",
+            "key", null, null, getClass(), null)));
+        cache.persist();
+
+        final ContentCacheFile loaded = new ContentCacheFile(config, cacheFile.getPath(),
+            new ClassLoader(null) { }, Locale.ROOT);
+        loaded.load();
+        assertNull("Messages of unknown classes can not be replayed", loaded.get("A.java", text));
+    }
+
+    @Test
+    public void testTooLongMessageIsNotCached() throws IOException {
+        final ContentCacheFile cache = createCache(new DefaultConfiguration("myName"));
+        final FileText text = createText("class A {}");
+        final String longKey = Strings.repeat("x", 70_000);
+        cache.put("A.java", text, Collections.singleton(new LocalizedMessage(1, "bundle",
+            longKey, null, null, getClass(), null)));
+        assertNull("Message should not be cached", cache.get("A.java", text));
+    }
+
+    @Test
+    public void testClear() throws IOException {
+        final ContentCacheFile cache = createCache(new DefaultConfiguration("myName"));
+        final FileText text = createText("class A {}");
+        cache.put("A.java", text, Collections.emptySet());
+        cache.clear();
+        assertNull("Cache should be empty", cache.get("A.java", text));
+    }
+
+    private ContentCacheFile createCache(Configuration config) {
+        return new ContentCacheFile(config, cacheFile.getPath(), getClass().getClassLoader(),
+            Locale.ROOT);
+    }
+
+    private FileText createText(String content) throws IOException {
+        final File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return new FileText(file, StandardCharsets.UTF_8.name());
+    }
+
+    private static SortedSet<Integer> getLineNumbers(SortedSet<LocalizedMessage> messages) {
+        final SortedSet<Integer> lineNumbers = new TreeSet<>();
+        for (final LocalizedMessage message : messages) {
+            lineNumbers.add(message.getLineNo());
+        }
+        return lineNumbers;
+    }
+}
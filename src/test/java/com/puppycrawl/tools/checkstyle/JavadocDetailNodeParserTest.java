@@ -0,0 +1,131 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseErrorMessage;
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseStatus;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
+
+public class JavadocDetailNodeParserTest {
+    private static final String[] INPUTS = {
+        "InputParsingErrors.java",
+        "InputCorrectJavaDocParagraph.java",
+        "InputTestInvalidAtSeeReference.java",
+        "InputTestUnclosedTagAndInvalidAtSeeReference.java",
+        "InputIncorrectSummaryJavaDoc.java",
+    };
+
+    @Test
+    public void testReusedParserGivesSameResultsAsNewParser() throws Exception {
+        final JavadocDetailNodeParser reusedParser = new JavadocDetailNodeParser();
+        int trees = 0;
+        int errors = 0;
+        for (final String input : INPUTS) {
+            for (final DetailAST comment : getJavadocComments(input)) {
+                final ParseStatus expected =
+                    new JavadocDetailNodeParser().parseJavadocAsDetailNode(comment);
+                final ParseStatus actual = reusedParser.parseJavadocAsDetailNode(comment);
+                final String location = input + ":" + comment.getLineNo();
+                if (expected.getTree() == null) {
+                    assertNull("Tree is not expected at " + location, actual.getTree());
+                    assertParseErrorEquals(location, expected.getParseErrorMessage(),
+                        actual.getParseErrorMessage());
+                    errors++;
+                }
+                else {
+                    assertNull("Error is not expected at " + location,
+                        actual.getParseErrorMessage());
+                    assertEquals("Invalid tree at " + location,
+                        DetailNodeTreeStringPrinter.printTree(expected.getTree(), "", ""),
+                        DetailNodeTreeStringPrinter.printTree(actual.getTree(), "", ""));
+                    trees++;
+                }
+            }
+        }
+        assertTrue("Comments without errors should be parsed", trees > 0);
+        assertTrue("Comments with errors should be parsed", errors > 0);
+    }
+
+    @Test
+    public void testTreeNodesKnowTheirPosition() throws Exception {
+        final DetailAST comment = getJavadocComments("InputCorrectJavaDocParagraph.java").get(0);
+        final ParseStatus status = new JavadocDetailNodeParser().parseJavadocAsDetailNode(comment);
+        assertNotNull("Tree is expected", status.getTree());
+        assertEquals("Invalid index of root", -1, status.getTree().getIndex());
+        assertEquals("Invalid line of root", comment.getLineNo(),
+            status.getTree().getLineNumber());
+        assertTrue("Root text should end with EOF", status.getTree().getText().endsWith("<EOF>"));
+        final int childCount = status.getTree().getChildren().length;
+        assertTrue("Root should have children", childCount > 0);
+        for (int i = 0; i < childCount; i++) {
+            assertEquals("Invalid index of child", i, status.getTree().getChildren()[i].getIndex());
+            assertEquals("Invalid parent of child", status.getTree(),
+                status.getTree().getChildren()[i].getParent());
+        }
+    }
+
+    private static void assertParseErrorEquals(String location, ParseErrorMessage expected,
+            ParseErrorMessage actual) {
+        assertNotNull("Error is expected at " + location, actual);
+        assertEquals("Invalid error line at " + location, expected.getLineNumber(),
+            actual.getLineNumber());
+        assertEquals("Invalid error key at " + location, expected.getMessageKey(),
+            actual.getMessageKey());
+        assertArrayEquals("Invalid error arguments at " + location,
+            expected.getMessageArguments(), actual.getMessageArguments());
+    }
+
+    private static List<DetailAST> getJavadocComments(String input) throws Exception {
+        final File file = new File("src/test/resources/com/puppycrawl/tools/checkstyle/checks/"
+            + "javadoc/" + input);
+        final DetailAST root = TreeWalker.parseWithComments(
+            new FileContents(new FileText(file, StandardCharsets.UTF_8.name())));
+        final List<DetailAST> comments = new ArrayList<>();
+        collectJavadocComments(root, comments);
+        return comments;
+    }
+
+    private static void collectJavadocComments(DetailAST ast, List<DetailAST> comments) {
+        for (DetailAST node = ast; node != null; node = node.getNextSibling()) {
+            if (node.getType() == TokenTypes.BLOCK_COMMENT_BEGIN
+                    && JavadocUtils.isJavadocComment(node)) {
+                comments.add(node);
+            }
+            collectJavadocComments(node.getFirstChild(), comments);
+        }
+    }
+}
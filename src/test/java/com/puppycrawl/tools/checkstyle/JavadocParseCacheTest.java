@@ -0,0 +1,170 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseErrorMessage;
+import com.puppycrawl.tools.checkstyle.JavadocDetailNodeParser.ParseStatus;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+public class JavadocParseCacheTest {
+    private static final String SOURCE = "class A {\n"
+        + "    /** Same text. */\n"
+        + "    int a;\n"
+        + "\n"
+        + "    /** Same text. */\n"
+        + "    int b;\n"
+        + "    /** Other text. */\n"
+        + "    int c;\n"
+        + "    /**\n"
+        + "     * <p><b>Unclosed.</p>\n"
+        + "     */\n"
+        + "    int d;\n"
+        + "\n"
+        + "    /**\n"
+        + "     * <p><b>Unclosed.</p>\n"
+        + "     */\n"
+        + "    int e;\n"
+        + "}\n";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testRepeatedContentIsParsedOnce() throws Exception {
+        final List<DetailAST> comments = getJavadocComments();
+        final JavadocParseCache cache = new JavadocParseCache(10);
+        final JavadocDetailNodeParser parser = new JavadocDetailNodeParser();
+        final ParseStatus first = cache.parse(comments.get(0), parser);
+        final ParseStatus repeated = cache.parse(comments.get(1), parser);
+        cache.parse(comments.get(2), parser);
+
+        assertEquals("Invalid number of hits", 1, cache.getHits());
+        assertEquals("Invalid number of misses", 2, cache.getMisses());
+        assertEquals("Invalid hit rate", 1.0 / 3, cache.getHitRate(), 1e-9);
+        assertEquals("Invalid size", 2, cache.size());
+        assertEquals("Invalid line of cached tree", 2, first.getTree().getLineNumber());
+        assertEquals("Cached tree should be relocated",
+            DetailNodeTreeStringPrinter.printTree(
+                new JavadocDetailNodeParser().parseJavadocAsDetailNode(comments.get(1)).getTree(),
+                "", ""),
+            DetailNodeTreeStringPrinter.printTree(repeated.getTree(), "", ""));
+        assertSame("Result should be handed out as is on the same line", first,
+            cache.parse(comments.get(0), parser));
+    }
+
+    @Test
+    public void testParseErrorsAreRelocated() throws Exception {
+        final List<DetailAST> comments = getJavadocComments();
+        final JavadocParseCache cache = new JavadocParseCache(10);
+        final JavadocDetailNodeParser parser = new JavadocDetailNodeParser();
+        cache.parse(comments.get(3), parser);
+        final ParseErrorMessage actual = cache.parse(comments.get(4), parser)
+            .getParseErrorMessage();
+        final ParseErrorMessage expected = new JavadocDetailNodeParser()
+            .parseJavadocAsDetailNode(comments.get(4)).getParseErrorMessage();
+
+        assertEquals("Invalid number of hits", 1, cache.getHits());
+        assertNotNull("Error is expected", expected);
+        assertNotNull("Cached error is expected", actual);
+        assertEquals("Invalid line", expected.getLineNumber(), actual.getLineNumber());
+        assertEquals("Invalid key", expected.getMessageKey(), actual.getMessageKey());
+        assertArrayEquals("Invalid arguments", expected.getMessageArguments(),
+            actual.getMessageArguments());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultIsDropped() throws Exception {
+        final List<DetailAST> comments = getJavadocComments();
+        final JavadocParseCache cache = new JavadocParseCache(2);
+        final JavadocDetailNodeParser parser = new JavadocDetailNodeParser();
+        cache.parse(comments.get(0), parser);
+        cache.parse(comments.get(2), parser);
+        cache.parse(comments.get(1), parser);
+        cache.parse(comments.get(3), parser);
+        cache.parse(comments.get(1), parser);
+        cache.parse(comments.get(2), parser);
+
+        assertEquals("Invalid number of hits", 2, cache.getHits());
+        assertEquals("Invalid number of misses", 4, cache.getMisses());
+        assertEquals("Invalid size", 2, cache.size());
+    }
+
+    @Test
+    public void testZeroSizeKeepsNothing() throws Exception {
+        final List<DetailAST> comments = getJavadocComments();
+        final JavadocParseCache cache = new JavadocParseCache(0);
+        final JavadocDetailNodeParser parser = new JavadocDetailNodeParser();
+        final ParseStatus status = cache.parse(comments.get(0), parser);
+        cache.parse(comments.get(1), parser);
+
+        assertNotNull("Tree is expected", status.getTree());
+        assertEquals("Invalid number of hits", 0, cache.getHits());
+        assertEquals("Invalid number of misses", 2, cache.getMisses());
+        assertEquals("Invalid size", 0, cache.size());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final JavadocParseCache cache = new JavadocParseCache(10);
+        assertEquals("Invalid hit rate of unused cache", 0, cache.getHitRate(), 0);
+        cache.parse(getJavadocComments().get(0), new JavadocDetailNodeParser());
+        cache.clear();
+
+        assertEquals("Invalid size", 0, cache.size());
+        assertEquals("Invalid number of misses", 0, cache.getMisses());
+    }
+
+    private List<DetailAST> getJavadocComments() throws Exception {
+        final File file = temporaryFolder.newFile("A.java");
+        Files.write(file.toPath(), SOURCE.getBytes(StandardCharsets.UTF_8));
+        final DetailAST root = TreeWalker.parseWithComments(
+            new FileContents(new FileText(file, StandardCharsets.UTF_8.name())));
+        final List<DetailAST> comments = new ArrayList<>();
+        collectBlockComments(root, comments);
+        return comments;
+    }
+
+    private static void collectBlockComments(DetailAST ast, List<DetailAST> comments) {
+        for (DetailAST node = ast; node != null; node = node.getNextSibling()) {
+            if (node.getType() == TokenTypes.BLOCK_COMMENT_BEGIN) {
+                comments.add(node);
+            }
+            collectBlockComments(node.getFirstChild(), comments);
+        }
+    }
+}
@@ -64,17 +64,25 @@ public class MainTest {
         + " file...%n"
         + " -c <arg>                    Sets the check configuration file to use.%n"
         + " -d,--debug                  Print all debug logging of CheckStyle utility%n"
+        + "    --daemon <arg>           Keep running and check the files sent to the given"
+        + " local port%n"
         + " -e,--exclude <arg>          Directory path to exclude from CheckStyle%n"
-        + " -f <arg>                    Sets the output format. (plain|xml). Defaults to"
-        + " plain%n"
+        + " -f <arg>                    Sets the output format. (plain|xml|ndjson)."
+        + " Defaults to plain%n"
         + " -j,--javadocTree            Print Parse tree of the Javadoc comment%n"
         + " -J,--treeWithJavadoc        Print full Abstract Syntax Tree of the file%n"
         + " -o <arg>                    Sets the output file. Defaults to stdout%n"
         + " -p <arg>                    Loads the properties file%n"
+        + "    --profile                Print the time spent in each module after the"
+        + " audit%n"
         + " -t,--tree                   Print Abstract Syntax Tree(AST) of the file%n"
         + " -T,--treeWithComments       Print Abstract Syntax Tree(AST) of the file"
         + " including comments%n"
+        + "    --threads <arg>          Number of threads to check files with. Defaults to"
+        + " 1%n"
         + " -v                          Print product version and exit%n"
+        + "    --watch                  Keep running and check the files again when they"
+        + " change%n"
         + " -x,--exclude-regexp <arg>   Regular expression of directory to exclude from"
         + " CheckStyle%n");
 
@@ -210,13 +218,96 @@ public class MainTest {
         exit.expectSystemExitWithStatus(-1);
         exit.checkAssertionAfterwards(() -> {
             assertEquals(String.format(Locale.ROOT, "Invalid output format. "
-                    + "Found 'xmlp' but expected 'plain' or 'xml'.%n"), systemOut.getLog());
+                    + "Found 'xmlp' but expected 'plain', 'xml' or 'ndjson'.%n"),
+                    systemOut.getLog());
             assertEquals("", systemErr.getLog());
         });
         Main.main("-c", "/google_checks.xml", "-f", "xmlp",
                 getPath("InputMain.java"));
     }
 
+    @Test
+    public void testInvalidPort() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Invalid output", String.format(Locale.ROOT, "Invalid port. "
+                    + "Found '65536' but expected a number from 1 to 65535.%n"),
+                    systemOut.getLog());
+            assertEquals("Nothing should be printed to the error output", "",
+                    systemErr.getLog());
+        });
+        Main.main("-c", "/google_checks.xml", "--daemon", "65536",
+                getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testInvalidNumberOfThreads() throws Exception {
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals(String.format(Locale.ROOT, "Invalid number of threads. "
+                    + "Found '0' but expected a positive integer.%n"), systemOut.getLog());
+            assertEquals("", systemErr.getLog());
+        });
+        Main.main("-c", "/google_checks.xml", "--threads", "0",
+                getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testTooManyThreads() throws Exception {
+        final int threads = Checker.getMaxThreads() + 1;
+        exit.expectSystemExitWithStatus(-1);
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals(String.format(Locale.ROOT, "Invalid number of threads. "
+                    + "Found '%d' but expected at most %d, four per available processor.%n",
+                    threads, Checker.getMaxThreads()), systemOut.getLog());
+            assertEquals("", systemErr.getLog());
+        });
+        Main.main("-c", "/google_checks.xml", "--threads", String.valueOf(threads),
+                getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testMaxThreads() throws Exception {
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals(String.format(Locale.ROOT, "Starting audit...%nAudit done.%n"),
+                    systemOut.getLog());
+            assertEquals("", systemErr.getLog());
+        });
+        Main.main("-c", getPath("config-classname.xml"), "--threads",
+                String.valueOf(Checker.getMaxThreads()), getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testProfile() throws Exception {
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals("Only the audit should be printed to stdout",
+                String.format(Locale.ROOT, "Starting audit...%nAudit done.%n"),
+                systemOut.getLog());
+            final String output = systemErr.getLog();
+            assertTrue("Profile should be printed to stderr", output.startsWith("Category "));
+            assertTrue("Parsing should be profiled",
+                Pattern.compile("\\nPARSE +TreeWalker +1 ").matcher(output).find());
+            assertTrue("Check should be profiled",
+                Pattern.compile("\\nCHECK +TypeNameCheck +[1-9]").matcher(output).find());
+            assertTrue("FileSetCheck should be profiled",
+                Pattern.compile("\\nFILESET_CHECK +TreeWalker +1 ").matcher(output).find());
+        });
+        Main.main("-c", getPath("config-classname.xml"), "--profile",
+                getPath("InputMain.java"));
+    }
+
+    @Test
+    public void testExistingTargetFileWithThreads() throws Exception {
+
+        exit.checkAssertionAfterwards(() -> {
+            assertEquals(String.format(Locale.ROOT, "Starting audit...%n"
+                    + "Audit done.%n"), systemOut.getLog());
+            assertEquals("", systemErr.getLog());
+        });
+        Main.main("-c", getPath("config-classname.xml"), "--threads", "4",
+                getPath("InputMain.java"));
+    }
+
     @Test
     public void testNonExistingClass() throws Exception {
         exit.expectSystemExitWithStatus(-2);
@@ -268,6 +359,29 @@ public class MainTest {
                 getPath("InputMain.java"));
     }
 
+    @Test
+    public void testExistingTargetFileNdjsonOutput() throws Exception {
+
+        exit.checkAssertionAfterwards(() -> {
+            final String expectedPath = getFilePath("InputMain.java").replace("\\", "\\\\");
+            final ResourceBundle compilationProperties =
+                    ResourceBundle.getBundle("checkstylecompilation", Locale.ROOT);
+            final String version = compilationProperties
+                .getString("checkstyle.compile.version");
+            assertEquals("Invalid output", String.format(Locale.ROOT,
+                    "{\"type\":\"audit\",\"version\":\"%s\"}\n"
+                    + "{\"type\":\"file\",\"name\":\"%2$s\"}\n"
+                    + "{\"type\":\"fileEnd\",\"name\":\"%2$s\"}\n"
+                    + "{\"type\":\"auditEnd\"}\n", version, expectedPath),
+                    systemOut.getLog());
+            assertEquals("Nothing should be printed to the error output", "",
+                    systemErr.getLog());
+        });
+        Main.main("-c", getPath("config-classname.xml"),
+                "-f", "ndjson",
+                getPath("InputMain.java"));
+    }
+
     @Test
     public void testExistingTargetFilePlainOutput() throws Exception {
 
@@ -0,0 +1,175 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+public class NdjsonLoggerTest {
+    private final ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+
+    @Test
+    public void testAudit() {
+        final NdjsonLogger logger = new NdjsonLogger(outStream, true);
+        logger.auditStarted(null);
+        logger.auditFinished(null);
+        final String version = ResourceBundle.getBundle("checkstylecompilation", Locale.ROOT)
+            .getString("checkstyle.compile.version");
+        assertEquals("Invalid output", "{\"type\":\"audit\",\"version\":\"" + version + "\"}\n"
+            + "{\"type\":\"auditEnd\"}\n", getOutput());
+    }
+
+    @Test
+    public void testNoCloseStream() {
+        final CloseCountingOutputStream out = new CloseCountingOutputStream();
+        final NdjsonLogger logger = new NdjsonLogger(out, false);
+        logger.auditFinished(null);
+        assertEquals("Stream should not be closed", 0, out.closeCount);
+        assertEquals("Output should be flushed", "{\"type\":\"auditEnd\"}\n",
+            new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        final CloseCountingOutputStream closedOut = new CloseCountingOutputStream();
+        new NdjsonLogger(closedOut, true).auditFinished(null);
+        assertEquals("Stream should be closed", 1, closedOut.closeCount);
+    }
+
+    @Test
+    public void testFile() {
+        final NdjsonLogger logger = new NdjsonLogger(outStream, true);
+        final AuditEvent event = new AuditEvent(this, "dir\\A \"B\".java");
+        logger.fileStarted(event);
+        logger.fileFinished(event);
+        logger.auditFinished(null);
+        assertEquals("Invalid output", "{\"type\":\"file\",\"name\":\"dir\\\\A \\\"B\\\".java\"}\n"
+            + "{\"type\":\"fileEnd\",\"name\":\"dir\\\\A \\\"B\\\".java\"}\n"
+            + "{\"type\":\"auditEnd\"}\n", getOutput());
+    }
+
+    @Test
+    public void testFileIsFlushedWhenFinished() {
+        final NdjsonLogger logger = new NdjsonLogger(outStream, true);
+        final AuditEvent event = new AuditEvent(this, "A.java");
+        logger.fileStarted(event);
+        assertEquals("Unfinished file should be buffered", "", getOutput());
+        logger.fileFinished(event);
+        assertEquals("Finished file should be flushed", "{\"type\":\"file\",\"name\":\"A.java\"}\n"
+            + "{\"type\":\"fileEnd\",\"name\":\"A.java\"}\n", getOutput());
+    }
+
+    @Test
+    public void testAddErrorInternsSources() {
+        final NdjsonLogger logger = new NdjsonLogger(outStream, true, 1);
+        logger.addError(createEvent(1, 2, SeverityLevel.ERROR, NdjsonLoggerTest.class));
+        logger.addError(createEvent(-3, 0, SeverityLevel.WARNING, String.class));
+        logger.addError(createEvent(1234567890, 1, SeverityLevel.INFO,
+            NdjsonLoggerTest.class));
+        logger.addError(createEvent(5, 6, SeverityLevel.IGNORE, Integer.class));
+        logger.auditFinished(null);
+        assertEquals("Invalid output",
+            "{\"type\":\"source\",\"id\":0,\"name\":\"" + getClass().getName() + "\"}\n"
+            + "{\"type\":\"error\",\"line\":1,\"column\":2,\"severity\":\"error\",\"source\":0,"
+            + "\"message\":\"msg\"}\n"
+            + "{\"type\":\"source\",\"id\":1,\"name\":\"java.lang.String\"}\n"
+            + "{\"type\":\"error\",\"line\":-3,\"severity\":\"warning\",\"source\":1,"
+            + "\"message\":\"msg\"}\n"
+            + "{\"type\":\"error\",\"line\":1234567890,\"column\":1,\"severity\":\"info\","
+            + "\"source\":0,\"message\":\"msg\"}\n"
+            + "{\"type\":\"auditEnd\"}\n", getOutput());
+    }
+
+    @Test
+    public void testAddErrorWithEscapedMessage() {
+        final NdjsonLogger logger = new NdjsonLogger(outStream, true);
+        final LocalizedMessage message = new LocalizedMessage(1, 1, "messages.properties",
+            "key", null, SeverityLevel.ERROR, null, getClass(),
+            "q\" b\\ n\n r\r t\t " + (char) 1 + (char) 31);
+        logger.addError(new AuditEvent(this, "A.java", message));
+        logger.auditFinished(null);
+        assertEquals("Invalid output",
+            "{\"type\":\"source\",\"id\":0,\"name\":\"" + getClass().getName() + "\"}\n"
+            + "{\"type\":\"error\",\"line\":1,\"column\":1,\"severity\":\"error\",\"source\":0,"
+            + "\"message\":\"q\\\" b\\\\ n\\n r\\r t\\t \\" + "u0001\\" + "u001f\"}\n"
+            + "{\"type\":\"auditEnd\"}\n", getOutput());
+    }
+
+    @Test
+    public void testAddException() {
+        final NdjsonLogger logger = new NdjsonLogger(outStream, true);
+        logger.addException(null, new TestThrowable());
+        logger.auditFinished(null);
+        assertEquals("Invalid output", "{\"type\":\"exception\",\"trace\":"
+            + "\"stack \\\"trace\\\"\\n\\tat A\\\\B\\n\"}\n"
+            + "{\"type\":\"auditEnd\"}\n", getOutput());
+    }
+
+    @Test
+    public void testInvalidBufferSize() {
+        try {
+            new NdjsonLogger(outStream, true, 0);
+            fail("Exception is expected");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid exception message", "Buffer size <= 0", ex.getMessage());
+        }
+    }
+
+    private String getOutput() {
+        return new String(outStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private AuditEvent createEvent(int line, int column, SeverityLevel severity,
+            Class<?> source) {
+        final LocalizedMessage message = new LocalizedMessage(line, column,
+            "messages.properties", "key", null, severity, null, source, "msg");
+        return new AuditEvent(this, "A.java", message);
+    }
+
+    private static class TestThrowable extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void printStackTrace(PrintWriter printWriter) {
+            printWriter.print("stack \"trace\"\n\tat A\\B\n");
+        }
+    }
+
+    private static class CloseCountingOutputStream extends ByteArrayOutputStream {
+        private int closeCount;
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            closeCount++;
+        }
+    }
+}
@@ -28,18 +28,26 @@ import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
@@ -52,6 +60,9 @@ import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
  * @author lkuehne
  */
 public class PackageNamesLoaderTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testDefault()
             throws CheckstyleException {
@@ -178,6 +189,109 @@ public class PackageNamesLoaderTest {
         }
     }
 
+    @Test
+    public void testDefaultModuleClassNames() throws CheckstyleException {
+        final Map<String, String> moduleClassNames = PackageNamesLoader
+                .getModuleClassNames(Thread.currentThread().getContextClassLoader());
+        final String className =
+                "com.puppycrawl.tools.checkstyle.checks.naming.ConstantNameCheck";
+        assertEquals("Invalid class of short name", className,
+                moduleClassNames.get("ConstantName"));
+        assertEquals("Invalid class of name", className,
+                moduleClassNames.get("ConstantNameCheck"));
+        assertEquals("Invalid class of TreeWalker",
+                "com.puppycrawl.tools.checkstyle.TreeWalker", moduleClassNames.get("TreeWalker"));
+    }
+
+    @Test
+    public void testModuleClassNamesOfPackagesFile() throws Exception {
+        final File root = temporaryFolder.newFolder();
+        Files.write(new File(root, "checkstyle_packages.xml").toPath(), (
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!DOCTYPE checkstyle-packages PUBLIC\n"
+                + "    \"-//Puppy Crawl//DTD Package Names 1.1//EN\"\n"
+                + "    \"http://www.puppycrawl.com/dtds/packages_1_1.dtd\">\n"
+                + "<checkstyle-packages>\n"
+                + "  <package name=\"com.mycompany\">\n"
+                + "    <package name=\"checks\">\n"
+                + "      <module name=\"ConstantNameCheck\"/>\n"
+                + "      <module name=\"MethodLimit\"/>\n"
+                + "    </package>\n"
+                + "  </package>\n"
+                + "</checkstyle-packages>\n").getBytes(StandardCharsets.UTF_8));
+        final ClassLoader classLoader = new URLClassLoader(new URL[] {root.toURI().toURL()},
+                Thread.currentThread().getContextClassLoader());
+
+        final Map<String, String> moduleClassNames =
+                PackageNamesLoader.getModuleClassNames(classLoader);
+        assertEquals("Modules of packages file should override the index",
+                "com.mycompany.checks.ConstantNameCheck", moduleClassNames.get("ConstantName"));
+        assertEquals("Invalid class of name", "com.mycompany.checks.ConstantNameCheck",
+                moduleClassNames.get("ConstantNameCheck"));
+        assertEquals("Invalid class of name", "com.mycompany.checks.MethodLimit",
+                moduleClassNames.get("MethodLimit"));
+        assertEquals("Index should be used for other modules",
+                "com.puppycrawl.tools.checkstyle.checks.TodoCommentCheck",
+                moduleClassNames.get("TodoComment"));
+        assertTrue("Packages of modules should be registered", PackageNamesLoader
+                .getPackageNames(classLoader).contains("com.mycompany.checks."));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testModuleClassNamesWithIoException() throws Exception {
+        final URLConnection mockConnection = Mockito.mock(URLConnection.class);
+        when(mockConnection.getInputStream()).thenThrow(IOException.class);
+
+        final URL url = getMockUrl(mockConnection);
+
+        final Enumeration<URL> enumeration = mock(Enumeration.class);
+        when(enumeration.hasMoreElements()).thenReturn(true);
+        when(enumeration.nextElement()).thenReturn(url);
+
+        final ClassLoader classLoader = mock(ClassLoader.class);
+        when(classLoader.getResources(
+                "com/puppycrawl/tools/checkstyle/checkstyle_modules.properties"))
+                .thenReturn(enumeration);
+
+        try {
+            PackageNamesLoader.getModuleClassNames(classLoader);
+            fail("CheckstyleException is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertTrue("Invalid cause", ex.getCause() instanceof IOException);
+            assertTrue("Invalid message", ex.getMessage().startsWith("unable to open "));
+        }
+    }
+
+    @Test
+    public void testModuleClassNamesWithIoExceptionGetResources() throws Exception {
+        final ClassLoader classLoader = mock(ClassLoader.class);
+        when(classLoader.getResources(
+                "com/puppycrawl/tools/checkstyle/checkstyle_modules.properties"))
+                .thenThrow(IOException.class);
+
+        try {
+            PackageNamesLoader.getModuleClassNames(classLoader);
+            fail("CheckstyleException is expected");
+        }
+        catch (CheckstyleException ex) {
+            assertTrue("Invalid cause", ex.getCause() instanceof IOException);
+            assertEquals("Invalid message", "unable to get module index resources",
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testModuleClassNamesWithoutIndex() throws Exception {
+        final ClassLoader classLoader = mock(ClassLoader.class);
+        when(classLoader.getResources(Mockito.anyString()))
+                .thenReturn(Collections.emptyEnumeration());
+
+        assertEquals("No modules expected", Collections.emptyMap(),
+                PackageNamesLoader.getModuleClassNames(classLoader));
+    }
+
     private static URL getMockUrl(final URLConnection connection) throws IOException {
         final URLStreamHandler handler = new URLStreamHandler() {
             @Override
@@ -21,6 +21,7 @@ package com.puppycrawl.tools.checkstyle;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Method;
 import java.util.Collections;
@@ -30,6 +31,7 @@ import java.util.Set;
 import org.junit.Test;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.checks.TodoCommentCheck;
 import com.puppycrawl.tools.checkstyle.checks.naming.ConstantNameCheck;
 
 /**
@@ -64,6 +66,26 @@ public class PackageObjectFactoryTest {
         assertNotNull(check);
     }
 
+    @Test
+    public void testMakeCheckFromModuleClassNames() throws CheckstyleException {
+        final PackageObjectFactory indexedFactory = new PackageObjectFactory(
+            Collections.emptySet(),
+            Collections.singletonMap("Todo", TodoCommentCheck.class.getName()),
+            Thread.currentThread().getContextClassLoader());
+        assertTrue("Check of index expected",
+            indexedFactory.createModule("Todo") instanceof TodoCommentCheck);
+    }
+
+    @Test
+    public void testMakeCheckFromInvalidModuleClassNames() throws CheckstyleException {
+        final PackageObjectFactory indexedFactory = new PackageObjectFactory(
+            Collections.singleton("com.puppycrawl.tools.checkstyle.checks.naming."),
+            Collections.singletonMap("ConstantName", "com.mycompany.ConstantNameCheck"),
+            Thread.currentThread().getContextClassLoader());
+        assertTrue("Packages should be searched if class of index is missing",
+            indexedFactory.createModule("ConstantName") instanceof ConstantNameCheck);
+    }
+
     @Test
     public void testJoinPackageNamesWhichContainNullWithClassName() throws Exception {
         final Class<PackageObjectFactory> clazz = PackageObjectFactory.class;
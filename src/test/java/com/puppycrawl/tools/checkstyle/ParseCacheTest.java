@@ -0,0 +1,182 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.BitSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+public class ParseCacheTest {
+    private static final String SOURCE = "package a;\n\n// comment\nclass A {\n"
+        + "    /* block */ int field;\n}\n";
+
+    private static final BitSet ALL_COMMENT_TYPES = new BitSet();
+
+    static {
+        ALL_COMMENT_TYPES.set(TokenTypes.SINGLE_LINE_COMMENT);
+        ALL_COMMENT_TYPES.set(TokenTypes.BLOCK_COMMENT_BEGIN);
+    }
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testParsesOnce() throws Exception {
+        final Profiler profiler = new Profiler();
+        final ParseCache cache = new ParseCache(profiler);
+        final FileText text = createText(SOURCE);
+        final DetailAST ast = cache.getAst(text);
+        assertSame("Cached AST expected", ast, cache.getAst(text));
+        assertSame("Cached contents expected", cache.getContents(text),
+            cache.getContents(text));
+        assertEquals("Invalid parse invocations", 1,
+            profiler.getEntry(Profiler.Category.PARSE, "TreeWalker").getInvocations());
+
+        assertNotSame("Other text should be parsed", ast, cache.getAst(createText(SOURCE)));
+        assertEquals("Invalid parse invocations", 2,
+            profiler.getEntry(Profiler.Category.PARSE, "TreeWalker").getInvocations());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final ParseCache cache = new ParseCache(null);
+        final FileText text = createText(SOURCE);
+        final DetailAST ast = cache.getAst(text);
+        cache.clear();
+        assertNotSame("Cleared cache should parse again", ast, cache.getAst(text));
+    }
+
+    @Test
+    public void testNotSharedAppendsCommentsInPlace() throws Exception {
+        final ParseCache cache = new ParseCache(null);
+        final FileText text = createText(SOURCE);
+        final DetailAST ast = cache.getAst(text);
+        final DetailAST astWithComments =
+            cache.getAstWithComments(text, ALL_COMMENT_TYPES);
+        assertSame("Comments should be appended to the cached AST", ast, astWithComments);
+        assertSame("Cached AST expected", astWithComments,
+            cache.getAstWithComments(text, ALL_COMMENT_TYPES));
+    }
+
+    @Test
+    public void testSharedKeepsAstWithoutComments() throws Exception {
+        final ParseCache cache = new ParseCache(null);
+        cache.setShared(true);
+        final FileText text = createText(SOURCE);
+        final DetailAST ast = cache.getAst(text);
+        final String expected = toString(ast);
+        final DetailAST astWithComments = cache.getAstWithComments(text, ALL_COMMENT_TYPES);
+        assertTrue("Comments should be appended", containsComment(astWithComments));
+
+        final DetailAST astWithoutComments = cache.getAst(text);
+        assertFalse("AST without comments should be kept", containsComment(astWithoutComments));
+        assertEquals("Copy should keep structure and positions", expected,
+            toString(astWithoutComments));
+    }
+
+    @Test
+    public void testSharedWithEmptyFile() throws Exception {
+        final ParseCache cache = new ParseCache(null);
+        cache.setShared(true);
+        final FileText text = createText("");
+        assertEquals("Empty file has no AST", null,
+            cache.getAstWithComments(text, ALL_COMMENT_TYPES));
+    }
+
+    private FileText createText(String content) throws IOException {
+        final File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return new FileText(file, StandardCharsets.UTF_8.name());
+    }
+
+    @Test
+    public void testSharedAppendsCommentsRequestedLater() throws Exception {
+        final ParseCache cache = new ParseCache(null);
+        cache.setShared(true);
+        final FileText text = createText(SOURCE);
+        final BitSet blockCommentTypes = new BitSet();
+        blockCommentTypes.set(TokenTypes.BLOCK_COMMENT_BEGIN);
+        final DetailAST blockComments = cache.getAstWithComments(text, blockCommentTypes);
+        assertEquals("Block comment should be appended", 1,
+            countNodes(blockComments, TokenTypes.BLOCK_COMMENT_BEGIN));
+        assertEquals("Single line comment should not be appended", 0,
+            countNodes(blockComments, TokenTypes.SINGLE_LINE_COMMENT));
+        assertSame("Cached AST expected", blockComments,
+            cache.getAstWithComments(text, blockCommentTypes));
+
+        final DetailAST allComments = cache.getAstWithComments(text, ALL_COMMENT_TYPES);
+        assertEquals("Block comment should be appended once", 1,
+            countNodes(allComments, TokenTypes.BLOCK_COMMENT_BEGIN));
+        assertEquals("Single line comment should be appended", 1,
+            countNodes(allComments, TokenTypes.SINGLE_LINE_COMMENT));
+        assertSame("Cached AST expected", allComments,
+            cache.getAstWithComments(text, blockCommentTypes));
+    }
+
+    private static int countNodes(DetailAST root, int type) {
+        int result = 0;
+        for (DetailAST node = root; node != null; node = node.getNextSibling()) {
+            if (node.getType() == type) {
+                result++;
+            }
+            result += countNodes(node.getFirstChild(), type);
+        }
+        return result;
+    }
+
+    private static boolean containsComment(DetailAST root) {
+        boolean result = false;
+        for (DetailAST node = root; node != null && !result; node = node.getNextSibling()) {
+            result = node.getType() == TokenTypes.SINGLE_LINE_COMMENT
+                || node.getType() == TokenTypes.BLOCK_COMMENT_BEGIN
+                || containsComment(node.getFirstChild());
+        }
+        return result;
+    }
+
+    private static String toString(DetailAST root) {
+        final StringBuilder result = new StringBuilder();
+        for (DetailAST node = root; node != null; node = node.getNextSibling()) {
+            result.append(node.getType()).append(':').append(node.getText()).append('@')
+                .append(node.getLineNo()).append(',').append(node.getColumnNo());
+            if (node.getFirstChild() != null) {
+                result.append('(').append(toString(node.getFirstChild())).append(')');
+            }
+            result.append(' ');
+        }
+        return result.toString();
+    }
+}
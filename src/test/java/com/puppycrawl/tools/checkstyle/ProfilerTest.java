@@ -0,0 +1,143 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+
+public class ProfilerTest {
+    @Test
+    public void testEntriesAreSharedByName() {
+        final Profiler profiler = new Profiler();
+        final Profiler.Entry entry = profiler.getEntry(Profiler.Category.PARSE, "TreeWalker");
+        assertSame("Entry should be reused", entry,
+            profiler.getEntry(Profiler.Category.PARSE, "TreeWalker"));
+        assertEquals("Invalid category", Profiler.Category.PARSE, entry.getCategory());
+        assertEquals("Invalid name", "TreeWalker", entry.getName());
+        assertFalse("Other categories should have own entries",
+            entry == profiler.getEntry(Profiler.Category.CHECK, "TreeWalker"));
+    }
+
+    @Test
+    public void testModuleName() throws Exception {
+        final Profiler profiler = new Profiler();
+        assertEquals("Module without id should be named by class", "DummyFileSetCheck",
+            profiler.getEntry(Profiler.Category.FILESET_CHECK, new DummyFileSetCheck())
+                .getName());
+        final DummyFileSetCheck check = new DummyFileSetCheck();
+        final DefaultConfiguration config = new DefaultConfiguration("DummyFileSetCheck");
+        config.addAttribute("id", "dummy");
+        check.configure(config);
+        assertEquals("Module with id should be named by id", "dummy",
+            profiler.getEntry(Profiler.Category.FILESET_CHECK, check).getName());
+    }
+
+    @Test
+    public void testModulesWithSameNameHaveOwnEntries() {
+        final Profiler profiler = new Profiler();
+        final DefaultConfiguration firstConfig = new DefaultConfiguration("DummyFileSetCheck");
+        final DefaultConfiguration secondConfig = new DefaultConfiguration("DummyFileSetCheck");
+        final Profiler.Entry first = profiler.getEntry(Profiler.Category.FILESET_CHECK,
+            new DummyFileSetCheck(), firstConfig);
+        final Profiler.Entry second = profiler.getEntry(Profiler.Category.FILESET_CHECK,
+            new DummyFileSetCheck(), secondConfig);
+        assertFalse("Modules of different configurations should not share an entry",
+            first == second);
+        assertEquals("Invalid name of first module", "DummyFileSetCheck", first.getName());
+        assertEquals("Invalid name of second module", "DummyFileSetCheck#2", second.getName());
+        assertSame("Replicas of a configuration should share an entry", first,
+            profiler.getEntry(Profiler.Category.FILESET_CHECK, new DummyFileSetCheck(),
+                firstConfig));
+    }
+
+    @Test
+    public void testRecordAndReset() {
+        final Profiler profiler = new Profiler();
+        final Profiler.Entry entry = profiler.getEntry(Profiler.Category.CHECK, "check");
+        entry.record(System.nanoTime() - 1_000, Profiler.getThreadAllocatedBytes());
+        entry.record(System.nanoTime() - 1_000, Profiler.getThreadAllocatedBytes());
+        assertEquals("Invalid invocations", 2, entry.getInvocations());
+        assertTrue("Invalid time", entry.getTime() >= 2_000);
+        assertTrue("Invalid allocated bytes", entry.getAllocatedBytes() >= 0
+            || entry.getAllocatedBytes() == Profiler.UNSUPPORTED);
+
+        profiler.reset();
+        assertEquals("Invocations should be reset", 0, entry.getInvocations());
+        assertEquals("Time should be reset", 0, entry.getTime());
+        assertEquals("Entry should be kept", Collections.singletonList(entry),
+            profiler.getEntries());
+    }
+
+    @Test
+    public void testEntriesAreSortedByTime() {
+        final Profiler profiler = new Profiler();
+        final Profiler.Entry cheap = profiler.getEntry(Profiler.Category.CHECK, "cheap");
+        final Profiler.Entry expensive = profiler.getEntry(Profiler.Category.CHECK, "expensive");
+        cheap.record(System.nanoTime(), Profiler.UNSUPPORTED);
+        expensive.record(System.nanoTime() - 1_000_000_000L, Profiler.UNSUPPORTED);
+        assertEquals("Invalid order", Arrays.asList(expensive, cheap), profiler.getEntries());
+    }
+
+    @Test
+    public void testAccept() {
+        final Profiler profiler = new Profiler();
+        final Filter rejecting = event -> false;
+        final Profiler.Entry entry = profiler.getEntry(Profiler.Category.FILTER, rejecting);
+        assertFalse("Event should be rejected", entry.accept(rejecting, new AuditEvent(this)));
+        assertEquals("Invalid invocations", 1, entry.getInvocations());
+    }
+
+    @Test
+    public void testProcess() throws Exception {
+        final Profiler profiler = new Profiler();
+        final DummyFileSetCheck check = new DummyFileSetCheck();
+        final Profiler.Entry entry = profiler.getEntry(Profiler.Category.FILESET_CHECK, check);
+        final File file = new File("file.java");
+        final SortedSet<LocalizedMessage> messages = entry.process(check, file,
+            FileText.fromLines(file, Collections.singletonList("class A {}")));
+        assertTrue("No messages are expected", messages.isEmpty());
+        assertEquals("Invalid invocations", 1, entry.getInvocations());
+    }
+
+    private static class DummyFileSetCheck extends AbstractFileSetCheck {
+        @Override
+        protected void processFiltered(File file, List<String> lines)
+                throws CheckstyleException {
+            // no code
+        }
+    }
+}
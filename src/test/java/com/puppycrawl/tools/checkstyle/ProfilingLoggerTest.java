@@ -0,0 +1,71 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class ProfilingLoggerTest {
+    @Test
+    public void testProfilingFinished() throws Exception {
+        final Profiler profiler = new Profiler();
+        final Profiler.Entry entry = profiler.getEntry(Profiler.Category.CHECK, "check");
+        entry.record(System.nanoTime() - 2_000_000, Profiler.UNSUPPORTED);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ProfilingLogger(output, false).profilingFinished(profiler.getEntries());
+
+        final String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8)
+            .split("\\r?\\n");
+        assertEquals("Invalid number of lines", 2, lines.length);
+        assertEquals("Invalid header", String.format(Locale.ROOT,
+            "%-14s %-40s %12s %12s %16s", "Category", "Module", "Invocations", "Time (ms)",
+            "Allocated (B)"), lines[0]);
+        final String[] columns = lines[1].trim().split(" +");
+        assertEquals("Invalid category", "CHECK", columns[0]);
+        assertEquals("Invalid name", "check", columns[1]);
+        assertEquals("Invalid invocations", "1", columns[2]);
+        assertEquals("Invalid time", 2.0, Double.parseDouble(columns[3]), 1.0);
+    }
+
+    @Test
+    public void testCloseStream() {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final OutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+        new ProfilingLogger(output, false).profilingFinished(Collections.emptyList());
+        assertEquals("Stream should not be closed", false, closed.get());
+        new ProfilingLogger(output, true).profilingFinished(Collections.emptyList());
+        assertEquals("Stream should be closed", true, closed.get());
+    }
+}
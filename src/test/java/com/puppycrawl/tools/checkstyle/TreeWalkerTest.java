@@ -19,6 +19,8 @@
 
 package com.puppycrawl.tools.checkstyle;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -40,8 +42,11 @@ import org.junit.rules.TemporaryFolder;
 
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.checks.ClassResolutionCache;
 import com.puppycrawl.tools.checkstyle.checks.coding.HiddenFieldCheck;
+import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocMethodCheck;
 import com.puppycrawl.tools.checkstyle.checks.javadoc.JavadocPackageCheck;
 import com.puppycrawl.tools.checkstyle.checks.naming.ConstantNameCheck;
 import com.puppycrawl.tools.checkstyle.checks.naming.TypeNameCheck;
@@ -251,6 +256,129 @@ public class TreeWalkerTest extends BaseCheckTestSupport {
         }
     }
 
+    @Test
+    public void testCheckIsNotifiedOncePerToken() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createCheckConfig(VisitCountingCheck.class);
+        checkConfig.addAttribute("tokens", "CLASS_DEF, METHOD_DEF");
+        final File file = temporaryFolder.newFile("file.java");
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("class Main { void method() { int i = 0; } }");
+        }
+        VisitCountingCheck.visits = 0;
+        VisitCountingCheck.leaves = 0;
+
+        verify(checkConfig, file.getPath(), CommonUtils.EMPTY_STRING_ARRAY);
+        assertEquals("Invalid number of visits", 2, VisitCountingCheck.visits);
+        assertEquals("Invalid number of leaves", 2, VisitCountingCheck.leaves);
+    }
+
+    @Test
+    public void testCommentNodesAreNotAppendedWithoutCommentChecks() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createCheckConfig(RootKeepingCheck.class);
+        final File file = temporaryFolder.newFile("file.java");
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("// comment\nclass Main { /* comment */ void method() { } }\n");
+        }
+        RootKeepingCheck.root = null;
+
+        verify(checkConfig, file.getPath(), CommonUtils.EMPTY_STRING_ARRAY);
+        assertTrue("Check should see the tree", RootKeepingCheck.root != null);
+        assertFalse("Comment nodes should not be appended",
+                containsComment(RootKeepingCheck.root));
+    }
+
+    @Test
+    public void testOnlyObservedCommentNodesAreAppended() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createCheckConfig(CommentRootKeepingCheck.class);
+        final File file = temporaryFolder.newFile("file.java");
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("// comment\nclass Main { /* comment */ void method() { } }\n");
+        }
+        CommentRootKeepingCheck.root = null;
+
+        verify(checkConfig, file.getPath(), CommonUtils.EMPTY_STRING_ARRAY);
+        assertTrue("Block comment nodes should be appended",
+                contains(CommentRootKeepingCheck.root, TokenTypes.BLOCK_COMMENT_BEGIN));
+        assertFalse("Single line comment nodes should not be appended",
+                contains(CommentRootKeepingCheck.root, TokenTypes.SINGLE_LINE_COMMENT));
+
+        checkConfig.addAttribute("tokens", "CLASS_DEF");
+        verify(checkConfig, file.getPath(), CommonUtils.EMPTY_STRING_ARRAY);
+        assertTrue("Block comment nodes should be appended",
+                contains(CommentRootKeepingCheck.root, TokenTypes.BLOCK_COMMENT_BEGIN));
+        assertTrue("Single line comment nodes should be appended",
+                contains(CommentRootKeepingCheck.root, TokenTypes.SINGLE_LINE_COMMENT));
+    }
+
+    @Test
+    public void testCommentCheckIsWalkedOncePerFile() throws Exception {
+        final DefaultConfiguration checkConfig =
+                createCheckConfig(CommentRootKeepingCheck.class);
+        final File file = temporaryFolder.newFile("file.java");
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("class Main { /* comment */ void method() { } }\n");
+        }
+        CommentRootKeepingCheck.beginTrees = 0;
+
+        verify(checkConfig, file.getPath(), CommonUtils.EMPTY_STRING_ARRAY);
+        assertEquals("Comment check should begin one tree per file",
+                1, CommentRootKeepingCheck.beginTrees);
+    }
+
+    @Test
+    public void testClassResolutionCacheIsPassedToChecks() throws Exception {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final ClassResolutionCache cache = new ClassResolutionCache();
+        final TreeWalker treeWalker = new TreeWalker();
+        treeWalker.setClassLoader(classLoader);
+        treeWalker.setModuleFactory(new PackageObjectFactory(new HashSet<>(), classLoader));
+        treeWalker.setClassResolutionCache(cache);
+        final DefaultConfiguration config = new DefaultConfiguration("TreeWalker");
+        final DefaultConfiguration checkConfig = createCheckConfig(JavadocMethodCheck.class);
+        checkConfig.addAttribute("allowUndeclaredRTE", "true");
+        config.addChild(checkConfig);
+        treeWalker.configure(config);
+        final File file = temporaryFolder.newFile("file.java");
+        final List<String> lines = new ArrayList<>();
+        lines.add("import java.io.*;");
+        lines.add("class A {");
+        lines.add("    /** @throws UncheckedIOException on error */");
+        lines.add("    void method() { }");
+        lines.add("}");
+
+        treeWalker.process(file, lines);
+        assertTrue("Classes should be loaded through the cache", cache.getMisses() > 0);
+        final long misses = cache.getMisses();
+        treeWalker.process(file, lines);
+        assertEquals("Classes should not be loaded again", misses, cache.getMisses());
+        assertTrue("Cache should be hit", cache.getHits() > 0);
+    }
+
+    private static boolean contains(DetailAST root, int type) {
+        boolean result = false;
+        for (DetailAST node = root; node != null && !result; node = node.getNextSibling()) {
+            result = node.getType() == type || contains(node.getFirstChild(), type);
+        }
+        return result;
+    }
+
+    private static boolean containsComment(DetailAST root) {
+        boolean result = false;
+        for (DetailAST node = root; node != null && !result; node = node.getNextSibling()) {
+            result = node.getType() == TokenTypes.SINGLE_LINE_COMMENT
+                    || node.getType() == TokenTypes.BLOCK_COMMENT_BEGIN
+                    || containsComment(node.getFirstChild());
+        }
+        return result;
+    }
+
     private static class BadJavaDocCheck extends AbstractCheck {
         @Override
         public int[] getDefaultTokens() {
@@ -301,4 +429,89 @@ public class TreeWalkerTest extends BaseCheckTestSupport {
             return CommonUtils.EMPTY_INT_ARRAY;
         }
     }
+
+    private static class VisitCountingCheck extends AbstractCheck {
+        private static int visits;
+        private static int leaves;
+
+        @Override
+        public int[] getDefaultTokens() {
+            return getRequiredTokens();
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return new int[] {TokenTypes.CLASS_DEF, TokenTypes.METHOD_DEF};
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return new int[] {TokenTypes.CLASS_DEF};
+        }
+
+        @Override
+        public void visitToken(DetailAST ast) {
+            visits++;
+        }
+
+        @Override
+        public void leaveToken(DetailAST ast) {
+            leaves++;
+        }
+    }
+
+    private static class RootKeepingCheck extends AbstractCheck {
+        private static DetailAST root;
+
+        @Override
+        public int[] getDefaultTokens() {
+            return getAcceptableTokens();
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return new int[] {TokenTypes.CLASS_DEF};
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return getAcceptableTokens();
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            root = rootAST;
+        }
+    }
+
+    private static class CommentRootKeepingCheck extends AbstractCheck {
+        private static DetailAST root;
+        private static int beginTrees;
+
+        @Override
+        public int[] getDefaultTokens() {
+            return new int[] {TokenTypes.BLOCK_COMMENT_BEGIN};
+        }
+
+        @Override
+        public int[] getAcceptableTokens() {
+            return new int[] {TokenTypes.BLOCK_COMMENT_BEGIN, TokenTypes.CLASS_DEF};
+        }
+
+        @Override
+        public int[] getRequiredTokens() {
+            return CommonUtils.EMPTY_INT_ARRAY;
+        }
+
+        @Override
+        public boolean isCommentNodesRequired() {
+            return true;
+        }
+
+        @Override
+        public void beginTree(DetailAST rootAST) {
+            root = rootAST;
+            beginTrees++;
+        }
+    }
 }
@@ -22,6 +22,7 @@ package com.puppycrawl.tools.checkstyle;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
@@ -183,6 +184,38 @@ public class XMLLoggerTest {
         verifyLines(expectedLines);
     }
 
+    @Test
+    public void testAddErrorWithEscapedMessageAndSmallBuffer() throws IOException {
+        final XMLLogger logger = new XMLLogger(outStream, true, 1);
+        logger.auditStarted(null);
+        final LocalizedMessage message =
+                new LocalizedMessage(-12, 1234567890, "messages.properties", "key", null,
+                        SeverityLevel.WARNING, null, getClass(), "a<b> & c &amp; \"d\"");
+        logger.fileStarted(new AuditEvent(this, "A&B.java"));
+        logger.addError(new AuditEvent(this, "A&B.java", message));
+        logger.fileFinished(new AuditEvent(this, "A&B.java"));
+        logger.auditFinished(null);
+        final String[] expectedLines = {
+            "<file name=\"A&amp;B.java\">",
+            "<error line=\"-12\" column=\"1234567890\" severity=\"warning\""
+                + " message=\"a&lt;b&gt; &amp; c &amp; &quot;d&quot;\""
+                + " source=\"com.puppycrawl.tools.checkstyle.XMLLoggerTest\"/>",
+            "</file>",
+        };
+        verifyLines(expectedLines);
+    }
+
+    @Test
+    public void testInvalidBufferSize() {
+        try {
+            new XMLLogger(outStream, true, 0);
+            fail("Exception is expected");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid exception message", "Buffer size <= 0", ex.getMessage());
+        }
+    }
+
     @Test
     public void testAddIgnored() throws IOException {
         final XMLLogger logger = new XMLLogger(outStream, true);
@@ -219,6 +252,34 @@ public class XMLLoggerTest {
         verifyLines(expectedLines);
     }
 
+    @Test
+    public void testAddExceptionWithReferences()
+            throws IOException {
+        final XMLLogger logger = new XMLLogger(outStream, true);
+        logger.auditStarted(null);
+        final AuditEvent ev = new AuditEvent(this, "Test.java");
+        logger.addException(ev, new RuntimeException() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void printStackTrace(PrintWriter printWriter) {
+                printWriter.println("a &lt; b & c");
+                printWriter.write(new char[] {'&', '#', '1', ';'});
+                printWriter.print('&');
+            }
+        });
+        logger.auditFinished(null);
+        final String[] expectedLines = {
+            "&lt;exception&gt;",
+            "&lt;![CDATA[",
+            "a &lt; b &amp; c",
+            "&#1;&amp;]]&gt;",
+            "&lt;/exception&gt;",
+            "",
+        };
+        verifyLines(expectedLines);
+    }
+
     private String[] getOutStreamLines()
             throws IOException {
         final byte[] bytes = outStream.toByteArray();
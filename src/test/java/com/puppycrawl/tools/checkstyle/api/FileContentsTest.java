@@ -19,10 +19,13 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.Test;
@@ -55,4 +58,18 @@ public class FileContentsTest {
         assertTrue(o.hasIntersectionWithComment(1, 5, 1, 6));
 
     }
+
+    @Test
+    public void testTextIsSharedAndLinesAreCopied() {
+        final FileText text = FileText.fromLines(new File("filename"),
+                Arrays.asList("first", "second"));
+        final FileContents contents = new FileContents(text);
+        assertSame(text, contents.getText());
+        assertSame(contents.getText(), contents.getText());
+        assertEquals("second", contents.getLine(1));
+
+        final String[] lines = contents.getLines();
+        lines[0] = "changed";
+        assertEquals("first", contents.getLine(0));
+    }
 }
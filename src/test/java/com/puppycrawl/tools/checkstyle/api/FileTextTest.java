@@ -19,15 +19,28 @@
 
 package com.puppycrawl.tools.checkstyle.api;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Strings;
 
 public class FileTextTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testUnsupportedCharset() throws IOException {
         // just to make UT coverage 100%
@@ -68,4 +81,82 @@ public class FileTextTest {
         final FileText copy = new FileText(o);
         assertEquals(3, copy.lineColumn(100).getLine());
     }
+
+    @Test
+    public void testLineTerminators() throws IOException {
+        final FileText text = createText("a\nb\r\nc\rd\n\n\r\re");
+        assertArrayEquals("Invalid lines", new String[] {"a", "b", "c", "d", "", "", "", "e"},
+            text.toLinesArray());
+        assertEquals("Invalid line", "d", text.get(3));
+        assertEquals("Invalid full text", "a\nb\r\nc\rd\n\n\r\re",
+            text.getFullText().toString());
+        assertEquals("Invalid line", new LineColumn(2, 1), text.lineColumn(3));
+        assertEquals("Invalid line", new LineColumn(3, 0), text.lineColumn(5));
+        assertEquals("Invalid line", new LineColumn(7, 0), text.lineColumn(11));
+    }
+
+    @Test
+    public void testTrailingTerminatorDoesNotStartLine() throws IOException {
+        assertEquals("Invalid lines", Arrays.asList("a", "b"), createText("a\r\nb\r\n"));
+        assertEquals("Invalid lines", Arrays.asList("a", "b"), createText("a\nb\r"));
+        assertEquals("Invalid lines", Arrays.asList(), createText(""));
+    }
+
+    @Test
+    public void testLinesOfCopyAreIndependent() throws IOException {
+        final FileText text = createText("first\nsecond\n");
+        final FileText copy = new FileText(text);
+        assertEquals("Invalid line", "second", copy.get(1));
+        assertEquals("Invalid line", "first", text.get(0));
+        assertEquals("Invalid size", text.size(), copy.size());
+    }
+
+    @Test
+    public void testLineColumnOfLinesList() {
+        final FileText text = FileText.fromLines(new File("any name"),
+            Arrays.asList("ab", "", "c"));
+        assertEquals("Invalid full text", "ab\n\nc\n", text.getFullText().toString());
+        assertEquals("Invalid line", new LineColumn(3, 0), text.lineColumn(4));
+        assertEquals("Invalid line", "c", text.get(2));
+    }
+
+    @Test
+    public void testLargeFile() throws IOException {
+        final String line = Strings.repeat("x", 99);
+        final String content = Strings.repeat(line + "\n", 20_000);
+        final FileText text = createText(content);
+        assertEquals("Invalid number of lines", 20_000, text.size());
+        assertEquals("Invalid line", line, text.get(19_999));
+        assertEquals("Invalid full text", content, text.getFullText().toString());
+    }
+
+    @Test
+    public void testMissingFile() throws IOException {
+        final File file = new File(temporaryFolder.getRoot(), "missing.java");
+        try {
+            new FileText(file, StandardCharsets.UTF_8.name());
+            fail("FileNotFoundException is expected");
+        }
+        catch (FileNotFoundException ex) {
+            assertEquals("Invalid message", file.getPath() + " (No such file or directory)",
+                ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testContentInMemory() {
+        final File file = new File(temporaryFolder.getRoot(), "Unsaved.java");
+        final FileText text = FileText.fromContent(file, new StringBuilder("a\r\nb\rc\n"));
+        assertEquals("Invalid lines", Arrays.asList("a", "b", "c"), text);
+        assertEquals("Invalid full text", "a\r\nb\rc\n", text.getFullText().toString());
+        assertEquals("Invalid file", file, text.getFile());
+        assertNull("Contents in memory have no charset", text.getCharset());
+        assertEquals("Invalid line column", new LineColumn(2, 1), text.lineColumn(4));
+    }
+
+    private FileText createText(String content) throws IOException {
+        final File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return new FileText(file, StandardCharsets.UTF_8.name());
+    }
 }
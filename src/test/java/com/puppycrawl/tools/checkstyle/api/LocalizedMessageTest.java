@@ -27,10 +27,17 @@ import static org.powermock.api.mockito.PowerMockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Test;
@@ -141,6 +148,85 @@ public class LocalizedMessageTest {
         assertEquals("Empty statement.", localizedMessage.getMessage());
     }
 
+    @Test
+    public void testMessageInGivenLocale() {
+        LocalizedMessage.setLocale(Locale.ENGLISH);
+        final LocalizedMessage localizedMessage = createSampleLocalizedMessage();
+
+        assertEquals("Invalid message", "Instruction vide.",
+                localizedMessage.getMessage(Locale.FRENCH));
+        assertEquals("Invalid message", "Empty statement.",
+                localizedMessage.getMessage(Locale.US));
+        assertEquals("Invalid message", "Empty statement.", localizedMessage.getMessage());
+    }
+
+    @Test
+    public void testMessageWithoutBundle() {
+        final LocalizedMessage localizedMessage = new LocalizedMessage(0,
+                "com.puppycrawl.tools.checkstyle.checks.coding.messages", "Line {0}.",
+                new Object[] {1234}, "module", LocalizedMessage.class, null);
+
+        assertEquals("Key should be the pattern", "Line 1,234.",
+                localizedMessage.getMessage(Locale.ROOT));
+    }
+
+    @Test
+    public void testCustomMessage() {
+        final LocalizedMessage localizedMessage = new LocalizedMessage(0,
+                "com.puppycrawl.tools.checkstyle.checks.coding.messages", "empty.statement",
+                new Object[] {"arg"}, "module", LocalizedMessage.class, "Custom ''{0}''");
+
+        assertEquals("Custom message expected", "Custom 'arg'",
+                localizedMessage.getMessage(Locale.FRENCH));
+        assertEquals("Custom message expected", "Custom 'arg'", localizedMessage.getMessage());
+    }
+
+    @Test
+    public void testConcurrentMessages() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final int value = i * 1000;
+                results.add(executor.submit(() -> {
+                    boolean valid = true;
+                    for (int j = 0; j < 1000; j++) {
+                        final LocalizedMessage message = new LocalizedMessage(0,
+                                "com.puppycrawl.tools.checkstyle.checks.sizes.messages",
+                                "maxLen.file", new Object[] {value + j, 10},
+                                "module", LocalizedMessage.class, null);
+                        valid &= String.format(Locale.ROOT,
+                                "File length is %,d lines (max allowed is 10).", value + j)
+                                .equals(message.getMessage(Locale.ROOT));
+                    }
+                    return valid;
+                }));
+            }
+            for (final Future<Boolean> result : results) {
+                assertEquals("Messages should be rendered independently", Boolean.TRUE,
+                        result.get());
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRenderedMessageIsReturnedAsIs() throws Exception {
+        final String text = "Name 'a' must match pattern '^[A-Z]{1}$'.";
+        final LocalizedMessage localizedMessage = LocalizedMessage.createRendered(1, 2,
+            "com.puppycrawl.tools.checkstyle.checks.naming.messages", "name.invalidPattern",
+            SeverityLevel.ERROR, null, LocalizedMessage.class, text);
+
+        assertEquals("Rendered text should not be formatted", text,
+            localizedMessage.getMessage(Locale.FRENCH));
+        final Field field = LocalizedMessage.class.getDeclaredField("CUSTOM_FORMAT_CACHE");
+        field.setAccessible(true);
+        assertEquals("Rendered text should not be cached as a format", 0,
+            ((Map<?, ?>) field.get(null)).size());
+    }
+
     private static LocalizedMessage createSampleLocalizedMessage() {
         return new LocalizedMessage(0, "com.puppycrawl.tools.checkstyle.checks.coding.messages",
                 "empty.statement", EMPTY_OBJECT_ARRAY, "module", LocalizedMessage.class, null);
@@ -0,0 +1,111 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.checks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class ClassResolutionCacheTest {
+    private static final ClassLoader LOADER = ClassResolutionCacheTest.class.getClassLoader();
+
+    @Test
+    public void testFindCachesLoadedClass() {
+        final ClassResolutionCache cache = new ClassResolutionCache();
+        assertSame("Invalid class", String.class, cache.find("java.lang.String", LOADER));
+        assertSame("Invalid class", String.class, cache.find("java.lang.String", LOADER));
+        assertEquals("Invalid number of hits", 1, cache.getHits());
+        assertEquals("Invalid number of misses", 1, cache.getMisses());
+        assertEquals("Invalid hit rate", 0.5, cache.getHitRate(), 0);
+    }
+
+    @Test
+    public void testFindCachesMissingClass() {
+        final ClassResolutionCache cache = new ClassResolutionCache();
+        assertNull("Class should not be found", cache.find("no.such.Clazz", LOADER));
+        assertNull("Class should not be found", cache.find("no.such.Clazz", LOADER));
+        assertNull("Class should not be found", cache.find("no.such.Clazz", LOADER));
+        assertEquals("Invalid number of hits", 2, cache.getHits());
+        assertEquals("Invalid number of misses", 1, cache.getMisses());
+    }
+
+    @Test
+    public void testResultsAreKeptPerClassLoader() {
+        final ClassResolutionCache cache = new ClassResolutionCache();
+        final ClassLoader bootstrapOnly = new ClassLoader(null) { };
+        final String name = ClassResolutionCacheTest.class.getName();
+        assertSame("Invalid class", ClassResolutionCacheTest.class, cache.find(name, LOADER));
+        assertNull("Class should not be visible to other loader",
+            cache.find(name, bootstrapOnly));
+        assertSame("Invalid class", ClassResolutionCacheTest.class, cache.find(name, LOADER));
+        assertEquals("Invalid number of misses", 2, cache.getMisses());
+        assertEquals("Invalid number of hits", 1, cache.getHits());
+    }
+
+    @Test
+    public void testClear() {
+        final ClassResolutionCache cache = new ClassResolutionCache();
+        cache.find("java.lang.String", LOADER);
+        cache.find("java.lang.String", LOADER);
+        cache.clear();
+        assertEquals("Invalid number of hits", 0, cache.getHits());
+        assertEquals("Invalid number of misses", 0, cache.getMisses());
+        assertEquals("Invalid hit rate", 0, cache.getHitRate(), 0);
+        cache.find("java.lang.String", LOADER);
+        assertEquals("Cleared cache should load again", 1, cache.getMisses());
+    }
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        final ClassResolutionCache cache = new ClassResolutionCache();
+        final int threads = 4;
+        final int lookups = 100;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < lookups; j++) {
+                        assertSame("Invalid class", List.class,
+                            cache.find("java.util.List", LOADER));
+                        assertNull("Class should not be found",
+                            cache.find("java.util.Missing", LOADER));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+        assertEquals("Invalid number of lookups", 2L * threads * lookups,
+            cache.getHits() + cache.getMisses());
+    }
+}
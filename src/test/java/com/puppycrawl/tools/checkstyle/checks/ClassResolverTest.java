@@ -102,6 +102,16 @@ public class ClassResolverTest {
         }
     }
 
+    @Test
+    public void testResolveQualifiedInnerClass() throws Exception {
+        final ClassResolver classResolver = new ClassResolver(
+                Thread.currentThread().getContextClassLoader(),
+                "", new HashSet<>());
+
+        final Class<?> entry = classResolver.resolve("java.util.Map.Entry", "");
+        assertEquals("java.util.Map$Entry", entry.getName());
+    }
+
     @Test
     public void testResolveInnerClass() throws Exception {
         final Set<String> imports = new HashSet<>();
@@ -129,26 +139,22 @@ public class ClassResolverTest {
     }
 
     @Test
-    public void testResolveQualifiedNameFails() throws Exception {
+    public void testSharedCacheAnswersRepeatedLookups() throws Exception {
         final Set<String> imports = new HashSet<>();
-        imports.add("java.applet.someClass");
-
-        final ClassResolver classResolver = PowerMockito.spy(new ClassResolver(Thread
-                .currentThread().getContextClassLoader(), "", imports));
-
-        PowerMockito.doThrow(new ClassNotFoundException("expected exception"))
-                .when(classResolver, "safeLoad", anyObject());
-        PowerMockito.doReturn(true).when(classResolver, "isLoadable", anyObject());
-
-        try {
-            classResolver.resolve("someClass", "");
-            fail("Exception expected");
-        }
-        catch (IllegalStateException ex) {
-            // expected
-            assertTrue(ex.getCause() instanceof ClassNotFoundException);
-            assertTrue(ex.getMessage().endsWith("expected exception"));
-        }
+        imports.add("java.util.*");
+        imports.add("java.io.*");
+        final ClassResolutionCache cache = new ClassResolutionCache();
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+
+        final ClassResolver first = new ClassResolver(loader, "my.pkg", imports, cache);
+        assertEquals("Invalid class", "java.io.File", first.resolve("File", "").getName());
+        final long misses = cache.getMisses();
+        assertEquals("Nothing should be cached before", 0, cache.getHits());
+
+        final ClassResolver second = new ClassResolver(loader, "my.pkg", imports, cache);
+        assertEquals("Invalid class", "java.io.File", second.resolve("File", "").getName());
+        assertEquals("All lookups should be cached", misses, cache.getMisses());
+        assertTrue("Cache should be hit", cache.getHits() > 0);
     }
 
     /**
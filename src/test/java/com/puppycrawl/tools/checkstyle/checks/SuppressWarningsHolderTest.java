@@ -49,6 +49,7 @@ import com.puppycrawl.tools.checkstyle.api.Configuration;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import com.puppycrawl.tools.checkstyle.checks.naming.ConstantNameCheck;
 import com.puppycrawl.tools.checkstyle.checks.naming.MemberNameCheck;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
@@ -193,6 +194,57 @@ public class SuppressWarningsHolderTest extends BaseCheckTestSupport {
         assertTrue(SuppressWarningsHolder.isSuppressed(thirdEventForTest));
     }
 
+    @Test
+    public void testIsSuppressedWithSeveralEntries() throws Exception {
+        final Class<?> entry = Class
+                .forName("com.puppycrawl.tools.checkstyle.checks.SuppressWarningsHolder$Entry");
+        final Constructor<?> entryConstr = entry.getDeclaredConstructor(String.class, int.class,
+                int.class, int.class, int.class);
+        entryConstr.setAccessible(true);
+        final Field entriesField = SuppressWarningsHolder.class.getDeclaredField("ENTRIES");
+        entriesField.setAccessible(true);
+        @SuppressWarnings("unchecked")
+        final List<Object> entries = ((ThreadLocal<List<Object>>) entriesField.get(null)).get();
+        entries.clear();
+        try {
+            entries.add(entryConstr.newInstance("MEMBERNAME", 10, 5, 20, 3));
+            entries.add(entryConstr.newInstance("MemberName", 30, 1, 30, 10));
+            entries.add(entryConstr.newInstance("id", 40, 1, 50, 1));
+
+            assertTrue("Name should match ignoring case",
+                SuppressWarningsHolder.isSuppressed(createEvent(15, 1, MemberNameCheck.class)));
+            assertTrue("Start of region should be suppressed",
+                SuppressWarningsHolder.isSuppressed(createEvent(10, 5, MemberNameCheck.class)));
+            assertFalse("Before region should not be suppressed",
+                SuppressWarningsHolder.isSuppressed(createEvent(10, 4, MemberNameCheck.class)));
+            assertTrue("Event without column on first line should be suppressed",
+                SuppressWarningsHolder.isSuppressed(createEvent(10, 0, MemberNameCheck.class)));
+            assertTrue("End of region should be suppressed",
+                SuppressWarningsHolder.isSuppressed(createEvent(20, 3, MemberNameCheck.class)));
+            assertFalse("After region should not be suppressed",
+                SuppressWarningsHolder.isSuppressed(createEvent(20, 4, MemberNameCheck.class)));
+            assertTrue("Second region should be suppressed",
+                SuppressWarningsHolder.isSuppressed(createEvent(30, 10, MemberNameCheck.class)));
+            assertFalse("Other check should not be suppressed",
+                SuppressWarningsHolder.isSuppressed(createEvent(15, 1, ConstantNameCheck.class)));
+            assertTrue("Module id should be suppressed",
+                SuppressWarningsHolder.isSuppressed(createEvent(45, 1, ConstantNameCheck.class)));
+
+            entries.add(entryConstr.newInstance("constantname", 1, 1, 5, 1));
+            assertTrue("Added entry should be suppressed",
+                SuppressWarningsHolder.isSuppressed(createEvent(3, 1, ConstantNameCheck.class)));
+        }
+        finally {
+            entries.clear();
+        }
+    }
+
+    private static AuditEvent createEvent(int line, int column, Class<?> source) {
+        final LocalizedMessage message =
+            new LocalizedMessage(line, column, null, null, null, "id", source, "msg");
+        return new AuditEvent(new Checker(), "fileName", message);
+    }
+
     @Test
     public void testAnnotationInTry() throws Exception {
         final Configuration checkConfig = createCheckConfig(SuppressWarningsHolder.class);
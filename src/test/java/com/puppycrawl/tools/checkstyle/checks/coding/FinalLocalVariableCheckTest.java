@@ -20,12 +20,15 @@
 package com.puppycrawl.tools.checkstyle.checks.coding;
 
 import static com.puppycrawl.tools.checkstyle.checks.coding.FinalLocalVariableCheck.MSG_KEY;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import com.puppycrawl.tools.checkstyle.BaseCheckTestSupport;
 import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
@@ -239,4 +242,17 @@ public class FinalLocalVariableCheckTest
         verify(checkConfig, getPath("InputFinalLocalVariableMultipleAndNestedConditions.java"),
             expected);
     }
+
+    @Test
+    public void testClearStateOnBeginTree() {
+        final FinalLocalVariableCheck check = new FinalLocalVariableCheck();
+        final DetailAST ast = new DetailAST();
+        ast.setType(TokenTypes.OBJBLOCK);
+        check.visitToken(ast);
+        check.beginTree(ast);
+
+        final Collection<?> stack =
+            (Collection<?>) Whitebox.getInternalState(check, "scopeStack");
+        assertTrue("State of the aborted tree should be cleared", stack.isEmpty());
+    }
 }
@@ -21,12 +21,15 @@ package com.puppycrawl.tools.checkstyle.checks.design;
 
 import static com.puppycrawl.tools.checkstyle.checks.design.MutableExceptionCheck.MSG_KEY;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 
 import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import antlr.CommonHiddenStreamToken;
 
@@ -105,4 +108,21 @@ public class MutableExceptionCheckTest extends BaseCheckTestSupport {
             //expected
         }
     }
+
+    @Test
+    public void testClearStateOnBeginTree() {
+        final MutableExceptionCheck check = new MutableExceptionCheck();
+        final DetailAST ast = new DetailAST();
+        ast.setType(TokenTypes.CLASS_DEF);
+        final DetailAST ident = new DetailAST();
+        ident.setType(TokenTypes.IDENT);
+        ident.setText("Foo");
+        ast.addChild(ident);
+        check.visitToken(ast);
+        check.beginTree(ast);
+
+        final Collection<?> stack =
+            (Collection<?>) Whitebox.getInternalState(check, "checkingStack");
+        assertTrue("State of the aborted tree should be cleared", stack.isEmpty());
+    }
 }
@@ -22,7 +22,10 @@ package com.puppycrawl.tools.checkstyle.checks.imports;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import org.apache.commons.beanutils.ConversionException;
 import org.junit.Test;
 
 public class GuardTest {
@@ -164,4 +167,16 @@ public class GuardTest {
         assertEquals(AccessResult.UNKNOWN, g.verifyImport("pkg.a.b"));
         assertEquals(AccessResult.UNKNOWN, g.verifyImport("pkg"));
     }
+
+    @Test
+    public void testInvalidRegExpFailsOnConstruction() {
+        try {
+            new Guard(true, false, "pkg(", false, true);
+            fail("ConversionException is expected");
+        }
+        catch (ConversionException ex) {
+            assertTrue("Invalid exception message",
+                    ex.getMessage().startsWith("Failed to initialise regular expression"));
+        }
+    }
 }
@@ -21,6 +21,7 @@ package com.puppycrawl.tools.checkstyle.checks.imports;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -69,4 +70,23 @@ public class PkgControlTest {
     public void testUnknownPkg() {
         assertNull(pcRoot.locateFinest("net.another"));
     }
+
+    @Test
+    public void testRepeatedLookupsGiveSameResults() {
+        final PkgControl pcLocal = new PkgControl(pcRoot, "local");
+        pcLocal.addGuard(new Guard(true, true, "org.springframework", false, false));
+
+        for (int i = 0; i < 2; i++) {
+            assertSame("Invalid finest match", pcLocal,
+                    pcRoot.locateFinest("com.kazgroup.courtlink.local.sub"));
+            assertNull("Unknown package should not match", pcRoot.locateFinest("net.another"));
+            assertEquals("Local guard should apply to its own package", AccessResult.ALLOWED,
+                    pcLocal.checkAccess("org.springframework.something",
+                            "com.kazgroup.courtlink.local"));
+            assertEquals("Local guard should not apply to subpackages",
+                    AccessResult.DISALLOWED,
+                    pcLocal.checkAccess("org.springframework.something",
+                            "com.kazgroup.courtlink.local.sub"));
+        }
+    }
 }
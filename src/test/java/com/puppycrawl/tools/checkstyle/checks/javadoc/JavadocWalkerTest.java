@@ -0,0 +1,158 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.checks.javadoc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.BaseCheckTestSupport;
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.api.DetailNode;
+import com.puppycrawl.tools.checkstyle.api.JavadocTokenTypes;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
+import com.puppycrawl.tools.checkstyle.utils.JavadocUtils;
+
+public class JavadocWalkerTest extends BaseCheckTestSupport {
+    @Override
+    protected String getPath(String filename) throws IOException {
+        return super.getPath("checks" + File.separator
+                + "javadoc" + File.separator + filename);
+    }
+
+    @Test
+    public void testGroupedChecksSeeSameNodesAsSingleChecks() throws Exception {
+        final String path = getPath("InputCorrectJavaDocParagraph.java");
+        TagRecordingCheck.clear();
+        TextRecordingCheck.clear();
+        verify(createCheckConfig(TagRecordingCheck.class), path,
+            CommonUtils.EMPTY_STRING_ARRAY);
+        verify(createCheckConfig(TextRecordingCheck.class), path,
+            CommonUtils.EMPTY_STRING_ARRAY);
+        final List<String> singleTagEvents = new ArrayList<>(TagRecordingCheck.EVENTS);
+        final List<String> singleTextEvents = new ArrayList<>(TextRecordingCheck.EVENTS);
+        assertTrue("Tags should be visited", singleTagEvents.contains("visit JAVADOC_TAG"));
+        assertTrue("Text should be visited", singleTextEvents.contains("visit TEXT"));
+
+        TagRecordingCheck.clear();
+        TextRecordingCheck.clear();
+        final DefaultConfiguration checkerConfig = new DefaultConfiguration("configuration");
+        final DefaultConfiguration treeWalkerConfig = createCheckConfig(TreeWalker.class);
+        treeWalkerConfig.addChild(createCheckConfig(TagRecordingCheck.class));
+        treeWalkerConfig.addChild(createCheckConfig(TextRecordingCheck.class));
+        checkerConfig.addChild(treeWalkerConfig);
+        final Checker checker = new Checker();
+        checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        checker.configure(checkerConfig);
+        verify(checker, path, CommonUtils.EMPTY_STRING_ARRAY);
+
+        assertEquals("Grouped check should see the same tag nodes",
+            singleTagEvents, TagRecordingCheck.EVENTS);
+        assertEquals("Grouped check should see the same text nodes",
+            singleTextEvents, TextRecordingCheck.EVENTS);
+    }
+
+    @Test
+    public void testEveryVisitedNodeIsLeft() throws Exception {
+        TextRecordingCheck.clear();
+        verify(createCheckConfig(TextRecordingCheck.class),
+            getPath("InputCorrectJavaDocParagraph.java"), CommonUtils.EMPTY_STRING_ARRAY);
+        int depth = 0;
+        for (final String event : TextRecordingCheck.EVENTS) {
+            if (event.startsWith("visit")) {
+                depth++;
+            }
+            else if (event.startsWith("leave")) {
+                depth--;
+                assertTrue("Node should not be left before it is visited", depth >= 0);
+            }
+        }
+        assertEquals("Every visited node should be left", 0, depth);
+    }
+
+    private abstract static class AbstractRecordingCheck extends AbstractJavadocCheck {
+        protected abstract List<String> getEvents();
+
+        @Override
+        public void beginJavadocTree(DetailNode rootAst) {
+            getEvents().add("begin " + getBlockCommentAst().getLineNo());
+        }
+
+        @Override
+        public void visitJavadocToken(DetailNode ast) {
+            getEvents().add("visit " + JavadocUtils.getTokenName(ast.getType()));
+        }
+
+        @Override
+        public void leaveJavadocToken(DetailNode ast) {
+            getEvents().add("leave " + JavadocUtils.getTokenName(ast.getType()));
+        }
+
+        @Override
+        public void finishJavadocTree(DetailNode rootAst) {
+            getEvents().add("finish");
+        }
+    }
+
+    private static class TagRecordingCheck extends AbstractRecordingCheck {
+        private static final List<String> EVENTS = new ArrayList<>();
+
+        static void clear() {
+            EVENTS.clear();
+        }
+
+        @Override
+        protected List<String> getEvents() {
+            return EVENTS;
+        }
+
+        @Override
+        public int[] getDefaultJavadocTokens() {
+            return new int[] {JavadocTokenTypes.JAVADOC_TAG};
+        }
+    }
+
+    private static class TextRecordingCheck extends AbstractRecordingCheck {
+        private static final List<String> EVENTS = new ArrayList<>();
+
+        static void clear() {
+            EVENTS.clear();
+        }
+
+        @Override
+        protected List<String> getEvents() {
+            return EVENTS;
+        }
+
+        @Override
+        public int[] getDefaultJavadocTokens() {
+            return new int[] {JavadocTokenTypes.JAVADOC, JavadocTokenTypes.TEXT,
+                JavadocTokenTypes.EOF, };
+        }
+    }
+}
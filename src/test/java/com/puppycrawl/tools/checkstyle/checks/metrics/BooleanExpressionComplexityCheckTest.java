@@ -20,11 +20,14 @@
 package com.puppycrawl.tools.checkstyle.checks.metrics;
 
 import static com.puppycrawl.tools.checkstyle.checks.metrics.BooleanExpressionComplexityCheck.MSG_KEY;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 
 import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import antlr.CommonHiddenStreamToken;
 
@@ -86,4 +89,17 @@ public class BooleanExpressionComplexityCheckTest extends BaseCheckTestSupport {
         ast.initialize(new CommonHiddenStreamToken(TokenTypes.INTERFACE_DEF, "interface"));
         booleanExpressionComplexityCheckObj.visitToken(ast);
     }
+
+    @Test
+    public void testClearStateOnBeginTree() {
+        final BooleanExpressionComplexityCheck check = new BooleanExpressionComplexityCheck();
+        final DetailAST ast = new DetailAST();
+        ast.setType(TokenTypes.EXPR);
+        check.visitToken(ast);
+        check.beginTree(ast);
+
+        final Collection<?> stack =
+            (Collection<?>) Whitebox.getInternalState(check, "contextStack");
+        assertTrue("State of the aborted tree should be cleared", stack.isEmpty());
+    }
 }
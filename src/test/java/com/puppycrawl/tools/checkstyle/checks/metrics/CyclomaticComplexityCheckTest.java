@@ -20,15 +20,19 @@
 package com.puppycrawl.tools.checkstyle.checks.metrics;
 
 import static com.puppycrawl.tools.checkstyle.checks.metrics.CyclomaticComplexityCheck.MSG_KEY;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import com.puppycrawl.tools.checkstyle.BaseCheckTestSupport;
 import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
@@ -124,4 +128,17 @@ public class CyclomaticComplexityCheckTest
 
         verify(checkConfig, getPath("InputComplexitySwitchBlocks.java"), expected);
     }
+
+    @Test
+    public void testClearStateOnBeginTree() {
+        final CyclomaticComplexityCheck check = new CyclomaticComplexityCheck();
+        final DetailAST ast = new DetailAST();
+        ast.setType(TokenTypes.METHOD_DEF);
+        check.visitToken(ast);
+        check.beginTree(ast);
+
+        final Collection<?> stack =
+            (Collection<?>) Whitebox.getInternalState(check, "valueStack");
+        assertTrue("State of the aborted tree should be cleared", stack.isEmpty());
+    }
 }
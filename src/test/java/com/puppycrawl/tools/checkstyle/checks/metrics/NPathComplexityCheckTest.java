@@ -20,12 +20,15 @@
 package com.puppycrawl.tools.checkstyle.checks.metrics;
 
 import static com.puppycrawl.tools.checkstyle.checks.metrics.NPathComplexityCheck.MSG_KEY;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import antlr.CommonHiddenStreamToken;
 
@@ -136,4 +139,17 @@ public class NPathComplexityCheckTest extends BaseCheckTestSupport {
         npathComplexityCheckObj.visitToken(ast);
         npathComplexityCheckObj.leaveToken(ast);
     }
+
+    @Test
+    public void testClearStateOnBeginTree() {
+        final NPathComplexityCheck check = new NPathComplexityCheck();
+        final DetailAST ast = new DetailAST();
+        ast.setType(TokenTypes.METHOD_DEF);
+        check.visitToken(ast);
+        check.beginTree(ast);
+
+        final Collection<?> stack =
+            (Collection<?>) Whitebox.getInternalState(check, "valueStack");
+        assertTrue("State of the aborted tree should be cleared", stack.isEmpty());
+    }
 }
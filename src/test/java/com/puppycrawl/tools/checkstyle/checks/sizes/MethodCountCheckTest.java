@@ -25,14 +25,18 @@ import static com.puppycrawl.tools.checkstyle.checks.sizes.MethodCountCheck.MSG_
 import static com.puppycrawl.tools.checkstyle.checks.sizes.MethodCountCheck.MSG_PROTECTED_METHODS;
 import static com.puppycrawl.tools.checkstyle.checks.sizes.MethodCountCheck.MSG_PUBLIC_METHODS;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 
 import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import com.puppycrawl.tools.checkstyle.BaseCheckTestSupport;
 import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.utils.CommonUtils;
 
@@ -128,4 +132,17 @@ public class MethodCountCheckTest extends BaseCheckTestSupport {
 
         verify(checkConfig, getPath("InputMethodCount3.java"), expected);
     }
+
+    @Test
+    public void testClearStateOnBeginTree() {
+        final MethodCountCheck check = new MethodCountCheck();
+        final DetailAST ast = new DetailAST();
+        ast.setType(TokenTypes.CLASS_DEF);
+        check.visitToken(ast);
+        check.beginTree(ast);
+
+        final Collection<?> stack =
+            (Collection<?>) Whitebox.getInternalState(check, "counters");
+        assertTrue("State of the aborted tree should be cleared", stack.isEmpty());
+    }
 }
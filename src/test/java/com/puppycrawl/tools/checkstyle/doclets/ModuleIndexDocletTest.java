@@ -0,0 +1,162 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.doclets;
+
+import static com.puppycrawl.tools.checkstyle.internal.TestUtils.assertUtilsClassHasPrivateConstructor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import javax.tools.JavaFileObject;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.javadoc.RootDoc;
+import com.sun.tools.javac.util.Context;
+import com.sun.tools.javac.util.ListBuffer;
+import com.sun.tools.javadoc.JavadocTool;
+import com.sun.tools.javadoc.Messager;
+import com.sun.tools.javadoc.ModifierFilter;
+
+public class ModuleIndexDocletTest {
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static String getPath(String filename) {
+        return "src/test/resources/com/puppycrawl/tools/checkstyle/doclets/" + filename;
+    }
+
+    @Test
+    public void testIsProperUtilsClass() throws ReflectiveOperationException {
+        assertUtilsClassHasPrivateConstructor(ModuleIndexDoclet.class);
+    }
+
+    @Test
+    public void testOptionLength() {
+        assertEquals("Invalid option length", 2, ModuleIndexDoclet.optionLength("-destfile"));
+        assertEquals("Invalid option length", 0,
+            ModuleIndexDoclet.optionLength("-anyOtherOption"));
+    }
+
+    @Test
+    public void testCheckOptions() {
+        final Context context = new Context();
+        final TestMessager testMessager = new TestMessager(context);
+
+        final String[][] options = new String[3][1];
+        assertFalse("Missing option should be reported",
+            ModuleIndexDoclet.checkOptions(options, testMessager));
+
+        options[0][0] = "-destfile";
+        assertTrue("Option should be accepted",
+            ModuleIndexDoclet.checkOptions(options, testMessager));
+
+        options[1][0] = "-destfile";
+        assertFalse("Duplicate option should be reported",
+            ModuleIndexDoclet.checkOptions(options, testMessager));
+
+        final String[] expected = {
+            "Usage: javadoc -destfile file -doclet ModuleIndexDoclet ...",
+            "Only one -destfile option allowed.",
+        };
+        Assert.assertArrayEquals("Invalid messages", expected, testMessager.messages.toArray());
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        final File destFile = temporaryFolder.newFile();
+        final ListBuffer<String[]> options = new ListBuffer<>();
+        options.add(new String[] {"-destfile", destFile.getPath()});
+
+        final ListBuffer<String> names = new ListBuffer<>();
+        names.add(getPath("InputModuleIndexDoclet.java"));
+        names.add(getPath("InputModuleIndexDocletCheck.java"));
+        names.add(getPath("InputModuleIndexDocletAbstractCheck.java"));
+        names.add(getPath("InputModuleIndexDocletNoDefaultConstructorCheck.java"));
+        names.add(getPath("InputModuleIndexDocletNotModules.java"));
+
+        final Context context = new Context();
+        new TestMessager(context);
+        final JavadocTool javadocTool = JavadocTool.make0(context);
+        final RootDoc rootDoc = getRootDoc(javadocTool, options, names);
+
+        assertTrue("Doclet should succeed", ModuleIndexDoclet.start(rootDoc));
+
+        final Properties index = new Properties();
+        try (InputStream stream = Files.newInputStream(destFile.toPath())) {
+            index.load(stream);
+        }
+        final Properties expected = new Properties();
+        expected.setProperty("InputModuleIndexDocletCheck",
+            "com.puppycrawl.tools.checkstyle.doclets.InputModuleIndexDocletCheck");
+        assertEquals("Invalid index", expected, index);
+    }
+
+    private static RootDoc getRootDoc(JavadocTool javadocTool, ListBuffer<String[]> options,
+            ListBuffer<String> names) throws Exception {
+        final Method getRootDocImpl = getMethodGetRootDocImplByReflection();
+        return (RootDoc) getRootDocImpl.invoke(javadocTool, "", "UTF-8",
+                new ModifierFilter(ModifierFilter.ALL_ACCESS),
+                names.toList(),
+                options.toList(),
+                new ListBuffer<JavaFileObject>().toList(),
+                false,
+                new ListBuffer<String>().toList(),
+                new ListBuffer<String>().toList(),
+                false, false, false);
+    }
+
+    private static Method getMethodGetRootDocImplByReflection() throws ClassNotFoundException {
+        Method result = null;
+        final Class<?> javadocToolClass = Class.forName("com.sun.tools.javadoc.JavadocTool");
+        final Method[] methods = javadocToolClass.getMethods();
+        for (Method method: methods) {
+            if ("getRootDocImpl".equals(method.getName())) {
+                result = method;
+            }
+        }
+        return result;
+    }
+
+    private static class TestMessager extends Messager {
+
+        private final List<String> messages = new ArrayList<>();
+
+        TestMessager(Context context) {
+            super(context, "");
+        }
+
+        @Override
+        public void printError(String message) {
+            messages.add(message);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class IntRangeIndexTest {
+    @Test
+    public void testEmpty() {
+        final IntRangeIndex index = new IntRangeIndex.Builder().add(5, 4).build();
+        assertTrue("Index should be empty", index.isEmpty());
+        assertFalse("No value expected", index.contains(4));
+        assertFalse("No value expected", index.contains(5));
+    }
+
+    @Test
+    public void testContains() {
+        final IntRangeIndex index = new IntRangeIndex.Builder()
+            .add(20, 30).add(1, 1).add(25, 40).add(5, 7).add(6, 6).build();
+        assertFalse("Index should not be empty", index.isEmpty());
+        final boolean[] expected = new boolean[45];
+        expected[1] = true;
+        for (int i = 5; i <= 7; i++) {
+            expected[i] = true;
+        }
+        for (int i = 20; i <= 40; i++) {
+            expected[i] = true;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Invalid lookup of " + i, expected[i], index.contains(i));
+        }
+        assertFalse("Negative values should not be found", index.contains(-1));
+    }
+
+    @Test
+    public void testCsvFilter() {
+        final IntRangeIndex.Builder builder = new IntRangeIndex.Builder();
+        new CsvFilter("3, 10-12, 8-6").addTo(builder);
+        final IntRangeIndex index = builder.build();
+        final CsvFilter filter = new CsvFilter("3, 10-12, 8-6");
+        for (int i = 0; i < 15; i++) {
+            assertEquals("Index should agree with filter on " + i, filter.accept(i),
+                index.contains(i));
+        }
+    }
+}
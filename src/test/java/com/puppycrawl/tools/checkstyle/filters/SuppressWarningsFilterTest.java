@@ -23,7 +23,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.junit.Test;
@@ -178,4 +182,18 @@ public class SuppressWarningsFilterTest
             getPath("InputSuppressByIdWithWarningsFilter.java"),
             removeSuppressed(expectedViolationMessages, suppressedViolationMessages));
     }
+
+    @Test
+    public void testSuppressionsOfPreviousFileAreDropped() throws Exception {
+        final String firstFile = getPath("InputSuppressWarningsFilterFirstFile.java");
+        final String secondFile = getPath("InputSuppressWarningsFilterSecondFile.java");
+        final Map<String, List<String>> expected = new HashMap<>();
+        expected.put(firstFile, Collections.singletonList(
+            "8:17: Name 'A2' must match pattern '^[a-z][a-zA-Z0-9]*$'."));
+        expected.put(secondFile, Collections.singletonList(
+            "5:17: Name 'B1' must match pattern '^[a-z][a-zA-Z0-9]*$'."));
+
+        verify(createChecker(createFilterConfig(SuppressWarningsFilter.class)),
+            new File[] {new File(firstFile), new File(secondFile)}, expected);
+    }
 }
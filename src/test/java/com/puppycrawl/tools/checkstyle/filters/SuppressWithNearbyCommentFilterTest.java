@@ -40,6 +40,7 @@ import com.puppycrawl.tools.checkstyle.TreeWalker;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.checks.FileContentsHolder;
@@ -338,4 +339,51 @@ public class SuppressWithNearbyCommentFilterTest
             getPath("InputSuppressByIdWithNearbyCommentFilter.java"),
             removeSuppressed(expectedViolationMessages, suppressedViolationMessages));
     }
+
+    @Test
+    public void testTagsOfModule() {
+        final SuppressWithNearbyCommentFilter filter = new SuppressWithNearbyCommentFilter();
+        filter.setCheckFormat("$1");
+        filter.setInfluenceFormat("1");
+        filter.setMessageFormat("^$1 message$");
+        final FileContents contents = new FileContents("Test.java",
+            "int a; // SUPPRESS CHECKSTYLE MemberName",
+            "// SUPPRESS CHECKSTYLE ConstantName",
+            "int b;",
+            "int c;");
+        contents.reportCppComment(1, 7);
+        contents.reportCppComment(2, 0);
+
+        final FileContentsHolder holder = new FileContentsHolder();
+        holder.setFileContents(contents);
+        holder.beginTree(null);
+        try {
+            Assert.assertFalse("MemberName should be suppressed",
+                filter.accept(createEvent(2, MemberNameCheck.class, null, "message")));
+            Assert.assertTrue("MemberName should not be suppressed after the influence",
+                filter.accept(createEvent(3, MemberNameCheck.class, null, "message")));
+            Assert.assertFalse("ConstantName should be suppressed",
+                filter.accept(createEvent(3, ConstantNameCheck.class, null, "message")));
+            Assert.assertTrue("ConstantName should not be suppressed before the comment",
+                filter.accept(createEvent(1, ConstantNameCheck.class, null, "message")));
+            Assert.assertFalse("Matching message should be suppressed",
+                filter.accept(createEvent(1, IllegalCatchCheck.class, null,
+                    "MemberName message")));
+            Assert.assertTrue("Other message should not be suppressed",
+                filter.accept(createEvent(1, IllegalCatchCheck.class, null, "other")));
+            Assert.assertTrue("Matching message should not be suppressed on other lines",
+                filter.accept(createEvent(4, IllegalCatchCheck.class, null,
+                    "MemberName message")));
+        }
+        finally {
+            holder.destroy();
+        }
+    }
+
+    private static AuditEvent createEvent(int line, Class<?> source, String moduleId,
+            String text) {
+        final LocalizedMessage message = new LocalizedMessage(line, 1, null, null, null,
+            SeverityLevel.ERROR, moduleId, source, text);
+        return new AuditEvent(source, "Test.java", message);
+    }
 }
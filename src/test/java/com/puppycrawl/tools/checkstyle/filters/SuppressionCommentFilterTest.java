@@ -40,6 +40,7 @@ import com.puppycrawl.tools.checkstyle.TreeWalker;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileContents;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import com.puppycrawl.tools.checkstyle.checks.FileContentsHolder;
@@ -334,4 +335,56 @@ public class SuppressionCommentFilterTest
             getPath("InputSuppressByIdWithCommentFilter.java"),
             removeSuppressed(expectedViolationMessages, suppressedViolationMessages));
     }
+
+    @Test
+    public void testNearestTagOfModule() {
+        final SuppressionCommentFilter filter = new SuppressionCommentFilter();
+        filter.setOffCommentFormat("CHECKSTYLE:OFF (\\w+)");
+        filter.setOnCommentFormat("CHECKSTYLE:ON (\\w+)");
+        filter.setCheckFormat("$1");
+        final FileContents contents = new FileContents("Test.java",
+            "// CHECKSTYLE:OFF MemberName",
+            "int a;",
+            "// CHECKSTYLE:OFF ConstantName",
+            "// CHECKSTYLE:ON MemberName",
+            "// CHECKSTYLE:ON ConstantName");
+        for (int line = 1; line <= 5; line++) {
+            contents.reportCppComment(line, 0);
+        }
+
+        final FileContentsHolder holder = new FileContentsHolder();
+        holder.setFileContents(contents);
+        holder.beginTree(null);
+        try {
+            Assert.assertFalse("MemberName should be off",
+                filter.accept(createEvent(2, 1, MemberNameCheck.class, null)));
+            Assert.assertTrue("ConstantName should be on",
+                filter.accept(createEvent(2, 1, ConstantNameCheck.class, null)));
+            Assert.assertFalse("ConstantName should be off",
+                filter.accept(createEvent(4, 5, ConstantNameCheck.class, null)));
+            Assert.assertTrue("MemberName should be on at its tag",
+                filter.accept(createEvent(4, 0, MemberNameCheck.class, null)));
+            Assert.assertTrue("ConstantName should be on",
+                filter.accept(createEvent(6, 1, ConstantNameCheck.class, null)));
+            Assert.assertFalse("Module id ConstantName should be off",
+                filter.accept(createEvent(3, 5, IllegalCatchCheck.class, "ConstantName")));
+            Assert.assertTrue("Module without tags should be on",
+                filter.accept(createEvent(3, 5, IllegalCatchCheck.class, "other")));
+
+            holder.setFileContents(new FileContents("Other.java", "int a;"));
+            holder.beginTree(null);
+            Assert.assertTrue("Tags of previous file should be dropped",
+                filter.accept(createEvent(2, 1, MemberNameCheck.class, null)));
+        }
+        finally {
+            holder.destroy();
+        }
+    }
+
+    private static AuditEvent createEvent(int line, int column, Class<?> source,
+            String moduleId) {
+        final LocalizedMessage message = new LocalizedMessage(line, column, null, null, null,
+            SeverityLevel.ERROR, moduleId, source, "message");
+        return new AuditEvent(source, "Test.java", message);
+    }
 }
@@ -0,0 +1,119 @@
+////////////////////////////////////////////////////////////////////////////////
+// checkstyle: Checks Java source code for adherence to a set of rules.
+// Copyright (C) 2001-2016 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+////////////////////////////////////////////////////////////////////////////////
+
+package com.puppycrawl.tools.checkstyle.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.api.FilterSet;
+import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.checks.coding.MagicNumberCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.ConstantNameCheck;
+import com.puppycrawl.tools.checkstyle.checks.naming.MemberNameCheck;
+
+public class SuppressionIndexTest {
+    private static final List<Class<?>> SOURCES = Arrays.asList(
+        MagicNumberCheck.class, ConstantNameCheck.class, MemberNameCheck.class);
+
+    private static final List<String> FILES = Arrays.asList(
+        "src/main/A.java", "src/main/B.java", "src/test/ATest.java", "gen/C.java");
+
+    @Test
+    public void testAgreesWithElements() {
+        final FilterSet filters = new FilterSet();
+        filters.addFilter(createElement("gen", null, null, null, null));
+        filters.addFilter(createElement("src/main", "Name", null, "1-5, 9", null));
+        filters.addFilter(createElement("A\\.java", "MagicNumber", null, null, "3-4"));
+        filters.addFilter(createElement("Test", null, "custom", "7", "1"));
+        filters.addFilter(createElement("B", "Member", "custom", null, null));
+        filters.addFilter(createElement(".*", "ConstantName", null, "12-10", null));
+        final SuppressionIndex index = new SuppressionIndex(filters.getFilters());
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            final String moduleId;
+            if (random.nextBoolean()) {
+                moduleId = "custom";
+            }
+            else {
+                moduleId = null;
+            }
+            final LocalizedMessage message = new LocalizedMessage(random.nextInt(14),
+                random.nextInt(6), "bundle", "key", null, moduleId,
+                SOURCES.get(random.nextInt(SOURCES.size())), null);
+            final AuditEvent event = new AuditEvent(this,
+                FILES.get(random.nextInt(FILES.size())), message);
+            assertEquals("Index should agree with elements on " + event.getFileName() + ':'
+                + event.getLine() + ':' + event.getColumn() + ' ' + event.getSourceName() + ' '
+                + moduleId, filters.accept(event), index.accept(event));
+        }
+    }
+
+    @Test
+    public void testEventsWithoutMessageOrFile() {
+        final FilterSet filters = new FilterSet();
+        filters.addFilter(createElement(".*", null, null, null, null));
+        final SuppressionIndex index = new SuppressionIndex(filters.getFilters());
+        assertTrue("Events without file should be accepted",
+            index.accept(new AuditEvent(this, null, createMessage())));
+        assertTrue("Events without message should be accepted",
+            index.accept(new AuditEvent(this, "A.java")));
+        assertFalse("Other events should be suppressed",
+            index.accept(new AuditEvent(this, "A.java", createMessage())));
+    }
+
+    @Test
+    public void testOtherFilters() {
+        final FilterSet filters = new FilterSet();
+        final Filter rejectingFilter = event -> false;
+        filters.addFilter(rejectingFilter);
+        final SuppressionIndex index = new SuppressionIndex(filters.getFilters());
+        assertFalse("Other filters should be asked",
+            index.accept(new AuditEvent(this, "A.java", createMessage())));
+    }
+
+    private static LocalizedMessage createMessage() {
+        return new LocalizedMessage(1, "bundle", "key", null, null,
+            SuppressionIndexTest.class, null);
+    }
+
+    private static SuppressElement createElement(String files, String checks, String id,
+            String lines, String columns) {
+        final SuppressElement element = new SuppressElement(files);
+        if (checks != null) {
+            element.setChecks(checks);
+        }
+        if (id != null) {
+            element.setModuleId(id);
+        }
+        element.setLines(lines);
+        element.setColumns(columns);
+        return element;
+    }
+}
@@ -0,0 +1,6 @@
+package com.puppycrawl.tools.checkstyle.doclets;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+
+public abstract class InputModuleIndexDocletAbstractCheck extends AbstractCheck {
+}
@@ -0,0 +1,18 @@
+package com.puppycrawl.tools.checkstyle.doclets;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+
+public class InputModuleIndexDocletCheck extends AbstractCheck {
+    @Override
+    public int[] getDefaultTokens() {
+        return new int[0];
+    }
+
+    /** Nested classes are not modules. */
+    public static class NestedCheck extends AbstractCheck {
+        @Override
+        public int[] getDefaultTokens() {
+            return new int[0];
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.puppycrawl.tools.checkstyle.doclets;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+
+public class InputModuleIndexDocletNoDefaultConstructorCheck extends AbstractCheck {
+    public InputModuleIndexDocletNoDefaultConstructorCheck(int tokens) {
+        // no default constructor
+    }
+
+    @Override
+    public int[] getDefaultTokens() {
+        return new int[0];
+    }
+}
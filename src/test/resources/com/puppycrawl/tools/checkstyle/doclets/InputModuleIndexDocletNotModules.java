@@ -0,0 +1,16 @@
+package com.puppycrawl.tools.checkstyle.doclets;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+
+/** Not a subclass of AutomaticBean. */
+public class InputModuleIndexDocletNotModules {
+}
+
+/** Not public. */
+class InputModuleIndexDocletPackagePrivateCheck extends AbstractCheck {
+    @Override
+    public int[] getDefaultTokens() {
+        return new int[0];
+    }
+}
+
@@ -0,0 +1,9 @@
+package com.puppycrawl.tools.checkstyle.filters;
+
+/** Suppression before the violation. */
+public class InputSuppressWarningsFilterFirstFile {
+    @SuppressWarnings("checkstyle:membername")
+    private int A1;
+
+    private int A2;
+}
@@ -0,0 +1,9 @@
+package com.puppycrawl.tools.checkstyle.filters;
+
+/** Suppression after the violation. */
+public class InputSuppressWarningsFilterSecondFile {
+    private int B1;
+
+    @SuppressWarnings("checkstyle:membername")
+    private int B2;
+}